@@ -3,9 +3,14 @@ package bank.rest.app.bankrestapp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.RATE_PROVIDER_TIMEOUT_MILLIS;
+
 @SpringBootApplication
+@EnableScheduling
 public class BankRestAppApplication {
 
     public static void main(String[] args) {
@@ -14,6 +19,9 @@ public class BankRestAppApplication {
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(RATE_PROVIDER_TIMEOUT_MILLIS);
+        requestFactory.setReadTimeout(RATE_PROVIDER_TIMEOUT_MILLIS);
+        return new RestTemplate(requestFactory);
     }
 }
@@ -40,8 +40,8 @@ import static java.time.LocalDateTime.now;
  *     .createdAt(DEFAULT_CREATED_AT)
  *     .build();
  *
- * // Generating account number with 34-digit format
- * accountNumber = format(ACCOUNT_NUMBER_PATTERN, randomNumber);
+ * // Formatting an allocated account number with 34-digit format (IdentifierAllocator)
+ * return format(ACCOUNT_NUMBER_PATTERN, countryCode, ACCOUNT_NUMBER_SERIES_OFFSET + serial);
  * }</pre>
  *
  * <h3>Usage in CustomerServiceImpl:</h3>
@@ -105,6 +105,58 @@ public final class AccountDefaults {
 
     public static final int MAXIMUM_NUMBER_OF_ACCOUNTS = 4;
 
+    /**
+     * Delay between two runs of the pending-credit aggregator for hot accounts.
+     * Incoming transfers to a hot account become part of its balance within this interval.
+     */
+    public static final long HOT_ACCOUNT_FOLD_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Maximum number of hot accounts folded by a single aggregator run.
+     */
+    public static final int HOT_ACCOUNT_FOLD_ACCOUNTS_PER_RUN = 100;
+
+    /**
+     * Maximum number of pending credits applied to one hot account by a single aggregator run.
+     */
+    public static final int HOT_ACCOUNT_FOLD_CREDITS_PER_ACCOUNT = 5000;
+
+    /**
+     * Longest wait, in milliseconds, for a pessimistic account row lock before the locking query fails with
+     * a lock conflict. Declared as a query hint on the locking queries of the account repository, hence a string.
+     * The debit and credit statements, which lock the row by updating it, use it as their statement timeout.
+     */
+    public static final String ACCOUNT_LOCK_TIMEOUT_MILLIS = "1000";
+
+    /**
+     * Maximum number of attempts of a transfer or payment that failed on an account lock conflict,
+     * the first attempt included.
+     */
+    public static final int LOCK_CONFLICT_MAX_ATTEMPTS = 3;
+
+    /**
+     * Backoff ceiling before the first retry of a lock conflict; it doubles on every further retry.
+     * The actual backoff is drawn uniformly below the ceiling, so that conflicting requests do not retry in step.
+     */
+    public static final long LOCK_CONFLICT_BASE_BACKOFF_MILLIS = 25;
+
+    /**
+     * Upper bound of the backoff ceiling between two attempts of a lock conflict.
+     */
+    public static final long LOCK_CONFLICT_MAX_BACKOFF_MILLIS = 200;
+
+    /**
+     * Optimistic conflicts within the contention window after which a recipient is locked ahead of the debit
+     * instead of credited first: retrying a transaction costs more than a locking read once conflicts repeat.
+     */
+    public static final int CONTENDED_ACCOUNT_CONFLICTS = 3;
+
+    /**
+     * Lock wait, in milliseconds, that marks an account as contended: a lock that took this long was held by
+     * another transfer, and a retry of a transfer crediting the account would most likely wait for it again.
+     */
+    public static final double CONTENDED_ACCOUNT_LOCK_WAIT_MILLIS = 50;
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      * This class is designed to be used only for its static constants.
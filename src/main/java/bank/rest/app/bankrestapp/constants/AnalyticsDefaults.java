@@ -0,0 +1,28 @@
+package bank.rest.app.bankrestapp.constants;
+
+/**
+ * Defaults of the monthly analytics rollup and of range analytics.
+ */
+public final class AnalyticsDefaults {
+
+    /**
+     * Monthly rebuild of the previous month's rollup rows from raw operations, once the month is closed.
+     * Repairs the month in which the rollup was first deployed and any late corrections; other months are
+     * rebuilt on demand through {@code rebuildMonthlySummaries}.
+     */
+    public static final String ROLLUP_REBUILD_CRON = "0 30 2 1 * *";
+
+    /**
+     * Maximum number of buckets returned by one range request (five years of weekly buckets).
+     */
+    public static final int ANALYTICS_RANGE_MAX_BUCKETS = 260;
+
+    /**
+     * Number of buckets from which a range is summarized in parallel across cores.
+     */
+    public static final int ANALYTICS_PARALLEL_MIN_BUCKETS = 24;
+
+    private AnalyticsDefaults() {
+        // Prevent instantiation
+    }
+}
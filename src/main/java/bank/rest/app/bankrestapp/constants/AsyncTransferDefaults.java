@@ -0,0 +1,24 @@
+package bank.rest.app.bankrestapp.constants;
+
+public final class AsyncTransferDefaults {
+
+    /** Maximum number of transfers waiting in the submission queue. */
+    public static final int ASYNC_TRANSFER_QUEUE_CAPACITY = 10_000;
+
+    /** Number of worker threads draining the submission queue. */
+    public static final int ASYNC_TRANSFER_WORKER_COUNT = 4;
+
+    /** Maximum number of transfers committed in one database transaction. */
+    public static final int ASYNC_TRANSFER_BATCH_SIZE = 200;
+
+    /** How long an idle worker waits for the next transfer before re-checking for shutdown. */
+    public static final long ASYNC_TRANSFER_POLL_TIMEOUT_MILLIS = 500;
+
+    /** How long finished tickets stay available for polling. */
+    public static final int ASYNC_TRANSFER_TICKET_RETENTION_MINUTES = 60;
+
+    /** Interval between evictions of expired tickets. */
+    public static final long ASYNC_TRANSFER_TICKET_EVICTION_INTERVAL_MILLIS = 60_000;
+
+    private AsyncTransferDefaults() {}
+}
@@ -20,8 +20,8 @@ package bank.rest.app.bankrestapp.constants;
  * <p>This class is primarily used in {@link bank.rest.app.bankrestapp.service.impl.CardServiceImpl}
  * for card generation operations:</p>
  * <pre>{@code
- * // Generating card number with 16-digit format
- * cardNumber = format(CARD_NUMBER_PATTERN, randomNumber);
+ * // Formatting an allocated card number with its Luhn check digit (IdentifierAllocator)
+ * return format(CARD_NUMBER_PATTERN, payload * 10 + Luhn.checkDigit(payload));
  *
  * // Generating CVV with 3-digit format
  * return format(CVV_NUMBER_PATTERN, (int) (random() * 1000));
@@ -0,0 +1,55 @@
+package bank.rest.app.bankrestapp.constants;
+
+public final class CurrencyDefaults {
+
+    /**
+     * Classpath CSV ({@code date,currency,rate}) used to seed an empty exchange-rate history. Days of the data
+     * period it misses are backfilled from the rate provider.
+     */
+    public static final String EXCHANGE_RATE_HISTORY_FIXTURE = "rates/exchange-rate-history.csv";
+
+    /**
+     * Maximum number of days a historical rate is carried forward to cover weekends and gaps.
+     * Older dates without a recorded rate are converted at the current rate.
+     */
+    public static final int EXCHANGE_RATE_HISTORY_MAX_GAP_DAYS = 7;
+
+    /** Longest period of history requested from the rate provider at once. */
+    public static final int EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS = 366;
+
+    /** NBU endpoint returning today's official rates of all currencies against UAH. */
+    public static final String NBU_EXCHANGE_RATES_URL = "https://bank.gov.ua/NBUStatService/v1/statdirectory/exchange?json";
+
+    /**
+     * NBU endpoint returning the daily official rates of one currency over a period; takes {@code start} and
+     * {@code end} days as {@code yyyyMMdd} and the lower-case {@code currency} code.
+     */
+    public static final String NBU_EXCHANGE_RATE_HISTORY_URL = "https://bank.gov.ua/NBU_Exchange/exchange_site"
+            + "?start={start}&end={end}&valcode={currency}&sort=exchangedate&order=asc&json";
+
+    /** Day format of the NBU history endpoint parameters. */
+    public static final String NBU_HISTORY_REQUEST_DATE_PATTERN = "yyyyMMdd";
+
+    /** Day format of {@code exchangedate} in NBU responses. */
+    public static final String NBU_EXCHANGE_DATE_PATTERN = "dd.MM.yyyy";
+
+    /** Connect and read timeout for rate provider calls. */
+    public static final int RATE_PROVIDER_TIMEOUT_MILLIS = 5_000;
+
+    /** Interval at which rates not yet refreshed today are fetched again. */
+    public static final long RATE_REFRESH_INTERVAL_MILLIS = 600_000;
+
+    /**
+     * Age in days of the loaded rates beyond which money movements between currencies are refused; rates of
+     * yesterday still cover the hours before today's refresh succeeds.
+     */
+    public static final int OPERATION_RATES_MAX_AGE_DAYS = 1;
+
+    /** Default location of the last successfully fetched rates. */
+    public static final String RATE_SNAPSHOT_FILE = "data/nbu-rates-snapshot.json";
+
+    /** Classpath rates used when no snapshot has been written yet. */
+    public static final String RATE_SNAPSHOT_FIXTURE = "rates/nbu-rates-fixture.json";
+
+    private CurrencyDefaults() {}
+}
@@ -6,5 +6,66 @@ public final class EmailDefaults {
 
     public static final int EMAIL_CODE_VALIDITY_WINDOW_MINUTES = 5;
 
+    /** Interval between bulk deletions of expired verification codes. */
+    public static final long EMAIL_CODE_PURGE_INTERVAL_MILLIS = 3_600_000;
+
+    /** Distribution summary of the number of verification codes removed per purge run. */
+    public static final String EMAIL_CODE_PURGED_METRIC = "email.verification.codes.purged";
+
+    /** Duration of one tick of the timer wheel expiring in-memory verification codes. */
+    public static final long EMAIL_CODE_WHEEL_TICK_MILLIS = 1_000;
+
+    /** Number of slots of the timer wheel; with one-second ticks a rotation covers about 17 minutes. */
+    public static final int EMAIL_CODE_WHEEL_SLOTS = 1024;
+
+    /** Key prefix of verification codes in key-value stores. */
+    public static final String EMAIL_CODE_KEY_PREFIX = "verification:code:";
+
+    /** Placeholder of the verification code in email templates. */
+    public static final String EMAIL_CODE_PLACEHOLDER = "CODE";
+
+    /** Sender address of all outgoing emails. */
+    public static final String EMAIL_SENDER = "Bank Emulator <no-reply@bank-emulator.app>";
+
+    /** Maximum number of outbox messages claimed by one dispatcher run. */
+    public static final int EMAIL_OUTBOX_BATCH_SIZE = 50;
+
+    /** Delay between the end of one dispatcher run and the start of the next. */
+    public static final long EMAIL_OUTBOX_DISPATCH_INTERVAL_MILLIS = 5_000;
+
+    /** How long a claimed message is hidden from other dispatchers while it is being sent. */
+    public static final long EMAIL_OUTBOX_CLAIM_LEASE_MILLIS = 60_000;
+
+    /** How long the email provider may take to open a connection. */
+    public static final long EMAIL_PROVIDER_CONNECT_TIMEOUT_MILLIS = 5_000;
+
+    /** How long the email provider may take to answer a send once connected. */
+    public static final long EMAIL_PROVIDER_REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Latest point of a claim lease, counted from its start, at which a dispatcher still starts a send: a send
+     * bounded by the provider timeouts then ends before the lease expires and another dispatcher claims the message.
+     */
+    public static final long EMAIL_OUTBOX_SEND_DEADLINE_MILLIS =
+            EMAIL_OUTBOX_CLAIM_LEASE_MILLIS - EMAIL_PROVIDER_CONNECT_TIMEOUT_MILLIS - EMAIL_PROVIDER_REQUEST_TIMEOUT_MILLIS;
+
+    /** Number of delivery attempts after which a message is marked as failed. */
+    public static final int EMAIL_OUTBOX_MAX_ATTEMPTS = 8;
+
+    /** Delay before the first retry; each further retry doubles it. */
+    public static final long EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS = 10_000;
+
+    /** Upper bound of the retry delay. */
+    public static final long EMAIL_OUTBOX_MAX_BACKOFF_MILLIS = 1_800_000;
+
+    /** Maximum length of the provider error kept on a message. */
+    public static final int EMAIL_OUTBOX_ERROR_MAX_LENGTH = 500;
+
+    /** How long sent messages stay in the outbox before they are purged. */
+    public static final int EMAIL_OUTBOX_SENT_RETENTION_HOURS = 24;
+
+    /** Interval between purges of sent messages. */
+    public static final long EMAIL_OUTBOX_PURGE_INTERVAL_MILLIS = 3_600_000;
+
     private EmailDefaults() {}
 }
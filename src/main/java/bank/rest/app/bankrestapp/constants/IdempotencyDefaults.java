@@ -0,0 +1,22 @@
+package bank.rest.app.bankrestapp.constants;
+
+public final class IdempotencyDefaults {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
+    public static final int IDEMPOTENCY_CACHE_CAPACITY = 10_000;
+
+    public static final int IDEMPOTENCY_KEY_RETENTION_HOURS = 24;
+
+    /**
+     * Time a reservation is held for the request that made it. A reservation still without a response after
+     * that is reported as abandoned: the request stopped, and whether it moved money is unknown.
+     */
+    public static final int IDEMPOTENCY_RESERVATION_LEASE_SECONDS = 120;
+
+    private IdempotencyDefaults() {}
+}
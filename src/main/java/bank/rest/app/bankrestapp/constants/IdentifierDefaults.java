@@ -0,0 +1,27 @@
+package bank.rest.app.bankrestapp.constants;
+
+public final class IdentifierDefaults {
+
+    /** Number of identifiers reserved by one sequence call; must match the sequences' INCREMENT BY. */
+    public static final int IDENTIFIER_BLOCK_SIZE = 50;
+
+    /**
+     * Added to allocated account numbers so they never overlap the randomly generated numbers issued
+     * before block allocation, which all stayed below 10^16.
+     */
+    public static final long ACCOUNT_NUMBER_SERIES_OFFSET = 10_000_000_000_000_000L;
+
+    /** Smallest EDRPOU code; codes are ten digits long. */
+    public static final long EDRPOU_MIN = 1_000_000_000L;
+
+    /** Permutation key of account numbers. Changing it after numbers have been issued causes collisions. */
+    public static final long ACCOUNT_NUMBER_PERMUTATION_KEY = 0x5DEECE66D1B2C3A4L;
+
+    /** Permutation key of EDRPOU codes. Changing it after codes have been issued causes collisions. */
+    public static final long EDRPOU_PERMUTATION_KEY = 0x2545F4914F6CDD1DL;
+
+    /** Permutation key of card numbers. Changing it after cards have been issued causes collisions. */
+    public static final long CARD_NUMBER_PERMUTATION_KEY = 0x7A3B9C1D5E6F8091L;
+
+    private IdentifierDefaults() {}
+}
@@ -145,6 +145,11 @@ public final class MessageError {
      */
     public static final String ERRORS_INSUFFICIENT_FUNDS_SENDER = "Недостатньо коштів на рахунку відправника";
 
+    /**
+     * Error message when the credited account row is gone by the time the credit statement runs.
+     */
+    public static final String ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED = "Рахунок отримувача не знайдено під час зарахування коштів";
+
     /**
      * Error message when an account is not active.
      */
@@ -171,9 +176,65 @@ public final class MessageError {
      */
     public static final String ERRORS_EXCHANGE_RATE_NOT_FOUND = "Курс для валюти %s не знайдено";
 
+    /**
+     * Error message when a money movement needs a conversion and the loaded rates are not current.
+     */
+    public static final String ERRORS_EXCHANGE_RATES_OUTDATED = "Курси валют застаріли, операції з конвертацією тимчасово недоступні";
+
     /**
      * Error message when an operation cannot acquire a database lock in time.
      */
     public static final String ERRORS_OPERATION_TEMPORARILY_UNAVAILABLE =
             "Операція тимчасово недоступна, спробуйте ще раз";
+
+    /**
+     * Error message when a request with the same idempotency key is still being processed.
+     */
+    public static final String ERRORS_IDEMPOTENCY_KEY_IN_PROGRESS =
+            "Запит з цим ключем ідемпотентності ще обробляється";
+
+    /**
+     * Error message when the request that reserved an idempotency key stopped without storing its result.
+     */
+    public static final String ERRORS_IDEMPOTENCY_KEY_ABANDONED =
+            "Запит з цим ключем ідемпотентності не завершився, його результат невідомий: перевірте історію операцій, "
+                    + "перш ніж повторювати його з новим ключем";
+
+    /**
+     * Error message stored for a request with an idempotency key that failed with an unexpected error.
+     */
+    public static final String ERRORS_IDEMPOTENT_REQUEST_FAILED =
+            "Запит завершився непередбаченою помилкою, його результат невідомий: перевірте історію операцій, "
+                    + "перш ніж повторювати його з новим ключем";
+
+    /**
+     * Error message when an idempotency key is reused for a different request.
+     */
+    public static final String ERRORS_IDEMPOTENCY_KEY_REUSED =
+            "Ключ ідемпотентності вже використано для іншого запиту";
+
+    /**
+     * Error message when the idempotency key header is blank or too long.
+     */
+    public static final String ERRORS_INVALID_IDEMPOTENCY_KEY = "Некоректний ключ ідемпотентності";
+
+    /**
+     * Error message when the asynchronous transfer queue cannot accept more transfers.
+     */
+    public static final String ERRORS_TRANSFER_QUEUE_FULL = "Черга переказів переповнена, спробуйте пізніше";
+
+    /**
+     * Error message when a transfer ticket does not exist or belongs to another user.
+     */
+    public static final String ERRORS_TRANSFER_TICKET_NOT_FOUND = "Заявку на переказ не знайдено";
+
+    /**
+     * Error message when the analytics range is reversed or spans too many buckets.
+     */
+    public static final String ERRORS_INVALID_ANALYTICS_RANGE = "Некоректний період аналітики";
+
+    /**
+     * Error message when a transaction history continuation token cannot be decoded.
+     */
+    public static final String ERRORS_INVALID_HISTORY_CURSOR = "Некоректний курсор історії транзакцій";
 }
@@ -0,0 +1,93 @@
+package bank.rest.app.bankrestapp.constants;
+
+public final class MetricsDefaults {
+
+    /** Timer of card-to-card transfers, tagged by outcome, currency and exception. */
+    public static final String TRANSFER_METRIC = "bank.transfer";
+
+    /** Timer of payments, tagged by payment type, outcome, currency and exception. */
+    public static final String PAYMENT_METRIC = "bank.payment";
+
+    /** Timer of account row lock acquisition, by locking read or balance statement, tagged by lookup, outcome and exception. */
+    public static final String ACCOUNT_LOCK_METRIC = "bank.account.lock";
+
+    /** Timer of currency conversions at the current rates, tagged by source and target currency and outcome. */
+    public static final String CURRENCY_CONVERSION_METRIC = "bank.currency.conversion";
+
+    /** Timer of request authentication by the JWT filter, tagged by outcome. */
+    public static final String JWT_AUTHENTICATION_METRIC = "bank.security.jwt.authentication";
+
+    /** Timer of outbox email deliveries, tagged by the resulting outbox status. */
+    public static final String EMAIL_DISPATCH_METRIC = "bank.email.dispatch";
+
+    /** Counter of lock conflict retries of transfers and payments, tagged by operation and outcome. */
+    public static final String LOCK_RETRY_METRIC = "bank.account.lock.retry";
+
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_CURRENCY = "currency";
+    public static final String TAG_EXCEPTION = "exception";
+    public static final String TAG_PAYMENT_TYPE = "type";
+    public static final String TAG_LOCK_LOOKUP = "lookup";
+    public static final String TAG_FROM_CURRENCY = "from";
+    public static final String TAG_TO_CURRENCY = "to";
+    public static final String TAG_OPERATION = "operation";
+
+    /** Tag value used when a tag does not apply, e.g. the currency of a transfer whose sender was not found. */
+    public static final String TAG_VALUE_NONE = "none";
+
+    public static final String LOCK_LOOKUP_CARD_NUMBER = "card_number";
+    public static final String LOCK_LOOKUP_ACCOUNT_ID = "account_id";
+    public static final String LOCK_LOOKUP_ACCOUNT_NUMBER = "account_number";
+    /** The row is locked by the conditional debit statement itself. */
+    public static final String LOCK_LOOKUP_DEBIT = "debit";
+    /** The row is locked by the credit statement itself. */
+    public static final String LOCK_LOOKUP_CREDIT = "credit";
+
+    public static final String LOCK_OUTCOME_ACQUIRED = "acquired";
+    public static final String LOCK_OUTCOME_NOT_FOUND = "not_found";
+    public static final String LOCK_OUTCOME_FAILED = "failed";
+    /** A balance statement updated no row: the account is gone or failed the statement's condition. */
+    public static final String LOCK_OUTCOME_REJECTED = "rejected";
+
+    /** A failed attempt was retried. */
+    public static final String LOCK_RETRY_OUTCOME_RETRIED = "retried";
+    /** An attempt succeeded after at least one retry. */
+    public static final String LOCK_RETRY_OUTCOME_RECOVERED = "recovered";
+    /** The last allowed attempt failed, the conflict reached the caller. */
+    public static final String LOCK_RETRY_OUTCOME_EXHAUSTED = "exhausted";
+
+    /** Operation tag of transfers; payments are tagged with their {@code PAYMENT_TYPE_*}. */
+    public static final String OPERATION_TRANSFER = "transfer";
+
+    public static final String PAYMENT_TYPE_IBAN = "iban";
+    public static final String PAYMENT_TYPE_INTERNET = "internet";
+    public static final String PAYMENT_TYPE_MOBILE = "mobile";
+    public static final String PAYMENT_TYPE_TAX = "tax";
+    public static final String PAYMENT_TYPE_ELECTRONICS = "electronics";
+    public static final String PAYMENT_TYPE_TRAIN = "train";
+    public static final String PAYMENT_TYPE_COMMUNAL = "communal";
+
+    /** Length of one bucket of the account lock contention window. */
+    public static final long LOCK_CONTENTION_BUCKET_MILLIS = 60_000L;
+
+    /** Buckets in the account lock contention window, which therefore spans five minutes. */
+    public static final int LOCK_CONTENTION_BUCKETS = 5;
+
+    /** Accounts tracked per bucket; an account holding over 1/64 of a bucket's lock wait is never evicted. */
+    public static final int LOCK_CONTENTION_COUNTERS_PER_BUCKET = 64;
+
+    /** Interval at which recorded lock waits are folded into the contention window and published to readers. */
+    public static final long LOCK_CONTENTION_FOLD_INTERVAL_MILLIS = 1_000L;
+
+    /** Lock waits awaiting a fold beyond which new ones are dropped. */
+    public static final int LOCK_CONTENTION_PENDING_SAMPLES = 65_536;
+
+    /** Number of most contended accounts reported when the caller does not ask for a specific number. */
+    public static final int LOCK_CONTENTION_DEFAULT_TOP = 10;
+
+    public static final String AUTHENTICATION_OUTCOME_AUTHENTICATED = "authenticated";
+    public static final String AUTHENTICATION_OUTCOME_ANONYMOUS = "anonymous";
+    public static final String AUTHENTICATION_OUTCOME_REJECTED = "rejected";
+
+    private MetricsDefaults() {}
+}
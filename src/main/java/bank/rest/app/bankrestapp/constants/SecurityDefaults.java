@@ -0,0 +1,33 @@
+package bank.rest.app.bankrestapp.constants;
+
+public final class SecurityDefaults {
+
+    /** How long an authenticated principal is reused before it is reloaded from the database. */
+    public static final long PRINCIPAL_CACHE_TTL_MILLIS = 300_000;
+
+    /** Maximum number of principals kept in the cache. */
+    public static final int PRINCIPAL_CACHE_MAX_ENTRIES = 10_000;
+
+    /** Interval between evictions of expired principals. */
+    public static final long PRINCIPAL_CACHE_EVICTION_INTERVAL_MILLIS = 60_000;
+
+    /** Maximum number of verified tokens whose claims are kept for reuse. */
+    public static final int VERIFIED_TOKEN_CACHE_MAX_ENTRIES = 10_000;
+
+    /** Interval between evictions of claims of expired tokens. */
+    public static final long VERIFIED_TOKEN_CACHE_EVICTION_INTERVAL_MILLIS = 60_000;
+
+    /** Size of the Bloom filter of revoked token ids, in bits (256 KiB; about 0.02% false positives at 100k ids). */
+    public static final int REVOCATION_BLOOM_FILTER_BITS = 1 << 21;
+
+    /** Number of bit positions set per revoked token id. */
+    public static final int REVOCATION_BLOOM_FILTER_HASHES = 7;
+
+    /** Interval between reads of revocations made by other application instances. */
+    public static final long REVOCATION_SYNC_INTERVAL_MILLIS = 30_000;
+
+    /** Interval between purges of revocations of tokens that have expired anyway. */
+    public static final long REVOCATION_PURGE_INTERVAL_MILLIS = 3_600_000;
+
+    private SecurityDefaults() {}
+}
@@ -0,0 +1,21 @@
+package bank.rest.app.bankrestapp.constants;
+
+/**
+ * Page size limits of the cursor-based transaction history.
+ */
+public final class TransactionHistoryDefaults {
+
+    /**
+     * Number of transactions returned when the client does not request a page size.
+     */
+    public static final int HISTORY_PAGE_SIZE_DEFAULT = 20;
+
+    /**
+     * Largest page size a client may request; larger values are clamped.
+     */
+    public static final int HISTORY_PAGE_SIZE_MAX = 100;
+
+    private TransactionHistoryDefaults() {
+        // Prevent instantiation
+    }
+}
@@ -6,13 +6,19 @@ import bank.rest.app.bankrestapp.dto.get.CetCustomerDetailsForAdminDTO;
 import bank.rest.app.bankrestapp.dto.get.GetAccountForAdminDTO;
 import bank.rest.app.bankrestapp.facade.AccountFacade;
 import bank.rest.app.bankrestapp.facade.CustomerFacade;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.AccountLockHotspot;
+import bank.rest.app.bankrestapp.service.AnalyticsService;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_DEFAULT_TOP;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
@@ -22,6 +28,8 @@ public final class AdminController {
 
     private final CustomerFacade customerFacade;
     private final AccountFacade accountFacade;
+    private final AnalyticsService analyticsService;
+    private final AccountLockContention accountLockContention;
 
     /**
      * Returns administrative customer dashboard data.
@@ -52,4 +60,34 @@ public final class AdminController {
         return ok(accountStatusDTO);
     }
 
+    /**
+     * Rebuilds the monthly analytics rollup of the requested month from raw operations.
+     * Used to backfill months recorded before the rollup existed.
+     *
+     * @param year calendar year of the month to rebuild
+     * @param month calendar month to rebuild
+     * @return response containing the rebuilt period and the number of rebuilt accounts
+     */
+    @PostMapping("/analytics/rollup/rebuild")
+    public ResponseEntity<?> rebuildAnalyticsRollup(final @RequestParam Integer year, final @RequestParam Integer month) {
+        final YearMonth period = YearMonth.of(year, month);
+        final int rebuiltAccounts = this.analyticsService.rebuildMonthlySummaries(period);
+
+        return ok(Map.of("period", period.toString(), "rebuiltAccounts", rebuiltAccounts));
+    }
+
+    /**
+     * Returns the accounts whose pessimistic row locks were waited on the longest over the recent window,
+     * most contended first.
+     *
+     * @param limit maximum number of accounts to return
+     * @return response containing the window length and the most contended accounts
+     */
+    @GetMapping("/accounts/lock-contention")
+    public ResponseEntity<?> getAccountLockContention(final @RequestParam(required = false) Integer limit) {
+        final List<AccountLockHotspot> hotspots =
+                this.accountLockContention.top(limit == null ? LOCK_CONTENTION_DEFAULT_TOP : limit);
+
+        return ok(Map.of("windowSeconds", this.accountLockContention.windowMillis() / 1_000, "accounts", hotspots));
+    }
 }
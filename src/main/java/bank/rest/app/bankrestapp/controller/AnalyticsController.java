@@ -1,8 +1,11 @@
 package bank.rest.app.bankrestapp.controller;
 
+import bank.rest.app.bankrestapp.dto.get.AnalyticsBucketDTO;
 import bank.rest.app.bankrestapp.dto.get.AnalyticsSummaryDTO;
+import bank.rest.app.bankrestapp.entity.enums.AnalyticsGranularity;
 import bank.rest.app.bankrestapp.service.AnalyticsService;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,6 +14,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/analytics")
 @AllArgsConstructor
@@ -36,4 +42,26 @@ public final class AnalyticsController {
         final AnalyticsSummaryDTO summary = this.analyticsService.getMonthlySummary(accountNumber, year, month, userEmail);
         return ResponseEntity.ok(summary);
     }
+
+    /**
+     * Returns a time series of analytics summaries for the authenticated user's account.
+     *
+     * @param userDetails authenticated user details
+     * @param accountNumber account number to summarize
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param granularity bucket size, monthly by default
+     * @return response containing the summary buckets in chronological order
+     * @throws IllegalArgumentException if the range is invalid or the account is unavailable to the user
+     */
+    @GetMapping("/summary/range")
+    public ResponseEntity<List<AnalyticsBucketDTO>> getRangeSummary(final @AuthenticationPrincipal UserDetails userDetails,
+                                                                    final @RequestParam String accountNumber,
+                                                                    final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                    final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                    final @RequestParam(defaultValue = "MONTH") AnalyticsGranularity granularity) {
+        final String userEmail = userDetails != null ? userDetails.getUsername() : null;
+        final List<AnalyticsBucketDTO> buckets = this.analyticsService.getRangeSummary(accountNumber, from, to, granularity, userEmail);
+        return ResponseEntity.ok(buckets);
+    }
 }
@@ -8,6 +8,7 @@ import bank.rest.app.bankrestapp.dto.UpdateCustomerDTO;
 import bank.rest.app.bankrestapp.dto.get.GetCustomerDTO;
 import bank.rest.app.bankrestapp.facade.CustomerFacade;
 import bank.rest.app.bankrestapp.service.CustomerService;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
 import bank.rest.app.bankrestapp.validation.DtoValidator;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +27,7 @@ class CustomerController {
     private final CustomerFacade customerFacade;
     private final CustomerService customerService;
     private final DtoValidator dtoValidator;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Returns profile data for the authenticated customer.
@@ -86,6 +88,17 @@ class CustomerController {
                 .build();
     }
 
+    /**
+     * Revokes the token that authenticated the request, so it is rejected before its expiration.
+     *
+     * @return empty success response
+     */
+    @PostMapping("/me/logout")
+    public ResponseEntity<?> logout() {
+        this.tokenRevocationService.revokeCurrentToken();
+        return ok().build();
+    }
+
     @PostMapping("/me/settings/password/init")
     public ResponseEntity<?> initPasswordChange(final @AuthenticationPrincipal UserDetails userDetails) {
         this.customerService.initPasswordChange(userDetails.getUsername());
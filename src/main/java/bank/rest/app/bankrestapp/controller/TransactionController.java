@@ -2,6 +2,8 @@ package bank.rest.app.bankrestapp.controller;
 
 import bank.rest.app.bankrestapp.dto.CreateTransaction;
 import bank.rest.app.bankrestapp.dto.get.GetTransactionDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransactionHistoryDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransferTicketDTO;
 import bank.rest.app.bankrestapp.facade.TransactionFacade;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -9,6 +11,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,6 +40,44 @@ class TransactionController {
         return ResponseEntity.ok(getTransactionDTO);
     }
 
+    /**
+     * Enqueues a card-to-card transfer for asynchronous processing and returns a ticket immediately.
+     *
+     * @param userDetails authenticated user details
+     * @param transaction transfer payload
+     * @param bindingResult validation result
+     * @return 202 response containing the pending transfer ticket
+     * @throws IllegalArgumentException if validation fails
+     */
+    @PostMapping("/withdraw/async")
+    public ResponseEntity<?> withdrawAsync(final @AuthenticationPrincipal UserDetails userDetails,
+                                           final @RequestBody CreateTransaction transaction,
+                                           final BindingResult bindingResult) {
+
+        final GetTransferTicketDTO ticket = this.transactionFacade.submitWithdraw(
+                transaction,
+                bindingResult,
+                userDetails.getUsername()
+        );
+
+        return ResponseEntity.accepted().body(ticket);
+    }
+
+    /**
+     * Returns the status of an asynchronous transfer submitted by the authenticated user.
+     *
+     * @param userDetails authenticated user details
+     * @param ticketId ticket identifier returned on submission
+     * @return response containing the transfer ticket
+     * @throws java.util.NoSuchElementException if the ticket cannot be found
+     */
+    @GetMapping("/withdraw/async/{ticketId}")
+    public ResponseEntity<?> getTransferTicket(final @AuthenticationPrincipal UserDetails userDetails,
+                                               final @PathVariable String ticketId) {
+
+        return ResponseEntity.ok(this.transactionFacade.getTransferTicket(ticketId, userDetails.getUsername()));
+    }
+
     /**
      * Returns paged transaction history for the specified account number.
      *
@@ -50,5 +92,23 @@ class TransactionController {
         return this.transactionFacade.getAllTransactions(pageable,accountNumber);
     }
 
+    /**
+     * Returns one page of transaction history using keyset pagination.
+     * Pass the {@code nextCursor} of a response as {@code cursor} to load the following page.
+     *
+     * @param accountNumber account number whose history should be returned
+     * @param cursor continuation token from the previous page; omitted for the first page
+     * @param size requested page size
+     * @return transactions of the page and the token of the next page
+     * @throws java.util.NoSuchElementException if the account cannot be found
+     * @throws IllegalArgumentException if the continuation token is malformed
+     */
+    @GetMapping("transactions/cursor")
+    public GetTransactionHistoryDTO getTransactionHistory(@RequestParam String accountNumber,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        return this.transactionFacade.getTransactionHistory(accountNumber, cursor, size);
+    }
+
 
 }
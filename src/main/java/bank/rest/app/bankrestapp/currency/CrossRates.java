@@ -0,0 +1,71 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_EXCHANGE_RATE_NOT_FOUND;
+import static java.lang.String.format;
+
+/**
+ * Immutable snapshot of cross rates between all supported currencies, built once per rate refresh.
+ * A conversion is two {@link EnumMap} lookups and one multiplication; the division by the target
+ * rate is done up front with {@link MathContext#DECIMAL128} precision.
+ */
+final class CrossRates {
+
+    static final CrossRates EMPTY = new CrossRates(new EnumMap<>(Currency.class));
+
+    private final Map<Currency, Map<Currency, BigDecimal>> rates;
+
+    private CrossRates(final Map<Currency, Map<Currency, BigDecimal>> rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * Builds the snapshot from NBU rates quoted against UAH. Unknown currency codes and non-positive
+     * rates are ignored.
+     */
+    static @NotNull CrossRates of(final List<CurrencyLoader.CurrencyRate> uahRates) {
+        final Map<Currency, BigDecimal> toUah = new EnumMap<>(Currency.class);
+        for (final CurrencyLoader.CurrencyRate rate : uahRates) {
+            final Currency currency = CurrencyLoader.parseCurrency(rate.getCc());
+            if (currency != null && rate.getRate() > 0) {
+                toUah.put(currency, BigDecimal.valueOf(rate.getRate()));
+            }
+        }
+
+        final Map<Currency, Map<Currency, BigDecimal>> rates = new EnumMap<>(Currency.class);
+        toUah.forEach((from, fromRate) -> {
+            final Map<Currency, BigDecimal> row = new EnumMap<>(Currency.class);
+            toUah.forEach((to, toRate) -> row.put(to, from == to
+                    ? BigDecimal.ONE
+                    : fromRate.divide(toRate, MathContext.DECIMAL128)));
+            rates.put(from, row);
+        });
+
+        return new CrossRates(rates);
+    }
+
+    BigDecimal convert(final @NotNull BigDecimal amount, final Currency from, final Currency to) {
+        final Map<Currency, BigDecimal> row = this.rates.get(from);
+        if (row == null) {
+            throw new RuntimeException(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, from));
+        }
+
+        final BigDecimal rate = row.get(to);
+        if (rate == null) {
+            throw new RuntimeException(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, to));
+        }
+
+        return amount.multiply(rate)
+                .setScale(4, RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,64 +1,90 @@
 package bank.rest.app.bankrestapp.currency;
 
 import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.exception.ExchangeRatesOutdatedException;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
 import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.OPERATION_RATES_MAX_AGE_DAYS;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.RATE_REFRESH_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_EXCHANGE_RATES_OUTDATED;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_EXCHANGE_RATE_NOT_FOUND;
 import static java.lang.String.format;
 
+@Slf4j
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public final class CurrencyLoader {
 
-    private final RestTemplate restTemplate;
-    private List<CurrencyRate> currentRates = new ArrayList<>();
+    private final RateProvider rateProvider;
+    private final RateSnapshotStore rateSnapshotStore;
+    private final ExchangeRateHistory exchangeRateHistory;
+    private final MoneyMovementMetrics moneyMovementMetrics;
+    private volatile List<CurrencyRate> currentRates = new ArrayList<>();
+    private volatile CrossRates crossRates = CrossRates.EMPTY;
+    private volatile LocalDate ratesDate;
 
 
+    /**
+     * Publishes the last-known-good rates from disk without touching the network; the provider is
+     * queried in the background by {@link #refreshIfStale()} once the scheduler starts.
+     */
     @PostConstruct
     public void init() {
-        updateRates(); // запуск при старте
+        rateSnapshotStore.load().ifPresent(snapshot -> {
+            publish(snapshot.rates());
+            ratesDate = snapshot.date();
+        });
     }
 
-    @Scheduled(cron = "0 0 0 * * *") // каждый день в 00:00
+    @Scheduled(fixedDelay = RATE_REFRESH_INTERVAL_MILLIS) // при старте и повторно, пока нет курсов на сегодня
+    public void refreshIfStale() {
+        if (ratesDate == null || ratesDate.isBefore(LocalDate.now())) {
+            updateRates();
+        }
+    }
+
+    /**
+     * Publishes the provider's rates with the day the provider dated them, {@code null} for an undated source.
+     * Only dated rates of the official provider are recorded in the exchange rate history.
+     */
     public void updateRates() {
         try {
-            CurrencyRate[] rates = restTemplate.getForObject(
-                    "https://bank.gov.ua/NBUStatService/v1/statdirectory/exchange?json",
-                    CurrencyRate[].class
-            );
+            RateSnapshot snapshot = rateProvider.fetchRates();
 
-            if (rates != null) {
-                currentRates = Arrays.stream(rates)
-                        .filter(rate -> List.of("USD", "EUR").contains(rate.getCc()))
-                        .collect(Collectors.toList());
-
-                // Добавляем гривну вручную
-                CurrencyRate uah = new CurrencyRate("UAH", 1.0);
-                currentRates.add(uah);
-
-                System.out.println("Курсы валют обновлены: " + currentRates);
+            publish(snapshot.rates());
+            ratesDate = snapshot.date();
+            rateSnapshotStore.save(snapshot);
+            if (snapshot.date() != null && rateProvider.isOfficial()) {
+                exchangeRateHistory.record(snapshot.date(), snapshot.rates());
             }
+
+            log.info("Exchange rates updated: {}", ratesDate);
         } catch (Exception e) {
-            System.err.println("Ошибка при загрузке курсов валют: " + e.getMessage());
+            log.warn("Exchange rates could not be updated", e);
         }
     }
 
+    private void publish(List<CurrencyRate> rates) {
+        crossRates = CrossRates.of(rates);
+        currentRates = List.copyOf(rates);
+    }
+
     public @NotNull Optional<CurrencyRate> getRate(String currencyCode) {
         return currentRates.stream()
                 .filter(rate -> rate.getCc().equalsIgnoreCase(currencyCode))
@@ -69,16 +95,73 @@ public final class CurrencyLoader {
         return currentRates;
     }
 
+    /**
+     * Converts the amount of a money movement at the current rates. Unlike conversions for display, it refuses
+     * rates older than {@link bank.rest.app.bankrestapp.constants.CurrencyDefaults#OPERATION_RATES_MAX_AGE_DAYS}
+     * and undated ones, such as the bundled fixture, whether loaded from disk or served by the fixture provider.
+     *
+     * @throws ExchangeRatesOutdatedException if the currencies differ and the loaded rates are not current
+     */
+    public BigDecimal convertForOperation(@NotNull BigDecimal amount, @NotNull Currency from, @NotNull Currency to) {
+        if (from == to) return amount;
+
+        final LocalDate date = ratesDate;
+        if (date == null || date.isBefore(LocalDate.now().minusDays(OPERATION_RATES_MAX_AGE_DAYS))) {
+            throw new ExchangeRatesOutdatedException(ERRORS_EXCHANGE_RATES_OUTDATED);
+        }
+
+        return convert(amount, from, to);
+    }
+
     public BigDecimal convert(BigDecimal amount, @NotNull String from, String to) {
         if (from.equalsIgnoreCase(to)) return amount;
 
-        CurrencyRate fromRate = getRate(from).orElseThrow(() -> new RuntimeException(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, from)));
-        CurrencyRate toRate = getRate(to).orElseThrow(() -> new RuntimeException(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, to)));
+        Currency fromCurrency = parseCurrency(from);
+        if (fromCurrency == null) throw new RuntimeException(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, from));
+        Currency toCurrency = parseCurrency(to);
+        if (toCurrency == null) throw new RuntimeException(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, to));
+
+        return convert(amount, fromCurrency, toCurrency);
+    }
 
-        BigDecimal fromToUah = amount.multiply(BigDecimal.valueOf(fromRate.getRate()));
-        BigDecimal result = fromToUah.divide(BigDecimal.valueOf(toRate.getRate()), 4, RoundingMode.HALF_UP);
+    /**
+     * Converts an amount using the current cross-rate snapshot. The result is rounded to 4 and then
+     * to 2 decimal places with {@link RoundingMode#HALF_UP}, like the string-based overload. Every
+     * conversion between distinct currencies is timed per currency pair.
+     *
+     * @throws RuntimeException if no rate is loaded for one of the currencies
+     */
+    public BigDecimal convert(@NotNull BigDecimal amount, @NotNull Currency from, @NotNull Currency to) {
+        if (from == to) return amount;
+
+        final long start = System.nanoTime();
+        try {
+            final BigDecimal converted = crossRates.convert(amount, from, to);
+            moneyMovementMetrics.recordConversion(from, to, System.nanoTime() - start, true);
+            return converted;
+        } catch (RuntimeException e) {
+            moneyMovementMetrics.recordConversion(from, to, System.nanoTime() - start, false);
+            throw e;
+        }
+    }
 
-        return result.setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Converts an amount at the NBU rates recorded for {@code date}. Falls back to the current rates when
+     * {@code date} is {@code null} or no rate is recorded for one of the currencies around that day.
+     *
+     * @throws RuntimeException if the fallback is needed and no current rate is loaded
+     */
+    public BigDecimal convert(@NotNull BigDecimal amount, @NotNull Currency from, @NotNull Currency to, LocalDate date) {
+        if (from == to) return amount;
+        if (date == null) return convert(amount, from, to);
+
+        BigDecimal fromRate = exchangeRateHistory.findRate(from, date);
+        BigDecimal toRate = exchangeRateHistory.findRate(to, date);
+        if (fromRate == null || toRate == null) return convert(amount, from, to);
+
+        return amount.multiply(fromRate)
+                .divide(toRate, 4, RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP);
     }
 
     public String convertInTransaction(@NotNull Currency fromTransaction, Currency fromAccount, BigDecimal amount) {
@@ -86,10 +169,19 @@ public final class CurrencyLoader {
             return amount.setScale(2, RoundingMode.HALF_UP).toString();
         }
 
-        BigDecimal convertedAmount = convert(amount, fromTransaction.name(), fromAccount.name());
+        BigDecimal convertedAmount = convert(amount, fromTransaction, fromAccount);
         return convertedAmount.setScale(2, RoundingMode.HALF_UP).toString();
     }
 
+    static Currency parseCurrency(String currencyCode) {
+        if (currencyCode == null) return null;
+        try {
+            return Currency.valueOf(currencyCode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     // DTO-класс для курсов
     @Getter
     @Setter
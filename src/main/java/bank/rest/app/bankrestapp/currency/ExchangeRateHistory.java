@@ -0,0 +1,150 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.ExchangeRate;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.resository.ExchangeRateRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.EXCHANGE_RATE_HISTORY_FIXTURE;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.EXCHANGE_RATE_HISTORY_MAX_GAP_DAYS;
+import static bank.rest.app.bankrestapp.entity.enums.Currency.UAH;
+
+/**
+ * Daily NBU rates persisted in {@code exchange_rate} and mirrored in an in-memory {@link HistoricalRateIndex}.
+ * An empty table is seeded from {@link bank.rest.app.bankrestapp.constants.CurrencyDefaults#EXCHANGE_RATE_HISTORY_FIXTURE}
+ * so historical conversions work without network access; {@link ExchangeRateHistoryBackfill} then fills the
+ * days of the data period the fixture misses from the rate provider.
+ */
+@Component
+@RequiredArgsConstructor
+public final class ExchangeRateHistory {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private volatile HistoricalRateIndex index = HistoricalRateIndex.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        if (this.exchangeRateRepository.count() == 0) {
+            this.exchangeRateRepository.saveAll(readFixture());
+        }
+        this.reloadIndex();
+    }
+
+    /**
+     * Returns the UAH rate of a currency for the given day, or {@code null} if no rate was recorded
+     * for that day or the few days before it.
+     */
+    public BigDecimal findRate(final Currency currency, final LocalDate date) {
+        if (currency == UAH) {
+            return BigDecimal.ONE;
+        }
+
+        return this.index.find(currency, date, EXCHANGE_RATE_HISTORY_MAX_GAP_DAYS);
+    }
+
+    /**
+     * Checks that every day of a period has a rate of the currency, carried forward at most
+     * {@link bank.rest.app.bankrestapp.constants.CurrencyDefaults#EXCHANGE_RATE_HISTORY_MAX_GAP_DAYS} days.
+     */
+    public boolean covers(final Currency currency, final LocalDate from, final LocalDate to) {
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (this.findRate(currency, day) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores the rates published for a day. Rates already recorded for that day are left unchanged.
+     */
+    public synchronized void record(final LocalDate date, final List<CurrencyLoader.CurrencyRate> rates) {
+        this.recordNew(Map.of(date, rates), this.exchangeRateRepository.findAllByRateDate(date));
+    }
+
+    /**
+     * Stores the rates published over a period, by day, and reloads the index once.
+     * Rates already recorded for a day are left unchanged.
+     */
+    public synchronized void recordHistory(final Map<LocalDate, List<CurrencyLoader.CurrencyRate>> ratesByDate) {
+        if (ratesByDate.isEmpty()) {
+            return;
+        }
+
+        this.recordNew(ratesByDate, this.exchangeRateRepository.findAllByRateDateBetween(
+                Collections.min(ratesByDate.keySet()), Collections.max(ratesByDate.keySet())));
+    }
+
+    private void recordNew(final Map<LocalDate, List<CurrencyLoader.CurrencyRate>> ratesByDate,
+                           final List<ExchangeRate> recordedRates) {
+        final Set<RateDay> recorded = recordedRates.stream()
+                .map(rate -> new RateDay(rate.getCurrencyCode(), rate.getRateDate()))
+                .collect(Collectors.toSet());
+
+        final List<ExchangeRate> newRates = new ArrayList<>();
+        ratesByDate.forEach((date, rates) -> {
+            for (final CurrencyLoader.CurrencyRate rate : rates) {
+                final Currency currency = CurrencyLoader.parseCurrency(rate.getCc());
+                if (currency != null && currency != UAH && rate.getRate() > 0
+                        && recorded.add(new RateDay(currency, date))) {
+                    newRates.add(ExchangeRate.builder()
+                            .currencyCode(currency)
+                            .rateDate(date)
+                            .rate(BigDecimal.valueOf(rate.getRate()))
+                            .build());
+                }
+            }
+        });
+
+        if (!newRates.isEmpty()) {
+            this.exchangeRateRepository.saveAll(newRates);
+            this.reloadIndex();
+        }
+    }
+
+    private void reloadIndex() {
+        this.index = HistoricalRateIndex.of(this.exchangeRateRepository.findAll());
+    }
+
+    private static List<ExchangeRate> readFixture() {
+        final ClassPathResource resource = new ClassPathResource(EXCHANGE_RATE_HISTORY_FIXTURE);
+        if (!resource.exists()) {
+            return List.of();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#") && !line.startsWith("date,"))
+                    .map(line -> line.split(","))
+                    .map(columns -> ExchangeRate.builder()
+                            .rateDate(LocalDate.parse(columns[0].trim()))
+                            .currencyCode(Currency.valueOf(columns[1].trim()))
+                            .rate(new BigDecimal(columns[2].trim()))
+                            .build())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record RateDay(Currency currency, LocalDate date) {
+    }
+}
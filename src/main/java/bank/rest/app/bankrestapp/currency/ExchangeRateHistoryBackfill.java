@@ -0,0 +1,89 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.resository.PaymentRepository;
+import bank.rest.app.bankrestapp.resository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.RATE_REFRESH_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.entity.enums.Currency.UAH;
+
+/**
+ * Completes {@link ExchangeRateHistory} for the data period, from the oldest transaction or payment to today,
+ * so that every operation is converted at the rate of its own day. The bundled fixture covers only a few days;
+ * the rest is requested from the {@link RateProvider} in the background after each start, period by period,
+ * skipping periods that are already covered. A failed run is retried at the rate refresh interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public final class ExchangeRateHistoryBackfill {
+
+    private final RateProvider rateProvider;
+    private final ExchangeRateHistory exchangeRateHistory;
+    private final TransactionRepository transactionRepository;
+    private final PaymentRepository paymentRepository;
+    private volatile boolean complete;
+
+    @Scheduled(fixedDelay = RATE_REFRESH_INTERVAL_MILLIS)
+    public void backfillIfIncomplete() {
+        if (this.complete) {
+            return;
+        }
+
+        try {
+            this.backfill(LocalDate.now());
+            this.complete = true;
+        } catch (RuntimeException e) {
+            log.warn("Exchange rate history backfill failed, retrying later", e);
+        }
+    }
+
+    /**
+     * Requests the history of every period of the data period up to {@code today} that has a day without a rate.
+     *
+     * @return number of periods requested from the provider
+     */
+    int backfill(final LocalDate today) {
+        final Optional<LocalDate> dataStart = Stream.of(
+                        this.transactionRepository.findEarliestTransactionDate(),
+                        this.paymentRepository.findEarliestPaymentDate())
+                .flatMap(Optional::stream)
+                .map(LocalDateTime::toLocalDate)
+                .min(LocalDate::compareTo);
+        if (dataStart.isEmpty()) {
+            return 0;
+        }
+
+        int requested = 0;
+        for (LocalDate from = dataStart.get(); !from.isAfter(today); from = from.plusDays(EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS)) {
+            final LocalDate to = min(from.plusDays(EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS - 1), today);
+            if (!this.isCovered(from, to)) {
+                this.exchangeRateHistory.recordHistory(this.rateProvider.fetchHistory(from, to));
+                requested++;
+            }
+        }
+
+        return requested;
+    }
+
+    private boolean isCovered(final LocalDate from, final LocalDate to) {
+        return Arrays.stream(Currency.values())
+                .filter(currency -> currency != UAH)
+                .allMatch(currency -> this.exchangeRateHistory.covers(currency, from, to));
+    }
+
+    private static LocalDate min(final LocalDate first, final LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
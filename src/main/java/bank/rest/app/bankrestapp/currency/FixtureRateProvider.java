@@ -0,0 +1,33 @@
+package bank.rest.app.bankrestapp.currency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.RATE_SNAPSHOT_FIXTURE;
+
+/**
+ * Serves rates from a local file or classpath resource in the snapshot format, for offline
+ * environments. Enabled with {@code currency.rates.provider=fixture}. The file is served with its own date:
+ * the bundled fixture is undated, so its rates are never used for money movements, and none of them is
+ * recorded as official history.
+ */
+@Component
+@ConditionalOnProperty(name = "currency.rates.provider", havingValue = "fixture")
+public final class FixtureRateProvider implements RateProvider {
+
+    private final RateSnapshotStore rateSnapshotStore;
+    private final Resource fixture;
+
+    public FixtureRateProvider(final RateSnapshotStore rateSnapshotStore,
+                               @Value("${currency.rates.fixture:classpath:" + RATE_SNAPSHOT_FIXTURE + "}") final Resource fixture) {
+        this.rateSnapshotStore = rateSnapshotStore;
+        this.fixture = fixture;
+    }
+
+    @Override
+    public RateSnapshot fetchRates() {
+        return this.rateSnapshotStore.read(this.fixture);
+    }
+}
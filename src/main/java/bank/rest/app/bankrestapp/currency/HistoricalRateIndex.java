@@ -0,0 +1,75 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.ExchangeRate;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-currency index of daily rates. Each currency keeps its days as a sorted {@code long[]}
+ * of epoch days with a parallel array of rates, so a lookup is a single binary search.
+ */
+final class HistoricalRateIndex {
+
+    static final HistoricalRateIndex EMPTY = new HistoricalRateIndex(new EnumMap<>(Currency.class));
+
+    private final Map<Currency, Series> series;
+
+    private HistoricalRateIndex(final Map<Currency, Series> series) {
+        this.series = series;
+    }
+
+    static HistoricalRateIndex of(final List<ExchangeRate> rates) {
+        final Map<Currency, List<ExchangeRate>> byCurrency = new EnumMap<>(Currency.class);
+        for (final ExchangeRate rate : rates) {
+            byCurrency.computeIfAbsent(rate.getCurrencyCode(), currency -> new ArrayList<>()).add(rate);
+        }
+
+        final Map<Currency, Series> series = new EnumMap<>(Currency.class);
+        byCurrency.forEach((currency, currencyRates) -> {
+            currencyRates.sort(Comparator.comparing(ExchangeRate::getRateDate));
+
+            final long[] days = new long[currencyRates.size()];
+            final BigDecimal[] values = new BigDecimal[currencyRates.size()];
+            for (int i = 0; i < days.length; i++) {
+                days[i] = currencyRates.get(i).getRateDate().toEpochDay();
+                values[i] = currencyRates.get(i).getRate();
+            }
+            series.put(currency, new Series(days, values));
+        });
+
+        return new HistoricalRateIndex(series);
+    }
+
+    /**
+     * Returns the latest rate recorded on or before {@code date}, provided it is at most
+     * {@code maxGapDays} old, or {@code null} if there is none.
+     */
+    BigDecimal find(final Currency currency, final LocalDate date, final int maxGapDays) {
+        final Series currencySeries = this.series.get(currency);
+        if (currencySeries == null) {
+            return null;
+        }
+
+        final long day = date.toEpochDay();
+        int index = Arrays.binarySearch(currencySeries.days(), day);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0 || day - currencySeries.days()[index] > maxGapDays) {
+            return null;
+        }
+
+        return currencySeries.rates()[index];
+    }
+
+    private record Series(long[] days, BigDecimal[] rates) {
+    }
+}
@@ -0,0 +1,111 @@
+package bank.rest.app.bankrestapp.currency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.NBU_EXCHANGE_DATE_PATTERN;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.NBU_EXCHANGE_RATES_URL;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.NBU_EXCHANGE_RATE_HISTORY_URL;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.NBU_HISTORY_REQUEST_DATE_PATTERN;
+
+/**
+ * Loads official rates from the National Bank of Ukraine API.
+ */
+@Component
+@ConditionalOnProperty(name = "currency.rates.provider", havingValue = "nbu", matchIfMissing = true)
+@RequiredArgsConstructor
+public final class NbuRateProvider implements RateProvider {
+
+    private static final List<String> SUPPORTED_CURRENCIES = List.of("USD", "EUR");
+    private static final DateTimeFormatter REQUEST_DATE = DateTimeFormatter.ofPattern(NBU_HISTORY_REQUEST_DATE_PATTERN);
+    private static final DateTimeFormatter EXCHANGE_DATE = DateTimeFormatter.ofPattern(NBU_EXCHANGE_DATE_PATTERN);
+
+    private final RestTemplate restTemplate;
+
+    /**
+     * Dates the rates with the {@code exchangedate} the NBU published them for, not with the day they were fetched.
+     */
+    @Override
+    public RateSnapshot fetchRates() {
+        final NbuRate[] rates = this.restTemplate.getForObject(
+                NBU_EXCHANGE_RATES_URL,
+                NbuRate[].class
+        );
+        if (rates == null) {
+            throw new IllegalStateException("NBU returned no exchange rates");
+        }
+
+        final List<NbuRate> supported = Arrays.stream(rates)
+                .filter(rate -> SUPPORTED_CURRENCIES.contains(rate.cc()))
+                .toList();
+        final Set<String> dates = supported.stream()
+                .map(NbuRate::exchangedate)
+                .collect(Collectors.toSet());
+        if (supported.isEmpty() || dates.size() != 1 || dates.contains(null)) {
+            throw new IllegalStateException("NBU returned exchange rates without a single publication date: " + dates);
+        }
+
+        final List<CurrencyLoader.CurrencyRate> supportedRates = new ArrayList<>(supported.stream()
+                .map(rate -> new CurrencyLoader.CurrencyRate(rate.cc(), rate.rate()))
+                .toList());
+
+        // Добавляем гривну вручную
+        supportedRates.add(new CurrencyLoader.CurrencyRate("UAH", 1.0));
+        return new RateSnapshot(LocalDate.parse(dates.iterator().next(), EXCHANGE_DATE), supportedRates);
+    }
+
+    @Override
+    public boolean isOfficial() {
+        return true;
+    }
+
+    /**
+     * Requests the period once per supported currency. Days without an official rate, such as weekends
+     * before the NBU started publishing them, are simply absent.
+     */
+    @Override
+    public Map<LocalDate, List<CurrencyLoader.CurrencyRate>> fetchHistory(final LocalDate from, final LocalDate to) {
+        final Map<LocalDate, List<CurrencyLoader.CurrencyRate>> ratesByDate = new TreeMap<>();
+
+        for (final String currency : SUPPORTED_CURRENCIES) {
+            final NbuRate[] rates = this.restTemplate.getForObject(
+                    NBU_EXCHANGE_RATE_HISTORY_URL,
+                    NbuRate[].class,
+                    Map.of(
+                            "start", from.format(REQUEST_DATE),
+                            "end", to.format(REQUEST_DATE),
+                            "currency", currency.toLowerCase(Locale.ROOT)
+                    )
+            );
+            if (rates == null) {
+                throw new IllegalStateException("NBU returned no exchange rate history");
+            }
+
+            for (final NbuRate rate : rates) {
+                ratesByDate.computeIfAbsent(LocalDate.parse(rate.exchangedate(), EXCHANGE_DATE), day -> new ArrayList<>())
+                        .add(new CurrencyLoader.CurrencyRate(rate.cc(), rate.rate()));
+            }
+        }
+
+        return ratesByDate;
+    }
+
+    /**
+     * One rate of an NBU response, with the day it was published for; other fields of the response are ignored.
+     */
+    record NbuRate(String exchangedate, String cc, double rate) {
+    }
+}
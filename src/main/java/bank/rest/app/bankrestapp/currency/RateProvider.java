@@ -0,0 +1,42 @@
+package bank.rest.app.bankrestapp.currency;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of current exchange rates quoted in UAH per unit of currency.
+ * The active implementation is selected with the {@code currency.rates.provider} property.
+ */
+public interface RateProvider {
+
+    /**
+     * Fetches the current rates of the supported currencies, including UAH itself, with the day the source
+     * published them for. The day is {@code null} if the source does not know it, like the bundled fixture.
+     *
+     * @return rates quoted against UAH and the day they are valid for
+     * @throws RuntimeException if the source is unavailable
+     */
+    RateSnapshot fetchRates();
+
+    /**
+     * Tells whether the rates are the official ones and may be recorded in the exchange rate history.
+     * Rates recorded for a day are never replaced, so other sources must not record them.
+     */
+    default boolean isOfficial() {
+        return false;
+    }
+
+    /**
+     * Fetches the official daily rates of the supported currencies published over a period.
+     * Sources that keep no history return nothing.
+     *
+     * @param from first day of the period
+     * @param to last day of the period, inclusive
+     * @return rates quoted against UAH, by the day they were published for
+     * @throws RuntimeException if the source is unavailable
+     */
+    default Map<LocalDate, List<CurrencyLoader.CurrencyRate>> fetchHistory(final LocalDate from, final LocalDate to) {
+        return Map.of();
+    }
+}
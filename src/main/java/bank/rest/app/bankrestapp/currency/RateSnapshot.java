@@ -0,0 +1,10 @@
+package bank.rest.app.bankrestapp.currency;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rates as stored on disk: the day the provider published them for ({@code null} for fixtures) and the rates themselves.
+ */
+public record RateSnapshot(LocalDate date, List<CurrencyLoader.CurrencyRate> rates) {
+}
@@ -0,0 +1,78 @@
+package bank.rest.app.bankrestapp.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.RATE_SNAPSHOT_FILE;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.RATE_SNAPSHOT_FIXTURE;
+
+/**
+ * Keeps the last successfully fetched rates on local disk so that the application can serve
+ * conversions right after startup, before or without a successful call to the rate provider.
+ */
+@Slf4j
+@Component
+public final class RateSnapshotStore {
+
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+
+    public RateSnapshotStore(final ObjectMapper objectMapper,
+                             @Value("${currency.rates.snapshot-file:" + RATE_SNAPSHOT_FILE + "}") final String snapshotFile) {
+        this.objectMapper = objectMapper;
+        this.snapshotFile = Path.of(snapshotFile);
+    }
+
+    /**
+     * Returns the last saved snapshot or, if none was saved yet, the bundled fixture. The fixture carries no
+     * date, so its rates serve display conversions only until the first successful refresh.
+     */
+    public Optional<RateSnapshot> load() {
+        if (Files.isRegularFile(this.snapshotFile)) {
+            try (InputStream inputStream = Files.newInputStream(this.snapshotFile)) {
+                return Optional.of(this.objectMapper.readValue(inputStream, RateSnapshot.class));
+            } catch (IOException e) {
+                log.warn("Saved exchange rates could not be read from {}", this.snapshotFile, e);
+            }
+        }
+
+        final ClassPathResource fixture = new ClassPathResource(RATE_SNAPSHOT_FIXTURE);
+        return fixture.exists() ? Optional.of(this.read(fixture)) : Optional.empty();
+    }
+
+    /**
+     * Writes the snapshot through a temporary file so that a crash never leaves a truncated file behind.
+     */
+    public void save(final RateSnapshot snapshot) {
+        try {
+            final Path directory = this.snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            final Path temporaryFile = Files.createTempFile(directory, "rates", ".tmp");
+            this.objectMapper.writeValue(temporaryFile.toFile(), snapshot);
+            Files.move(temporaryFile, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    RateSnapshot read(final Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return this.objectMapper.readValue(inputStream, RateSnapshot.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
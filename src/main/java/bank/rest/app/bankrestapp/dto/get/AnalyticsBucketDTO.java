@@ -0,0 +1,10 @@
+package bank.rest.app.bankrestapp.dto.get;
+
+import java.time.LocalDate;
+
+public record AnalyticsBucketDTO(
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        AnalyticsSummaryDTO summary
+) {
+}
@@ -0,0 +1,9 @@
+package bank.rest.app.bankrestapp.dto.get;
+
+import java.util.List;
+
+public record GetTransactionHistoryDTO(
+        List<GetTransactionDTO> transactions,
+        String nextCursor
+) {
+}
@@ -0,0 +1,8 @@
+package bank.rest.app.bankrestapp.dto.get;
+
+public record GetTransferTicketDTO(
+        String ticketId,
+        String status,
+        GetTransactionDTO transaction,
+        String message
+) {}
@@ -0,0 +1,15 @@
+package bank.rest.app.bankrestapp.dto.projection;
+
+/**
+ * What a transfer needs to know about a card's account before reading it: the account id, which orders
+ * its row lock, and whether credits to it go through the pending-credit journal.
+ *
+ * @param cardNumber card number of the account
+ * @param accountId account identifier
+ * @param hotAccount whether the account is a hot account
+ */
+public record AccountLockRoute(
+        String cardNumber,
+        Integer accountId,
+        boolean hotAccount
+) {}
@@ -0,0 +1,14 @@
+package bank.rest.app.bankrestapp.dto.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of an account's transactions on one day.
+ *
+ * @param day transaction day
+ * @param transactionCount number of transactions in which the account is sender or recipient
+ */
+public record DailyCountRow(
+        LocalDate day,
+        Long transactionCount
+) {}
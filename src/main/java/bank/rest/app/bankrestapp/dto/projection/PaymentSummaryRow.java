@@ -0,0 +1,21 @@
+package bank.rest.app.bankrestapp.dto.projection;
+
+import bank.rest.app.bankrestapp.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sum of an account's payments sharing payment type, currency and day.
+ *
+ * @param paymentType concrete payment entity class
+ * @param currencyCode payment currency code
+ * @param day payment day, used to pick the exchange rate
+ * @param amount total amount in {@code currencyCode}
+ */
+public record PaymentSummaryRow(
+        Class<? extends Payment> paymentType,
+        String currencyCode,
+        LocalDate day,
+        BigDecimal amount
+) {}
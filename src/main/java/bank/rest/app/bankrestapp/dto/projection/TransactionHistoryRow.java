@@ -0,0 +1,71 @@
+package bank.rest.app.bankrestapp.dto.projection;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One transaction of an account's history with exactly the columns shown to the client,
+ * read in a single statement together with both parties' names and card numbers.
+ *
+ * @param transactionId transaction id, part of the history order
+ * @param transactionDate transaction date, part of the history order
+ * @param amount amount in {@code currencyCode}
+ * @param currencyCode transaction currency
+ * @param description transaction description
+ * @param transactionType transaction type
+ * @param status transaction status
+ * @param senderFirstName first name of the sender account owner
+ * @param senderLastName last name of the sender account owner
+ * @param senderCardNumber card number of the sender account
+ * @param receiverFirstName first name of the recipient account owner, {@code null} without a recipient
+ * @param receiverLastName last name of the recipient account owner, {@code null} without a recipient
+ * @param receiverCardNumber card number of the recipient account, {@code null} without a recipient
+ * @param isRecipient whether the account whose history is read is the recipient
+ */
+public record TransactionHistoryRow(
+        Integer transactionId,
+        LocalDateTime transactionDate,
+        BigDecimal amount,
+        Currency currencyCode,
+        String description,
+        TransactionType transactionType,
+        TransactionStatus status,
+        String senderFirstName,
+        String senderLastName,
+        String senderCardNumber,
+        String receiverFirstName,
+        String receiverLastName,
+        String receiverCardNumber,
+        Boolean isRecipient
+) {
+
+    /**
+     * Returns a copy of this row with the amount expressed in another currency.
+     *
+     * @param amount converted amount
+     * @param currencyCode currency of the converted amount
+     * @return row with the converted amount
+     */
+    public TransactionHistoryRow withAmount(final BigDecimal amount, final Currency currencyCode) {
+        return new TransactionHistoryRow(
+                this.transactionId,
+                this.transactionDate,
+                amount,
+                currencyCode,
+                this.description,
+                this.transactionType,
+                this.status,
+                this.senderFirstName,
+                this.senderLastName,
+                this.senderCardNumber,
+                this.receiverFirstName,
+                this.receiverLastName,
+                this.receiverCardNumber,
+                this.isRecipient
+        );
+    }
+}
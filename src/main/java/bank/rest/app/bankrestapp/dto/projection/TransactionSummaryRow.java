@@ -0,0 +1,22 @@
+package bank.rest.app.bankrestapp.dto.projection;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sum of an account's incoming or outgoing transactions sharing type, currency and day.
+ *
+ * @param transactionType transaction type
+ * @param currencyCode transaction currency
+ * @param day transaction day, used to pick the exchange rate
+ * @param amount total amount in {@code currencyCode}
+ */
+public record TransactionSummaryRow(
+        TransactionType transactionType,
+        Currency currencyCode,
+        LocalDate day,
+        BigDecimal amount
+) {}
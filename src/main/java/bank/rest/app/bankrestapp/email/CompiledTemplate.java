@@ -0,0 +1,110 @@
+package bank.rest.app.bankrestapp.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template parsed once into the offsets of its {@code {{NAME}}} placeholders. Rendering copies the
+ * literal segments and substituted values into a builder sized up front, in a single pass and
+ * without rescanning the source.
+ */
+public final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_OPEN = "{{";
+    private static final String PLACEHOLDER_CLOSE = "}}";
+
+    private final String source;
+    private final int[] placeholderStarts;
+    private final int[] placeholderEnds;
+    private final String[] placeholderNames;
+    private final int literalLength;
+
+    private CompiledTemplate(final String source,
+                             final int[] placeholderStarts,
+                             final int[] placeholderEnds,
+                             final String[] placeholderNames) {
+        this.source = source;
+        this.placeholderStarts = placeholderStarts;
+        this.placeholderEnds = placeholderEnds;
+        this.placeholderNames = placeholderNames;
+
+        int placeholderLength = 0;
+        for (int i = 0; i < placeholderStarts.length; i++) {
+            placeholderLength += placeholderEnds[i] - placeholderStarts[i];
+        }
+        this.literalLength = source.length() - placeholderLength;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param source template text with {@code {{NAME}}} placeholders
+     * @return compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed or has no name
+     */
+    public static CompiledTemplate compile(final String source) {
+        final List<int[]> bounds = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+
+        int from = 0;
+        int start;
+        while ((start = source.indexOf(PLACEHOLDER_OPEN, from)) >= 0) {
+            final int close = source.indexOf(PLACEHOLDER_CLOSE, start + PLACEHOLDER_OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Незакритий плейсхолдер у шаблоні на позиції " + start);
+            }
+            final String name = source.substring(start + PLACEHOLDER_OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Порожній плейсхолдер у шаблоні на позиції " + start);
+            }
+            from = close + PLACEHOLDER_CLOSE.length();
+            bounds.add(new int[]{start, from});
+            names.add(name);
+        }
+
+        final int[] starts = new int[bounds.size()];
+        final int[] ends = new int[bounds.size()];
+        for (int i = 0; i < bounds.size(); i++) {
+            starts[i] = bounds.get(i)[0];
+            ends[i] = bounds.get(i)[1];
+        }
+
+        return new CompiledTemplate(source, starts, ends, names.toArray(String[]::new));
+    }
+
+    /**
+     * Substitutes every placeholder with its value.
+     *
+     * @param values placeholder values by name
+     * @return rendered text
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String render(final Map<String, String> values) {
+        final String[] resolved = new String[this.placeholderNames.length];
+        int length = this.literalLength;
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = values.get(this.placeholderNames[i]);
+            if (resolved[i] == null) {
+                throw new IllegalArgumentException("Не задано значення плейсхолдера " + this.placeholderNames[i]);
+            }
+            length += resolved[i].length();
+        }
+
+        final StringBuilder rendered = new StringBuilder(length);
+        int literalStart = 0;
+        for (int i = 0; i < resolved.length; i++) {
+            rendered.append(this.source, literalStart, this.placeholderStarts[i]).append(resolved[i]);
+            literalStart = this.placeholderEnds[i];
+        }
+
+        return rendered.append(this.source, literalStart, this.source.length()).toString();
+    }
+
+    /**
+     * @return placeholder names in order of appearance, repeated if a placeholder occurs more than once
+     */
+    public List<String> placeholderNames() {
+        return List.of(this.placeholderNames);
+    }
+}
@@ -0,0 +1,12 @@
+package bank.rest.app.bankrestapp.email;
+
+/**
+ * Email ready to be handed to an {@link EmailProvider}.
+ *
+ * @param to recipient address
+ * @param subject subject line
+ * @param text plain-text body
+ * @param html HTML body
+ */
+public record EmailMessage(String to, String subject, String text, String html) {
+}
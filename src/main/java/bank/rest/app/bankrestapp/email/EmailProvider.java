@@ -0,0 +1,16 @@
+package bank.rest.app.bankrestapp.email;
+
+/**
+ * Service that delivers outgoing emails. The active implementation is selected with the
+ * {@code email.provider} property.
+ */
+public interface EmailProvider {
+
+    /**
+     * Sends a message.
+     *
+     * @param message message to deliver
+     * @throws RuntimeException if the provider rejected the message or is unavailable
+     */
+    void send(EmailMessage message);
+}
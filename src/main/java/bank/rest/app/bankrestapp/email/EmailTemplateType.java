@@ -0,0 +1,51 @@
+package bank.rest.app.bankrestapp.email;
+
+/**
+ * Emails the application sends, each with its subject, plain-text body and classpath HTML template.
+ * Both bodies use {@code {{NAME}}} placeholders.
+ */
+public enum EmailTemplateType {
+
+    /** Code confirming the address given at registration */
+    VERIFICATION_CODE(
+            "Email verification code",
+            "Your verification code is: {{CODE}}",
+            "templates/verification-code-template.html"
+    ),
+
+    /** Code authorizing a password change */
+    PASSWORD_CHANGE(
+            "Password change code",
+            "Your code to change your password is: {{CODE}}",
+            "templates/password-change-template.html"
+    ),
+
+    /** Code authorizing an email change */
+    EMAIL_CHANGE(
+            "Email change code",
+            "Your code to change your email is: {{CODE}}",
+            "templates/email-change-template.html"
+    );
+
+    private final String subject;
+    private final String text;
+    private final String htmlResource;
+
+    EmailTemplateType(final String subject, final String text, final String htmlResource) {
+        this.subject = subject;
+        this.text = text;
+        this.htmlResource = htmlResource;
+    }
+
+    public String subject() {
+        return this.subject;
+    }
+
+    public String text() {
+        return this.text;
+    }
+
+    public String htmlResource() {
+        return this.htmlResource;
+    }
+}
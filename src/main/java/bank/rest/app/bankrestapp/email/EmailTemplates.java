@@ -0,0 +1,54 @@
+package bank.rest.app.bankrestapp.email;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Templates of every {@link EmailTemplateType}, read from the classpath and compiled once at startup.
+ * A missing or malformed template therefore fails the application start instead of the first send.
+ */
+@Component
+public final class EmailTemplates {
+
+    private final Map<EmailTemplateType, CompiledTemplate> textTemplates = new EnumMap<>(EmailTemplateType.class);
+    private final Map<EmailTemplateType, CompiledTemplate> htmlTemplates = new EnumMap<>(EmailTemplateType.class);
+
+    public EmailTemplates() {
+        for (final EmailTemplateType type : EmailTemplateType.values()) {
+            this.textTemplates.put(type, CompiledTemplate.compile(type.text()));
+            this.htmlTemplates.put(type, CompiledTemplate.compile(readResource(type.htmlResource())));
+        }
+    }
+
+    /**
+     * Renders an email.
+     *
+     * @param type email to render
+     * @param to recipient address
+     * @param values placeholder values by name
+     * @return message with the subject of the type and both bodies rendered
+     */
+    public EmailMessage render(final EmailTemplateType type, final String to, final Map<String, String> values) {
+        return new EmailMessage(
+                to,
+                type.subject(),
+                this.textTemplates.get(type).render(values),
+                this.htmlTemplates.get(type).render(values)
+        );
+    }
+
+    private static String readResource(final String path) {
+        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося зчитати HTML шаблон " + path, e);
+        }
+    }
+}
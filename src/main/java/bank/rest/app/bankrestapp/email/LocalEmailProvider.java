@@ -0,0 +1,34 @@
+package bank.rest.app.bankrestapp.email;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps sent emails in memory instead of delivering them, for tests and local environments without
+ * a provider account. Enabled with {@code email.provider=local}.
+ */
+@Component
+@ConditionalOnProperty(name = "email.provider", havingValue = "local")
+public final class LocalEmailProvider implements EmailProvider {
+
+    private final List<EmailMessage> sentMessages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(final EmailMessage message) {
+        this.sentMessages.add(message);
+    }
+
+    /**
+     * @return messages sent since startup or the last {@link #clear()}, oldest first
+     */
+    public List<EmailMessage> sentMessages() {
+        return List.copyOf(this.sentMessages);
+    }
+
+    public void clear() {
+        this.sentMessages.clear();
+    }
+}
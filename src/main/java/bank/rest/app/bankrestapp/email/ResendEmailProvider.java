@@ -0,0 +1,76 @@
+package bank.rest.app.bankrestapp.email;
+
+import com.resend.core.mapper.ResendMapper;
+import com.resend.services.emails.model.CreateEmailOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_PROVIDER_CONNECT_TIMEOUT_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_PROVIDER_REQUEST_TIMEOUT_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_SENDER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Sends emails through the Resend API. Used unless {@code email.provider} selects another implementation.
+ *
+ * <p>The request is built and serialized with the Resend SDK model, but posted by one shared JDK client:
+ * the SDK client cannot be given timeouts, and a send stuck on it would hold the outbox dispatcher past
+ * its claim lease. A send that times out fails like any other and is retried by the outbox.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "email.provider", havingValue = "resend", matchIfMissing = true)
+public final class ResendEmailProvider implements EmailProvider {
+
+    private static final URI SEND_EMAIL_URI = URI.create("https://api.resend.com/emails");
+
+    private final String apiKey;
+    private final ResendMapper resendMapper = new ResendMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(EMAIL_PROVIDER_CONNECT_TIMEOUT_MILLIS))
+            .build();
+
+    public ResendEmailProvider(@Value("${resend.api.key}") final String apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public void send(final EmailMessage message) {
+        final CreateEmailOptions sendEmailRequest = CreateEmailOptions.builder()
+                .from(EMAIL_SENDER)
+                .to(message.to())
+                .subject(message.subject())
+                .text(message.text())
+                .html(message.html())
+                .build();
+
+        final HttpRequest request = HttpRequest.newBuilder(SEND_EMAIL_URI)
+                .timeout(Duration.ofMillis(EMAIL_PROVIDER_REQUEST_TIMEOUT_MILLIS))
+                .header("Authorization", "Bearer " + this.apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(this.resendMapper.writeValue(sendEmailRequest), UTF_8))
+                .build();
+
+        final HttpResponse<String> response;
+        try {
+            response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofString(UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Помилка відправки листа через Resend API", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Відправку листа через Resend API перервано", e);
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(
+                    "Resend API відхилив лист: " + response.statusCode() + " " + response.body());
+        }
+    }
+}
@@ -50,6 +50,12 @@ public final class Account {
 
     private LocalDateTime createdAt;
 
+    @Column(name = "hot_account", nullable = false)
+    private boolean hotAccount;
+
+    @Version
+    private Long version;
+
     @OneToOne(mappedBy = "account", cascade = ALL)
     private Card card;
 
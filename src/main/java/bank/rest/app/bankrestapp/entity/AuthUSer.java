@@ -29,6 +29,11 @@ public final class AuthUSer {
 
     private LocalDateTime createdAt;
 
+    /**
+     * When the password was last changed; tokens issued before it are rejected. {@code null} if it never was.
+     */
+    private LocalDateTime passwordChangedAt;
+
     @OneToOne(mappedBy = "authUser", cascade = ALL, fetch = EAGER)
     private Customer customer;
 
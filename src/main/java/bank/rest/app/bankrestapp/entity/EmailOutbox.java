@@ -0,0 +1,59 @@
+package bank.rest.app.bankrestapp.entity;
+
+import bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Outgoing email written in the transaction of the request that produced it. Delivery happens later
+ * in {@link bank.rest.app.bankrestapp.service.EmailOutboxService#dispatchPendingEmails()}, so the
+ * request neither waits for the email provider nor fails when it is unavailable.
+ */
+@Entity
+@Table(name = "email_outbox")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String textBody;
+
+    @Column(columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Enumerated(STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
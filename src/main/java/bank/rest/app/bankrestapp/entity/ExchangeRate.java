@@ -0,0 +1,40 @@
+package bank.rest.app.bankrestapp.entity;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Official NBU rate of a currency against UAH for a single calendar day.
+ */
+@Entity
+@Table(
+        name = "exchange_rate",
+        uniqueConstraints = @UniqueConstraint(name = "uk_exchange_rate_currency_date", columnNames = {"currency_code", "rate_date"})
+)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExchangeRate {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE)
+    private Integer exchangeRateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private Currency currencyCode;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal rate;
+}
@@ -0,0 +1,62 @@
+package bank.rest.app.bankrestapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Stored outcome of a money-movement request sent with an {@code Idempotency-Key} header.
+ *
+ * <p>A row without {@code responseStatus} is a reservation for a request that is still running, or that
+ * stopped without storing its response if {@code reservedUntil} has passed.</p>
+ */
+@Entity
+@Table(
+        name = "idempotency_key",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_key_owner", columnNames = {"owner_email", "idempotency_key"})
+)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE)
+    private Integer id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "owner_email", nullable = false)
+    private String ownerEmail;
+
+    @Column(nullable = false)
+    private String operation;
+
+    @Column(length = 64)
+    private String requestHash;
+
+    private Integer responseStatus;
+
+    private String responseContentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime reservedUntil;
+
+    public boolean isCompleted() {
+        return this.responseStatus != null;
+    }
+
+    public boolean isAbandoned(final LocalDateTime now) {
+        return !this.isCompleted() && this.reservedUntil != null && this.reservedUntil.isBefore(now);
+    }
+}
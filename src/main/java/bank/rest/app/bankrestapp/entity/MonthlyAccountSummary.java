@@ -0,0 +1,87 @@
+package bank.rest.app.bankrestapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.FetchType.LAZY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Pre-aggregated analytics of one account for one calendar month, in the account currency.
+ *
+ * <p>Rows are updated incrementally by {@link bank.rest.app.bankrestapp.service.AnalyticsRollupService}
+ * while the owning account row is locked, and recomputed from raw operations by
+ * {@link bank.rest.app.bankrestapp.service.AnalyticsService#rebuildMonthlySummaries(java.time.YearMonth)}.</p>
+ */
+@Entity
+@Table(
+        name = "monthly_account_summary",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_account_summary_account_period",
+                columnNames = {"account_id", "period_start"}
+        )
+)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyAccountSummary {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE)
+    private Integer monthlyAccountSummaryId;
+
+    @ManyToOne(fetch = LAZY)
+    @JoinColumn(name = "account_id", referencedColumnName = "accountId", nullable = false)
+    private Account account;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIncoming = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalOutgoing = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long transactionCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIbanExpenses = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalMobileExpenses = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalInternetExpenses = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCardToCardExpenses = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalTaxExpenses = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalElectronicsExpenses = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalUtilityExpenses = BigDecimal.ZERO;
+
+    private LocalDateTime updatedAt;
+}
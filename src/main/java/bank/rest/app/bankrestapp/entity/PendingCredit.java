@@ -0,0 +1,44 @@
+package bank.rest.app.bankrestapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.FetchType.LAZY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Credit to a hot account that has been accepted but not yet folded into the account balance.
+ *
+ * <p>Transfers into accounts flagged with {@link Account#isHotAccount()} append a row here instead
+ * of locking the recipient account. The rows are summed and applied to the balance in batches by
+ * {@link bank.rest.app.bankrestapp.service.PendingCreditService#foldPendingCredits()}.</p>
+ */
+@Entity
+@Table(name = "pending_credit")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingCredit {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE)
+    private Integer pendingCreditId;
+
+    @ManyToOne(fetch = LAZY)
+    @JoinColumn(name = "account_id", referencedColumnName = "accountId", nullable = false)
+    private Account account;
+
+    @OneToOne(fetch = LAZY)
+    @JoinColumn(name = "transaction_id", referencedColumnName = "transactionId")
+    private Transaction transaction;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package bank.rest.app.bankrestapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * JWT revoked before its expiration, identified by its {@code jti} claim. Rows are kept only until
+ * the token would have expired anyway.
+ */
+@Entity
+@Table(
+        name = "revoked_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_revoked_token_jti", columnNames = "jti")
+)
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE)
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String jti;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,53 @@
+package bank.rest.app.bankrestapp.entity.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size of a range analytics time series.
+ */
+public enum AnalyticsGranularity {
+
+    /** Calendar month starting on its first day */
+    MONTH {
+        @Override
+        public LocalDate periodStart(final LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate nextPeriodStart(final LocalDate periodStart) {
+            return periodStart.plusMonths(1);
+        }
+    },
+
+    /** ISO week starting on Monday */
+    WEEK {
+        @Override
+        public LocalDate periodStart(final LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate nextPeriodStart(final LocalDate periodStart) {
+            return periodStart.plusWeeks(1);
+        }
+    };
+
+    /**
+     * Returns the first day of the bucket containing the given date.
+     *
+     * @param date any date inside the bucket
+     * @return first day of the bucket
+     */
+    public abstract LocalDate periodStart(LocalDate date);
+
+    /**
+     * Returns the first day of the bucket following the given one.
+     *
+     * @param periodStart first day of a bucket
+     * @return first day of the next bucket
+     */
+    public abstract LocalDate nextPeriodStart(LocalDate periodStart);
+}
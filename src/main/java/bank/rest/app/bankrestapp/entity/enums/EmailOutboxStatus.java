@@ -0,0 +1,18 @@
+package bank.rest.app.bankrestapp.entity.enums;
+
+/**
+ * Delivery state of a message in the email outbox.
+ *
+ * @see bank.rest.app.bankrestapp.entity.EmailOutbox
+ */
+public enum EmailOutboxStatus {
+
+    /** Message is waiting for its first or next delivery attempt */
+    PENDING,
+
+    /** Message was accepted by the email provider */
+    SENT,
+
+    /** Message exhausted its delivery attempts and will not be retried */
+    FAILED
+}
@@ -0,0 +1,18 @@
+package bank.rest.app.bankrestapp.entity.enums;
+
+/**
+ * Processing state of a transfer submitted through the asynchronous withdraw endpoint.
+ *
+ * @see bank.rest.app.bankrestapp.transfer.TransferTicket
+ */
+public enum TransferTicketStatus {
+
+    /** Transfer is waiting in the queue or is being processed by a worker */
+    PENDING,
+
+    /** Transfer was committed and the resulting transaction is available */
+    COMPLETED,
+
+    /** Transfer was rejected; the ticket carries the error message */
+    FAILED
+}
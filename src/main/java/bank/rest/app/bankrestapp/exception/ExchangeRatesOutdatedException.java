@@ -0,0 +1,7 @@
+package bank.rest.app.bankrestapp.exception;
+
+public class ExchangeRatesOutdatedException extends RuntimeException {
+    public ExchangeRatesOutdatedException(final String message) {
+        super(message);
+    }
+}
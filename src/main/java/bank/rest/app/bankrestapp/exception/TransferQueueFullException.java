@@ -0,0 +1,7 @@
+package bank.rest.app.bankrestapp.exception;
+
+public class TransferQueueFullException extends RuntimeException {
+    public TransferQueueFullException(String message) {
+        super(message);
+    }
+}
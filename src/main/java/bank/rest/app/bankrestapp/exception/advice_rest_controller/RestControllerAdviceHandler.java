@@ -1,13 +1,16 @@
 package bank.rest.app.bankrestapp.exception.advice_rest_controller;
 
 import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
+import bank.rest.app.bankrestapp.exception.ExchangeRatesOutdatedException;
 import bank.rest.app.bankrestapp.exception.InvalidAccountCurrencyException;
 import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
 import bank.rest.app.bankrestapp.exception.RecipientNotFoundException;
+import bank.rest.app.bankrestapp.exception.TransferQueueFullException;
 import bank.rest.app.bankrestapp.exception.UnsupportedCurrencyException;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.ResponseEntity;
 import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -105,7 +108,11 @@ public final class RestControllerAdviceHandler {
                 ));
     }
 
-    @ExceptionHandler({CannotAcquireLockException.class, PessimisticLockingFailureException.class})
+    @ExceptionHandler({
+            CannotAcquireLockException.class,
+            PessimisticLockingFailureException.class,
+            OptimisticLockingFailureException.class
+    })
     public @NotNull ResponseEntity<?> handlePessimisticLockingFailureException(@NotNull RuntimeException e) {
         return ResponseEntity.status(SERVICE_UNAVAILABLE)
                 .contentType(APPLICATION_JSON)
@@ -116,6 +123,28 @@ public final class RestControllerAdviceHandler {
                 ));
     }
 
+    @ExceptionHandler(TransferQueueFullException.class)
+    public @NotNull ResponseEntity<?> handleTransferQueueFullException(@NotNull TransferQueueFullException e) {
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .contentType(APPLICATION_JSON)
+                .body(of(
+                        "timestamp", now(),
+                        "error", "Черга переказів переповнена",
+                        "message", e.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ExchangeRatesOutdatedException.class)
+    public @NotNull ResponseEntity<?> handleExchangeRatesOutdatedException(@NotNull ExchangeRatesOutdatedException e) {
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .contentType(APPLICATION_JSON)
+                .body(of(
+                        "timestamp", now(),
+                        "error", "Курси валют застаріли",
+                        "message", e.getMessage()
+                ));
+    }
+
     @ExceptionHandler(InvalidAccountCurrencyException.class)
     public @NotNull ResponseEntity<?> handleInvalidAccountCurrencyException(@NotNull InvalidAccountCurrencyException e) {
 
@@ -2,6 +2,8 @@ package bank.rest.app.bankrestapp.facade;
 
 import bank.rest.app.bankrestapp.dto.CreateTransaction;
 import bank.rest.app.bankrestapp.dto.get.GetTransactionDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransactionHistoryDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransferTicketDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +21,28 @@ public interface TransactionFacade {
      */
     GetTransactionDTO withdraw(CreateTransaction transaction, final BindingResult bindingResult);
 
+    /**
+     * Validates a transfer request and enqueues it for asynchronous processing.
+     *
+     * @param transaction transfer request payload
+     * @param bindingResult validation result
+     * @param ownerEmail email of the authenticated user
+     * @return pending transfer ticket DTO
+     * @throws IllegalArgumentException if validation fails
+     * @throws bank.rest.app.bankrestapp.exception.TransferQueueFullException if the queue is at capacity
+     */
+    GetTransferTicketDTO submitWithdraw(CreateTransaction transaction, BindingResult bindingResult, String ownerEmail);
+
+    /**
+     * Returns the current state of an asynchronous transfer.
+     *
+     * @param ticketId ticket identifier returned on submission
+     * @param ownerEmail email of the authenticated user
+     * @return transfer ticket DTO, with the transaction once it is completed
+     * @throws java.util.NoSuchElementException if the ticket cannot be found for the user
+     */
+    GetTransferTicketDTO getTransferTicket(String ticketId, String ownerEmail);
+
     /**
      * Loads paged transaction history for an account and maps it to DTOs.
      *
@@ -29,4 +53,17 @@ public interface TransactionFacade {
      */
     @Transactional(readOnly = true)
     Page<GetTransactionDTO> getAllTransactions(Pageable pageable, final String accountNumber);
+
+    /**
+     * Loads one page of transaction history using an opaque continuation token and maps it to DTOs.
+     *
+     * @param accountNumber account number whose history should be returned
+     * @param cursor continuation token from the previous page, {@code null} for the first page
+     * @param size requested page size; clamped to the allowed range
+     * @return transactions of the page and the token of the next page, {@code null} on the last page
+     * @throws java.util.NoSuchElementException if the account cannot be found
+     * @throws IllegalArgumentException if the continuation token is malformed
+     */
+    @Transactional(readOnly = true)
+    GetTransactionHistoryDTO getTransactionHistory(String accountNumber, String cursor, Integer size);
 }
@@ -3,12 +3,19 @@ package bank.rest.app.bankrestapp.facade.impl;
 import bank.rest.app.bankrestapp.currency.CurrencyLoader;
 import bank.rest.app.bankrestapp.dto.CreateTransaction;
 import bank.rest.app.bankrestapp.dto.get.GetTransactionDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransactionHistoryDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransferTicketDTO;
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
 import bank.rest.app.bankrestapp.entity.Account;
 import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.facade.TransactionFacade;
 import bank.rest.app.bankrestapp.mapper.Mapper;
 import bank.rest.app.bankrestapp.service.AccountService;
+import bank.rest.app.bankrestapp.service.AsyncTransferService;
 import bank.rest.app.bankrestapp.service.TransactionService;
+import bank.rest.app.bankrestapp.transfer.HistoryCursor;
+import bank.rest.app.bankrestapp.transfer.TransactionHistorySlice;
+import bank.rest.app.bankrestapp.transfer.TransferTicket;
 import bank.rest.app.bankrestapp.validation.DtoValidator;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -16,6 +23,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindingResult;
 
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_TRANSFER_TICKET_NOT_FOUND;
+import static bank.rest.app.bankrestapp.constants.TransactionHistoryDefaults.HISTORY_PAGE_SIZE_DEFAULT;
+import static bank.rest.app.bankrestapp.constants.TransactionHistoryDefaults.HISTORY_PAGE_SIZE_MAX;
 import static bank.rest.app.bankrestapp.utils.MapperUtils.mapDto;
 
 @Component
@@ -26,6 +39,8 @@ public class TransactionFacadeImpl implements TransactionFacade {
     private final Mapper<Transaction, GetTransactionDTO> transactionMapper;
     private final CurrencyLoader currencyLoader;
     private final AccountService accountService;
+    private final AsyncTransferService asyncTransferService;
+    private final Mapper<TransactionHistoryRow, GetTransactionDTO> transactionHistoryRowMapper;
 
     @Override
     public GetTransactionDTO withdraw(final CreateTransaction transaction, final BindingResult bindingResult) {
@@ -40,6 +55,28 @@ public class TransactionFacadeImpl implements TransactionFacade {
         return mapDto(getTransaction, this.transactionMapper::toDto);
     }
 
+    @Override
+    public GetTransferTicketDTO submitWithdraw(final CreateTransaction transaction,
+                                               final BindingResult bindingResult,
+                                               final String ownerEmail) {
+        this.dtoValidator.validate(transaction, bindingResult);
+
+        final TransferTicket ticket = this.asyncTransferService.submit(transaction, ownerEmail);
+        return this.toTicketDto(ticket);
+    }
+
+    @Override
+    public GetTransferTicketDTO getTransferTicket(final String ticketId, final String ownerEmail) {
+        final UUID id;
+        try {
+            id = UUID.fromString(ticketId);
+        } catch (final IllegalArgumentException e) {
+            throw new NoSuchElementException(ERRORS_TRANSFER_TICKET_NOT_FOUND);
+        }
+
+        return this.toTicketDto(this.asyncTransferService.getTicket(id, ownerEmail));
+    }
+
     @Override
     public Page<GetTransactionDTO> getAllTransactions(final Pageable pageable, final String accountNumber) {
         final Account account = this.accountService.getAccountByNumber(accountNumber);
@@ -49,14 +86,45 @@ public class TransactionFacadeImpl implements TransactionFacade {
         return page.map(transactionMapper::toDto);
     }
 
+    @Override
+    public GetTransactionHistoryDTO getTransactionHistory(final String accountNumber, final String cursor, final Integer size) {
+        final HistoryCursor historyCursor = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+        final int pageSize = size == null
+                ? HISTORY_PAGE_SIZE_DEFAULT
+                : Math.clamp(size, 1, HISTORY_PAGE_SIZE_MAX);
+
+        final Account account = this.accountService.getAccountByNumber(accountNumber);
+        final TransactionHistorySlice slice = this.transactionService.getTransactionHistory(account, historyCursor, pageSize);
+
+        return new GetTransactionHistoryDTO(
+                slice.transactions().stream()
+                        .map(row -> this.normalizeHistoryRow(row, account))
+                        .map(this.transactionHistoryRowMapper::toDto)
+                        .toList(),
+                slice.nextCursor() == null ? null : slice.nextCursor().encode()
+        );
+    }
+
+    private GetTransferTicketDTO toTicketDto(final TransferTicket ticket) {
+        final Transaction transaction = ticket.getTransaction();
+
+        return new GetTransferTicketDTO(
+                ticket.getTicketId().toString(),
+                ticket.getStatus().name(),
+                transaction == null ? null : mapDto(transaction, this.transactionMapper::toDto),
+                ticket.getErrorMessage()
+        );
+    }
+
     private Transaction normalizeTransaction(final Transaction transaction, final Account account) {
         if (transaction.getAmount() != null
                 && transaction.getCurrencyCode() != null
                 && account.getCurrencyCode() != null) {
             transaction.setAmount(this.currencyLoader.convert(
                     transaction.getAmount(),
-                    transaction.getCurrencyCode().name(),
-                    account.getCurrencyCode().name()
+                    transaction.getCurrencyCode(),
+                    account.getCurrencyCode(),
+                    transaction.getTransactionDate() == null ? null : transaction.getTransactionDate().toLocalDate()
             ));
             transaction.setCurrencyCode(account.getCurrencyCode());
         }
@@ -67,4 +135,20 @@ public class TransactionFacadeImpl implements TransactionFacade {
 
         return transaction;
     }
+
+    private TransactionHistoryRow normalizeHistoryRow(final TransactionHistoryRow row, final Account account) {
+        if (row.amount() == null || row.currencyCode() == null || account.getCurrencyCode() == null) {
+            return row;
+        }
+
+        return row.withAmount(
+                this.currencyLoader.convert(
+                        row.amount(),
+                        row.currencyCode(),
+                        account.getCurrencyCode(),
+                        row.transactionDate() == null ? null : row.transactionDate().toLocalDate()
+                ),
+                account.getCurrencyCode()
+        );
+    }
 }
@@ -0,0 +1,211 @@
+package bank.rest.app.bankrestapp.idempotency;
+
+import bank.rest.app.bankrestapp.entity.IdempotencyKey;
+import bank.rest.app.bankrestapp.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENCY_KEY_HEADER;
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENCY_KEY_MAX_LENGTH;
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENT_REPLAY_HEADER;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_IDEMPOTENCY_KEY_ABANDONED;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_IDEMPOTENCY_KEY_IN_PROGRESS;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_IDEMPOTENCY_KEY_REUSED;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_IDEMPOTENT_REQUEST_FAILED;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INVALID_IDEMPOTENCY_KEY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.LocalDateTime.now;
+import static java.util.Map.of;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Replays stored responses for money-movement requests retried with the same {@code Idempotency-Key}.
+ *
+ * <p>The first request reserves the key and runs normally; its response is stored and later retries
+ * receive it without reaching the services, so account rows are not locked again. Only a client error
+ * (4xx) releases the key for a retry: the request was rejected before any money moved. A server error or an
+ * exception may follow a committed money movement, so it is stored like a success and never run twice.</p>
+ *
+ * <p>A reservation that outlives its lease without a response belongs to a request that stopped, for
+ * example with the process. Its outcome is unknown, so retries are told so instead of running it again.</p>
+ */
+@Component
+public final class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/v1/transactions/withdraw/**",
+            "/api/v1/payments/**"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(final IdempotencyService idempotencyService, final ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final @NotNull HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+
+        final String path = this.resolvePath(request);
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> this.pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(final @NotNull HttpServletRequest request,
+                                    final @NotNull HttpServletResponse response,
+                                    final @NotNull FilterChain filterChain) throws ServletException, IOException {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String ownerEmail = authentication.getName();
+        final String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        final String operation = request.getMethod() + " " + this.resolvePath(request);
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+            this.writeError(response, BAD_REQUEST, ERRORS_INVALID_IDEMPOTENCY_KEY);
+            return;
+        }
+
+        final Optional<IdempotencyKey> storedKey = this.idempotencyService.findKey(ownerEmail, idempotencyKey);
+        if (storedKey.isPresent()) {
+            this.replay(request, response, storedKey.get(), operation);
+            return;
+        }
+
+        if (!this.idempotencyService.reserve(ownerEmail, idempotencyKey, operation)) {
+            this.writeError(response, CONFLICT, ERRORS_IDEMPOTENCY_KEY_IN_PROGRESS);
+            return;
+        }
+
+        this.executeAndStore(request, response, filterChain, ownerEmail, idempotencyKey);
+    }
+
+    private void executeAndStore(final HttpServletRequest request,
+                                 final HttpServletResponse response,
+                                 final FilterChain filterChain,
+                                 final String ownerEmail,
+                                 final String idempotencyKey) throws ServletException, IOException {
+        final ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request);
+        final ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+
+        try {
+            filterChain.doFilter(cachingRequest, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            this.idempotencyService.complete(
+                    ownerEmail,
+                    idempotencyKey,
+                    this.hash(cachingRequest.getContentAsByteArray()),
+                    INTERNAL_SERVER_ERROR.value(),
+                    APPLICATION_JSON_VALUE,
+                    this.objectMapper.writeValueAsString(this.errorBody(INTERNAL_SERVER_ERROR, ERRORS_IDEMPOTENT_REQUEST_FAILED))
+            );
+            throw e;
+        }
+
+        if (HttpStatus.valueOf(cachingResponse.getStatus()).is4xxClientError()) {
+            this.idempotencyService.release(ownerEmail, idempotencyKey);
+        } else {
+            this.idempotencyService.complete(
+                    ownerEmail,
+                    idempotencyKey,
+                    this.hash(cachingRequest.getContentAsByteArray()),
+                    cachingResponse.getStatus(),
+                    cachingResponse.getContentType(),
+                    new String(cachingResponse.getContentAsByteArray(), UTF_8)
+            );
+        }
+
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void replay(final HttpServletRequest request,
+                        final HttpServletResponse response,
+                        final IdempotencyKey storedKey,
+                        final String operation) throws IOException {
+        if (!storedKey.isCompleted()) {
+            this.writeError(response, CONFLICT, storedKey.isAbandoned(now())
+                    ? ERRORS_IDEMPOTENCY_KEY_ABANDONED
+                    : ERRORS_IDEMPOTENCY_KEY_IN_PROGRESS);
+            return;
+        }
+
+        final String requestHash = this.hash(request.getInputStream().readAllBytes());
+        if (!Objects.equals(storedKey.getOperation(), operation) || !Objects.equals(storedKey.getRequestHash(), requestHash)) {
+            this.writeError(response, BAD_REQUEST, ERRORS_IDEMPOTENCY_KEY_REUSED);
+            return;
+        }
+
+        response.setStatus(storedKey.getResponseStatus());
+        response.setHeader(IDEMPOTENT_REPLAY_HEADER, "true");
+        if (storedKey.getResponseContentType() != null) {
+            response.setContentType(storedKey.getResponseContentType());
+        }
+        if (storedKey.getResponseBody() != null) {
+            response.getOutputStream().write(storedKey.getResponseBody().getBytes(UTF_8));
+        }
+    }
+
+    private void writeError(final HttpServletResponse response, final HttpStatus status, final String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(UTF_8.name());
+        this.objectMapper.writeValue(response.getOutputStream(), this.errorBody(status, message));
+    }
+
+    private Map<String, Object> errorBody(final HttpStatus status, final String message) {
+        return of(
+                "timestamp", now(),
+                "error", switch (status) {
+                    case CONFLICT -> "Конфлікт ідемпотентності";
+                    case INTERNAL_SERVER_ERROR -> "Внутрішня помилка";
+                    default -> "Некоректний запит";
+                },
+                "message", message
+        );
+    }
+
+    private String resolvePath(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String hash(final byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package bank.rest.app.bankrestapp.identifier;
+
+/**
+ * Keyed bijection of {@code [0, leftRadix * rightRadix)} onto itself, built as an unbalanced Feistel
+ * network over the digits of the value. Consecutive inputs map to unrelated-looking outputs of the same
+ * width, and distinct inputs always map to distinct outputs, so a counter can be turned into
+ * random-looking identifiers without checking them for collisions.
+ *
+ * <p>The permutation is not a cipher: it hides the issue order from casual observers, not from an
+ * attacker. The key must never change once identifiers have been issued with it.</p>
+ */
+public final class FeistelPermutation {
+
+    private static final int ROUNDS = 8;
+
+    private final long leftRadix;
+    private final long rightRadix;
+    private final long size;
+    private final long key;
+
+    /**
+     * @param leftRadix size of the high part of the domain
+     * @param rightRadix size of the low part of the domain
+     * @param key permutation key
+     */
+    public FeistelPermutation(final long leftRadix, final long rightRadix, final long key) {
+        if (leftRadix < 2 || rightRadix < 2 || Long.MAX_VALUE / leftRadix < rightRadix) {
+            throw new IllegalArgumentException("Непідтримуваний розмір домену перестановки");
+        }
+        this.leftRadix = leftRadix;
+        this.rightRadix = rightRadix;
+        this.size = leftRadix * rightRadix;
+        this.key = key;
+    }
+
+    /**
+     * @return number of values in the domain
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * @param value value in {@code [0, size())}
+     * @return permuted value in {@code [0, size())}
+     */
+    public long permute(final long value) {
+        if (value < 0 || value >= this.size) {
+            throw new IllegalArgumentException("Значення поза доменом перестановки: " + value);
+        }
+
+        // Each round maps (left in [0, a), right in [0, b)) to (right, (left + F(right)) mod a) and so
+        // swaps the two radices; an even number of rounds restores the original shape.
+        long left = value / this.rightRadix;
+        long right = value % this.rightRadix;
+        long leftModulus = this.leftRadix;
+        long rightModulus = this.rightRadix;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long mixed = (left + this.roundFunction(round, right) % leftModulus) % leftModulus;
+            left = right;
+            right = mixed;
+
+            final long modulus = leftModulus;
+            leftModulus = rightModulus;
+            rightModulus = modulus;
+        }
+
+        return left * this.rightRadix + right;
+    }
+
+    /**
+     * @param value value returned by {@link #permute(long)}
+     * @return value that was permuted
+     */
+    public long inverse(final long value) {
+        if (value < 0 || value >= this.size) {
+            throw new IllegalArgumentException("Значення поза доменом перестановки: " + value);
+        }
+
+        long left = value / this.rightRadix;
+        long right = value % this.rightRadix;
+        // After an even number of rounds the last round produced right modulo the right radix.
+        long rightModulus = this.rightRadix;
+        long leftModulus = this.leftRadix;
+        for (int round = ROUNDS - 1; round >= 0; round--) {
+            final long previousLeft = Math.floorMod(right - this.roundFunction(round, left) % rightModulus, rightModulus);
+            right = left;
+            left = previousLeft;
+
+            final long modulus = leftModulus;
+            leftModulus = rightModulus;
+            rightModulus = modulus;
+        }
+
+        return left * this.rightRadix + right;
+    }
+
+    private long roundFunction(final int round, final long half) {
+        long mixed = this.key ^ (half * 0x9E3779B97F4A7C15L) ^ ((long) round << 56);
+        mixed = (mixed ^ (mixed >>> 33)) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (mixed ^ (mixed >>> 33)) >>> 1;
+    }
+}
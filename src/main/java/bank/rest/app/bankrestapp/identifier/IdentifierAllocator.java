@@ -0,0 +1,99 @@
+package bank.rest.app.bankrestapp.identifier;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.ACCOUNT_NUMBER_PATTERN;
+import static bank.rest.app.bankrestapp.constants.CardDefaults.CARD_NUMBER_PATTERN;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.ACCOUNT_NUMBER_PERMUTATION_KEY;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.ACCOUNT_NUMBER_SERIES_OFFSET;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.CARD_NUMBER_PERMUTATION_KEY;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.EDRPOU_MIN;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.EDRPOU_PERMUTATION_KEY;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.IDENTIFIER_BLOCK_SIZE;
+import static java.lang.String.format;
+
+/**
+ * Hands out account numbers, EDRPOU codes and card numbers without querying for existing ones.
+ *
+ * <p>Each kind of identifier is numbered by its own database sequence. A node reserves
+ * {@code IDENTIFIER_BLOCK_SIZE} values per sequence call and serves them from memory, so most
+ * identifiers cost no round-trip at all. Sequence values are unique across nodes, and a
+ * {@link FeistelPermutation} maps them one-to-one onto identifiers of the required width, which
+ * therefore never collide and still look random. Values of a block that is not used up before a
+ * restart are skipped, never reissued.</p>
+ */
+@Component
+public final class IdentifierAllocator {
+
+    private static final FeistelPermutation ACCOUNT_NUMBERS =
+            new FeistelPermutation(100_000_000L, 100_000_000L, ACCOUNT_NUMBER_PERMUTATION_KEY);
+    private static final FeistelPermutation EDRPOUS =
+            new FeistelPermutation(90_000L, 100_000L, EDRPOU_PERMUTATION_KEY);
+    /** Card numbers without their Luhn check digit: fifteen digits. */
+    private static final FeistelPermutation CARD_PAYLOADS =
+            new FeistelPermutation(100_000_000L, 10_000_000L, CARD_NUMBER_PERMUTATION_KEY);
+
+    private final Map<IdentifierSequence, Block> blocks = new EnumMap<>(IdentifierSequence.class);
+
+    public IdentifierAllocator(final SequenceBlockSource sequenceBlockSource) {
+        for (final IdentifierSequence sequence : IdentifierSequence.values()) {
+            this.blocks.put(sequence, new Block(sequence, sequenceBlockSource));
+        }
+    }
+
+    /**
+     * @param countryCode two-letter prefix of the number
+     * @return new account number of 34 characters
+     */
+    public String nextAccountNumber(final String countryCode) {
+        final long serial = ACCOUNT_NUMBERS.permute(this.next(IdentifierSequence.ACCOUNT_NUMBER, ACCOUNT_NUMBERS));
+        return format(ACCOUNT_NUMBER_PATTERN, countryCode, ACCOUNT_NUMBER_SERIES_OFFSET + serial);
+    }
+
+    /**
+     * @return new ten-digit EDRPOU code
+     */
+    public String nextEdrpou() {
+        return String.valueOf(EDRPOU_MIN + EDRPOUS.permute(this.next(IdentifierSequence.EDRPOU, EDRPOUS)));
+    }
+
+    /**
+     * @return new sixteen-digit card number with a valid Luhn check digit
+     */
+    public String nextCardNumber() {
+        final long payload = CARD_PAYLOADS.permute(this.next(IdentifierSequence.CARD_NUMBER, CARD_PAYLOADS));
+        return format(CARD_NUMBER_PATTERN, payload * 10 + Luhn.checkDigit(payload));
+    }
+
+    private long next(final IdentifierSequence sequence, final FeistelPermutation permutation) {
+        final long value = this.blocks.get(sequence).next();
+        if (value >= permutation.size()) {
+            throw new IllegalStateException("Вичерпано діапазон ідентифікаторів послідовності " + sequence.sequenceName());
+        }
+        return value;
+    }
+
+    private static final class Block {
+
+        private final IdentifierSequence sequence;
+        private final SequenceBlockSource sequenceBlockSource;
+        private long nextValue;
+        private long end;
+
+        private Block(final IdentifierSequence sequence, final SequenceBlockSource sequenceBlockSource) {
+            this.sequence = sequence;
+            this.sequenceBlockSource = sequenceBlockSource;
+        }
+
+        private synchronized long next() {
+            if (this.nextValue == this.end) {
+                this.nextValue = this.sequenceBlockSource.nextBlockStart(this.sequence);
+                this.end = this.nextValue + IDENTIFIER_BLOCK_SIZE;
+            }
+            return this.nextValue++;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package bank.rest.app.bankrestapp.identifier;
+
+/**
+ * Database sequences that number the identifiers handed out by {@link IdentifierAllocator}. Every
+ * sequence advances by {@code IDENTIFIER_BLOCK_SIZE}, so one {@code nextval} reserves a whole block.
+ */
+public enum IdentifierSequence {
+
+    /** Account numbers */
+    ACCOUNT_NUMBER("account_number_seq"),
+
+    /** EDRPOU codes of accounts */
+    EDRPOU("edrpou_seq"),
+
+    /** Card numbers */
+    CARD_NUMBER("card_number_seq");
+
+    private final String sequenceName;
+
+    IdentifierSequence(final String sequenceName) {
+        this.sequenceName = sequenceName;
+    }
+
+    public String sequenceName() {
+        return this.sequenceName;
+    }
+}
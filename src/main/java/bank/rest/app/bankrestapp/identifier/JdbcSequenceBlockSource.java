@@ -0,0 +1,42 @@
+package bank.rest.app.bankrestapp.identifier;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reserves blocks with one {@code nextval} on the database sequence, in the syntax of the configured
+ * Hibernate dialect.
+ */
+@Component
+public final class JdbcSequenceBlockSource implements SequenceBlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<IdentifierSequence, String> nextValueQueries = new EnumMap<>(IdentifierSequence.class);
+
+    public JdbcSequenceBlockSource(final JdbcTemplate jdbcTemplate, final EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        final SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport();
+        for (final IdentifierSequence sequence : IdentifierSequence.values()) {
+            this.nextValueQueries.put(sequence, sequenceSupport.getSequenceNextValString(sequence.sequenceName()));
+        }
+    }
+
+    @Override
+    public long nextBlockStart(final IdentifierSequence sequence) {
+        final Long blockStart = this.jdbcTemplate.queryForObject(this.nextValueQueries.get(sequence), Long.class);
+        if (blockStart == null) {
+            throw new IllegalStateException("Послідовність " + sequence.sequenceName() + " не повернула значення");
+        }
+        return blockStart;
+    }
+}
@@ -0,0 +1,61 @@
+package bank.rest.app.bankrestapp.identifier;
+
+/**
+ * Luhn (mod 10) check digits of card numbers.
+ */
+public final class Luhn {
+
+    private Luhn() {}
+
+    /**
+     * @param payload number without its check digit
+     * @return digit that makes {@code payload * 10 + digit} pass the Luhn check
+     */
+    public static int checkDigit(final long payload) {
+        if (payload < 0) {
+            throw new IllegalArgumentException("Номер не може бути від'ємним");
+        }
+
+        int sum = 0;
+        boolean doubled = true;
+        for (long rest = payload; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * @param number digits of the number including the check digit
+     * @return {@code true} if the number passes the Luhn check
+     */
+    public static boolean isValid(final String number) {
+        if (number.length() < 2 || !number.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            int digit = number.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+
+        return sum % 10 == 0;
+    }
+}
@@ -0,0 +1,15 @@
+package bank.rest.app.bankrestapp.identifier;
+
+/**
+ * Source of identifier blocks.
+ */
+public interface SequenceBlockSource {
+
+    /**
+     * Reserves the next block of a sequence. Blocks never overlap, whichever node reserves them.
+     *
+     * @param sequence sequence to advance
+     * @return first value of the reserved block; the block spans {@code IDENTIFIER_BLOCK_SIZE} values
+     */
+    long nextBlockStart(IdentifierSequence sequence);
+}
@@ -0,0 +1,106 @@
+package bank.rest.app.bankrestapp.locking;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.function.IntSupplier;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_LOOKUP_ACCOUNT_ID;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_LOOKUP_CREDIT;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_LOOKUP_DEBIT;
+
+/**
+ * Runs the debit and credit statements of {@link AccountRepository}, which lock the account row by updating it.
+ *
+ * <p>Each statement is timed as a row lock acquisition and its wait is charged to the account in
+ * {@link AccountLockContention}, like a locking read. The statements run under the account lock timeout as
+ * their statement timeout. A statement cancelled by it was waiting for the row lock, so it fails as a lock
+ * conflict that {@link LockConflictRetry} retries.</p>
+ *
+ * <p>A money movement takes its row locks in ascending account id order, the order batches lock in, so that
+ * opposite movements cannot deadlock. A recipient that comes after the sender is debited first and credited
+ * second. A recipient that comes first is handled as {@link AccountLockingPolicy} decides for it: a contended
+ * one is locked by {@link AccountRepository#lockById} ahead of the debit, so that a debit the sender row no longer allows is a final
+ * rejection; any other one is credited ahead of the debit, saving the locking read, and a rejected debit then
+ * fails as an optimistic conflict on the recipient, which rolls the credit back and retries the movement.</p>
+ */
+@Component
+@AllArgsConstructor
+public class AccountBalanceStatements {
+
+    private final AccountRepository accountRepository;
+    private final MoneyMovementMetrics moneyMovementMetrics;
+    private final AccountLockingPolicy accountLockingPolicy;
+
+    /**
+     * @return {@code false} if the account is missing, not active or lacks funds; nothing changed then
+     */
+    public boolean debit(final Integer accountId, final BigDecimal amount) {
+        return this.run(LOCK_LOOKUP_DEBIT, accountId, () -> this.accountRepository.debit(accountId, amount)) > 0;
+    }
+
+    /**
+     * Credits the account. An account row that is gone fails the movement, so its debit rolls back with it.
+     *
+     * @throws IllegalStateException if the account is missing
+     */
+    public void credit(final Integer accountId, final BigDecimal amount) {
+        if (this.run(LOCK_LOOKUP_CREDIT, accountId, () -> this.accountRepository.credit(accountId, amount)) == 0) {
+            throw new IllegalStateException(ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED);
+        }
+    }
+
+    /**
+     * Debits the sender and credits the recipient, taking the two row locks in ascending account id order.
+     * Callers that already hold both locks use {@link #debit} and {@link #credit} instead.
+     *
+     * @return {@code false} if the debit was rejected; nothing changed then
+     * @throws IllegalStateException if the recipient is missing
+     * @throws ObjectOptimisticLockingFailureException if the debit was rejected after an optimistic credit
+     */
+    public boolean transfer(final Integer senderAccountId,
+                            final BigDecimal amount,
+                            final Integer recipientAccountId,
+                            final BigDecimal amountToReceive) {
+        if (recipientAccountId >= senderAccountId) {
+            if (!this.debit(senderAccountId, amount)) {
+                return false;
+            }
+            this.credit(recipientAccountId, amountToReceive);
+            return true;
+        }
+
+        if (this.accountLockingPolicy.modeFor(recipientAccountId) == AccountLockMode.OPTIMISTIC) {
+            this.credit(recipientAccountId, amountToReceive);
+            if (!this.debit(senderAccountId, amount)) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, recipientAccountId);
+            }
+            return true;
+        }
+
+        this.moneyMovementMetrics.recordLockOfId(LOCK_LOOKUP_ACCOUNT_ID, () -> this.accountRepository.lockById(recipientAccountId))
+                .orElseThrow(() -> new IllegalStateException(ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED));
+        if (!this.debit(senderAccountId, amount)) {
+            return false;
+        }
+        this.credit(recipientAccountId, amountToReceive);
+        return true;
+    }
+
+    private int run(final String statement, final Integer accountId, final IntSupplier update) {
+        try {
+            return this.moneyMovementMetrics.recordStatement(statement, accountId, update);
+        } catch (QueryTimeoutException e) {
+            throw new CannotAcquireLockException(e.getMessage(), e);
+        }
+    }
+}
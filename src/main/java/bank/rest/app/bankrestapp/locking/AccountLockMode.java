@@ -0,0 +1,13 @@
+package bank.rest.app.bankrestapp.locking;
+
+/**
+ * How a money movement takes the row lock of a recipient that comes before the sender in lock order.
+ */
+public enum AccountLockMode {
+
+    /** Read the recipient with {@code SELECT ... FOR UPDATE} ahead of the debit; a rejected debit is final. */
+    PESSIMISTIC,
+
+    /** Credit the recipient ahead of the debit; a rejected debit rolls the movement back and it is retried. */
+    OPTIMISTIC
+}
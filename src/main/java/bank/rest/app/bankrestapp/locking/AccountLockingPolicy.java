@@ -0,0 +1,42 @@
+package bank.rest.app.bankrestapp.locking;
+
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.AccountLockHotspot;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.CONTENDED_ACCOUNT_CONFLICTS;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.CONTENDED_ACCOUNT_LOCK_WAIT_MILLIS;
+
+/**
+ * Chooses per account between pessimistic and optimistic locking from the contention observed over the
+ * recent window, as last folded by {@link AccountLockContention}.
+ *
+ * <p>The choice applies to a recipient that comes before the sender in lock order, see
+ * {@link AccountBalanceStatements}. Such a recipient is credited optimistically unless it is contended:
+ * credited concurrently often enough to have conflicted repeatedly, or locked while another transaction
+ * held it. A contended account stays pessimistic while its lock waits keep it contended, and returns to
+ * optimistic once the window no longer shows contention.</p>
+ */
+@Component
+@AllArgsConstructor
+public class AccountLockingPolicy {
+
+    private final AccountLockContention accountLockContention;
+
+    /**
+     * @param accountId the recipient about to be locked ahead of the debit
+     * @return how to lock it
+     */
+    public AccountLockMode modeFor(final Integer accountId) {
+        return this.accountLockContention.find(accountId)
+                .filter(AccountLockingPolicy::isContended)
+                .map(hotspot -> AccountLockMode.PESSIMISTIC)
+                .orElse(AccountLockMode.OPTIMISTIC);
+    }
+
+    private static boolean isContended(final AccountLockHotspot hotspot) {
+        return hotspot.conflicts() >= CONTENDED_ACCOUNT_CONFLICTS
+                || hotspot.maxWaitMillis() >= CONTENDED_ACCOUNT_LOCK_WAIT_MILLIS;
+    }
+}
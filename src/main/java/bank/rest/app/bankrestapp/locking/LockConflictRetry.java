@@ -0,0 +1,173 @@
+package bank.rest.app.bankrestapp.locking;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.LOCK_CONFLICT_BASE_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.LOCK_CONFLICT_MAX_ATTEMPTS;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.LOCK_CONFLICT_MAX_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_RETRY_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_RETRY_OUTCOME_EXHAUSTED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_RETRY_OUTCOME_RECOVERED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_RETRY_OUTCOME_RETRIED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_OPERATION;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_OUTCOME;
+
+/**
+ * Runs an operation that updates account rows in a transaction of its own and retries it when it fails on a
+ * lock conflict: a {@link PessimisticLockingFailureException} (lock timeout or deadlock) or an optimistic
+ * version conflict. Version conflicts on an account are reported to {@link AccountLockContention}, next to
+ * the lock waits of the account.
+ *
+ * <p>An attempt is retried at most {@link bank.rest.app.bankrestapp.constants.AccountDefaults#LOCK_CONFLICT_MAX_ATTEMPTS}
+ * times in total, after a backoff drawn uniformly below a ceiling that doubles on every retry. Together with
+ * the lock timeout of the locking queries this bounds the time a request spends on a contended account.</p>
+ *
+ * <p>An operation called within a transaction of the caller joins it and is not retried: the caller's
+ * transaction cannot outlive the conflict.</p>
+ *
+ * <p>Every retry, every recovery and every exhausted budget is counted by
+ * {@link bank.rest.app.bankrestapp.constants.MetricsDefaults#LOCK_RETRY_METRIC}, tagged by operation.</p>
+ */
+@Component
+public class LockConflictRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AccountLockContention accountLockContention;
+    private final Backoff backoff;
+
+    @Autowired
+    public LockConflictRetry(final TransactionTemplate transactionTemplate,
+                             final MeterRegistry meterRegistry,
+                             final AccountLockContention accountLockContention) {
+        this(transactionTemplate, meterRegistry, accountLockContention, Thread::sleep);
+    }
+
+    LockConflictRetry(final TransactionTemplate transactionTemplate,
+                      final MeterRegistry meterRegistry,
+                      final AccountLockContention accountLockContention,
+                      final Backoff backoff) {
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.accountLockContention = accountLockContention;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Runs {@code operation} in a transaction that rolls back on any exception, retrying it on lock conflicts.
+     *
+     * @param operationName low-cardinality tag naming the operation
+     * @param operation     the transactional operation
+     * @return the result of {@code operation}
+     */
+    public <T> T inTransaction(final String operationName, final TransactionCallback<T> operation) {
+        return this.inTransaction(operationName, List.of(), operation);
+    }
+
+    /**
+     * Runs {@code operation} in a transaction, retrying it on lock conflicts.
+     *
+     * @param operationName low-cardinality tag naming the operation
+     * @param noRollbackFor exceptions that commit the transaction before they reach the caller,
+     *                      like {@code noRollbackFor} of {@code @Transactional}
+     * @param operation     the transactional operation
+     * @return the result of {@code operation}
+     */
+    public <T> T inTransaction(final String operationName,
+                               final List<Class<? extends RuntimeException>> noRollbackFor,
+                               final TransactionCallback<T> operation) {
+        final boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            final long attemptStart = System.nanoTime();
+            try {
+                final T result = this.attempt(noRollbackFor, operation);
+                if (attempt > 1) {
+                    this.count(operationName, LOCK_RETRY_OUTCOME_RECOVERED);
+                }
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                this.recordConflict(e, System.nanoTime() - attemptStart);
+                if (!retryable) {
+                    throw e;
+                }
+                if (attempt >= LOCK_CONFLICT_MAX_ATTEMPTS) {
+                    this.count(operationName, LOCK_RETRY_OUTCOME_EXHAUSTED);
+                    throw e;
+                }
+                this.count(operationName, LOCK_RETRY_OUTCOME_RETRIED);
+                this.pause(attempt, e);
+            }
+        }
+    }
+
+    private <T> T attempt(final List<Class<? extends RuntimeException>> noRollbackFor,
+                          final TransactionCallback<T> operation) {
+        final Attempt<T> attempt = this.transactionTemplate.execute(status -> {
+            try {
+                return new Attempt<>(operation.doInTransaction(status), null);
+            } catch (RuntimeException e) {
+                if (noRollbackFor.stream().anyMatch(type -> type.isInstance(e))) {
+                    return new Attempt<>(null, e);
+                }
+                throw e;
+            }
+        });
+        if (attempt == null) {
+            return null;
+        }
+        if (attempt.failure() != null) {
+            throw attempt.failure();
+        }
+        return attempt.result();
+    }
+
+    private void recordConflict(final ConcurrencyFailureException conflict, final long lostNanos) {
+        if (conflict instanceof ObjectOptimisticLockingFailureException optimistic
+                && Account.class.getName().equals(optimistic.getPersistentClassName())
+                && optimistic.getIdentifier() instanceof Integer accountId) {
+            this.accountLockContention.recordConflict(accountId, lostNanos);
+        }
+    }
+
+    private void pause(final int attempt, final ConcurrencyFailureException conflict) {
+        final long ceiling = Math.min(
+                LOCK_CONFLICT_MAX_BACKOFF_MILLIS,
+                LOCK_CONFLICT_BASE_BACKOFF_MILLIS << Math.min(attempt - 1, 16)
+        );
+        try {
+            this.backoff.pause(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private void count(final String operationName, final String outcome) {
+        this.meterRegistry.counter(LOCK_RETRY_METRIC, TAG_OPERATION, operationName, TAG_OUTCOME, outcome).increment();
+    }
+
+    /**
+     * Waits between two attempts.
+     */
+    @FunctionalInterface
+    interface Backoff {
+
+        void pause(long millis) throws InterruptedException;
+    }
+
+    private record Attempt<T>(T result, RuntimeException failure) {
+    }
+}
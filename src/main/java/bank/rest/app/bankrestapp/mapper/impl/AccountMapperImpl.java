@@ -77,7 +77,12 @@ public final class AccountMapperImpl implements Mapper<Account, GetAccountDTO> {
         return transactions.stream()
                 .filter(AccountMapperImpl::test)
                 .peek(transaction -> {
-                    transaction.setAmount(currencyLoader.convert(transaction.getAmount(), transaction.getCurrencyCode().name(), account.getCurrencyCode().name()));
+                    transaction.setAmount(currencyLoader.convert(
+                            transaction.getAmount(),
+                            transaction.getCurrencyCode(),
+                            account.getCurrencyCode(),
+                            transaction.getTransactionDate() == null ? null : transaction.getTransactionDate().toLocalDate()
+                    ));
                     transaction.setCurrencyCode(account.getCurrencyCode());
                 });
     }
@@ -0,0 +1,47 @@
+package bank.rest.app.bankrestapp.mapper.impl;
+
+import bank.rest.app.bankrestapp.dto.get.GetShortCustomerDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransactionDTO;
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
+import bank.rest.app.bankrestapp.mapper.Mapper;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps a {@link TransactionHistoryRow} projection to the same {@link GetTransactionDTO} that
+ * {@link TransactionMapperImpl} produces for a {@link bank.rest.app.bankrestapp.entity.Transaction},
+ * without touching any entity.
+ *
+ * @see bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow
+ * @see bank.rest.app.bankrestapp.dto.get.GetTransactionDTO
+ */
+@Component
+public final class TransactionHistoryRowMapperImpl implements Mapper<TransactionHistoryRow, GetTransactionDTO> {
+
+    @Contract("_ -> new")
+    @Override
+    public @NotNull GetTransactionDTO toDto(final @NotNull TransactionHistoryRow row) {
+        return new GetTransactionDTO(
+                toShortCustomer(row.senderFirstName(), row.senderLastName()),
+                toShortCustomer(row.receiverFirstName(), row.receiverLastName()),
+                row.amount(),
+                row.description(),
+                row.transactionDate().toString(),
+                row.transactionType().name(),
+                row.currencyCode().name(),
+                row.status().name(),
+                row.senderCardNumber(),
+                row.isRecipient(),
+                row.receiverCardNumber()
+        );
+    }
+
+    private static GetShortCustomerDTO toShortCustomer(final String firstName, final String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+
+        return new GetShortCustomerDTO(firstName, lastName);
+    }
+}
@@ -1,38 +1,30 @@
 package bank.rest.app.bankrestapp.mapper.impl;
 
+import bank.rest.app.bankrestapp.entity.AuthUSer;
 import bank.rest.app.bankrestapp.entity.Customer;
 import bank.rest.app.bankrestapp.entity.CustomerRole;
 import bank.rest.app.bankrestapp.mapper.Mapper;
-import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Unmodifiable;
-import org.springframework.security.core.GrantedAuthority;
+import bank.rest.app.bankrestapp.security.CustomerPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
+import java.time.ZoneId;
 @Component
 public class UserDetailsMapper implements Mapper<Customer, UserDetails> {
 
     @Override
     public UserDetails toDto(final Customer entity) {
-        return new UserDetails() {
+        final AuthUSer authUser = entity.getAuthUser();
 
-            @Override
-            public @NotNull @Unmodifiable Collection<? extends GrantedAuthority> getAuthorities() {
-                return entity.getAuthUser().getCustomerRole().stream()
+        return new CustomerPrincipal(
+                authUser.getEmail(),
+                authUser.getPasswordHash() == null ? "" : authUser.getPasswordHash(),
+                authUser.getCustomerRole().stream()
                         .map(CustomerRole::getRoleName)
-                        .toList();
-            }
-
-            @Override
-            public String getPassword() {
-                return entity.getAuthUser().getPasswordHash();
-            }
-
-            @Override
-            public String getUsername() {
-                return entity.getAuthUser().getEmail();
-            }
-        };
+                        .toList(),
+                authUser.getPasswordChangedAt() == null
+                        ? null
+                        : authUser.getPasswordChangedAt().atZone(ZoneId.systemDefault()).toInstant()
+        );
     }
 }
@@ -0,0 +1,254 @@
+package bank.rest.app.bankrestapp.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_BUCKETS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_BUCKET_MILLIS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_COUNTERS_PER_BUCKET;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_FOLD_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_PENDING_SAMPLES;
+
+/**
+ * Sliding-window heavy-hitters sketch of the time spent waiting for pessimistic account row locks.
+ *
+ * <p>The window is a ring of {@link bank.rest.app.bankrestapp.constants.MetricsDefaults#LOCK_CONTENTION_BUCKETS}
+ * time buckets. Each bucket is a weighted Space-Saving summary holding at most
+ * {@link bank.rest.app.bankrestapp.constants.MetricsDefaults#LOCK_CONTENTION_COUNTERS_PER_BUCKET} accounts,
+ * weighted by lock wait: when a bucket is full, the account with the least accumulated wait is replaced and
+ * its wait is inherited by the newcomer as overestimation. Any account whose share of the wait in a bucket
+ * exceeds {@code 1 / capacity} is therefore guaranteed to be kept, whatever the number of accounts, in
+ * constant memory.</p>
+ *
+ * <p>An optimistic conflict is charged with the time of the attempt it wasted, and counted apart.</p>
+ *
+ * <p>Acquisition counts, conflict counts and maximum waits are exact for as long as an account stays in
+ * a bucket.</p>
+ *
+ * <p>Recording is on the path of every debit and credit, so it takes no lock: samples are queued with the time
+ * they were taken and folded into the buckets by {@link #fold()}, off the request threads. Readers see the
+ * window as of the last fold, published as an immutable view. Samples beyond
+ * {@link bank.rest.app.bankrestapp.constants.MetricsDefaults#LOCK_CONTENTION_PENDING_SAMPLES} awaiting a fold
+ * are dropped.</p>
+ */
+@Component
+public class AccountLockContention {
+
+    private final Clock clock;
+    private final Bucket[] buckets;
+    private final Queue<Sample> pendingSamples = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSampleCount = new AtomicInteger();
+    private volatile Window window = Window.EMPTY;
+
+    @Autowired
+    public AccountLockContention() {
+        this(Clock.systemUTC());
+    }
+
+    AccountLockContention(final Clock clock) {
+        this.clock = clock;
+        this.buckets = new Bucket[LOCK_CONTENTION_BUCKETS];
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Records one acquired lock.
+     *
+     * @param accountId the locked account
+     * @param waitNanos time from issuing the locking query until the row was returned
+     */
+    public void record(final Integer accountId, final long waitNanos) {
+        this.enqueue(new Sample(accountId, this.clock.millis(), waitNanos, false));
+    }
+
+    /**
+     * Records an optimistic update of the account that lost to a concurrent one.
+     *
+     * @param accountId the account updated concurrently
+     * @param lostNanos time of the attempt that has to be retried
+     */
+    public void recordConflict(final Integer accountId, final long lostNanos) {
+        this.enqueue(new Sample(accountId, this.clock.millis(), lostNanos, true));
+    }
+
+    /**
+     * Returns the contention of one account over the window, as of the last fold.
+     *
+     * @param accountId the account
+     * @return the account's contention, empty if it is not among the tracked accounts
+     */
+    public Optional<AccountLockHotspot> find(final Integer accountId) {
+        return Optional.ofNullable(this.window.byAccount().get(accountId));
+    }
+
+    /**
+     * Returns the accounts with the most accumulated lock wait over the window, most contended first,
+     * as of the last fold.
+     *
+     * @param limit maximum number of accounts to return
+     * @return the heaviest hitters of the window
+     */
+    public List<AccountLockHotspot> top(final int limit) {
+        final List<AccountLockHotspot> ranked = this.window.ranked();
+        return ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size()));
+    }
+
+    /**
+     * Folds the queued samples into the buckets they were taken in, forgets buckets that left the window and
+     * publishes the merged window to readers.
+     */
+    @Scheduled(fixedDelay = LOCK_CONTENTION_FOLD_INTERVAL_MILLIS)
+    public synchronized void fold() {
+        Sample sample;
+        while ((sample = this.pendingSamples.poll()) != null) {
+            this.pendingSampleCount.decrementAndGet();
+            final Counter counter = this.counter(sample.accountId(), sample.millis() / LOCK_CONTENTION_BUCKET_MILLIS);
+            if (counter == null) {
+                continue;
+            }
+            counter.waitNanos += sample.nanos();
+            if (sample.conflict()) {
+                counter.conflicts++;
+            } else {
+                counter.acquisitions++;
+                counter.maxWaitNanos = Math.max(counter.maxWaitNanos, sample.nanos());
+            }
+        }
+
+        this.window = this.merge();
+    }
+
+    /**
+     * @return length of the sliding window in milliseconds
+     */
+    public long windowMillis() {
+        return LOCK_CONTENTION_BUCKET_MILLIS * this.buckets.length;
+    }
+
+    private void enqueue(final Sample sample) {
+        if (this.pendingSampleCount.incrementAndGet() > LOCK_CONTENTION_PENDING_SAMPLES) {
+            this.pendingSampleCount.decrementAndGet();
+            return;
+        }
+        this.pendingSamples.offer(sample);
+    }
+
+    /**
+     * Returns the counter of the account in the bucket of {@code index}, replacing the least waited-on account
+     * if the bucket is full, or {@code null} if the ring has already moved past that bucket.
+     */
+    private Counter counter(final Integer accountId, final long index) {
+        final Bucket bucket = this.buckets[(int) (index % this.buckets.length)];
+        if (bucket.index > index) {
+            return null;
+        }
+        if (bucket.index != index) {
+            bucket.index = index;
+            bucket.counters.clear();
+        }
+
+        Counter counter = bucket.counters.get(accountId);
+        if (counter == null) {
+            counter = new Counter();
+            if (bucket.counters.size() >= LOCK_CONTENTION_COUNTERS_PER_BUCKET) {
+                final Map.Entry<Integer, Counter> least = bucket.leastWaited();
+                bucket.counters.remove(least.getKey());
+                counter.waitNanos = least.getValue().waitNanos;
+                counter.overestimateNanos = least.getValue().waitNanos;
+            }
+            bucket.counters.put(accountId, counter);
+        }
+        return counter;
+    }
+
+    private Window merge() {
+        final long oldestLiveIndex = this.clock.millis() / LOCK_CONTENTION_BUCKET_MILLIS - this.buckets.length + 1;
+        final Map<Integer, Counter> merged = new HashMap<>();
+        for (final Bucket bucket : this.buckets) {
+            if (bucket.index < oldestLiveIndex) {
+                continue;
+            }
+            bucket.counters.forEach((accountId, counter) -> merged.computeIfAbsent(accountId, id -> new Counter()).add(counter));
+        }
+
+        final Map<Integer, AccountLockHotspot> byAccount = new HashMap<>();
+        merged.forEach((accountId, counter) -> byAccount.put(accountId, counter.toHotspot(accountId)));
+
+        final List<AccountLockHotspot> ranked = new ArrayList<>(byAccount.values());
+        ranked.sort(Comparator.comparingDouble(AccountLockHotspot::totalWaitMillis).reversed());
+
+        return new Window(Map.copyOf(byAccount), List.copyOf(ranked));
+    }
+
+    /**
+     * One lock wait or conflict, stamped with the time it was recorded.
+     */
+    private record Sample(Integer accountId, long millis, long nanos, boolean conflict) {
+    }
+
+    /**
+     * Immutable merge of the live buckets, by account and ranked by accumulated wait.
+     */
+    private record Window(Map<Integer, AccountLockHotspot> byAccount, List<AccountLockHotspot> ranked) {
+
+        private static final Window EMPTY = new Window(Map.of(), List.of());
+    }
+
+    private static final class Bucket {
+
+        private final Map<Integer, Counter> counters = new HashMap<>();
+        private long index = Long.MIN_VALUE;
+
+        private Map.Entry<Integer, Counter> leastWaited() {
+            Map.Entry<Integer, Counter> least = null;
+            for (final Map.Entry<Integer, Counter> entry : this.counters.entrySet()) {
+                if (least == null || entry.getValue().waitNanos < least.getValue().waitNanos) {
+                    least = entry;
+                }
+            }
+            return least;
+        }
+    }
+
+    private static final class Counter {
+
+        private long waitNanos;
+        private long overestimateNanos;
+        private long acquisitions;
+        private long conflicts;
+        private long maxWaitNanos;
+
+        private void add(final Counter other) {
+            this.waitNanos += other.waitNanos;
+            this.overestimateNanos += other.overestimateNanos;
+            this.acquisitions += other.acquisitions;
+            this.conflicts += other.conflicts;
+            this.maxWaitNanos = Math.max(this.maxWaitNanos, other.maxWaitNanos);
+        }
+
+        private AccountLockHotspot toHotspot(final Integer accountId) {
+            return new AccountLockHotspot(
+                    accountId,
+                    this.acquisitions,
+                    this.conflicts,
+                    this.waitNanos / 1_000_000.0,
+                    this.overestimateNanos / 1_000_000.0,
+                    this.maxWaitNanos / 1_000_000.0
+            );
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package bank.rest.app.bankrestapp.metrics;
+
+/**
+ * Lock wait accumulated by one account over the contention window.
+ *
+ * @param accountId          the contended account
+ * @param acquisitions       locks acquired while the account was tracked
+ * @param conflicts          optimistic updates that lost to a concurrent one while the account was tracked
+ * @param totalWaitMillis    accumulated wait, including attempts lost to conflicts, an upper bound of the true value
+ * @param overestimateMillis how much of {@code totalWaitMillis} may belong to accounts it displaced
+ * @param maxWaitMillis      longest single wait
+ */
+public record AccountLockHotspot(Integer accountId,
+                                 long acquisitions,
+                                 long conflicts,
+                                 double totalWaitMillis,
+                                 double overestimateMillis,
+                                 double maxWaitMillis) {
+}
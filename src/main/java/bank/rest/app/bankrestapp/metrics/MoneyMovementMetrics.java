@@ -0,0 +1,249 @@
+package bank.rest.app.bankrestapp.metrics;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.ACCOUNT_LOCK_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.CURRENCY_CONVERSION_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_OUTCOME_ACQUIRED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_OUTCOME_FAILED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_OUTCOME_NOT_FOUND;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_OUTCOME_REJECTED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.PAYMENT_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_CURRENCY;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_EXCEPTION;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_FROM_CURRENCY;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_LOCK_LOOKUP;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_OUTCOME;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_PAYMENT_TYPE;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_TO_CURRENCY;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_VALUE_NONE;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TRANSFER_METRIC;
+
+/**
+ * Timers around the money-movement hot paths: transfers, payments, account row locks and currency conversion.
+ *
+ * <p>Transfers and payments are tagged with their outcome ({@code COMPLETED}, {@code FAILED} or
+ * {@code CANCELLED}, as in {@link TransactionStatus}), the currency of the debited account and the simple
+ * name of the exception that ended them. The operation reports the currency through its {@link Sample} as
+ * soon as the account is locked, so rejected operations are attributed to a currency as well.</p>
+ *
+ * <p>Account row locks are taken by locking reads and by the debit and credit statements, which lock the row
+ * by updating it. Every acquired lock is also fed to {@link AccountLockContention}, which keeps the accounts
+ * waited on the longest. A lock that fails, e.g. on a lock timeout or a deadlock, cannot be attributed to an
+ * account; it is counted by the lock timer, tagged with the exception.</p>
+ *
+ * <p>Conversion timers are registered up front for every pair of distinct currencies, because a conversion
+ * takes far less time than resolving a meter by name and tags.</p>
+ */
+@Component
+public class MoneyMovementMetrics {
+
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final MeterRegistry meterRegistry;
+    private final AccountLockContention accountLockContention;
+    private final Timer[][] conversionTimers;
+    private final Timer[][] failedConversionTimers;
+
+    public MoneyMovementMetrics(final MeterRegistry meterRegistry, final AccountLockContention accountLockContention) {
+        this.meterRegistry = meterRegistry;
+        this.accountLockContention = accountLockContention;
+        this.conversionTimers = new Timer[CURRENCIES.length][CURRENCIES.length];
+        this.failedConversionTimers = new Timer[CURRENCIES.length][CURRENCIES.length];
+        for (final Currency from : CURRENCIES) {
+            for (final Currency to : CURRENCIES) {
+                if (from == to) {
+                    continue;
+                }
+                this.conversionTimers[from.ordinal()][to.ordinal()] =
+                        this.conversionTimer(from, to, TransactionStatus.COMPLETED.name());
+                this.failedConversionTimers[from.ordinal()][to.ordinal()] =
+                        this.conversionTimer(from, to, TransactionStatus.FAILED.name());
+            }
+        }
+    }
+
+    /**
+     * Times a card-to-card transfer.
+     *
+     * @param transfer the transfer; receives the sample to report the sender currency through
+     * @return the result of {@code transfer}
+     */
+    public <T> T recordTransfer(final Function<Sample, T> transfer) {
+        return this.record(TRANSFER_METRIC, Tags.empty(), transfer);
+    }
+
+    /**
+     * Times a payment.
+     *
+     * @param paymentType low-cardinality payment type tag, one of the {@code PAYMENT_TYPE_*} constants
+     * @param payment     the payment; receives the sample to report the debited account currency through
+     * @return the result of {@code payment}
+     */
+    public <T> T recordPayment(final String paymentType, final Function<Sample, T> payment) {
+        return this.record(PAYMENT_METRIC, Tags.of(TAG_PAYMENT_TYPE, paymentType), payment);
+    }
+
+    /**
+     * Times the acquisition of a pessimistic account row lock, including the wait for a concurrent holder,
+     * and charges the wait to the locked account.
+     *
+     * @param lookup      low-cardinality tag naming the lookup, one of the {@code LOCK_LOOKUP_*} constants
+     * @param acquisition the locking query
+     * @return the result of {@code acquisition}
+     */
+    public Optional<Account> recordLock(final String lookup, final Supplier<Optional<Account>> acquisition) {
+        return this.recordLock(lookup, acquisition, Account::getAccountId);
+    }
+
+    /**
+     * Times a locking read that returns only the id of the locked account, like {@link #recordLock}.
+     *
+     * @param lookup      low-cardinality tag naming the lookup, one of the {@code LOCK_LOOKUP_*} constants
+     * @param acquisition the locking query
+     * @return the result of {@code acquisition}
+     */
+    public Optional<Integer> recordLockOfId(final String lookup, final Supplier<Optional<Integer>> acquisition) {
+        return this.recordLock(lookup, acquisition, Function.identity());
+    }
+
+    /**
+     * Times a balance statement that locks the account row by updating it, including the wait for a
+     * concurrent holder, and charges the wait to the account. The statement is charged even if it updates
+     * no row, since a debit the row does not allow still waited for the row first.
+     *
+     * @param lookup    low-cardinality tag naming the statement, one of the {@code LOCK_LOOKUP_*} constants
+     * @param accountId the account the statement updates
+     * @param statement the statement
+     * @return the number of rows updated by {@code statement}
+     */
+    public int recordStatement(final String lookup, final Integer accountId, final IntSupplier statement) {
+        final Timer.Sample sample = Timer.start(this.meterRegistry);
+        final int updated;
+        try {
+            updated = statement.getAsInt();
+        } catch (RuntimeException e) {
+            sample.stop(this.lockTimer(lookup, LOCK_OUTCOME_FAILED, e.getClass().getSimpleName()));
+            throw e;
+        }
+
+        final long waitNanos = sample.stop(this.lockTimer(
+                lookup,
+                updated > 0 ? LOCK_OUTCOME_ACQUIRED : LOCK_OUTCOME_REJECTED,
+                TAG_VALUE_NONE
+        ));
+        this.accountLockContention.record(accountId, waitNanos);
+        return updated;
+    }
+
+    /**
+     * Records one conversion at the current rates.
+     *
+     * @param from      source currency, distinct from {@code to}
+     * @param to        target currency
+     * @param nanos     time the conversion took
+     * @param completed {@code false} if the conversion failed for lack of a rate
+     */
+    public void recordConversion(final Currency from, final Currency to, final long nanos, final boolean completed) {
+        final Timer[][] timers = completed ? this.conversionTimers : this.failedConversionTimers;
+        timers[from.ordinal()][to.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private <T> Optional<T> recordLock(final String lookup,
+                                       final Supplier<Optional<T>> acquisition,
+                                       final Function<T, Integer> accountIdOf) {
+        final Timer.Sample sample = Timer.start(this.meterRegistry);
+        final Optional<T> locked;
+        try {
+            locked = acquisition.get();
+        } catch (RuntimeException e) {
+            sample.stop(this.lockTimer(lookup, LOCK_OUTCOME_FAILED, e.getClass().getSimpleName()));
+            throw e;
+        }
+
+        final long waitNanos = sample.stop(this.lockTimer(
+                lookup,
+                locked.isPresent() ? LOCK_OUTCOME_ACQUIRED : LOCK_OUTCOME_NOT_FOUND,
+                TAG_VALUE_NONE
+        ));
+        locked.ifPresent(result -> this.accountLockContention.record(accountIdOf.apply(result), waitNanos));
+        return locked;
+    }
+
+    private <T> T record(final String metric, final Tags tags, final Function<Sample, T> operation) {
+        final Sample sample = new Sample(Timer.start(this.meterRegistry));
+        try {
+            final T result = operation.apply(sample);
+            this.stop(metric, tags, sample, TransactionStatus.COMPLETED, null);
+            return result;
+        } catch (RuntimeException e) {
+            this.stop(metric, tags, sample, outcomeOf(e), e);
+            throw e;
+        }
+    }
+
+    private void stop(final String metric,
+                      final Tags tags,
+                      final Sample sample,
+                      final TransactionStatus outcome,
+                      final RuntimeException failure) {
+        sample.timerSample.stop(this.meterRegistry.timer(metric, tags.and(
+                TAG_OUTCOME, outcome.name(),
+                TAG_CURRENCY, sample.currency == null ? TAG_VALUE_NONE : sample.currency.name(),
+                TAG_EXCEPTION, failure == null ? TAG_VALUE_NONE : failure.getClass().getSimpleName()
+        )));
+    }
+
+    private Timer lockTimer(final String lookup, final String outcome, final String exception) {
+        return this.meterRegistry.timer(ACCOUNT_LOCK_METRIC,
+                TAG_LOCK_LOOKUP, lookup,
+                TAG_OUTCOME, outcome,
+                TAG_EXCEPTION, exception);
+    }
+
+    private Timer conversionTimer(final Currency from, final Currency to, final String outcome) {
+        return Timer.builder(CURRENCY_CONVERSION_METRIC)
+                .tag(TAG_FROM_CURRENCY, from.name())
+                .tag(TAG_TO_CURRENCY, to.name())
+                .tag(TAG_OUTCOME, outcome)
+                .register(this.meterRegistry);
+    }
+
+    /**
+     * A rejection of an inactive account is recorded as cancelled, like the transaction it leaves behind;
+     * every other exception as failed.
+     */
+    static TransactionStatus outcomeOf(final RuntimeException failure) {
+        return failure instanceof AccountNotActiveException ? TransactionStatus.CANCELLED : TransactionStatus.FAILED;
+    }
+
+    /**
+     * An operation in progress. The operation reports the currency of the debited account once it knows it.
+     */
+    public static final class Sample {
+
+        private final Timer.Sample timerSample;
+        private Currency currency;
+
+        private Sample(final Timer.Sample timerSample) {
+            this.timerSample = timerSample;
+        }
+
+        public void currency(final Currency currency) {
+            this.currency = currency;
+        }
+    }
+}
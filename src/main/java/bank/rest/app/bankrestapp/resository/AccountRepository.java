@@ -1,43 +1,96 @@
 package bank.rest.app.bankrestapp.resository;
 
+import bank.rest.app.bankrestapp.dto.projection.AccountLockRoute;
 import bank.rest.app.bankrestapp.entity.Account;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AccountRepository extends JpaRepository<Account, Integer> {
-
-    boolean existsByAccountNumber(String accountNumber);
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.ACCOUNT_LOCK_TIMEOUT_MILLIS;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_QUERY_TIMEOUT;
 
-    boolean existsByEdrpou(String edrpou);
+public interface AccountRepository extends JpaRepository<Account, Integer> {
 
     @EntityGraph(attributePaths = {"customer", "customer.authUser", "card"})
     Optional<Account> findByCard_CardNumber(String cardCardNumber);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = ACCOUNT_LOCK_TIMEOUT_MILLIS))
     @EntityGraph(attributePaths = {"customer", "customer.authUser", "card"})
     @Query("select a from Account a where a.card.cardNumber = :cardNumber")
     Optional<Account> findByCard_CardNumberForUpdate(@Param("cardNumber") String cardNumber);
 
+    @Query("select new bank.rest.app.bankrestapp.dto.projection.AccountLockRoute(c.cardNumber, a.accountId, a.hotAccount) "
+            + "from Account a join a.card c where c.cardNumber in :cardNumbers")
+    List<AccountLockRoute> findLockRoutesByCardNumbers(@Param("cardNumbers") Collection<String> cardNumbers);
+
+    @EntityGraph(attributePaths = {"card"})
+    @Query("select a from Account a where a.card.cardNumber = :cardNumber and a.hotAccount = true")
+    Optional<Account> findHotAccountByCardNumber(@Param("cardNumber") String cardNumber);
+
     @EntityGraph(attributePaths = {"customer", "customer.authUser", "card"})
     Optional<Account> findByAccountNumber(String accountNumber);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = ACCOUNT_LOCK_TIMEOUT_MILLIS))
     @EntityGraph(attributePaths = {"customer", "customer.authUser", "card"})
     @Query("select a from Account a where a.accountNumber = :accountNumber")
     Optional<Account> findWithLockByAccountNumber(String accountNumber);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = ACCOUNT_LOCK_TIMEOUT_MILLIS))
     @EntityGraph(attributePaths = {"customer", "customer.authUser", "card"})
     @Query("select a from Account a where a.accountId = :accountId")
     Optional<Account> findByIdForUpdate(@Param("accountId") Integer accountId);
 
+    /**
+     * Locks an account row without loading the account, so that an instance already in the persistence
+     * context is neither returned stale nor version-checked by a lock upgrade.
+     *
+     * @return the account id if the account exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = ACCOUNT_LOCK_TIMEOUT_MILLIS))
+    @Query("select a.accountId from Account a where a.accountId = :accountId")
+    Optional<Integer> lockById(@Param("accountId") Integer accountId);
+
     @Override
     @EntityGraph(attributePaths = {"customer", "customer.authUser", "card"})
     Optional<Account> findById(Integer integer);
+
+    /**
+     * Debits an active account that holds at least {@code amount}, checking funds and status in the same
+     * statement that changes the balance. The row version is bumped so that a concurrent entity update
+     * fails its version check instead of overwriting the balance. Managed instances are not refreshed.
+     *
+     * @return 1 if the account was debited, 0 if it is missing, not active or lacks funds
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_SPEC_QUERY_TIMEOUT, value = ACCOUNT_LOCK_TIMEOUT_MILLIS))
+    @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1 "
+            + "where a.accountId = :accountId and a.balance >= :amount "
+            + "and a.status = bank.rest.app.bankrestapp.entity.enums.AccountStatus.ACTIVE")
+    int debit(@Param("accountId") Integer accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Credits an account in a single statement and bumps its row version. Managed instances are not refreshed.
+     *
+     * @return 1 if the account was credited, 0 if it is missing
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_SPEC_QUERY_TIMEOUT, value = ACCOUNT_LOCK_TIMEOUT_MILLIS))
+    @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1 where a.accountId = :accountId")
+    int credit(@Param("accountId") Integer accountId, @Param("amount") BigDecimal amount);
 }
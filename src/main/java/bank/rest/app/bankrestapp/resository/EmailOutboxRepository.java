@@ -0,0 +1,33 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.entity.EmailOutbox;
+import bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT e FROM EmailOutbox e
+        WHERE e.status = :status AND e.nextAttemptAt <= :now
+        ORDER BY e.nextAttemptAt, e.id
+        """)
+    List<EmailOutbox> findDueForUpdate(@Param("status") EmailOutboxStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.sentAt < :cutoff")
+    int deleteAllSentBefore(@Param("status") EmailOutboxStatus status, @Param("cutoff") LocalDateTime cutoff);
+}
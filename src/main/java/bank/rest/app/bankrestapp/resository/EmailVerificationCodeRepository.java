@@ -2,12 +2,24 @@ package bank.rest.app.bankrestapp.resository;
 
 import bank.rest.app.bankrestapp.entity.EmailVerificationCodes;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Locale;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface EmailVerificationCodeRepository extends JpaRepository<EmailVerificationCodes, Integer> {
     Optional<EmailVerificationCodes> findByEmail(String email);
 
-    void deleteByEmail(String email);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailVerificationCodes c WHERE c.email = :email")
+    void deleteByEmail(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailVerificationCodes c WHERE c.createdAt < :cutoff")
+    int deleteAllCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,17 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.entity.ExchangeRate;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Integer> {
+
+    List<ExchangeRate> findAllByRateDate(LocalDate rateDate);
+
+    List<ExchangeRate> findAllByRateDateBetween(LocalDate from, LocalDate to);
+
+    boolean existsByCurrencyCodeAndRateDate(Currency currencyCode, LocalDate rateDate);
+}
@@ -0,0 +1,27 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Integer> {
+
+    Optional<IdempotencyKey> findByOwnerEmailAndIdempotencyKey(String ownerEmail, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.ownerEmail = :ownerEmail AND k.idempotencyKey = :idempotencyKey")
+    int deleteByOwnerEmailAndIdempotencyKey(@Param("ownerEmail") String ownerEmail,
+                                            @Param("idempotencyKey") String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteAllCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
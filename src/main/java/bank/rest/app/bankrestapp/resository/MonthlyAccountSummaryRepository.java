@@ -0,0 +1,12 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.entity.MonthlyAccountSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface MonthlyAccountSummaryRepository extends JpaRepository<MonthlyAccountSummary, Integer> {
+
+    Optional<MonthlyAccountSummary> findByAccount_AccountIdAndPeriodStart(Integer accountId, LocalDate periodStart);
+}
@@ -1,27 +1,40 @@
 package bank.rest.app.bankrestapp.resository;
 
+import bank.rest.app.bankrestapp.dto.projection.PaymentSummaryRow;
 import bank.rest.app.bankrestapp.entity.Payment;
 import bank.rest.app.bankrestapp.entity.enums.PaymentStatus;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
-    @EntityGraph(attributePaths = {"account"})
     @Query("""
-            SELECT p FROM Payment p
+            SELECT new bank.rest.app.bankrestapp.dto.projection.PaymentSummaryRow(
+                TYPE(p),
+                p.currencyCode,
+                CAST(p.paymentDate AS LocalDate),
+                SUM(p.amount)
+            )
+            FROM Payment p
             WHERE p.account.accountNumber = :accountNumber
               AND p.paymentDate >= :startDate
               AND p.paymentDate < :endDate
               AND p.status = :status
+            GROUP BY TYPE(p), p.currencyCode, CAST(p.paymentDate AS LocalDate)
             """)
-    List<Payment> findMonthlyPayments(@Param("accountNumber") String accountNumber,
-                                      @Param("startDate") LocalDateTime startDate,
-                                      @Param("endDate") LocalDateTime endDate,
-                                      @Param("status") PaymentStatus status);
+    List<PaymentSummaryRow> summarizePayments(@Param("accountNumber") String accountNumber,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate,
+                                              @Param("status") PaymentStatus status);
+
+    /**
+     * @return date of the oldest payment, empty if there are none
+     */
+    @Query("SELECT MIN(p.paymentDate) FROM Payment p")
+    Optional<LocalDateTime> findEarliestPaymentDate();
 }
@@ -0,0 +1,25 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PendingCreditRepository extends JpaRepository<PendingCredit, Integer> {
+
+    @Query("""
+        SELECT DISTINCT p.account.accountId FROM PendingCredit p
+        ORDER BY p.account.accountId
+        """)
+    List<Integer> findAccountIdsWithPendingCredits(Pageable pageable);
+
+    @Query("""
+        SELECT p FROM PendingCredit p
+        WHERE p.account.accountId = :accountId
+        ORDER BY p.pendingCreditId
+        """)
+    List<PendingCredit> findAllByAccountId(@Param("accountId") Integer accountId, Pageable pageable);
+}
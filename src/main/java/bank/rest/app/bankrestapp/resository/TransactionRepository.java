@@ -1,5 +1,8 @@
 package bank.rest.app.bankrestapp.resository;
 
+import bank.rest.app.bankrestapp.dto.projection.DailyCountRow;
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
+import bank.rest.app.bankrestapp.dto.projection.TransactionSummaryRow;
 import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
 import org.springframework.data.domain.Page;
@@ -12,6 +15,7 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
 
@@ -28,9 +32,135 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
         """)
     Page<Transaction> findAllTransactions(@Param("accountNumber") String accountNumber, @Param("statuses") Collection<TransactionStatus> statuses, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"account", "toAccount"})
     @Query("""
-        SELECT t FROM Transaction t
+        SELECT new bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow(
+            t.transactionId, t.transactionDate, t.amount, t.currencyCode, t.description,
+            t.transactionType, t.status,
+            sender.firstName, sender.lastName, senderCard.cardNumber,
+            receiver.firstName, receiver.lastName, receiverCard.cardNumber,
+            CASE WHEN toAcc.accountId = :accountId THEN true ELSE false END
+        )
+        FROM Transaction t
+        JOIN t.account acc
+        LEFT JOIN acc.customer sender
+        LEFT JOIN acc.card senderCard
+        LEFT JOIN t.toAccount toAcc
+        LEFT JOIN toAcc.customer receiver
+        LEFT JOIN toAcc.card receiverCard
+        WHERE acc.accountId = :accountId
+        ORDER BY t.transactionDate DESC, t.transactionId DESC
+        """)
+    List<TransactionHistoryRow> findOutgoingHistory(@Param("accountId") Integer accountId, Pageable pageable);
+
+    @Query("""
+        SELECT new bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow(
+            t.transactionId, t.transactionDate, t.amount, t.currencyCode, t.description,
+            t.transactionType, t.status,
+            sender.firstName, sender.lastName, senderCard.cardNumber,
+            receiver.firstName, receiver.lastName, receiverCard.cardNumber,
+            CASE WHEN toAcc.accountId = :accountId THEN true ELSE false END
+        )
+        FROM Transaction t
+        JOIN t.account acc
+        LEFT JOIN acc.customer sender
+        LEFT JOIN acc.card senderCard
+        LEFT JOIN t.toAccount toAcc
+        LEFT JOIN toAcc.customer receiver
+        LEFT JOIN toAcc.card receiverCard
+        WHERE acc.accountId = :accountId
+          AND (t.transactionDate < :cursorDate
+               OR (t.transactionDate = :cursorDate AND t.transactionId < :cursorId))
+        ORDER BY t.transactionDate DESC, t.transactionId DESC
+        """)
+    List<TransactionHistoryRow> findOutgoingHistoryBefore(@Param("accountId") Integer accountId,
+                                                          @Param("cursorDate") LocalDateTime cursorDate,
+                                                          @Param("cursorId") Integer cursorId,
+                                                          Pageable pageable);
+
+    @Query("""
+        SELECT new bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow(
+            t.transactionId, t.transactionDate, t.amount, t.currencyCode, t.description,
+            t.transactionType, t.status,
+            sender.firstName, sender.lastName, senderCard.cardNumber,
+            receiver.firstName, receiver.lastName, receiverCard.cardNumber,
+            CASE WHEN toAcc.accountId = :accountId THEN true ELSE false END
+        )
+        FROM Transaction t
+        JOIN t.account acc
+        LEFT JOIN acc.customer sender
+        LEFT JOIN acc.card senderCard
+        LEFT JOIN t.toAccount toAcc
+        LEFT JOIN toAcc.customer receiver
+        LEFT JOIN toAcc.card receiverCard
+        WHERE toAcc.accountId = :accountId
+          AND t.status NOT IN :statuses
+        ORDER BY t.transactionDate DESC, t.transactionId DESC
+        """)
+    List<TransactionHistoryRow> findIncomingHistory(@Param("accountId") Integer accountId,
+                                                    @Param("statuses") Collection<TransactionStatus> statuses,
+                                                    Pageable pageable);
+
+    @Query("""
+        SELECT new bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow(
+            t.transactionId, t.transactionDate, t.amount, t.currencyCode, t.description,
+            t.transactionType, t.status,
+            sender.firstName, sender.lastName, senderCard.cardNumber,
+            receiver.firstName, receiver.lastName, receiverCard.cardNumber,
+            CASE WHEN toAcc.accountId = :accountId THEN true ELSE false END
+        )
+        FROM Transaction t
+        JOIN t.account acc
+        LEFT JOIN acc.customer sender
+        LEFT JOIN acc.card senderCard
+        LEFT JOIN t.toAccount toAcc
+        LEFT JOIN toAcc.customer receiver
+        LEFT JOIN toAcc.card receiverCard
+        WHERE toAcc.accountId = :accountId
+          AND t.status NOT IN :statuses
+          AND (t.transactionDate < :cursorDate
+               OR (t.transactionDate = :cursorDate AND t.transactionId < :cursorId))
+        ORDER BY t.transactionDate DESC, t.transactionId DESC
+        """)
+    List<TransactionHistoryRow> findIncomingHistoryBefore(@Param("accountId") Integer accountId,
+                                                          @Param("statuses") Collection<TransactionStatus> statuses,
+                                                          @Param("cursorDate") LocalDateTime cursorDate,
+                                                          @Param("cursorId") Integer cursorId,
+                                                          Pageable pageable);
+
+    @Query("""
+        SELECT new bank.rest.app.bankrestapp.dto.projection.TransactionSummaryRow(
+            t.transactionType, t.currencyCode, CAST(t.transactionDate AS LocalDate), SUM(t.amount)
+        )
+        FROM Transaction t
+        WHERE t.account.accountNumber = :accountNumber
+          AND t.transactionDate >= :startDate
+          AND t.transactionDate < :endDate
+          AND t.status = :status
+        GROUP BY t.transactionType, t.currencyCode, CAST(t.transactionDate AS LocalDate)
+        """)
+    List<TransactionSummaryRow> summarizeOutgoingTransactions(@Param("accountNumber") String accountNumber,
+                                                              @Param("startDate") LocalDateTime startDate,
+                                                              @Param("endDate") LocalDateTime endDate,
+                                                              @Param("status") TransactionStatus status);
+
+    @Query("""
+        SELECT new bank.rest.app.bankrestapp.dto.projection.TransactionSummaryRow(
+            t.transactionType, t.currencyCode, CAST(t.transactionDate AS LocalDate), SUM(t.amount)
+        )
+        FROM Transaction t
+        WHERE t.toAccount.accountNumber = :accountNumber
+          AND t.transactionDate >= :startDate
+          AND t.transactionDate < :endDate
+          AND t.status = :status
+        GROUP BY t.transactionType, t.currencyCode, CAST(t.transactionDate AS LocalDate)
+        """)
+    List<TransactionSummaryRow> summarizeIncomingTransactions(@Param("accountNumber") String accountNumber,
+                                                              @Param("startDate") LocalDateTime startDate,
+                                                              @Param("endDate") LocalDateTime endDate,
+                                                              @Param("status") TransactionStatus status);
+
+    @Query("""
+        SELECT COUNT(t) FROM Transaction t
         LEFT JOIN t.account acc
         LEFT JOIN t.toAccount toAcc
         WHERE (acc.accountNumber = :accountNumber OR toAcc.accountNumber = :accountNumber)
@@ -38,11 +168,55 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
           AND t.transactionDate < :endDate
           AND t.status = :status
         """)
-    List<Transaction> findMonthlyTransactions(@Param("accountNumber") String accountNumber,
-                                              @Param("startDate") LocalDateTime startDate,
-                                              @Param("endDate") LocalDateTime endDate,
-                                              @Param("status") TransactionStatus status);
+    long countTransactions(@Param("accountNumber") String accountNumber,
+                           @Param("startDate") LocalDateTime startDate,
+                           @Param("endDate") LocalDateTime endDate,
+                           @Param("status") TransactionStatus status);
+
+    @Query("""
+        SELECT new bank.rest.app.bankrestapp.dto.projection.DailyCountRow(
+            CAST(t.transactionDate AS LocalDate), COUNT(t)
+        )
+        FROM Transaction t
+        LEFT JOIN t.account acc
+        LEFT JOIN t.toAccount toAcc
+        WHERE (acc.accountNumber = :accountNumber OR toAcc.accountNumber = :accountNumber)
+          AND t.transactionDate >= :startDate
+          AND t.transactionDate < :endDate
+          AND t.status = :status
+        GROUP BY CAST(t.transactionDate AS LocalDate)
+        """)
+    List<DailyCountRow> countTransactionsByDay(@Param("accountNumber") String accountNumber,
+                                               @Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate,
+                                               @Param("status") TransactionStatus status);
+
+    @Query("""
+        SELECT DISTINCT t.account.accountId FROM Transaction t
+        WHERE t.transactionDate >= :startDate
+          AND t.transactionDate < :endDate
+          AND t.status = :status
+        """)
+    List<Integer> findSenderAccountIds(@Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate,
+                                       @Param("status") TransactionStatus status);
+
+    @Query("""
+        SELECT DISTINCT t.toAccount.accountId FROM Transaction t
+        WHERE t.transactionDate >= :startDate
+          AND t.transactionDate < :endDate
+          AND t.status = :status
+        """)
+    List<Integer> findRecipientAccountIds(@Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate,
+                                          @Param("status") TransactionStatus status);
 
     @EntityGraph(attributePaths = {"account", "toAccount"})
     List<Transaction> findByAccount_AccountNumber(String accountNumber);
+
+    /**
+     * @return date of the oldest transaction, empty if there are none
+     */
+    @Query("SELECT MIN(t.transactionDate) FROM Transaction t")
+    Optional<LocalDateTime> findEarliestTransactionDate();
 }
@@ -0,0 +1,49 @@
+package bank.rest.app.bankrestapp.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Immutable principal of a customer, as kept by {@link PrincipalCache}. Besides the credentials and roles it
+ * carries the moment the password was last changed, so that {@link JwtAuthenticationFilter} can reject every
+ * token issued before it without a lookup.
+ */
+public final class CustomerPrincipal extends User {
+
+    /**
+     * Tokens issued before this moment are rejected, {@code null} if the password was never changed.
+     * Held to the second, the precision of the {@code iat} claim.
+     */
+    private final Instant tokensValidAfter;
+
+    public CustomerPrincipal(final String username,
+                             final String password,
+                             final Collection<? extends GrantedAuthority> authorities,
+                             final Instant tokensValidAfter) {
+        super(username, password, authorities);
+        this.tokensValidAfter = tokensValidAfter == null ? null : tokensValidAfter.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    public Instant getTokensValidAfter() {
+        return this.tokensValidAfter;
+    }
+
+    /**
+     * Checks a token against the last password change. A token issued in the same second as the change is
+     * accepted; the token that made the change is revoked by its id anyway.
+     *
+     * @param issuedAt {@code iat} claim of the token, may be {@code null} for tokens issued without one
+     * @return {@code false} if the token was issued before the password was last changed
+     */
+    public boolean acceptsTokenIssuedAt(final Date issuedAt) {
+        if (this.tokensValidAfter == null) {
+            return true;
+        }
+        return issuedAt != null && !issuedAt.toInstant().isBefore(this.tokensValidAfter);
+    }
+}
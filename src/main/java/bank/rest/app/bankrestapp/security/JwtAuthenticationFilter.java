@@ -3,6 +3,10 @@ package bank.rest.app.bankrestapp.security;
 import bank.rest.app.bankrestapp.entity.Customer;
 import bank.rest.app.bankrestapp.mapper.Mapper;
 import bank.rest.app.bankrestapp.resository.CustomerRepository;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +22,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.AUTHENTICATION_OUTCOME_ANONYMOUS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.AUTHENTICATION_OUTCOME_AUTHENTICATED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.AUTHENTICATION_OUTCOME_REJECTED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.JWT_AUTHENTICATION_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_OUTCOME;
 
 @Component
 public final class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,11 +36,22 @@ public final class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final CustomerRepository customerRepository;
     private final Mapper<Customer, UserDetails> customerMapper;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+
+    private final Timer authenticatedTimer;
+    private final Timer anonymousTimer;
+    private final Timer rejectedTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil,@Lazy CustomerRepository customerRepository,Mapper<Customer, UserDetails> customerMapper) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,@Lazy CustomerRepository customerRepository,Mapper<Customer, UserDetails> customerMapper,PrincipalCache principalCache,@Lazy TokenRevocationService tokenRevocationService,MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.authenticatedTimer = meterRegistry.timer(JWT_AUTHENTICATION_METRIC, TAG_OUTCOME, AUTHENTICATION_OUTCOME_AUTHENTICATED);
+        this.anonymousTimer = meterRegistry.timer(JWT_AUTHENTICATION_METRIC, TAG_OUTCOME, AUTHENTICATION_OUTCOME_ANONYMOUS);
+        this.rejectedTimer = meterRegistry.timer(JWT_AUTHENTICATION_METRIC, TAG_OUTCOME, AUTHENTICATION_OUTCOME_REJECTED);
     }
 
     @Override
@@ -37,32 +59,67 @@ public final class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     final @NotNull HttpServletResponse response,
                                     final @NotNull FilterChain filterChain) throws ServletException, IOException {
 
+        final long start = System.nanoTime();
+        Timer outcome = this.rejectedTimer;
+        try {
+            outcome = this.authenticate(request);
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authenticates the request from its bearer token, if any.
+     *
+     * @return the timer matching the outcome: authenticated, anonymous (no bearer token) or rejected
+     */
+    private Timer authenticate(final HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String jwt = authHeader.substring(7);
 
-            if (jwtUtil.isTokenValid(jwt)) {
-                String email = jwtUtil.getEmail(jwt);
-                Optional<Customer> optionalUser = this.customerRepository.findByAuthUserEmail(email);
+            Optional<Claims> claims = jwtUtil.parseValidClaims(jwt);
 
-                if (optionalUser.isPresent()) {
-                    Customer user = optionalUser.get();
-                    UserDetails userDetails = this.customerMapper.toDto(user);
+            if (claims.isPresent() && !this.tokenRevocationService.isRevoked(claims.get().getId())) {
+                String email = claims.get().getSubject();
+                Optional<UserDetails> optionalUser = this.principalCache.get(email)
+                        .or(() -> this.loadPrincipal(email));
+
+                if (optionalUser.isPresent() && acceptsToken(optionalUser.get(), claims.get())) {
+                    UserDetails userDetails = optionalUser.get();
 
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
-                                    null,
+                                    claims.get(),
                                     userDetails.getAuthorities()
                             );
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    return this.authenticatedTimer;
                 }
             }
+            return this.rejectedTimer;
         }
 
-        filterChain.doFilter(request, response);
+        return this.anonymousTimer;
+    }
+
+    /**
+     * Rejects a token issued before the customer last changed the password, which ends all of its sessions.
+     */
+    private static boolean acceptsToken(final UserDetails userDetails, final Claims claims) {
+        return !(userDetails instanceof final CustomerPrincipal principal)
+                || principal.acceptsTokenIssuedAt(claims.getIssuedAt());
+    }
+
+    private Optional<UserDetails> loadPrincipal(final String email) {
+        return this.customerRepository.findByAuthUserEmail(email)
+                .map(this.customerMapper::toDto)
+                .map(userDetails -> this.principalCache.put(email, userDetails));
     }
 }
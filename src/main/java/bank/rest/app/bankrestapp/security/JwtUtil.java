@@ -2,59 +2,139 @@ package bank.rest.app.bankrestapp.security;
 
 import bank.rest.app.bankrestapp.entity.Customer;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.VERIFIED_TOKEN_CACHE_EVICTION_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.VERIFIED_TOKEN_CACHE_MAX_ENTRIES;
 import static io.jsonwebtoken.SignatureAlgorithm.HS256;
-import static java.lang.System.currentTimeMillis;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Component
 public final class JwtUtil {
     private final Key key;
+    private final Clock clock;
+    private final JwtParser parser;
+    private final Map<String, Claims> verifiedClaims = new ConcurrentHashMap<>();
 
+    @Autowired
     public JwtUtil(@Value("${jwt.secret}") String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    JwtUtil(final String secret, final Clock clock) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(UTF_8));
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(this.key)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
     }
 
 
     public String generateToken(final @NotNull Customer customer) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(customer.getAuthUser().getEmail())
                 .claim("role", customer.getAuthUser().getCustomerRole().stream().findFirst().orElseThrow().getRoleName())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(currentTimeMillis() + 86400000)) // 1 день
+                .setIssuedAt(new Date(this.clock.millis()))
+                .setExpiration(new Date(this.clock.millis() + 86400000)) // 1 день
                 .signWith(key, HS256)
                 .compact();
     }
 
+    /**
+     * Verifies a token once and returns its claims. Claims of a token that was already verified are served
+     * from a bounded cache keyed by the SHA-256 hash of the token until the token expires, so repeated requests
+     * with the same token skip the HMAC check and JSON parsing.
+     *
+     * @param token compact JWS
+     * @return claims of a correctly signed, unexpired token with an expiration date; empty otherwise
+     */
+    public Optional<Claims> parseValidClaims(final String token) {
+        final String tokenHash = hash(token);
+        final long now = this.clock.millis();
+
+        final Claims cached = this.verifiedClaims.get(tokenHash);
+        if (cached != null) {
+            if (cached.getExpiration().getTime() > now) {
+                return Optional.of(cached);
+            }
+            this.verifiedClaims.remove(tokenHash, cached);
+        }
+
+        final Claims claims;
+        try {
+            claims = this.parser.parseClaimsJws(token).getBody();
+        } catch (final JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+
+        if (this.verifiedClaims.size() < VERIFIED_TOKEN_CACHE_MAX_ENTRIES || this.evictExpiredClaims() > 0) {
+            this.verifiedClaims.put(tokenHash, claims);
+        }
+
+        return Optional.of(claims);
+    }
+
+    /**
+     * Removes cached claims of expired tokens.
+     *
+     * @return number of removed entries
+     */
+    @Scheduled(fixedRate = VERIFIED_TOKEN_CACHE_EVICTION_INTERVAL_MILLIS)
+    public int evictExpiredClaims() {
+        final long now = this.clock.millis();
+        final int sizeBefore = this.verifiedClaims.size();
+
+        this.verifiedClaims.values().removeIf(claims -> claims.getExpiration().getTime() <= now);
+
+        return sizeBefore - this.verifiedClaims.size();
+    }
+
     public Claims extractClaims(final String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return this.parser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     public String getEmail(final String token) {
-        return extractClaims(token)
-                .getSubject();
+        return this.parseValidClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     public boolean isTokenValid(final String token) {
+        return this.parseValidClaims(token).isPresent();
+    }
+
+    private static String hash(final String token) {
         try {
-            return !extractClaims(token)
-                    .getExpiration()
-                    .before(new Date());
-        } catch (final Exception e) {
-            return false;
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -0,0 +1,118 @@
+package bank.rest.app.bankrestapp.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.PRINCIPAL_CACHE_EVICTION_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.PRINCIPAL_CACHE_MAX_ENTRIES;
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.PRINCIPAL_CACHE_TTL_MILLIS;
+
+/**
+ * Bounded TTL cache of authenticated principals keyed by JWT subject (the customer email).
+ * It lets {@link JwtAuthenticationFilter} skip the customer lookup on repeated requests of the same user.
+ *
+ * <p>Entries are immutable {@link CustomerPrincipal} snapshots, so the cache never pins a {@code Customer} entity graph.
+ * Anything that changes the credentials, email or roles of a customer must call {@link #evict(String)}.</p>
+ */
+@Component
+public final class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public PrincipalCache() {
+        this(Clock.systemUTC());
+    }
+
+    PrincipalCache(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached principal of a subject if it has not expired.
+     *
+     * @param subject JWT subject
+     * @return cached principal, or empty if absent or expired
+     */
+    public Optional<UserDetails> get(final String subject) {
+        final Entry entry = this.entries.get(subject);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= this.clock.millis()) {
+            this.entries.remove(subject, entry);
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.principal());
+    }
+
+    /**
+     * Stores an immutable snapshot of a principal. When the cache is full and nothing has expired
+     * the principal is returned without being cached.
+     *
+     * @param subject JWT subject
+     * @param userDetails principal loaded from the database
+     * @return snapshot of the principal to put into the security context
+     */
+    public UserDetails put(final String subject, final UserDetails userDetails) {
+        final UserDetails snapshot = new CustomerPrincipal(
+                userDetails.getUsername(),
+                userDetails.getPassword() == null ? "" : userDetails.getPassword(),
+                userDetails.getAuthorities(),
+                userDetails instanceof final CustomerPrincipal principal ? principal.getTokensValidAfter() : null
+        );
+
+        if (this.entries.size() >= PRINCIPAL_CACHE_MAX_ENTRIES && this.evictExpired() == 0) {
+            return snapshot;
+        }
+        this.entries.put(subject, new Entry(snapshot, this.clock.millis() + PRINCIPAL_CACHE_TTL_MILLIS));
+
+        return snapshot;
+    }
+
+    /**
+     * Drops the principal of a subject. Inside a transaction the entry is dropped again after commit,
+     * so a request that reloads the principal before the change is committed cannot keep a stale copy.
+     *
+     * @param subject JWT subject whose principal has changed
+     */
+    public void evict(final String subject) {
+        this.entries.remove(subject);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    PrincipalCache.this.entries.remove(subject);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes expired principals.
+     *
+     * @return number of removed principals
+     */
+    @Scheduled(fixedRate = PRINCIPAL_CACHE_EVICTION_INTERVAL_MILLIS)
+    public int evictExpired() {
+        final long now = this.clock.millis();
+        final int sizeBefore = this.entries.size();
+
+        this.entries.values().removeIf(entry -> entry.expiresAt() <= now);
+
+        return sizeBefore - this.entries.size();
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,72 @@
+package bank.rest.app.bankrestapp.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over token ids. A negative answer is exact, so a token that was never revoked
+ * is accepted without touching the exact set or the database; a positive answer must be confirmed.
+ *
+ * <p>Both probes hash the characters of the id in place with 64-bit FNV-1a and derive the bit positions
+ * by double hashing, so {@link #mightContain(String)} does not allocate. Bits can only be added; the filter
+ * is rebuilt to forget expired ids.</p>
+ */
+public final class RevocationBloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final int bitMask;
+    private final int hashCount;
+
+    /**
+     * @param bitCount number of bits; must be a power of two
+     * @param hashCount number of bit positions per id
+     */
+    public RevocationBloomFilter(final int bitCount, final int hashCount) {
+        if (Integer.bitCount(bitCount) != 1 || bitCount < Long.SIZE) {
+            throw new IllegalArgumentException("bitCount must be a power of two of at least 64");
+        }
+        this.words = new AtomicLongArray(bitCount / Long.SIZE);
+        this.bitMask = bitCount - 1;
+        this.hashCount = hashCount;
+    }
+
+    public void add(final String id) {
+        final long hash = hash(id);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < this.hashCount; i++) {
+            final int bit = (h1 + i * h2) & this.bitMask;
+            final int word = bit >>> 6;
+            final long mask = 1L << bit;
+            long current;
+            while (((current = this.words.get(word)) & mask) == 0
+                    && !this.words.compareAndSet(word, current, current | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public boolean mightContain(final String id) {
+        final long hash = hash(id);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < this.hashCount; i++) {
+            final int bit = (h1 + i * h2) & this.bitMask;
+            if ((this.words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(final String id) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,50 @@
+package bank.rest.app.bankrestapp.service;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.Payment;
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import bank.rest.app.bankrestapp.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Keeps the {@code monthly_account_summary} rollup in step with completed operations.
+ *
+ * <p>Every method must be called inside the transaction that persists the operation, while the rows
+ * of the affected accounts are locked. The account lock is what serializes concurrent updates of the
+ * same rollup row, so no additional locking is done here.</p>
+ */
+public interface AnalyticsRollupService {
+
+    /**
+     * Adds a completed transaction to the sender's outgoing totals and the recipient's incoming totals.
+     * Transactions in any other status are ignored.
+     *
+     * @param transaction persisted transaction
+     */
+    void recordTransaction(Transaction transaction);
+
+    /**
+     * Adds a completed transaction to the sender's outgoing totals only. Used for transfers into hot
+     * accounts, whose incoming side is recorded when the pending credit is folded.
+     *
+     * @param transaction persisted transaction
+     */
+    void recordOutgoingTransaction(Transaction transaction);
+
+    /**
+     * Adds folded pending credits to the incoming totals of a hot account.
+     *
+     * @param account hot account the credits were applied to
+     * @param credits credits in the account currency
+     */
+    void recordIncomingCredits(Account account, List<PendingCredit> credits);
+
+    /**
+     * Adds a completed payment to the expense category of its type.
+     * Payments in any other status or without a category are ignored.
+     *
+     * @param payment persisted payment
+     */
+    void recordPayment(Payment payment);
+}
@@ -1,10 +1,18 @@
 package bank.rest.app.bankrestapp.service;
 
+import bank.rest.app.bankrestapp.dto.get.AnalyticsBucketDTO;
 import bank.rest.app.bankrestapp.dto.get.AnalyticsSummaryDTO;
+import bank.rest.app.bankrestapp.entity.enums.AnalyticsGranularity;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
 public interface AnalyticsService {
     /**
      * Builds a monthly summary of incoming and outgoing operations for the specified account.
+     * Closed months are read from the {@code monthly_account_summary} rollup; the current month,
+     * and closed months without a rollup row, are aggregated from raw operations.
      *
      * @param accountNumber account number to analyze
      * @param year calendar year of the requested period
@@ -14,4 +22,41 @@ public interface AnalyticsService {
      * @throws IllegalArgumentException if required parameters are missing or the account does not belong to the user
      */
     AnalyticsSummaryDTO getMonthlySummary(String accountNumber, Integer year, Integer month, String userEmail);
+
+    /**
+     * Builds a time series of summaries for the specified account, one bucket per month or week.
+     * The whole range is loaded with one grouped query per operation kind and split into buckets in
+     * memory; large ranges are summarized in parallel.
+     *
+     * @param accountNumber account number to analyze
+     * @param from first day of the range; widened to the start of its bucket
+     * @param to last day of the range; widened to the end of its bucket
+     * @param granularity bucket size
+     * @param userEmail email of the authenticated user requesting the summary
+     * @return buckets in chronological order, including empty ones
+     * @throws IllegalArgumentException if parameters are missing, the range is reversed or too long,
+     *                                  or the account does not belong to the user
+     */
+    List<AnalyticsBucketDTO> getRangeSummary(String accountNumber,
+                                             LocalDate from,
+                                             LocalDate to,
+                                             AnalyticsGranularity granularity,
+                                             String userEmail);
+
+    /**
+     * Recomputes the rollup rows of every account with completed operations in the given month
+     * from raw transactions and payments. Each account is rebuilt in its own transaction while its
+     * row is locked, so concurrent incremental updates are not lost.
+     *
+     * @param period month to rebuild
+     * @return number of accounts whose rollup row was rebuilt
+     */
+    int rebuildMonthlySummaries(YearMonth period);
+
+    /**
+     * Scheduled backfill that rebuilds the previous month's rollup on the first day of each month.
+     *
+     * @return number of accounts whose rollup row was rebuilt
+     */
+    int rebuildPreviousMonthSummaries();
 }
@@ -0,0 +1,38 @@
+package bank.rest.app.bankrestapp.service;
+
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.exception.TransferQueueFullException;
+import bank.rest.app.bankrestapp.transfer.TransferTicket;
+
+import java.util.UUID;
+
+public interface AsyncTransferService {
+
+    /**
+     * Enqueues a transfer for background processing and returns immediately. Workers drain the queue in
+     * batches and commit each batch through {@link TransactionService#withdrawBatch(java.util.List)}.
+     *
+     * @param transfer validated transfer request
+     * @param ownerEmail email of the user submitting the transfer
+     * @return pending ticket that can be polled for the result
+     * @throws TransferQueueFullException if the queue is at capacity
+     */
+    TransferTicket submit(CreateTransaction transfer, String ownerEmail);
+
+    /**
+     * Returns a ticket previously submitted by the same user.
+     *
+     * @param ticketId ticket identifier
+     * @param ownerEmail email of the user polling the ticket
+     * @return ticket with its current status
+     * @throws java.util.NoSuchElementException if the ticket is unknown, expired, or belongs to another user
+     */
+    TransferTicket getTicket(UUID ticketId, String ownerEmail);
+
+    /**
+     * Removes finished tickets that are older than the retention period.
+     *
+     * @return number of evicted tickets
+     */
+    int evictExpiredTickets();
+}
@@ -0,0 +1,37 @@
+package bank.rest.app.bankrestapp.service;
+
+import bank.rest.app.bankrestapp.entity.EmailOutbox;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EmailOutboxService {
+
+    /**
+     * Writes a message to the outbox in the caller's transaction, so it is delivered only if that
+     * transaction commits. Nothing is sent to the provider here.
+     *
+     * @param to recipient address
+     * @param subject subject line
+     * @param text plain-text body
+     * @param html HTML body
+     * @return persisted outbox entry
+     */
+    @Transactional(rollbackFor = Exception.class)
+    EmailOutbox enqueue(String to, String subject, String text, String html);
+
+    /**
+     * Sends one batch of due messages. The batch is claimed in a short transaction, sent outside of
+     * it, and each outcome is recorded separately: failed messages are retried with exponential
+     * backoff until they run out of attempts. Sending stops while the claim lease still covers a send
+     * bounded by the provider timeouts; the rest of the batch is released to the next run.
+     *
+     * @return number of messages accepted by the provider
+     */
+    int dispatchPendingEmails();
+
+    /**
+     * Deletes sent messages older than the retention period.
+     *
+     * @return number of deleted messages
+     */
+    int purgeSentEmails();
+}
@@ -1,6 +1,6 @@
 package bank.rest.app.bankrestapp.service;
 
-import org.springframework.scheduling.annotation.Scheduled;
+import bank.rest.app.bankrestapp.email.EmailTemplateType;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -8,11 +8,13 @@ import static org.springframework.transaction.annotation.Propagation.NESTED;
 
 public interface EmailService {
     /**
-     * Removes expired email verification codes.
+     * Removes expired email verification codes from the configured verification code store and
+     * records their number in the {@code email.verification.codes.purged} distribution summary.
+     *
+     * @return number of deleted codes
      */
     @Transactional(rollbackFor = Exception.class)
-    @Scheduled(fixedRate = 3600000)
-    void deleteExpiredCodes();
+    int deleteExpiredCodes();
 
     /**
      * Verifies the confirmation code submitted for an email address.
@@ -25,23 +27,23 @@ public interface EmailService {
     void verifyCode(String email, String inputCode);
 
     /**
-     * Generates and sends a new verification code to the specified email address.
+     * Generates a new verification code and queues it for delivery to the specified email address.
+     * The message is written to the outbox in the caller's transaction and sent after it commits.
      *
      * @param email recipient email address
-     * @throws RuntimeException if the message cannot be sent
      */
     @Transactional(rollbackFor = Exception.class)
     void sendVerificationCode(String email);
 
     /**
-     * Generates and sends a verification code to the specified email with custom message text.
+     * Generates a verification code and queues it for delivery to the specified email using the
+     * given template.
      *
      * @param email recipient email address
-     * @param messageTemplate message template with "{code}" placeholder for generated code
-     * @throws RuntimeException if the message cannot be sent
+     * @param template email whose {@code CODE} placeholder receives the generated code
      */
     @Transactional(rollbackFor = Exception.class)
-    void sendVerificationCodeWithMessage(String email, String messageTemplate);
+    void sendVerificationCode(String email, EmailTemplateType template);
 
     /**
      * Ensures that the email address has already passed verification.
@@ -0,0 +1,57 @@
+package bank.rest.app.bankrestapp.service;
+
+import bank.rest.app.bankrestapp.entity.IdempotencyKey;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+
+    /**
+     * Finds a stored idempotency key, consulting the in-memory cache of recent responses first.
+     *
+     * @param ownerEmail email of the authenticated user that sent the key
+     * @param idempotencyKey value of the {@code Idempotency-Key} header
+     * @return stored key, completed or still in progress
+     */
+    Optional<IdempotencyKey> findKey(String ownerEmail, String idempotencyKey);
+
+    /**
+     * Reserves a key before the request is executed so that concurrent retries cannot run it twice.
+     * The reservation is leased for
+     * {@link bank.rest.app.bankrestapp.constants.IdempotencyDefaults#IDEMPOTENCY_RESERVATION_LEASE_SECONDS};
+     * it is never handed over to a retry, since the request that made it may have moved money before it stopped.
+     *
+     * @param ownerEmail email of the authenticated user that sent the key
+     * @param idempotencyKey value of the {@code Idempotency-Key} header
+     * @param operation HTTP method and path of the request
+     * @return {@code true} if the key was reserved, {@code false} if it already exists
+     */
+    boolean reserve(String ownerEmail, String idempotencyKey, String operation);
+
+    /**
+     * Stores the response of an executed request under a reserved key, successful or failed.
+     *
+     * @param ownerEmail email of the authenticated user that sent the key
+     * @param idempotencyKey value of the {@code Idempotency-Key} header
+     * @param requestHash SHA-256 hash of the request body
+     * @param status HTTP status of the response
+     * @param contentType content type of the response
+     * @param body response body
+     */
+    void complete(String ownerEmail, String idempotencyKey, String requestHash, int status, String contentType, String body);
+
+    /**
+     * Removes a reservation so that a request rejected without changing any state can be retried with the same key.
+     *
+     * @param ownerEmail email of the authenticated user that sent the key
+     * @param idempotencyKey value of the {@code Idempotency-Key} header
+     */
+    void release(String ownerEmail, String idempotencyKey);
+
+    /**
+     * Removes keys older than the retention period.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    void deleteExpiredKeys();
+}
@@ -8,8 +8,12 @@ import bank.rest.app.bankrestapp.dto.ElectronicsPaymentRequestDTO;
 import bank.rest.app.bankrestapp.dto.TrainPaymentRequestDTO;
 import bank.rest.app.bankrestapp.dto.CommunalPaymentRequestDTO;
 import bank.rest.app.bankrestapp.entity.Payment;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Payments from the authenticated user's account. Every payment runs in a transaction of its own
+ * and is retried on an account lock conflict. Balances are changed by conditional update statements,
+ * so the accounts are read without row locks.
+ */
 public interface PaymentService {
 
     /**
@@ -22,7 +26,6 @@ public interface PaymentService {
      * @throws IllegalStateException if a FOP account does not contain an EDRPOU code
      * @throws java.util.NoSuchElementException if the sender or recipient account cannot be found
      */
-    @Transactional(rollbackFor = Exception.class)
     Payment processIbanPayment(IbanPaymentRequestDTO request, String authenticatedUserEmail);
 
     /**
@@ -34,7 +37,6 @@ public interface PaymentService {
      * @throws IllegalArgumentException if the account does not belong to the user
      * @throws java.util.NoSuchElementException if the account cannot be found
      */
-    @Transactional(rollbackFor = Exception.class)
     Payment processInternetPayment(InternetPaymentRequestDTO request, String authenticatedUserEmail);
 
     /**
@@ -46,7 +48,6 @@ public interface PaymentService {
      * @throws IllegalArgumentException if the account does not belong to the user
      * @throws java.util.NoSuchElementException if the account cannot be found
      */
-    @Transactional(rollbackFor = Exception.class)
     Payment processMobilePayment(MobilePaymentRequestDTO request, String authenticatedUserEmail);
 
     /**
@@ -58,15 +59,11 @@ public interface PaymentService {
      * @throws IllegalArgumentException if the account does not belong to the user
      * @throws java.util.NoSuchElementException if the account cannot be found
      */
-    @Transactional(rollbackFor = Exception.class)
     Payment processTaxPayment(TaxPaymentRequestDTO request, String authenticatedUserEmail);
 
-    @Transactional(rollbackFor = Exception.class)
     Payment processElectronicsPayment(String email, ElectronicsPaymentRequestDTO dto);
 
-    @Transactional(rollbackFor = Exception.class)
     Payment processTrainPayment(String email, TrainPaymentRequestDTO dto);
 
-    @Transactional(rollbackFor = Exception.class)
     Payment processCommunalPayment(String email, CommunalPaymentRequestDTO dto);
 }
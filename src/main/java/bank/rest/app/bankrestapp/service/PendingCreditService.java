@@ -0,0 +1,28 @@
+package bank.rest.app.bankrestapp.service;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import bank.rest.app.bankrestapp.entity.Transaction;
+
+import java.math.BigDecimal;
+
+public interface PendingCreditService {
+
+    /**
+     * Appends a credit for a hot account to the pending-credit journal without locking the account.
+     *
+     * @param account hot account that receives the funds
+     * @param amount amount in the account currency
+     * @param transaction transaction that produced the credit
+     * @return persisted journal entry
+     */
+    PendingCredit appendCredit(Account account, BigDecimal amount, Transaction transaction);
+
+    /**
+     * Applies journaled credits to the balances of hot accounts. Each account is folded in its own
+     * transaction: it is locked once and receives the sum of its pending credits in a single update.
+     *
+     * @return number of journal entries folded into balances
+     */
+    int foldPendingCredits();
+}
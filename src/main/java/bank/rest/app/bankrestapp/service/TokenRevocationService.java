@@ -0,0 +1,33 @@
+package bank.rest.app.bankrestapp.service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface TokenRevocationService {
+
+    /**
+     * Revokes a token until its expiration. The revocation is persisted and takes effect on this
+     * instance immediately; other instances pick it up on their next synchronization.
+     *
+     * @param jti {@code jti} claim of the token
+     * @param expiresAt expiration of the token
+     */
+    @Transactional(rollbackFor = Exception.class)
+    void revoke(String jti, LocalDateTime expiresAt);
+
+    /**
+     * Revokes the token that authenticated the current request, if it carries a {@code jti} claim.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    void revokeCurrentToken();
+
+    /**
+     * Checks whether a token id has been revoked. Uses only in-memory state: a Bloom filter answers for
+     * the vast majority of tokens, and only its positives are confirmed against the exact set.
+     *
+     * @param jti {@code jti} claim of the token, may be {@code null} for tokens issued without one
+     * @return {@code true} if the token has been revoked
+     */
+    boolean isRevoked(String jti);
+}
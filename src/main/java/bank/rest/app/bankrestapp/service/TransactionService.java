@@ -1,19 +1,32 @@
 package bank.rest.app.bankrestapp.service;
 
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
 import bank.rest.app.bankrestapp.entity.Account;
 import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
 import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
+import bank.rest.app.bankrestapp.transfer.HistoryCursor;
+import bank.rest.app.bankrestapp.transfer.TransactionHistorySlice;
+import bank.rest.app.bankrestapp.transfer.TransferOutcome;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface TransactionService {
 
     /**
      * Transfers funds from one card to another and records the resulting transaction.
+     * Balances are changed by conditional update statements, so the sender is never read for update; the debit
+     * statement checks the sender's funds and status against the current row. Row locks are taken in ascending
+     * account id order: a contended recipient ordered before the sender is locked ahead of the debit, any other
+     * one is credited ahead of it.
+     * When the recipient is a hot account only the sender is debited and the credit is journaled
+     * for the pending-credit aggregator instead of being applied to the recipient row directly.
+     * The transfer runs in a transaction of its own and is retried on an account lock conflict; a rejected
+     * transfer commits the failed transaction record before the exception is thrown.
      *
      * @param senderCardNumber sender card number
      * @param recipientCardNumber recipient card number
@@ -24,12 +37,20 @@ public interface TransactionService {
      * @throws InsufficientFundsException if the sender account balance is insufficient
      * @throws java.util.NoSuchElementException if one of the accounts cannot be found by card number
      */
-    @Transactional(
-            rollbackFor = Exception.class,
-            noRollbackFor = {AccountNotActiveException.class, InsufficientFundsException.class}
-    )
     Transaction withdraw(String senderCardNumber, String recipientCardNumber, BigDecimal amount, final String description);
 
+    /**
+     * Applies a batch of transfers in a single database transaction. All accounts referenced by the batch
+     * are locked once, in account id order, and the transfers are then applied in submission order.
+     * A transfer rejected for business reasons (inactive account, insufficient funds, unverified sender,
+     * unknown card) yields a failed outcome and does not roll back the rest of the batch.
+     *
+     * @param transfers transfers to apply
+     * @return one outcome per transfer, in the same order as the input
+     */
+    @Transactional(rollbackFor = Exception.class)
+    List<TransferOutcome> withdrawBatch(List<CreateTransaction> transfers);
+
     /**
      * Loads paged transaction history for an account and normalizes amounts for display.
      *
@@ -39,4 +60,18 @@ public interface TransactionService {
      * @return page of transactions associated with the account
      */
     Page<Transaction> getAllTransactions(String accountAccountNumber, final Account account, final Pageable pageable);
+
+    /**
+     * Loads one page of transaction history using keyset pagination on
+     * {@code (transactionDate DESC, transactionId DESC)}. Outgoing and incoming transactions are
+     * read with two index seeks and merged, so no page pays for an offset scan or a count query.
+     * Each seek is a single projection statement that already carries both parties' names and card numbers,
+     * so a page costs two statements whatever its size.
+     *
+     * @param account account whose history should be returned
+     * @param cursor position to continue after, {@code null} for the first page
+     * @param size maximum number of transactions on the page
+     * @return transactions of the page and the cursor of the next page
+     */
+    TransactionHistorySlice getTransactionHistory(Account account, HistoryCursor cursor, int size);
 }
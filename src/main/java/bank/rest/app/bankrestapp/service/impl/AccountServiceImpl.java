@@ -5,6 +5,7 @@ import bank.rest.app.bankrestapp.entity.Card;
 import bank.rest.app.bankrestapp.entity.Customer;
 import bank.rest.app.bankrestapp.entity.enums.AccountType;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.identifier.IdentifierAllocator;
 import bank.rest.app.bankrestapp.resository.AccountRepository;
 import bank.rest.app.bankrestapp.resository.CustomerRepository;
 import bank.rest.app.bankrestapp.service.AccountService;
@@ -16,10 +17,8 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ThreadLocalRandom;
 
 import static bank.rest.app.bankrestapp.constants.AccountDefaults.ACCOUNT_BALANCE_INITIAL;
-import static bank.rest.app.bankrestapp.constants.AccountDefaults.ACCOUNT_NUMBER_PATTERN;
 import static bank.rest.app.bankrestapp.constants.AccountDefaults.DEFAULT_ACCOUNT_STATUS;
 import static bank.rest.app.bankrestapp.constants.AccountDefaults.DEFAULT_CREATED_AT;
 import static bank.rest.app.bankrestapp.constants.AccountDefaults.FOP_ACCOUNT_BALANCE_INITIAL;
@@ -28,7 +27,6 @@ import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NO
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_WITH_CURRENCY_ALREADY_EXISTS;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_CUSTOMER_NOT_FOUND_BY_EMAIL;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_MAXIMUM_NUMBER_OF_ACCOUNTS_REACHED;
-import static java.lang.String.format;
 
 @Service
 @AllArgsConstructor
@@ -37,15 +35,16 @@ public class AccountServiceImpl implements AccountService {
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
     private final CardService cardService;
+    private final IdentifierAllocator identifierAllocator;
 
     @Override
     public Account generateAccountByCurrencyCode(final @NotNull Currency currency) {
         return Account.builder()
-                .accountNumber(this.generateAccountNumber(this.getBeginningOfWordByCurrency(currency)))
+                .accountNumber(this.identifierAllocator.nextAccountNumber(this.getBeginningOfWordByCurrency(currency)))
                 .balance(ACCOUNT_BALANCE_INITIAL)
                 .accountType(AccountType.CURRENT)
                 .currencyCode(currency)
-                .edrpou(this.generateUniqueEdrpou())
+                .edrpou(this.identifierAllocator.nextEdrpou())
                 .status(DEFAULT_ACCOUNT_STATUS)
                 .createdAt(DEFAULT_CREATED_AT)
                 .build();
@@ -132,27 +131,6 @@ public class AccountServiceImpl implements AccountService {
                 && !AccountType.FOP.equals(existingAccount.getAccountType());
     }
 
-    private String generateAccountNumber(final String beginningOfWord) {
-        String accountNumber;
-
-        do {
-            final long randomNumber = (long) (Math.random() * 1_0000_0000_0000_0000L);
-            accountNumber = format(ACCOUNT_NUMBER_PATTERN, beginningOfWord, randomNumber);
-        } while (this.accountRepository.existsByAccountNumber(accountNumber));
-
-        return accountNumber;
-    }
-
-    private @NotNull String generateUniqueEdrpou() {
-        String edrpou;
-
-        do {
-            edrpou = String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L));
-        } while (this.accountRepository.existsByEdrpou(edrpou));
-
-        return edrpou;
-    }
-
     @Contract(pure = true)
     private @NotNull String getBeginningOfWordByCurrency(final @NotNull Currency currency) {
         return "UA";
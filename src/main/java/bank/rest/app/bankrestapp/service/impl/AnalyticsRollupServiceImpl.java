@@ -0,0 +1,203 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.ElectronicsPayment;
+import bank.rest.app.bankrestapp.entity.IbanPayment;
+import bank.rest.app.bankrestapp.entity.InternetPayment;
+import bank.rest.app.bankrestapp.entity.MobilePayment;
+import bank.rest.app.bankrestapp.entity.MonthlyAccountSummary;
+import bank.rest.app.bankrestapp.entity.Payment;
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import bank.rest.app.bankrestapp.entity.TaxPayment;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.entity.UtilityPayment;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.PaymentStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.resository.MonthlyAccountSummaryRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.time.LocalDateTime.now;
+
+@Service
+@AllArgsConstructor
+public class AnalyticsRollupServiceImpl implements AnalyticsRollupService {
+
+    private final MonthlyAccountSummaryRepository monthlyAccountSummaryRepository;
+    private final CurrencyLoader currencyLoader;
+
+    @Override
+    public void recordTransaction(final Transaction transaction) {
+        if (!TransactionStatus.COMPLETED.equals(transaction.getStatus())) {
+            return;
+        }
+
+        this.addOutgoing(transaction);
+        this.addIncoming(transaction);
+    }
+
+    @Override
+    public void recordOutgoingTransaction(final Transaction transaction) {
+        if (!TransactionStatus.COMPLETED.equals(transaction.getStatus())) {
+            return;
+        }
+
+        this.addOutgoing(transaction);
+    }
+
+    @Override
+    public void recordIncomingCredits(final Account account, final List<PendingCredit> credits) {
+        final Map<YearMonth, List<PendingCredit>> creditsByMonth = new TreeMap<>();
+        for (final PendingCredit credit : credits) {
+            final LocalDateTime createdAt = credit.getCreatedAt() == null ? now() : credit.getCreatedAt();
+            creditsByMonth.computeIfAbsent(YearMonth.from(createdAt), month -> new ArrayList<>()).add(credit);
+        }
+
+        creditsByMonth.forEach((month, monthCredits) -> {
+            final MonthlyAccountSummary summary = this.getOrCreateSummary(account, month);
+            final BigDecimal total = monthCredits.stream()
+                    .map(PendingCredit::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            summary.setTotalIncoming(summary.getTotalIncoming().add(total));
+            summary.setTransactionCount(summary.getTransactionCount() + monthCredits.size());
+        });
+    }
+
+    @Override
+    public void recordPayment(final Payment payment) {
+        if (!PaymentStatus.COMPLETED.equals(payment.getStatus()) || payment.getAccount() == null) {
+            return;
+        }
+
+        switch (payment) {
+            case IbanPayment ignored -> this.addExpense(
+                    payment, MonthlyAccountSummary::getTotalIbanExpenses, MonthlyAccountSummary::setTotalIbanExpenses);
+            case MobilePayment ignored -> this.addExpense(
+                    payment, MonthlyAccountSummary::getTotalMobileExpenses, MonthlyAccountSummary::setTotalMobileExpenses);
+            case InternetPayment ignored -> this.addExpense(
+                    payment, MonthlyAccountSummary::getTotalInternetExpenses, MonthlyAccountSummary::setTotalInternetExpenses);
+            case TaxPayment ignored -> this.addExpense(
+                    payment, MonthlyAccountSummary::getTotalTaxExpenses, MonthlyAccountSummary::setTotalTaxExpenses);
+            case ElectronicsPayment ignored -> this.addExpense(
+                    payment, MonthlyAccountSummary::getTotalElectronicsExpenses, MonthlyAccountSummary::setTotalElectronicsExpenses);
+            case UtilityPayment ignored -> this.addExpense(
+                    payment, MonthlyAccountSummary::getTotalUtilityExpenses, MonthlyAccountSummary::setTotalUtilityExpenses);
+            default -> {
+                // Payment types without an analytics category are not rolled up
+            }
+        }
+    }
+
+    private void addExpense(final Payment payment,
+                            final Function<MonthlyAccountSummary, BigDecimal> getter,
+                            final BiConsumer<MonthlyAccountSummary, BigDecimal> setter) {
+        final Account account = payment.getAccount();
+        final MonthlyAccountSummary summary = this.getOrCreateSummary(account, this.periodOf(payment.getPaymentDate()));
+        final BigDecimal amount = this.normalizeAmount(
+                payment.getAmount(),
+                payment.getCurrencyCode() == null ? null : Currency.valueOf(payment.getCurrencyCode().toUpperCase(Locale.ROOT)),
+                account.getCurrencyCode(),
+                payment.getPaymentDate()
+        );
+
+        setter.accept(summary, getter.apply(summary).add(amount));
+    }
+
+    private void addOutgoing(final Transaction transaction) {
+        final Account sender = transaction.getAccount();
+        if (sender == null) {
+            return;
+        }
+
+        final MonthlyAccountSummary summary = this.getOrCreateSummary(sender, this.periodOf(transaction.getTransactionDate()));
+        final BigDecimal amount = this.normalizeAmount(
+                transaction.getAmount(),
+                transaction.getCurrencyCode(),
+                sender.getCurrencyCode(),
+                transaction.getTransactionDate()
+        );
+
+        summary.setTotalOutgoing(summary.getTotalOutgoing().add(amount));
+        summary.setTransactionCount(summary.getTransactionCount() + 1);
+        if (TransactionType.TRANSFER.equals(transaction.getTransactionType())) {
+            summary.setTotalCardToCardExpenses(summary.getTotalCardToCardExpenses().add(amount));
+        }
+    }
+
+    private void addIncoming(final Transaction transaction) {
+        final Account recipient = transaction.getToAccount();
+        if (recipient == null) {
+            return;
+        }
+
+        final MonthlyAccountSummary summary = this.getOrCreateSummary(recipient, this.periodOf(transaction.getTransactionDate()));
+        final BigDecimal amount = this.normalizeAmount(
+                transaction.getAmount(),
+                transaction.getCurrencyCode(),
+                recipient.getCurrencyCode(),
+                transaction.getTransactionDate()
+        );
+
+        summary.setTotalIncoming(summary.getTotalIncoming().add(amount));
+        if (transaction.getAccount() == null
+                || !Objects.equals(transaction.getAccount().getAccountId(), recipient.getAccountId())) {
+            summary.setTransactionCount(summary.getTransactionCount() + 1);
+        }
+    }
+
+    private MonthlyAccountSummary getOrCreateSummary(final Account account, final YearMonth period) {
+        // Read-modify-write without a lock of its own. It relies on the caller holding the account row lock until
+        // commit: the debit or credit statement of the completed movement, the pending-credit fold or the rebuild
+        // all take it first, so updates of one account's rollup rows are serialized by that lock.
+        final LocalDate periodStart = period.atDay(1);
+        final MonthlyAccountSummary summary = this.monthlyAccountSummaryRepository
+                .findByAccount_AccountIdAndPeriodStart(account.getAccountId(), periodStart)
+                .orElseGet(() -> this.monthlyAccountSummaryRepository.save(MonthlyAccountSummary.builder()
+                        .account(account)
+                        .periodStart(periodStart)
+                        .build()));
+
+        summary.setUpdatedAt(now());
+        return summary;
+    }
+
+    private YearMonth periodOf(final LocalDateTime operationDate) {
+        return YearMonth.from(operationDate == null ? now() : operationDate);
+    }
+
+    private BigDecimal normalizeAmount(final BigDecimal amount,
+                                       final Currency sourceCurrency,
+                                       final Currency targetCurrency,
+                                       final LocalDateTime operationDate) {
+        final BigDecimal value = amount == null ? BigDecimal.ZERO : amount;
+
+        if (sourceCurrency == null || targetCurrency == null || sourceCurrency.equals(targetCurrency)) {
+            return value;
+        }
+
+        return this.currencyLoader.convert(
+                value,
+                sourceCurrency,
+                targetCurrency,
+                operationDate == null ? null : operationDate.toLocalDate()
+        );
+    }
+}
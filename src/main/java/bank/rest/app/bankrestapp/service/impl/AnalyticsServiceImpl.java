@@ -1,35 +1,62 @@
 package bank.rest.app.bankrestapp.service.impl;
 
 import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.dto.get.AnalyticsBucketDTO;
 import bank.rest.app.bankrestapp.dto.get.AnalyticsSummaryDTO;
+import bank.rest.app.bankrestapp.dto.projection.DailyCountRow;
+import bank.rest.app.bankrestapp.dto.projection.PaymentSummaryRow;
+import bank.rest.app.bankrestapp.dto.projection.TransactionSummaryRow;
 import bank.rest.app.bankrestapp.entity.Account;
 import bank.rest.app.bankrestapp.entity.ElectronicsPayment;
 import bank.rest.app.bankrestapp.entity.IbanPayment;
 import bank.rest.app.bankrestapp.entity.InternetPayment;
 import bank.rest.app.bankrestapp.entity.MobilePayment;
+import bank.rest.app.bankrestapp.entity.MonthlyAccountSummary;
 import bank.rest.app.bankrestapp.entity.Payment;
 import bank.rest.app.bankrestapp.entity.TaxPayment;
-import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.entity.UtilityPayment;
+import bank.rest.app.bankrestapp.entity.enums.AnalyticsGranularity;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.PaymentStatus;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
 import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import bank.rest.app.bankrestapp.resository.MonthlyAccountSummaryRepository;
 import bank.rest.app.bankrestapp.resository.PaymentRepository;
 import bank.rest.app.bankrestapp.resository.TransactionRepository;
 import bank.rest.app.bankrestapp.service.AccountService;
 import bank.rest.app.bankrestapp.service.AnalyticsService;
 import lombok.AllArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static bank.rest.app.bankrestapp.constants.AnalyticsDefaults.ANALYTICS_PARALLEL_MIN_BUCKETS;
+import static bank.rest.app.bankrestapp.constants.AnalyticsDefaults.ANALYTICS_RANGE_MAX_BUCKETS;
+import static bank.rest.app.bankrestapp.constants.AnalyticsDefaults.ROLLUP_REBUILD_CRON;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_FOUND;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_OWNERSHIP_MISMATCH;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INVALID_ANALYTICS_RANGE;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_REQUIRED_ANALYTICS_PARAMETERS;
+import static java.time.LocalDateTime.now;
 
 @Service
 @AllArgsConstructor
@@ -39,6 +66,9 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private final PaymentRepository paymentRepository;
     private final AccountService accountService;
     private final CurrencyLoader currencyLoader;
+    private final MonthlyAccountSummaryRepository monthlyAccountSummaryRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public AnalyticsSummaryDTO getMonthlySummary(final String accountNumber,
@@ -50,91 +80,251 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         final Account account = this.accountService.getAccountByNumber(accountNumber);
         this.validateOwnership(account, userEmail);
 
-        final LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
+        final YearMonth period = YearMonth.of(year, month);
+        if (period.isBefore(YearMonth.now())) {
+            final Optional<MonthlyAccountSummary> rollup = this.monthlyAccountSummaryRepository
+                    .findByAccount_AccountIdAndPeriodStart(account.getAccountId(), period.atDay(1));
+            if (rollup.isPresent()) {
+                return this.toSummary(rollup.get());
+            }
+        }
+
+        return this.aggregateMonth(accountNumber, account.getCurrencyCode(), period);
+    }
+
+    @Override
+    public List<AnalyticsBucketDTO> getRangeSummary(final String accountNumber,
+                                                    final LocalDate from,
+                                                    final LocalDate to,
+                                                    final AnalyticsGranularity granularity,
+                                                    final String userEmail) {
+        this.validateRangeParameters(accountNumber, from, to, granularity);
+
+        final Account account = this.accountService.getAccountByNumber(accountNumber);
+        this.validateOwnership(account, userEmail);
+
+        final List<LocalDate> periodStarts = this.periodStarts(from, to, granularity);
+        final LocalDateTime startDate = periodStarts.getFirst().atStartOfDay();
+        final LocalDateTime endDate = granularity.nextPeriodStart(periodStarts.getLast()).atStartOfDay();
+
+        final Map<LocalDate, List<TransactionSummaryRow>> outgoingByPeriod = this.groupByPeriod(
+                this.transactionRepository.summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED),
+                TransactionSummaryRow::day,
+                granularity
+        );
+        final Map<LocalDate, List<TransactionSummaryRow>> incomingByPeriod = this.groupByPeriod(
+                this.transactionRepository.summarizeIncomingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED),
+                TransactionSummaryRow::day,
+                granularity
+        );
+        final Map<LocalDate, List<DailyCountRow>> countsByPeriod = this.groupByPeriod(
+                this.transactionRepository.countTransactionsByDay(accountNumber, startDate, endDate, TransactionStatus.COMPLETED),
+                DailyCountRow::day,
+                granularity
+        );
+        final Map<LocalDate, List<PaymentSummaryRow>> paymentsByPeriod = this.groupByPeriod(
+                this.paymentRepository.summarizePayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED),
+                PaymentSummaryRow::day,
+                granularity
+        );
+
+        final Stream<LocalDate> periods = periodStarts.size() >= ANALYTICS_PARALLEL_MIN_BUCKETS
+                ? periodStarts.parallelStream()
+                : periodStarts.stream();
+
+        return periods
+                .map(periodStart -> new AnalyticsBucketDTO(
+                        periodStart,
+                        granularity.nextPeriodStart(periodStart).minusDays(1),
+                        this.summarizeBucket(
+                                outgoingByPeriod.getOrDefault(periodStart, List.of()),
+                                incomingByPeriod.getOrDefault(periodStart, List.of()),
+                                countsByPeriod.getOrDefault(periodStart, List.of()).stream()
+                                        .mapToLong(DailyCountRow::transactionCount)
+                                        .sum(),
+                                paymentsByPeriod.getOrDefault(periodStart, List.of()),
+                                account.getCurrencyCode()
+                        )
+                ))
+                .toList();
+    }
+
+    @Override
+    public int rebuildMonthlySummaries(final YearMonth period) {
+        final LocalDateTime startDate = period.atDay(1).atStartOfDay();
         final LocalDateTime endDate = startDate.plusMonths(1);
 
-        final List<Transaction> transactions = this.transactionRepository.findMonthlyTransactions(
+        final SortedSet<Integer> accountIds = new TreeSet<>(
+                this.transactionRepository.findSenderAccountIds(startDate, endDate, TransactionStatus.COMPLETED)
+        );
+        accountIds.addAll(this.transactionRepository.findRecipientAccountIds(startDate, endDate, TransactionStatus.COMPLETED));
+
+        for (final Integer accountId : accountIds) {
+            this.transactionTemplate.executeWithoutResult(status -> this.rebuildAccountSummary(accountId, period));
+        }
+
+        return accountIds.size();
+    }
+
+    @Override
+    @Scheduled(cron = ROLLUP_REBUILD_CRON)
+    public int rebuildPreviousMonthSummaries() {
+        return this.rebuildMonthlySummaries(YearMonth.now().minusMonths(1));
+    }
+
+    private void rebuildAccountSummary(final Integer accountId, final YearMonth period) {
+        final Account account = this.accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new NoSuchElementException(ERRORS_ACCOUNT_NOT_FOUND));
+        final AnalyticsSummaryDTO live = this.aggregateMonth(account.getAccountNumber(), account.getCurrencyCode(), period);
+
+        final MonthlyAccountSummary summary = this.monthlyAccountSummaryRepository
+                .findByAccount_AccountIdAndPeriodStart(accountId, period.atDay(1))
+                .orElseGet(() -> MonthlyAccountSummary.builder()
+                        .account(account)
+                        .periodStart(period.atDay(1))
+                        .build());
+
+        summary.setTotalIncoming(live.totalIncoming());
+        summary.setTotalOutgoing(live.totalOutgoing());
+        summary.setTransactionCount(live.totalTransactions());
+        summary.setTotalIbanExpenses(live.totalIbanExpenses());
+        summary.setTotalMobileExpenses(live.totalMobileExpenses());
+        summary.setTotalInternetExpenses(live.totalInternetExpenses());
+        summary.setTotalCardToCardExpenses(live.totalCardToCardExpenses());
+        summary.setTotalTaxExpenses(live.totalTaxExpenses());
+        summary.setTotalElectronicsExpenses(live.totalElectronicsExpenses());
+        summary.setTotalUtilityExpenses(live.totalUtilityExpenses());
+        summary.setUpdatedAt(now());
+
+        this.monthlyAccountSummaryRepository.save(summary);
+    }
+
+    private AnalyticsSummaryDTO toSummary(final MonthlyAccountSummary summary) {
+        return new AnalyticsSummaryDTO(
+                summary.getTotalIncoming(),
+                summary.getTotalOutgoing(),
+                summary.getTransactionCount(),
+                summary.getTotalIbanExpenses(),
+                summary.getTotalMobileExpenses(),
+                summary.getTotalInternetExpenses(),
+                summary.getTotalCardToCardExpenses(),
+                summary.getTotalTaxExpenses(),
+                summary.getTotalElectronicsExpenses(),
+                summary.getTotalUtilityExpenses()
+        );
+    }
+
+    private AnalyticsSummaryDTO aggregateMonth(final String accountNumber,
+                                               final Currency accountCurrency,
+                                               final YearMonth period) {
+        final LocalDateTime startDate = period.atDay(1).atStartOfDay();
+        final LocalDateTime endDate = startDate.plusMonths(1);
+
+        final List<TransactionSummaryRow> outgoingRows = this.transactionRepository.summarizeOutgoingTransactions(
                 accountNumber,
                 startDate,
                 endDate,
                 TransactionStatus.COMPLETED
         );
-        final List<Payment> payments = this.paymentRepository.findMonthlyPayments(
+        final List<TransactionSummaryRow> incomingRows = this.transactionRepository.summarizeIncomingTransactions(
+                accountNumber,
+                startDate,
+                endDate,
+                TransactionStatus.COMPLETED
+        );
+        final long totalTransactions = this.transactionRepository.countTransactions(
+                accountNumber,
+                startDate,
+                endDate,
+                TransactionStatus.COMPLETED
+        );
+        final List<PaymentSummaryRow> paymentRows = this.paymentRepository.summarizePayments(
                 accountNumber,
                 startDate,
                 endDate,
                 PaymentStatus.COMPLETED
         );
 
-        final BigDecimal incoming = transactions.stream()
-                .filter(transaction -> transaction.getToAccount() != null
-                        && accountNumber.equals(transaction.getToAccount().getAccountNumber()))
-                .map(transaction -> this.normalizeAmount(transaction, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal outgoingTransactions = transactions.stream()
-                .filter(transaction -> transaction.getAccount() != null
-                        && accountNumber.equals(transaction.getAccount().getAccountNumber()))
-                .map(transaction -> this.normalizeAmount(transaction, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalIbanExpenses = payments.stream()
-                .filter(IbanPayment.class::isInstance)
-                .map(payment -> this.normalizeAmount(payment, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalMobileExpenses = payments.stream()
-                .filter(MobilePayment.class::isInstance)
-                .map(payment -> this.normalizeAmount(payment, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalInternetExpenses = payments.stream()
-                .filter(InternetPayment.class::isInstance)
-                .map(payment -> this.normalizeAmount(payment, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalCardToCardExpenses = transactions.stream()
-                .filter(transaction -> transaction.getAccount() != null
-                        && accountNumber.equals(transaction.getAccount().getAccountNumber()))
-                .filter(transaction -> TransactionType.TRANSFER.equals(transaction.getTransactionType()))
-                .map(transaction -> this.normalizeAmount(transaction, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalTaxExpenses = payments.stream()
-                .filter(TaxPayment.class::isInstance)
-                .map(payment -> this.normalizeAmount(payment, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalElectronicsExpenses = payments.stream()
-                .filter(ElectronicsPayment.class::isInstance)
-                .map(payment -> this.normalizeAmount(payment, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        final BigDecimal totalUtilityExpenses = payments.stream()
-                .filter(UtilityPayment.class::isInstance)
-                .map(payment -> this.normalizeAmount(payment, account.getCurrencyCode()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return this.summarizeBucket(outgoingRows, incomingRows, totalTransactions, paymentRows, accountCurrency);
+    }
+
+    private AnalyticsSummaryDTO summarizeBucket(final List<TransactionSummaryRow> outgoingRows,
+                                                final List<TransactionSummaryRow> incomingRows,
+                                                final long totalTransactions,
+                                                final List<PaymentSummaryRow> paymentRows,
+                                                final Currency accountCurrency) {
+        BigDecimal incoming = BigDecimal.ZERO;
+        for (final TransactionSummaryRow row : incomingRows) {
+            incoming = incoming.add(this.normalizeAmount(row, accountCurrency));
+        }
+
+        BigDecimal outgoingTransactions = BigDecimal.ZERO;
+        BigDecimal totalCardToCardExpenses = BigDecimal.ZERO;
+        for (final TransactionSummaryRow row : outgoingRows) {
+            final BigDecimal amount = this.normalizeAmount(row, accountCurrency);
+            outgoingTransactions = outgoingTransactions.add(amount);
+            if (TransactionType.TRANSFER.equals(row.transactionType())) {
+                totalCardToCardExpenses = totalCardToCardExpenses.add(amount);
+            }
+        }
+
+        final Map<Class<? extends Payment>, BigDecimal> expensesByType = new HashMap<>();
+        for (final PaymentSummaryRow row : paymentRows) {
+            expensesByType.merge(row.paymentType(), this.normalizeAmount(row, accountCurrency), BigDecimal::add);
+        }
 
         return new AnalyticsSummaryDTO(
                 incoming,
                 outgoingTransactions,
-                transactions.size(),
-                totalIbanExpenses,
-                totalMobileExpenses,
-                totalInternetExpenses,
+                totalTransactions,
+                expensesByType.getOrDefault(IbanPayment.class, BigDecimal.ZERO),
+                expensesByType.getOrDefault(MobilePayment.class, BigDecimal.ZERO),
+                expensesByType.getOrDefault(InternetPayment.class, BigDecimal.ZERO),
                 totalCardToCardExpenses,
-                totalTaxExpenses,
-                totalElectronicsExpenses,
-                totalUtilityExpenses
+                expensesByType.getOrDefault(TaxPayment.class, BigDecimal.ZERO),
+                expensesByType.getOrDefault(ElectronicsPayment.class, BigDecimal.ZERO),
+                expensesByType.getOrDefault(UtilityPayment.class, BigDecimal.ZERO)
         );
     }
 
+    private <T> Map<LocalDate, List<T>> groupByPeriod(final List<T> rows,
+                                                       final Function<T, LocalDate> dayOf,
+                                                       final AnalyticsGranularity granularity) {
+        return rows.stream().collect(Collectors.groupingBy(row -> granularity.periodStart(dayOf.apply(row))));
+    }
+
+    private List<LocalDate> periodStarts(final LocalDate from, final LocalDate to, final AnalyticsGranularity granularity) {
+        final List<LocalDate> periodStarts = new ArrayList<>();
+        for (LocalDate periodStart = granularity.periodStart(from);
+             !periodStart.isAfter(to);
+             periodStart = granularity.nextPeriodStart(periodStart)) {
+            if (periodStarts.size() == ANALYTICS_RANGE_MAX_BUCKETS) {
+                throw new IllegalArgumentException(ERRORS_INVALID_ANALYTICS_RANGE);
+            }
+            periodStarts.add(periodStart);
+        }
+
+        return periodStarts;
+    }
+
     private void validateAnalyticsParameters(final String accountNumber, final Integer year, final Integer month) {
         if (accountNumber == null || year == null || month == null) {
             throw new IllegalArgumentException(ERRORS_REQUIRED_ANALYTICS_PARAMETERS);
         }
     }
 
+    private void validateRangeParameters(final String accountNumber,
+                                         final LocalDate from,
+                                         final LocalDate to,
+                                         final AnalyticsGranularity granularity) {
+        if (accountNumber == null || from == null || to == null || granularity == null) {
+            throw new IllegalArgumentException(ERRORS_REQUIRED_ANALYTICS_PARAMETERS);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException(ERRORS_INVALID_ANALYTICS_RANGE);
+        }
+    }
+
     private void validateOwnership(final Account account, final String userEmail) {
         if (userEmail != null
                 && (account.getCustomer() == null
@@ -144,29 +334,29 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         }
     }
 
-    private BigDecimal normalizeAmount(final Transaction transaction, final Currency targetCurrency) {
-        final Currency transactionCurrency = transaction.getCurrencyCode();
-        final BigDecimal amount = transaction.getAmount() == null ? BigDecimal.ZERO : transaction.getAmount();
+    private BigDecimal normalizeAmount(final TransactionSummaryRow row, final Currency targetCurrency) {
+        final Currency rowCurrency = row.currencyCode();
+        final BigDecimal amount = row.amount() == null ? BigDecimal.ZERO : row.amount();
 
-        if (transactionCurrency == null || targetCurrency == null || transactionCurrency.equals(targetCurrency)) {
+        if (rowCurrency == null || targetCurrency == null || rowCurrency.equals(targetCurrency)) {
             return amount;
         }
 
-        return this.currencyLoader.convert(amount, transactionCurrency.name(), targetCurrency.name());
+        return this.currencyLoader.convert(amount, rowCurrency, targetCurrency, row.day());
     }
 
-    private BigDecimal normalizeAmount(final Payment payment, final Currency targetCurrency) {
-        final BigDecimal amount = payment.getAmount() == null ? BigDecimal.ZERO : payment.getAmount();
+    private BigDecimal normalizeAmount(final PaymentSummaryRow row, final Currency targetCurrency) {
+        final BigDecimal amount = row.amount() == null ? BigDecimal.ZERO : row.amount();
 
-        if (payment.getCurrencyCode() == null || targetCurrency == null) {
+        if (row.currencyCode() == null || targetCurrency == null) {
             return amount;
         }
 
-        final Currency paymentCurrency = Currency.valueOf(payment.getCurrencyCode().toUpperCase(Locale.ROOT));
+        final Currency paymentCurrency = Currency.valueOf(row.currencyCode().toUpperCase(Locale.ROOT));
         if (paymentCurrency.equals(targetCurrency)) {
             return amount;
         }
 
-        return this.currencyLoader.convert(amount, paymentCurrency.name(), targetCurrency.name());
+        return this.currencyLoader.convert(amount, paymentCurrency, targetCurrency, row.day());
     }
 }
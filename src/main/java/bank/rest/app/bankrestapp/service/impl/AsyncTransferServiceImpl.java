@@ -0,0 +1,191 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.exception.TransferQueueFullException;
+import bank.rest.app.bankrestapp.service.AsyncTransferService;
+import bank.rest.app.bankrestapp.service.TransactionService;
+import bank.rest.app.bankrestapp.transfer.TransferOutcome;
+import bank.rest.app.bankrestapp.transfer.TransferTicket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static bank.rest.app.bankrestapp.constants.AsyncTransferDefaults.ASYNC_TRANSFER_BATCH_SIZE;
+import static bank.rest.app.bankrestapp.constants.AsyncTransferDefaults.ASYNC_TRANSFER_POLL_TIMEOUT_MILLIS;
+import static bank.rest.app.bankrestapp.constants.AsyncTransferDefaults.ASYNC_TRANSFER_QUEUE_CAPACITY;
+import static bank.rest.app.bankrestapp.constants.AsyncTransferDefaults.ASYNC_TRANSFER_TICKET_EVICTION_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.AsyncTransferDefaults.ASYNC_TRANSFER_TICKET_RETENTION_MINUTES;
+import static bank.rest.app.bankrestapp.constants.AsyncTransferDefaults.ASYNC_TRANSFER_WORKER_COUNT;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_OPERATION_TEMPORARILY_UNAVAILABLE;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_TRANSFER_QUEUE_FULL;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_TRANSFER_TICKET_NOT_FOUND;
+import static java.time.LocalDateTime.now;
+
+/**
+ * In-memory submission queue for transfers. Pending transfers are not persisted: tickets that are still
+ * queued when the application stops are lost and clients have to resubmit them.
+ */
+@Slf4j
+@Service
+public class AsyncTransferServiceImpl implements AsyncTransferService {
+
+    private final TransactionService transactionService;
+    private final BlockingQueue<TransferTicket> queue = new LinkedBlockingQueue<>(ASYNC_TRANSFER_QUEUE_CAPACITY);
+    private final Map<UUID, TransferTicket> tickets = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private volatile boolean running;
+
+    public AsyncTransferServiceImpl(final TransactionService transactionService) {
+        this.transactionService = transactionService;
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(ASYNC_TRANSFER_WORKER_COUNT, runnable -> {
+            final Thread thread = new Thread(runnable, "async-transfer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void startWorkers() {
+        this.running = true;
+        for (int i = 0; i < ASYNC_TRANSFER_WORKER_COUNT; i++) {
+            this.workers.submit(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stopWorkers() throws InterruptedException {
+        this.running = false;
+        this.workers.shutdown();
+        if (!this.workers.awaitTermination(ASYNC_TRANSFER_POLL_TIMEOUT_MILLIS * 4, TimeUnit.MILLISECONDS)) {
+            this.workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public TransferTicket submit(final CreateTransaction transfer, final String ownerEmail) {
+        final TransferTicket ticket = new TransferTicket(ownerEmail, transfer);
+        this.tickets.put(ticket.getTicketId(), ticket);
+
+        if (!this.queue.offer(ticket)) {
+            this.tickets.remove(ticket.getTicketId());
+            throw new TransferQueueFullException(ERRORS_TRANSFER_QUEUE_FULL);
+        }
+
+        return ticket;
+    }
+
+    @Override
+    public TransferTicket getTicket(final UUID ticketId, final String ownerEmail) {
+        final TransferTicket ticket = this.tickets.get(ticketId);
+        if (ticket == null || !ticket.getOwnerEmail().equals(ownerEmail)) {
+            throw new NoSuchElementException(ERRORS_TRANSFER_TICKET_NOT_FOUND);
+        }
+
+        return ticket;
+    }
+
+    @Override
+    @Scheduled(fixedRate = ASYNC_TRANSFER_TICKET_EVICTION_INTERVAL_MILLIS)
+    public int evictExpiredTickets() {
+        final LocalDateTime cutoff = now().minusMinutes(ASYNC_TRANSFER_TICKET_RETENTION_MINUTES);
+        final int sizeBefore = this.tickets.size();
+
+        this.tickets.values().removeIf(ticket -> ticket.isFinished() && ticket.getCompletedAt().isBefore(cutoff));
+
+        return sizeBefore - this.tickets.size();
+    }
+
+    /**
+     * Takes up to one batch of queued transfers without blocking and processes it.
+     *
+     * @return number of transfers processed
+     */
+    int drainBatch() {
+        final List<TransferTicket> batch = new ArrayList<>(ASYNC_TRANSFER_BATCH_SIZE);
+        this.queue.drainTo(batch, ASYNC_TRANSFER_BATCH_SIZE);
+        if (!batch.isEmpty()) {
+            this.processBatch(batch);
+        }
+
+        return batch.size();
+    }
+
+    private void drainLoop() {
+        while (this.running) {
+            try {
+                final TransferTicket first = this.queue.poll(ASYNC_TRANSFER_POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                final List<TransferTicket> batch = new ArrayList<>(ASYNC_TRANSFER_BATCH_SIZE);
+                batch.add(first);
+                this.queue.drainTo(batch, ASYNC_TRANSFER_BATCH_SIZE - 1);
+                this.processBatch(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                log.error("Transfer queue batch failed", e);
+            }
+        }
+    }
+
+    /**
+     * Commits the whole batch in one database transaction. If the batch transaction itself fails
+     * (lock timeout, missing exchange rate, database error) nothing of it was committed, so every
+     * transfer is replayed on its own to isolate the one that caused the failure.
+     */
+    private void processBatch(final List<TransferTicket> batch) {
+        final List<CreateTransaction> transfers = batch.stream()
+                .map(TransferTicket::getTransfer)
+                .toList();
+
+        final List<TransferOutcome> outcomes;
+        try {
+            outcomes = this.transactionService.withdrawBatch(transfers);
+        } catch (final RuntimeException e) {
+            batch.forEach(this::processIndividually);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(outcomes.get(i));
+        }
+    }
+
+    private void processIndividually(final TransferTicket ticket) {
+        final CreateTransaction transfer = ticket.getTransfer();
+        try {
+            ticket.complete(TransferOutcome.completed(this.transactionService.withdraw(
+                    transfer.senderCardNumber(),
+                    transfer.recipientCardNumber(),
+                    transfer.amount(),
+                    transfer.description()
+            )));
+        } catch (final DataAccessException e) {
+            ticket.fail(ERRORS_OPERATION_TEMPORARILY_UNAVAILABLE);
+        } catch (final RuntimeException e) {
+            ticket.fail(e.getMessage());
+        }
+    }
+}
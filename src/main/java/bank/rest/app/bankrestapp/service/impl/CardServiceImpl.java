@@ -1,11 +1,10 @@
 package bank.rest.app.bankrestapp.service.impl;
 
 import bank.rest.app.bankrestapp.entity.Card;
-import bank.rest.app.bankrestapp.resository.CardRepository;
+import bank.rest.app.bankrestapp.identifier.IdentifierAllocator;
 import bank.rest.app.bankrestapp.service.CardService;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,11 +18,11 @@ import static java.time.LocalDateTime.now;
 @AllArgsConstructor
 public final class CardServiceImpl implements CardService {
 
-    private final CardRepository cardRepository;
+    private final IdentifierAllocator identifierAllocator;
 
     @Override
     public Card generateCard() {
-        final String cardNumber = this.generateCardNumber();
+        final String cardNumber = this.identifierAllocator.nextCardNumber();
         final String cvv = this.generateCvv();
         final LocalDateTime expiryDate = now().plusYears(CARD_EXPIRY_YEARS);
         final LocalDateTime createdAt = now();
@@ -36,17 +35,6 @@ public final class CardServiceImpl implements CardService {
                 .build();
     }
 
-    private @NotNull String generateCardNumber() {
-        String cardNumber;
-
-        do {
-            final long randomNumber = (long) (random() * 1_0000_0000_0000_0000L);
-            cardNumber = format(CARD_NUMBER_PATTERN, randomNumber);
-        } while (cardRepository.existsByCardNumber(cardNumber));
-
-        return cardNumber;
-    }
-
     private @NotNull String generateCvv() {
         return format(CVV_NUMBER_PATTERN, (int) (random() * 1000));
     }
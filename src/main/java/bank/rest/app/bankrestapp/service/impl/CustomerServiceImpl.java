@@ -3,10 +3,12 @@ package bank.rest.app.bankrestapp.service.impl;
 import bank.rest.app.bankrestapp.entity.*;
 import bank.rest.app.bankrestapp.resository.CustomerRepository;
 import bank.rest.app.bankrestapp.resository.CustomerRoleRepository;
+import bank.rest.app.bankrestapp.security.PrincipalCache;
 import bank.rest.app.bankrestapp.service.AccountService;
 import bank.rest.app.bankrestapp.service.CardService;
 import bank.rest.app.bankrestapp.service.CustomerService;
 import bank.rest.app.bankrestapp.service.EmailService;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +18,8 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import static bank.rest.app.bankrestapp.constants.AccountDefaults.DEFAULT_CURRENCY;
+import static bank.rest.app.bankrestapp.email.EmailTemplateType.EMAIL_CHANGE;
+import static bank.rest.app.bankrestapp.email.EmailTemplateType.PASSWORD_CHANGE;
 import static bank.rest.app.bankrestapp.entity.enums.Role.ROLE_USER;
 import static bank.rest.app.bankrestapp.constants.MessageError.*;
 import static java.time.LocalDateTime.now;
@@ -31,6 +35,8 @@ public class CustomerServiceImpl implements CustomerService {
     private final AccountService accountService;
     private final CardService cardService;
     private final EmailService emailService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
 
     @Override
@@ -113,7 +119,7 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public void initPasswordChange(final String email) {
         this.getCustomerByEmail(email);
-        this.emailService.sendVerificationCodeWithMessage(email, "Your code to change your password is: {code}");
+        this.emailService.sendVerificationCode(email, PASSWORD_CHANGE);
     }
 
     @Override
@@ -121,14 +127,17 @@ public class CustomerServiceImpl implements CustomerService {
         final Customer customer = this.getCustomerByEmail(email);
         this.emailService.verifyCode(email, verificationCode);
         customer.getAuthUser().setPasswordHash(passwordEncoder.encode(newPassword));
+        customer.getAuthUser().setPasswordChangedAt(now());
         customerRepository.save(customer);
+        this.principalCache.evict(email);
+        this.tokenRevocationService.revokeCurrentToken();
         this.emailService.checkIfCodeIsVerified(email);
     }
 
     @Override
     public void initEmailChange(final String email) {
         this.getCustomerByEmail(email);
-        this.emailService.sendVerificationCodeWithMessage(email, "Your code to change your email is: {code}");
+        this.emailService.sendVerificationCode(email, EMAIL_CHANGE);
     }
 
     @Override
@@ -140,6 +149,9 @@ public class CustomerServiceImpl implements CustomerService {
         }
         customer.getAuthUser().setEmail(newEmail);
         customerRepository.save(customer);
+        this.principalCache.evict(email);
+        this.principalCache.evict(newEmail);
+        this.tokenRevocationService.revokeCurrentToken();
         this.emailService.checkIfCodeIsVerified(email);
     }
 
@@ -152,8 +164,11 @@ public class CustomerServiceImpl implements CustomerService {
         this.emailService.checkIfCodeIsVerified(customer.getAuthUser().getEmail());
 
         customer.getAuthUser().setPasswordHash(passwordEncoder.encode(newPassword));
+        customer.getAuthUser().setPasswordChangedAt(now());
 
         customerRepository.save(customer);
+        this.principalCache.evict(customer.getAuthUser().getEmail());
+        this.tokenRevocationService.revokeCurrentToken();
     }
 
     private @NotNull Customer checkAuthentication(final String email, final String password, final String messagePasswordError) {
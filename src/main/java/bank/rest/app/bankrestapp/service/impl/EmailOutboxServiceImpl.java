@@ -0,0 +1,195 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.email.EmailMessage;
+import bank.rest.app.bankrestapp.email.EmailProvider;
+import bank.rest.app.bankrestapp.entity.EmailOutbox;
+import bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus;
+import bank.rest.app.bankrestapp.resository.EmailOutboxRepository;
+import bank.rest.app.bankrestapp.service.EmailOutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_BATCH_SIZE;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_CLAIM_LEASE_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_DISPATCH_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_ERROR_MAX_LENGTH;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_MAX_ATTEMPTS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_MAX_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_PURGE_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_SEND_DEADLINE_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_SENT_RETENTION_HOURS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.EMAIL_DISPATCH_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TAG_OUTCOME;
+import static bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus.FAILED;
+import static bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus.PENDING;
+import static bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus.SENT;
+
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailProvider emailProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Autowired
+    public EmailOutboxServiceImpl(final EmailOutboxRepository emailOutboxRepository,
+                                  final EmailProvider emailProvider,
+                                  final TransactionTemplate transactionTemplate,
+                                  final MeterRegistry meterRegistry) {
+        this(emailOutboxRepository, emailProvider, transactionTemplate, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxServiceImpl(final EmailOutboxRepository emailOutboxRepository,
+                           final EmailProvider emailProvider,
+                           final TransactionTemplate transactionTemplate,
+                           final MeterRegistry meterRegistry,
+                           final Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailProvider = emailProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public EmailOutbox enqueue(final String to, final String subject, final String text, final String html) {
+        final LocalDateTime now = LocalDateTime.now(this.clock);
+        final EmailOutbox email = EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .textBody(text)
+                .htmlBody(html)
+                .status(PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        return this.emailOutboxRepository.save(email);
+    }
+
+    @Override
+    @Scheduled(fixedDelay = EMAIL_OUTBOX_DISPATCH_INTERVAL_MILLIS)
+    public int dispatchPendingEmails() {
+        final LocalDateTime sendDeadline = LocalDateTime.now(this.clock)
+                .plus(Duration.ofMillis(EMAIL_OUTBOX_SEND_DEADLINE_MILLIS));
+        final List<EmailOutbox> claimed = this.transactionTemplate.execute(status -> this.claimBatch());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        int sent = 0;
+        for (int i = 0; i < claimed.size(); i++) {
+            if (!LocalDateTime.now(this.clock).isBefore(sendDeadline)) {
+                final List<EmailOutbox> unsent = claimed.subList(i, claimed.size());
+                this.transactionTemplate.executeWithoutResult(tx -> this.releaseClaims(unsent));
+                break;
+            }
+
+            final EmailOutbox email = claimed.get(i);
+            RuntimeException failure = null;
+            final long start = System.nanoTime();
+            try {
+                this.emailProvider.send(new EmailMessage(
+                        email.getRecipient(), email.getSubject(), email.getTextBody(), email.getHtmlBody()));
+                sent++;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            final long nanos = System.nanoTime() - start;
+
+            final RuntimeException outcome = failure;
+            final EmailOutboxStatus status = this.transactionTemplate.execute(tx -> this.recordOutcome(email, outcome));
+            this.meterRegistry.timer(EMAIL_DISPATCH_METRIC, TAG_OUTCOME, String.valueOf(status))
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        return sent;
+    }
+
+    @Override
+    @Scheduled(fixedRate = EMAIL_OUTBOX_PURGE_INTERVAL_MILLIS)
+    public int purgeSentEmails() {
+        return this.emailOutboxRepository.deleteAllSentBefore(
+                SENT, LocalDateTime.now(this.clock).minusHours(EMAIL_OUTBOX_SENT_RETENTION_HOURS));
+    }
+
+    /**
+     * Locks due messages and pushes their next attempt past the lease, so a concurrent dispatcher
+     * skips them once the lock is released.
+     */
+    private List<EmailOutbox> claimBatch() {
+        final LocalDateTime now = LocalDateTime.now(this.clock);
+        final List<EmailOutbox> due = this.emailOutboxRepository.findDueForUpdate(
+                PENDING, now, PageRequest.of(0, EMAIL_OUTBOX_BATCH_SIZE));
+
+        final LocalDateTime leaseUntil = now.plus(Duration.ofMillis(EMAIL_OUTBOX_CLAIM_LEASE_MILLIS));
+        due.forEach(email -> email.setNextAttemptAt(leaseUntil));
+        this.emailOutboxRepository.saveAll(due);
+
+        return due;
+    }
+
+    /**
+     * Makes messages the lease no longer leaves time to send due again, without counting an attempt,
+     * so the next run picks them up instead of a concurrent dispatcher once the lease expires.
+     */
+    private void releaseClaims(final List<EmailOutbox> unsent) {
+        final LocalDateTime now = LocalDateTime.now(this.clock);
+        unsent.forEach(email -> email.setNextAttemptAt(now));
+        this.emailOutboxRepository.saveAll(unsent);
+    }
+
+    /**
+     * @return the status the message is left in: sent, pending another attempt, or failed for good
+     */
+    private EmailOutboxStatus recordOutcome(final EmailOutbox email, final RuntimeException failure) {
+        final LocalDateTime now = LocalDateTime.now(this.clock);
+        final int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+
+        if (failure == null) {
+            email.setStatus(SENT);
+            email.setSentAt(now);
+            email.setLastError(null);
+        } else {
+            email.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (attempts >= EMAIL_OUTBOX_MAX_ATTEMPTS) {
+                email.setStatus(FAILED);
+            } else {
+                email.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis(attempts))));
+            }
+        }
+
+        this.emailOutboxRepository.save(email);
+        return email.getStatus();
+    }
+
+    /**
+     * @param attempts number of attempts made so far, at least one
+     * @return delay before the next attempt
+     */
+    static long backoffMillis(final int attempts) {
+        final int doublings = Math.min(attempts - 1, Long.numberOfLeadingZeros(EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS) - 1);
+        return Math.min(EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS << doublings, EMAIL_OUTBOX_MAX_BACKOFF_MILLIS);
+    }
+
+    private static String truncate(final String message) {
+        return message.length() <= EMAIL_OUTBOX_ERROR_MAX_LENGTH
+                ? message
+                : message.substring(0, EMAIL_OUTBOX_ERROR_MAX_LENGTH);
+    }
+}
@@ -1,51 +1,59 @@
 package bank.rest.app.bankrestapp.service.impl;
 
-import bank.rest.app.bankrestapp.entity.EmailVerificationCodes;
-import bank.rest.app.bankrestapp.resository.EmailVerificationCodeRepository;
+import bank.rest.app.bankrestapp.email.EmailMessage;
+import bank.rest.app.bankrestapp.email.EmailTemplateType;
+import bank.rest.app.bankrestapp.email.EmailTemplates;
+import bank.rest.app.bankrestapp.service.EmailOutboxService;
 import bank.rest.app.bankrestapp.service.EmailService;
-import com.resend.Resend;
+import bank.rest.app.bankrestapp.verification.VerificationCode;
+import bank.rest.app.bankrestapp.verification.VerificationCodeStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.jetbrains.annotations.NotNull;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_PLACEHOLDER;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_PURGED_METRIC;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_PURGE_INTERVAL_MILLIS;
 import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_VALIDITY_WINDOW_MINUTES;
 import static bank.rest.app.bankrestapp.constants.MessageError.*;
+import static bank.rest.app.bankrestapp.email.EmailTemplateType.VERIFICATION_CODE;
 import static java.time.LocalDateTime.now;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final EmailVerificationCodeRepository codeRepo;
-
-    @Value("${resend.api.key}")
-    private String apiKey;
+    private final VerificationCodeStore verificationCodeStore;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplates emailTemplates;
+    private final MeterRegistry meterRegistry;
 
 
     @Override
-    public void deleteExpiredCodes() {
-        final LocalDateTime cutoff = now().minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES);
-        final List<EmailVerificationCodes> expired = codeRepo.findAll().stream()
-                .filter(code -> code.getCreatedAt().isBefore(cutoff))
-                .toList();
+    @Scheduled(fixedRate = EMAIL_CODE_PURGE_INTERVAL_MILLIS)
+    public int deleteExpiredCodes() {
+        final int purged = this.verificationCodeStore.purgeExpired();
+
+        DistributionSummary.builder(EMAIL_CODE_PURGED_METRIC)
+                .description("Expired email verification codes removed per purge run")
+                .baseUnit("codes")
+                .register(this.meterRegistry)
+                .record(purged);
 
-        this.codeRepo.deleteAll(expired);
+        return purged;
     }
 
     @Override
     public void verifyCode(final String email, final String inputCode) {
-        this.codeRepo.findByEmail(email)
-                .filter(code -> code.getCode().equals(inputCode))
-                .filter(code -> code.getCreatedAt().isAfter(now().minusMinutes(EMAIL_CODE_VALIDITY_WINDOW_MINUTES)))
+        this.verificationCodeStore.find(email)
+                .filter(code -> code.code().equals(inputCode))
+                .filter(code -> code.createdAt().isAfter(now().minusMinutes(EMAIL_CODE_VALIDITY_WINDOW_MINUTES)))
                 .orElseThrow(
                         () -> new NoSuchElementException(ERRORS_EMAIL_CODE_IS_INVALID)
                 );
@@ -53,68 +61,32 @@ public class EmailServiceImpl implements EmailService {
 
     @Override
     public void sendVerificationCode(final String email) {
-        this.sendVerificationCodeWithMessage(email, "Your verification code is: {code}");
+        this.sendVerificationCode(email, VERIFICATION_CODE);
     }
 
     @Override
-    public void sendVerificationCodeWithMessage(final String email, final String messageTemplate) {
+    public void sendVerificationCode(final String email, final EmailTemplateType template) {
         final int generatedCode = (int) (Math.random() * 90000 + 10000);
         final String code = String.valueOf(generatedCode);
 
-        this.codeRepo.deleteByEmail(email);
-
-        final EmailVerificationCodes entity = new EmailVerificationCodes();
-        entity.setEmail(email);
-        entity.setCode(code);
-        entity.setCreatedAt(now());
-        entity.setVerified(false);
-
-        this.codeRepo.save(entity);
-
-        final Resend resend = new Resend(apiKey);
-        final String plainTextContent = messageTemplate.replace("{code}", code);
-
-        try {
-            final String htmlContent = buildEmailContent(code);
-            final com.resend.services.emails.model.CreateEmailOptions sendEmailRequest =
-                    com.resend.services.emails.model.CreateEmailOptions.builder()
-                            .from("Bank Emulator <no-reply@bank-emulator.app>")
-                            .to(email)
-                            .subject("Email verification code")
-                            .text(plainTextContent)
-                            .html(htmlContent)
-                            .build();
-
-            resend.emails().send(sendEmailRequest);
-
-        } catch (IOException e) {
-            throw new java.io.UncheckedIOException("Не вдалося зчитати HTML шаблон", e);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Помилка відправки листа через Resend API", e);
-        }
+        this.verificationCodeStore.put(email, code, now());
+
+        final EmailMessage message = this.emailTemplates.render(template, email, Map.of(EMAIL_CODE_PLACEHOLDER, code));
+        this.emailOutboxService.enqueue(message.to(), message.subject(), message.text(), message.html());
     }
 
     @Override
     public void checkIfCodeIsVerified(final String email) {
-        final EmailVerificationCodes emailCode = this.codeRepo.findByEmail(email)
+        final VerificationCode emailCode = this.verificationCodeStore.find(email)
                 .orElseThrow(() -> new NoSuchElementException(ERRORS_EMAIL_CODE_IS_INVALID));
 
-        if (emailCode.isVerified()) {
+        if (emailCode.verified()) {
             throw new IllegalArgumentException(ERRORS_EMAIL_NOT_VERIFIED);
         }
-        if (emailCode.getCreatedAt().isBefore(now().minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES))) {
+        if (emailCode.createdAt().isBefore(now().minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES))) {
             throw new IllegalArgumentException(ERRORS_EMAIL_CODE_IS_EXPIRED);
         }
 
-        this.codeRepo.delete(emailCode);
-    }
-
-
-    private @NotNull String buildEmailContent(String code) throws IOException {
-        final ClassPathResource resource = new ClassPathResource("templates/verification-code-template.html");
-        final String html = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-
-        return html.replace("{{CODE}}", code);
+        this.verificationCodeStore.remove(email);
     }
 }
@@ -0,0 +1,112 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.entity.IdempotencyKey;
+import bank.rest.app.bankrestapp.resository.IdempotencyKeyRepository;
+import bank.rest.app.bankrestapp.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENCY_CACHE_CAPACITY;
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENCY_KEY_RETENTION_HOURS;
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENCY_RESERVATION_LEASE_SECONDS;
+import static java.time.LocalDateTime.now;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    /**
+     * Completed keys in access order; the eldest entry is evicted once the capacity is reached.
+     */
+    private final Map<String, IdempotencyKey> recentKeys = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, IdempotencyKey> eldest) {
+                    return this.size() > IDEMPOTENCY_CACHE_CAPACITY;
+                }
+            }
+    );
+
+    @Override
+    public Optional<IdempotencyKey> findKey(final String ownerEmail, final String idempotencyKey) {
+        final IdempotencyKey cached = this.recentKeys.get(this.cacheKey(ownerEmail, idempotencyKey));
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        final Optional<IdempotencyKey> stored = this.idempotencyKeyRepository
+                .findByOwnerEmailAndIdempotencyKey(ownerEmail, idempotencyKey);
+        stored.filter(IdempotencyKey::isCompleted)
+                .ifPresent(key -> this.recentKeys.put(this.cacheKey(ownerEmail, idempotencyKey), key));
+
+        return stored;
+    }
+
+    @Override
+    public boolean reserve(final String ownerEmail, final String idempotencyKey, final String operation) {
+        final LocalDateTime reservedAt = now();
+        final IdempotencyKey reservation = IdempotencyKey.builder()
+                .ownerEmail(ownerEmail)
+                .idempotencyKey(idempotencyKey)
+                .operation(operation)
+                .createdAt(reservedAt)
+                .reservedUntil(reservedAt.plusSeconds(IDEMPOTENCY_RESERVATION_LEASE_SECONDS))
+                .build();
+
+        try {
+            this.idempotencyKeyRepository.saveAndFlush(reservation);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(final String ownerEmail,
+                         final String idempotencyKey,
+                         final String requestHash,
+                         final int status,
+                         final String contentType,
+                         final String body) {
+        this.idempotencyKeyRepository.findByOwnerEmailAndIdempotencyKey(ownerEmail, idempotencyKey)
+                .ifPresent(key -> {
+                    key.setRequestHash(requestHash);
+                    key.setResponseStatus(status);
+                    key.setResponseContentType(contentType);
+                    key.setResponseBody(body);
+
+                    this.recentKeys.put(this.cacheKey(ownerEmail, idempotencyKey), this.idempotencyKeyRepository.save(key));
+                });
+    }
+
+    @Override
+    public void release(final String ownerEmail, final String idempotencyKey) {
+        this.recentKeys.remove(this.cacheKey(ownerEmail, idempotencyKey));
+        this.idempotencyKeyRepository.deleteByOwnerEmailAndIdempotencyKey(ownerEmail, idempotencyKey);
+    }
+
+    @Override
+    @Scheduled(fixedRate = 3600000)
+    public void deleteExpiredKeys() {
+        final LocalDateTime cutoff = now().minusHours(IDEMPOTENCY_KEY_RETENTION_HOURS);
+
+        synchronized (this.recentKeys) {
+            this.recentKeys.values().removeIf(key -> key.getCreatedAt().isBefore(cutoff));
+        }
+        this.idempotencyKeyRepository.deleteAllCreatedBefore(cutoff);
+    }
+
+    private String cacheKey(final String ownerEmail, final String idempotencyKey) {
+        return ownerEmail + '\n' + idempotencyKey;
+    }
+}
@@ -23,16 +23,20 @@ import bank.rest.app.bankrestapp.entity.enums.AccountType;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
 import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
 import bank.rest.app.bankrestapp.exception.InvalidAccountCurrencyException;
 import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
 import bank.rest.app.bankrestapp.exception.UnsupportedCurrencyException;
+import bank.rest.app.bankrestapp.locking.AccountBalanceStatements;
+import bank.rest.app.bankrestapp.locking.LockConflictRetry;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
 import bank.rest.app.bankrestapp.resository.AccountRepository;
 import bank.rest.app.bankrestapp.resository.PaymentRepository;
 import bank.rest.app.bankrestapp.resository.TransactionRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
 import bank.rest.app.bankrestapp.service.PaymentService;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -43,6 +47,8 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static bank.rest.app.bankrestapp.constants.MessageError.*;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.*;
+import static bank.rest.app.bankrestapp.entity.enums.AccountStatus.ACTIVE;
 import static bank.rest.app.bankrestapp.entity.enums.PaymentStatus.COMPLETED;
 import static java.lang.String.format;
 import static java.time.LocalDateTime.now;
@@ -57,41 +63,49 @@ public class PaymentServiceImpl implements PaymentService {
     private final PaymentRepository paymentRepository;
     private final TransactionRepository transactionRepository;
     private final CurrencyLoader currencyLoader;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final MoneyMovementMetrics moneyMovementMetrics;
+    private final LockConflictRetry lockConflictRetry;
+    private final AccountBalanceStatements accountBalanceStatements;
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processIbanPayment(final IbanPaymentRequestDTO request, final String authenticatedUserEmail) {
-        this.validateRecipientIban(request.recipientIban());
-
-        final Account senderAccount = this.getValidOwnedAccount(request.accountId(), authenticatedUserEmail);
-        final Account recipientAccount = this.getValidORecipientAccount(
-                request.recipientIban(),
-                request.taxNumber(),
-                request.recipientName()
-        );
-        if(senderAccount.equals(recipientAccount)){
-            throw new IllegalArgumentException(ERRORS_SENDER_AND_RECIPIENT_ACCOUNTS_CANNOT_BE_SAME);
-        }
-        this.validateIbanPaymentAccount(senderAccount, request.amount());
-
-        final BigDecimal convertedAmount = this.convertAmount(senderAccount,recipientAccount, request.amount());
-        this.debitAccount(senderAccount, request.amount());
-        this.creditAccount(recipientAccount, convertedAmount);
-
-        final IbanPayment payment = this.buildIbanPayment(request, senderAccount);
-        payment.setTransaction(this.createTransaction(
-                senderAccount,
-                recipientAccount,
-                request.amount(),
-                TransactionType.IBAN_PAYMENT,
-                this.buildIbanDescription(request.recipientIban(), convertedAmount)
-        ));
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_IBAN, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_IBAN, status -> {
+            this.validateRecipientIban(request.recipientIban());
+
+            final Account senderAccount = this.getValidOwnedAccount(request.accountId(), authenticatedUserEmail);
+            sample.currency(senderAccount.getCurrencyCode());
+            final Account recipientAccount = this.getValidORecipientAccount(
+                    request.recipientIban(),
+                    request.taxNumber(),
+                    request.recipientName()
+            );
+            if(senderAccount.equals(recipientAccount)){
+                throw new IllegalArgumentException(ERRORS_SENDER_AND_RECIPIENT_ACCOUNTS_CANNOT_BE_SAME);
+            }
+            this.validateIbanPaymentAccount(senderAccount, request.amount());
+
+            final BigDecimal convertedAmount = this.convertAmount(senderAccount,recipientAccount, request.amount());
+            if (!this.accountBalanceStatements.transfer(
+                    senderAccount.getAccountId(), request.amount(), recipientAccount.getAccountId(), convertedAmount)) {
+                this.rejectDebit(senderAccount);
+            }
+
+            final IbanPayment payment = this.buildIbanPayment(request, senderAccount);
+            payment.setTransaction(this.createTransaction(
+                    senderAccount,
+                    recipientAccount,
+                    request.amount(),
+                    TransactionType.IBAN_PAYMENT,
+                    this.buildIbanDescription(request.recipientIban(), convertedAmount)
+            ));
 
-        return this.paymentRepository.save(payment);
+            return this.savePayment(payment);
+        }));
     }
 
     private Account getValidORecipientAccount(final String recipientIban,final String taxNumber,final String recipientName){
-        final Account recipientAccount = this.accountRepository.findWithLockByAccountNumber(recipientIban)
+        final Account recipientAccount = this.accountRepository.findByAccountNumber(recipientIban)
                 .orElseThrow(() -> new NoSuchElementException(ERRORS_ACCOUNT_NOT_FOUND_BY_NUMBER));
 
         if (!Objects.equals(recipientAccount.getEdrpou(), taxNumber)) {
@@ -116,138 +130,150 @@ public class PaymentServiceImpl implements PaymentService {
 
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processInternetPayment(final InternetPaymentRequestDTO request, final String authenticatedUserEmail) {
-        final Account account = this.getValidOwnedAccount(request.accountId(), authenticatedUserEmail);
-
-        this.validateInternetPaymentAccount(account, request.amount());
-        this.debitAccount(account, request.amount());
-
-        final InternetPayment payment = this.buildInternetPayment(request, account);
-        payment.setTransaction(this.createTransaction(
-                account,
-                null,
-                request.amount(),
-                TransactionType.INTERNET_PAYMENT,
-                "Оплата інтернету (провайдер: " + request.providerName() + ")"
-        ));
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_INTERNET, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_INTERNET, status -> {
+            final Account account = this.getValidOwnedAccount(request.accountId(), authenticatedUserEmail);
+            sample.currency(account.getCurrencyCode());
+
+            this.validateInternetPaymentAccount(account, request.amount());
+            this.debitAccount(account, request.amount());
 
-        return this.paymentRepository.save(payment);
+            final InternetPayment payment = this.buildInternetPayment(request, account);
+            payment.setTransaction(this.createTransaction(
+                    account,
+                    null,
+                    request.amount(),
+                    TransactionType.INTERNET_PAYMENT,
+                    "Оплата інтернету (провайдер: " + request.providerName() + ")"
+            ));
+
+            return this.savePayment(payment);
+        }));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processMobilePayment(final MobilePaymentRequestDTO request, final String authenticatedUserEmail) {
-        final Account account = this.getValidOwnedAccount(request.getAccountId(), authenticatedUserEmail);
-
-        this.validateMobilePaymentAccount(account, request.getAmount());
-        this.debitAccount(account, request.getAmount());
-
-        final MobilePayment payment = this.buildMobilePayment(request, account);
-        payment.setTransaction(this.createTransaction(
-                account,
-                null,
-                request.getAmount(),
-                TransactionType.PAYMENT,
-                "Поповнення мобільного: " + request.getPhoneNumber()
-        ));
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_MOBILE, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_MOBILE, status -> {
+            final Account account = this.getValidOwnedAccount(request.getAccountId(), authenticatedUserEmail);
+            sample.currency(account.getCurrencyCode());
+
+            this.validateMobilePaymentAccount(account, request.getAmount());
+            this.debitAccount(account, request.getAmount());
+
+            final MobilePayment payment = this.buildMobilePayment(request, account);
+            payment.setTransaction(this.createTransaction(
+                    account,
+                    null,
+                    request.getAmount(),
+                    TransactionType.PAYMENT,
+                    "Поповнення мобільного: " + request.getPhoneNumber()
+            ));
 
-        return this.paymentRepository.save(payment);
+            return this.savePayment(payment);
+        }));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processTaxPayment(final TaxPaymentRequestDTO request, final String authenticatedUserEmail) {
-        final Account account = this.getValidOwnedAccount(request.getAccountId(), authenticatedUserEmail);
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_TAX, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_TAX, status -> {
+            final Account account = this.getValidOwnedAccount(request.getAccountId(), authenticatedUserEmail);
+            sample.currency(account.getCurrencyCode());
 
-        if(account.getAccountType() != AccountType.FOP){
-            throw new IllegalArgumentException("Оплата податків з рахунку не ФОП не дозволена");
-        }
+            if(account.getAccountType() != AccountType.FOP){
+                throw new IllegalArgumentException("Оплата податків з рахунку не ФОП не дозволена");
+            }
 
-        this.validateSufficientFunds(account, request.getAmount());
-        this.debitAccount(account, request.getAmount());
+            this.validateSufficientFunds(account, request.getAmount());
+            this.debitAccount(account, request.getAmount());
 
-        final TaxPayment payment = this.buildTaxPayment(request, account);
-        payment.setTransaction(this.createTransaction(
-                account,
-                null,
-                request.getAmount(),
-                TransactionType.PAYMENT,
-                "Оплата податків: " + request.getTaxType() + ", " + request.getPeriod()
-        ));
+            final TaxPayment payment = this.buildTaxPayment(request, account);
+            payment.setTransaction(this.createTransaction(
+                    account,
+                    null,
+                    request.getAmount(),
+                    TransactionType.PAYMENT,
+                    "Оплата податків: " + request.getTaxType() + ", " + request.getPeriod()
+            ));
 
-        return this.paymentRepository.save(payment);
+            return this.savePayment(payment);
+        }));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processElectronicsPayment(final String email, final ElectronicsPaymentRequestDTO dto) {
-        final Account account = this.getValidOwnedAccount(dto.getAccountId(), email);
-        this.validateElectronicsCurrency(account.getCurrencyCode());
-
-        final BigDecimal calculatedTotal = this.calculateCartTotal(dto.getItems());
-        if (calculatedTotal.compareTo(dto.getTotalAmount()) != 0) {
-            throw new IllegalArgumentException("Невірна сума кошика");
-        }
-        if (account.getCurrencyCode() != Currency.UAH || account.getAccountType() != AccountType.FOP) {
-            throw new IllegalArgumentException("Оплата електроніки можлива лише з гривневого рахунку або фоп");
-        }
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_ELECTRONICS, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_ELECTRONICS, status -> {
+            final Account account = this.getValidOwnedAccount(dto.getAccountId(), email);
+            sample.currency(account.getCurrencyCode());
+            this.validateElectronicsCurrency(account.getCurrencyCode());
+
+            final BigDecimal calculatedTotal = this.calculateCartTotal(dto.getItems());
+            if (calculatedTotal.compareTo(dto.getTotalAmount()) != 0) {
+                throw new IllegalArgumentException("Невірна сума кошика");
+            }
+            if (account.getCurrencyCode() != Currency.UAH || account.getAccountType() != AccountType.FOP) {
+                throw new IllegalArgumentException("Оплата електроніки можлива лише з гривневого рахунку або фоп");
+            }
 
-        this.validateSufficientFunds(account, dto.getTotalAmount());
-        this.debitAccount(account, dto.getTotalAmount());
+            this.validateSufficientFunds(account, dto.getTotalAmount());
+            this.debitAccount(account, dto.getTotalAmount());
 
-        final ElectronicsPayment payment = this.buildElectronicsPayment(dto, account);
-        payment.setTransaction(this.createTransaction(
-                account,
-                null,
-                dto.getTotalAmount(),
-                TransactionType.PAYMENT,
-                payment.getPurpose()
-        ));
+            final ElectronicsPayment payment = this.buildElectronicsPayment(dto, account);
+            payment.setTransaction(this.createTransaction(
+                    account,
+                    null,
+                    dto.getTotalAmount(),
+                    TransactionType.PAYMENT,
+                    payment.getPurpose()
+            ));
 
-        return this.paymentRepository.save(payment);
+            return this.savePayment(payment);
+        }));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processTrainPayment(final String email, final TrainPaymentRequestDTO dto) {
-        this.validateTrainDepartureDate(dto.getDepartureDate());
-        final Account account = this.getValidOwnedAccount(dto.getAccountId(), email);
-        this.validateTrainCurrency(account.getCurrencyCode());
-        this.validateSufficientFunds(account, dto.getAmount());
-        this.debitAccount(account, dto.getAmount());
-
-        final TrainPayment payment = this.buildTrainPayment(dto, account);
-        payment.setTransaction(this.createTransaction(
-                account,
-                null,
-                dto.getAmount(),
-                TransactionType.PAYMENT,
-                payment.getPurpose()
-        ));
-
-        return this.paymentRepository.save(payment);
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_TRAIN, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_TRAIN, status -> {
+            this.validateTrainDepartureDate(dto.getDepartureDate());
+            final Account account = this.getValidOwnedAccount(dto.getAccountId(), email);
+            sample.currency(account.getCurrencyCode());
+            this.validateTrainCurrency(account.getCurrencyCode());
+            this.validateSufficientFunds(account, dto.getAmount());
+            this.debitAccount(account, dto.getAmount());
+
+            final TrainPayment payment = this.buildTrainPayment(dto, account);
+            payment.setTransaction(this.createTransaction(
+                    account,
+                    null,
+                    dto.getAmount(),
+                    TransactionType.PAYMENT,
+                    payment.getPurpose()
+            ));
+
+            return this.savePayment(payment);
+        }));
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Payment processCommunalPayment(final String email, final CommunalPaymentRequestDTO dto) {
-        final Account account = this.getValidOwnedAccount(dto.getAccountId(), email);
-        final BigDecimal deductionAmount = this.convertUahAmountToAccountCurrency(dto.getAmount(), account.getCurrencyCode());
-
-        this.validateSufficientFunds(account, deductionAmount);
-        this.debitAccount(account, deductionAmount);
-
-        final UtilityPayment payment = this.buildUtilityPayment(dto, account);
-        payment.setTransaction(this.createTransaction(
-                account,
-                null,
-                deductionAmount,
-                TransactionType.UTILITY_PAYMENT,
-                payment.getPurpose()
-        ));
+        return this.moneyMovementMetrics.recordPayment(PAYMENT_TYPE_COMMUNAL, sample -> this.lockConflictRetry.inTransaction(PAYMENT_TYPE_COMMUNAL, status -> {
+            final Account account = this.getValidOwnedAccount(dto.getAccountId(), email);
+            sample.currency(account.getCurrencyCode());
+            final BigDecimal deductionAmount = this.convertUahAmountToAccountCurrency(dto.getAmount(), account.getCurrencyCode());
 
-        return this.paymentRepository.save(payment);
+            this.validateSufficientFunds(account, deductionAmount);
+            this.debitAccount(account, deductionAmount);
+
+            final UtilityPayment payment = this.buildUtilityPayment(dto, account);
+            payment.setTransaction(this.createTransaction(
+                    account,
+                    null,
+                    deductionAmount,
+                    TransactionType.UTILITY_PAYMENT,
+                    payment.getPurpose()
+            ));
+
+            return this.savePayment(payment);
+        }));
     }
 
     private void validateIbanPaymentAccount(final Account senderAccount, final BigDecimal amount) {
@@ -276,24 +302,31 @@ public class PaymentServiceImpl implements PaymentService {
                         format(ERRORS_EXCHANGE_RATE_NOT_FOUND, senderAccount.getCurrencyCode().name())
                 ));
 
-        return currencyLoader.convert(originalAmount, senderAccount.getCurrencyCode().name(), recipientAccount.getCurrencyCode().name());
+        return currencyLoader.convertForOperation(originalAmount, senderAccount.getCurrencyCode(), recipientAccount.getCurrencyCode());
     }
 
     private BigDecimal convertUahAmountToAccountCurrency(final BigDecimal uahAmount, final Currency accountCurrency) {
         if (Currency.UAH.equals(accountCurrency)) {
             return uahAmount;
         }
-        return this.currencyLoader.convert(uahAmount, Currency.UAH.name(), accountCurrency.name());
+        return this.currencyLoader.convertForOperation(uahAmount, Currency.UAH, accountCurrency);
     }
 
+    /**
+     * Debits the account in one conditional statement. The account is read without a lock, so the statement
+     * checks funds and status again against the current row.
+     */
     private void debitAccount(final Account account, final BigDecimal amount) {
-        account.setBalance(account.getBalance().subtract(amount));
-        this.accountRepository.save(account);
+        if (!this.accountBalanceStatements.debit(account.getAccountId(), amount)) {
+            this.rejectDebit(account);
+        }
     }
 
-    private void creditAccount(final Account account, final BigDecimal amount) {
-        account.setBalance(account.getBalance().add(amount));
-        this.accountRepository.save(account);
+    private void rejectDebit(final Account account) {
+        if (!ACTIVE.equals(account.getStatus())) {
+            throw new AccountNotActiveException(ERRORS_ACCOUNT_NOT_ACTIVE);
+        }
+        throw new InsufficientFundsException(ERRORS_INSUFFICIENT_FUNDS);
     }
 
     private IbanPayment buildIbanPayment(final IbanPaymentRequestDTO request, final Account senderAccount) {
@@ -445,12 +478,22 @@ public class PaymentServiceImpl implements PaymentService {
                 .toAccount(recipientAccount)
                 .build();
 
-        return this.transactionRepository.save(transaction);
+        final Transaction savedTransaction = this.transactionRepository.save(transaction);
+        this.analyticsRollupService.recordTransaction(savedTransaction);
+
+        return savedTransaction;
+    }
+
+    private Payment savePayment(final Payment payment) {
+        final Payment savedPayment = this.paymentRepository.save(payment);
+        this.analyticsRollupService.recordPayment(savedPayment);
+
+        return savedPayment;
     }
 
     private Account getValidOwnedAccount(final Long accountId, final String authenticatedUserEmail) {
         final Integer id = this.convertAccountId(accountId);
-        final Account account = this.accountRepository.findByIdForUpdate(id)
+        final Account account = this.accountRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException(ERRORS_ACCOUNT_NOT_FOUND));
 
         if (account.getCustomer() == null
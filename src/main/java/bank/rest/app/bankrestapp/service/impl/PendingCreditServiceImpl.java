@@ -0,0 +1,85 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import bank.rest.app.bankrestapp.resository.PendingCreditRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
+import bank.rest.app.bankrestapp.service.PendingCreditService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.HOT_ACCOUNT_FOLD_ACCOUNTS_PER_RUN;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.HOT_ACCOUNT_FOLD_CREDITS_PER_ACCOUNT;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.HOT_ACCOUNT_FOLD_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_FOUND;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_LOOKUP_ACCOUNT_ID;
+import static java.time.LocalDateTime.now;
+
+@Service
+@AllArgsConstructor
+public class PendingCreditServiceImpl implements PendingCreditService {
+
+    private final PendingCreditRepository pendingCreditRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final MoneyMovementMetrics moneyMovementMetrics;
+
+    @Override
+    public PendingCredit appendCredit(final Account account, final BigDecimal amount, final Transaction transaction) {
+        final PendingCredit pendingCredit = PendingCredit.builder()
+                .account(account)
+                .amount(amount)
+                .transaction(transaction)
+                .createdAt(now())
+                .build();
+
+        return this.pendingCreditRepository.save(pendingCredit);
+    }
+
+    @Override
+    @Scheduled(fixedDelay = HOT_ACCOUNT_FOLD_INTERVAL_MILLIS)
+    public int foldPendingCredits() {
+        final List<Integer> accountIds = this.pendingCreditRepository.findAccountIdsWithPendingCredits(
+                PageRequest.of(0, HOT_ACCOUNT_FOLD_ACCOUNTS_PER_RUN)
+        );
+
+        int folded = 0;
+        for (final Integer accountId : accountIds) {
+            final Integer foldedForAccount = this.transactionTemplate.execute(status -> this.foldAccount(accountId));
+            folded += foldedForAccount == null ? 0 : foldedForAccount;
+        }
+
+        return folded;
+    }
+
+    private int foldAccount(final Integer accountId) {
+        final Account account = this.moneyMovementMetrics
+                .recordLock(LOCK_LOOKUP_ACCOUNT_ID, () -> this.accountRepository.findByIdForUpdate(accountId))
+                .orElseThrow(() -> new NoSuchElementException(ERRORS_ACCOUNT_NOT_FOUND));
+        final List<PendingCredit> credits = this.pendingCreditRepository.findAllByAccountId(
+                accountId,
+                PageRequest.of(0, HOT_ACCOUNT_FOLD_CREDITS_PER_ACCOUNT)
+        );
+
+        final BigDecimal total = credits.stream()
+                .map(PendingCredit::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        account.setBalance(account.getBalance().add(total));
+        this.analyticsRollupService.recordIncomingCredits(account, credits);
+        this.pendingCreditRepository.deleteAllInBatch(credits);
+
+        return credits.size();
+    }
+}
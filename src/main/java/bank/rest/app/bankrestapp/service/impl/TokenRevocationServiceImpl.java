@@ -0,0 +1,130 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.entity.RevokedToken;
+import bank.rest.app.bankrestapp.resository.RevokedTokenRepository;
+import bank.rest.app.bankrestapp.security.RevocationBloomFilter;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.REVOCATION_BLOOM_FILTER_BITS;
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.REVOCATION_BLOOM_FILTER_HASHES;
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.REVOCATION_PURGE_INTERVAL_MILLIS;
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.REVOCATION_SYNC_INTERVAL_MILLIS;
+import static java.time.LocalDateTime.now;
+
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    /**
+     * Exact set of revoked ids mapped to the expiration of their tokens.
+     */
+    private final Map<String, LocalDateTime> revokedTokens = new ConcurrentHashMap<>();
+    private volatile RevocationBloomFilter bloomFilter = newBloomFilter();
+    private volatile LocalDateTime lastSync = LocalDateTime.MIN;
+
+    @PostConstruct
+    public void init() {
+        final LocalDateTime startedAt = now();
+        this.revokedTokenRepository.findAllByExpiresAtAfter(startedAt).forEach(this::remember);
+        this.lastSync = startedAt;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void revoke(final String jti, final LocalDateTime expiresAt) {
+        // Rejected in memory right away: a rollback can only leave the token revoked on this instance.
+        this.remember(jti, expiresAt);
+
+        if (!this.revokedTokenRepository.existsByJti(jti)) {
+            this.revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(expiresAt)
+                    .revokedAt(now())
+                    .build());
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void revokeCurrentToken() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getCredentials() instanceof final Claims claims
+                && claims.getId() != null) {
+            this.revoke(claims.getId(), LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+        }
+    }
+
+    @Override
+    public boolean isRevoked(final String jti) {
+        return jti != null
+                && this.bloomFilter.mightContain(jti)
+                && this.revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * Picks up revocations made by other instances. Each read overlaps the previous one by a sync interval
+     * so that a revocation committed after a later one is not missed; re-adding an id is harmless.
+     */
+    @Scheduled(fixedRate = REVOCATION_SYNC_INTERVAL_MILLIS)
+    public void syncRevocations() {
+        final LocalDateTime syncStartedAt = now();
+        final LocalDateTime since = this.lastSync.equals(LocalDateTime.MIN)
+                ? this.lastSync
+                : this.lastSync.minusNanos(REVOCATION_SYNC_INTERVAL_MILLIS * 1_000_000);
+
+        this.revokedTokenRepository.findAllByRevokedAtAfter(since).forEach(this::remember);
+        this.lastSync = syncStartedAt;
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired anyway and rebuilds the Bloom filter without them.
+     *
+     * @return number of ids dropped from memory
+     */
+    @Scheduled(fixedRate = REVOCATION_PURGE_INTERVAL_MILLIS)
+    public int purgeExpiredRevocations() {
+        final LocalDateTime cutoff = now();
+        this.revokedTokenRepository.deleteAllExpiredBefore(cutoff);
+
+        final int sizeBefore = this.revokedTokens.size();
+        this.revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(cutoff));
+
+        final RevocationBloomFilter rebuilt = newBloomFilter();
+        this.revokedTokens.keySet().forEach(rebuilt::add);
+        this.bloomFilter = rebuilt;
+        // an id revoked while rebuilding may have been added to the old filter only
+        this.revokedTokens.keySet().forEach(rebuilt::add);
+
+        return sizeBefore - this.revokedTokens.size();
+    }
+
+    private void remember(final RevokedToken revokedToken) {
+        this.remember(revokedToken.getJti(), revokedToken.getExpiresAt());
+    }
+
+    private void remember(final String jti, final LocalDateTime expiresAt) {
+        this.revokedTokens.put(jti, expiresAt);
+        this.bloomFilter.add(jti);
+    }
+
+    private static RevocationBloomFilter newBloomFilter() {
+        return new RevocationBloomFilter(REVOCATION_BLOOM_FILTER_BITS, REVOCATION_BLOOM_FILTER_HASHES);
+    }
+}
@@ -1,6 +1,9 @@
 package bank.rest.app.bankrestapp.service.impl;
 
 import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.dto.projection.AccountLockRoute;
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
 import bank.rest.app.bankrestapp.entity.Account;
 import bank.rest.app.bankrestapp.entity.Customer;
 import bank.rest.app.bankrestapp.entity.Transaction;
@@ -8,24 +11,45 @@ import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
 import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
 import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
+import bank.rest.app.bankrestapp.locking.AccountBalanceStatements;
+import bank.rest.app.bankrestapp.locking.LockConflictRetry;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
 import bank.rest.app.bankrestapp.resository.AccountRepository;
 import bank.rest.app.bankrestapp.resository.TransactionRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
 import bank.rest.app.bankrestapp.service.EmailService;
+import bank.rest.app.bankrestapp.service.PendingCreditService;
 import bank.rest.app.bankrestapp.service.TransactionService;
+import bank.rest.app.bankrestapp.transfer.HistoryCursor;
+import bank.rest.app.bankrestapp.transfer.TransactionHistorySlice;
+import bank.rest.app.bankrestapp.transfer.TransferOutcome;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_ACTIVE;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_FOUND_BY_CARD;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INSUFFICIENT_FUNDS_SENDER;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_LOOKUP_ACCOUNT_ID;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.OPERATION_TRANSFER;
 import static bank.rest.app.bankrestapp.entity.enums.AccountStatus.ACTIVE;
 import static bank.rest.app.bankrestapp.entity.enums.TransactionStatus.CANCELLED;
 import static bank.rest.app.bankrestapp.entity.enums.TransactionStatus.COMPLETED;
@@ -37,32 +61,119 @@ import static java.time.LocalDateTime.now;
 @AllArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final Comparator<TransactionHistoryRow> HISTORY_ORDER = Comparator
+            .comparing(TransactionHistoryRow::transactionDate, Comparator.reverseOrder())
+            .thenComparing(TransactionHistoryRow::transactionId, Comparator.reverseOrder());
+
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final CurrencyLoader currencyLoader;
     private final EmailService emailService;
+    private final PendingCreditService pendingCreditService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final MoneyMovementMetrics moneyMovementMetrics;
+    private final LockConflictRetry lockConflictRetry;
+    private final AccountBalanceStatements accountBalanceStatements;
 
     @Override
-    @Transactional(
-            rollbackFor = Exception.class,
-            noRollbackFor = {AccountNotActiveException.class, InsufficientFundsException.class}
-    )
     public Transaction withdraw(final String senderCardNumber,
                                 final String recipientCardNumber,
                                 final BigDecimal amount,
                                 final String description) {
-        final LockedAccounts lockedAccounts = this.lockAccountsForTransfer(senderCardNumber, recipientCardNumber);
-        final Account senderAccount = lockedAccounts.senderAccount();
-        final Account recipientAccount = lockedAccounts.recipientAccount();
+        return this.moneyMovementMetrics.recordTransfer(sample -> this.lockConflictRetry.inTransaction(
+                OPERATION_TRANSFER,
+                List.of(AccountNotActiveException.class, InsufficientFundsException.class),
+                status -> {
+                    final Optional<Account> hotRecipientAccount = this.findHotRecipientAccount(senderCardNumber, recipientCardNumber);
+                    final Account senderAccount = this.getAccountByCardNumber(senderCardNumber);
+                    sample.currency(senderAccount.getCurrencyCode());
+                    if (hotRecipientAccount.isPresent()) {
+                        return this.withdrawToHotAccount(senderAccount, hotRecipientAccount.get(), amount, description);
+                    }
+
+                    final Account recipientAccount = this.getAccountByCardNumber(recipientCardNumber);
+                    return this.executeTransfer(senderAccount, recipientAccount, amount, description, false);
+                }
+        ));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<TransferOutcome> withdrawBatch(final List<CreateTransaction> transfers) {
+        final Map<String, Account> lockedAccounts = this.lockAccountsInIdOrder(transfers);
+
+        final List<TransferOutcome> outcomes = new ArrayList<>(transfers.size());
+        for (final CreateTransaction transfer : transfers) {
+            outcomes.add(this.executeBatchedTransfer(transfer, lockedAccounts));
+        }
 
+        return outcomes;
+    }
+
+    /**
+     * Applies one transfer of a batch against accounts that are already locked. Business rejections are
+     * recorded as failed outcomes so that the remaining transfers of the batch still commit.
+     */
+    private TransferOutcome executeBatchedTransfer(final CreateTransaction transfer,
+                                                   final Map<String, Account> lockedAccounts) {
+        final Account senderAccount = lockedAccounts.get(transfer.senderCardNumber());
+        final Account recipientAccount = lockedAccounts.get(transfer.recipientCardNumber());
+        if (senderAccount == null || recipientAccount == null) {
+            return TransferOutcome.failed(ERRORS_ACCOUNT_NOT_FOUND_BY_CARD);
+        }
+
+        try {
+            return TransferOutcome.completed(this.executeTransfer(
+                    senderAccount,
+                    recipientAccount,
+                    transfer.amount(),
+                    transfer.description(),
+                    true
+            ));
+        } catch (final AccountNotActiveException | InsufficientFundsException
+                       | NoSuchElementException | IllegalArgumentException e) {
+            return TransferOutcome.failed(e.getMessage());
+        }
+    }
+
+    private Transaction executeTransfer(final Account senderAccount,
+                                        final Account recipientAccount,
+                                        final BigDecimal amount,
+                                        final String description,
+                                        final boolean rowsLocked) {
         this.validateActiveSenderAccount(senderAccount, recipientAccount, amount, description);
         this.validateVerifiedSender(senderAccount.getCustomer());
         this.validateSufficientFunds(senderAccount, recipientAccount, amount, description);
 
         final BigDecimal amountToReceive = this.resolveRecipientAmount(senderAccount, recipientAccount, amount);
-        this.transferBalances(senderAccount, recipientAccount, amount, amountToReceive);
+        this.transferBalances(senderAccount, recipientAccount, amount, amountToReceive, description, rowsLocked);
+
+        final Transaction transaction = this.createTransaction(senderAccount, recipientAccount, amount, description, COMPLETED);
+        this.analyticsRollupService.recordTransaction(transaction);
 
-        return this.createTransaction(senderAccount, recipientAccount, amount, description, COMPLETED);
+        return transaction;
+    }
+
+    /**
+     * Transfers funds to a hot account. Only the sender row is debited; the credit is appended to
+     * the pending-credit journal and applied to the recipient balance by the background aggregator.
+     */
+    private Transaction withdrawToHotAccount(final Account senderAccount,
+                                             final Account recipientAccount,
+                                             final BigDecimal amount,
+                                             final String description) {
+        this.validateActiveSenderAccount(senderAccount, recipientAccount, amount, description);
+        this.validateVerifiedSender(senderAccount.getCustomer());
+        this.validateSufficientFunds(senderAccount, recipientAccount, amount, description);
+
+        final BigDecimal amountToReceive = this.resolveRecipientAmount(senderAccount, recipientAccount, amount);
+        this.debitSender(senderAccount, recipientAccount, amount, description);
+
+        final Transaction transaction = this.createTransaction(senderAccount, recipientAccount, amount, description, COMPLETED);
+        this.analyticsRollupService.recordOutgoingTransaction(transaction);
+        this.pendingCreditService.appendCredit(recipientAccount, amountToReceive, transaction);
+
+        return transaction;
     }
 
     @Override
@@ -72,6 +183,56 @@ public class TransactionServiceImpl implements TransactionService {
         return this.transactionRepository.findAllTransactions(accountAccountNumber, List.of(CANCELLED, FAILED), pageable);
     }
 
+    @Override
+    public TransactionHistorySlice getTransactionHistory(final Account account, final HistoryCursor cursor, final int size) {
+        final Pageable pageable = PageRequest.of(0, size + 1);
+        final List<TransactionStatus> hiddenIncomingStatuses = List.of(CANCELLED, FAILED);
+
+        final List<TransactionHistoryRow> outgoing = cursor == null
+                ? this.transactionRepository.findOutgoingHistory(account.getAccountId(), pageable)
+                : this.transactionRepository.findOutgoingHistoryBefore(
+                        account.getAccountId(), cursor.transactionDate(), cursor.transactionId(), pageable);
+        final List<TransactionHistoryRow> incoming = cursor == null
+                ? this.transactionRepository.findIncomingHistory(account.getAccountId(), hiddenIncomingStatuses, pageable)
+                : this.transactionRepository.findIncomingHistoryBefore(
+                        account.getAccountId(), hiddenIncomingStatuses, cursor.transactionDate(), cursor.transactionId(), pageable);
+
+        final List<TransactionHistoryRow> merged = this.mergeNewestFirst(outgoing, incoming, size + 1);
+        if (merged.size() <= size) {
+            return new TransactionHistorySlice(merged, null);
+        }
+
+        final List<TransactionHistoryRow> page = merged.subList(0, size);
+        return new TransactionHistorySlice(List.copyOf(page), HistoryCursor.after(page.getLast()));
+    }
+
+    /**
+     * Merges two lists sorted by {@code (transactionDate DESC, transactionId DESC)}. A transfer between
+     * two cards of the same account appears in both lists and is kept once.
+     */
+    private List<TransactionHistoryRow> mergeNewestFirst(final List<TransactionHistoryRow> outgoing,
+                                               final List<TransactionHistoryRow> incoming,
+                                               final int limit) {
+        final List<TransactionHistoryRow> merged = new ArrayList<>(limit);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < outgoing.size() || j < incoming.size())) {
+            final TransactionHistoryRow next;
+            if (j >= incoming.size()
+                    || (i < outgoing.size() && HISTORY_ORDER.compare(outgoing.get(i), incoming.get(j)) <= 0)) {
+                next = outgoing.get(i++);
+            } else {
+                next = incoming.get(j++);
+            }
+
+            if (merged.isEmpty() || !Objects.equals(merged.getLast().transactionId(), next.transactionId())) {
+                merged.add(next);
+            }
+        }
+
+        return merged;
+    }
+
     private void validateActiveSenderAccount(final Account senderAccount,
                                              final Account recipientAccount,
                                              final BigDecimal amount,
@@ -106,38 +267,99 @@ public class TransactionServiceImpl implements TransactionService {
             return amount;
         }
 
-        return this.currencyLoader.convert(amount, senderCurrency.name(), recipientCurrency.name());
+        return this.currencyLoader.convertForOperation(amount, senderCurrency, recipientCurrency);
     }
 
+    /**
+     * Debits the sender and credits the recipient, taking the two row locks in ascending account id order
+     * unless the caller already holds both; see {@link AccountBalanceStatements} for how the recipient lock
+     * is taken.
+     */
     private void transferBalances(final Account senderAccount,
                                   final Account recipientAccount,
                                   final BigDecimal amount,
-                                  final BigDecimal amountToReceive) {
-        senderAccount.setBalance(senderAccount.getBalance().subtract(amount));
-        recipientAccount.setBalance(recipientAccount.getBalance().add(amountToReceive));
+                                  final BigDecimal amountToReceive,
+                                  final String description,
+                                  final boolean rowsLocked) {
+        if (rowsLocked) {
+            this.debitSender(senderAccount, recipientAccount, amount, description);
+            this.accountBalanceStatements.credit(recipientAccount.getAccountId(), amountToReceive);
+            return;
+        }
+
+        if (!this.accountBalanceStatements.transfer(
+                senderAccount.getAccountId(), amount, recipientAccount.getAccountId(), amountToReceive)) {
+            this.rejectDebit(senderAccount, recipientAccount, amount, description);
+        }
     }
 
-    private Account getAccountByCardNumberForUpdate(final String card) {
-        return this.accountRepository.findByCard_CardNumberForUpdate(card)
-                .orElseThrow(() -> new NoSuchElementException(ERRORS_ACCOUNT_NOT_FOUND_BY_CARD));
+    /**
+     * Debits the sender in one conditional statement. The sender is not read for update, so the statement
+     * checks funds and status again against the current row.
+     */
+    private void debitSender(final Account senderAccount,
+                             final Account recipientAccount,
+                             final BigDecimal amount,
+                             final String description) {
+        if (!this.accountBalanceStatements.debit(senderAccount.getAccountId(), amount)) {
+            this.rejectDebit(senderAccount, recipientAccount, amount, description);
+        }
     }
 
-    private LockedAccounts lockAccountsForTransfer(final String senderCardNumber, final String recipientCardNumber) {
+    /**
+     * Records a debit the sender row no longer allowed as failed, like insufficient funds found by the validation.
+     */
+    private void rejectDebit(final Account senderAccount,
+                             final Account recipientAccount,
+                             final BigDecimal amount,
+                             final String description) {
+        this.createTransaction(senderAccount, recipientAccount, amount, description, FAILED);
+        throw new InsufficientFundsException(ERRORS_INSUFFICIENT_FUNDS_SENDER);
+    }
+
+    private Optional<Account> findHotRecipientAccount(final String senderCardNumber, final String recipientCardNumber) {
         if (senderCardNumber.equals(recipientCardNumber)) {
-            final Account account = this.getAccountByCardNumberForUpdate(senderCardNumber);
-            return new LockedAccounts(account, account);
+            return Optional.empty();
+        }
+
+        return this.accountRepository.findHotAccountByCardNumber(recipientCardNumber);
+    }
+
+    private Account getAccountByCardNumber(final String card) {
+        return this.accountRepository.findByCard_CardNumber(card)
+                .orElseThrow(() -> new NoSuchElementException(ERRORS_ACCOUNT_NOT_FOUND_BY_CARD));
+    }
+
+    private Optional<Account> lockAccountById(final Integer accountId) {
+        return this.moneyMovementMetrics.recordLock(
+                LOCK_LOOKUP_ACCOUNT_ID,
+                () -> this.accountRepository.findByIdForUpdate(accountId)
+        );
+    }
+
+    /**
+     * Locks every account referenced by the batch exactly once, in ascending account id order, so that
+     * concurrent batches and single transfers acquire row locks in the same global order. The account ids
+     * are resolved from a projection, so every account is loaded by its locking read. Cards without an
+     * account are left out of the result.
+     */
+    private Map<String, Account> lockAccountsInIdOrder(final List<CreateTransaction> transfers) {
+        final Set<String> cardNumbers = new HashSet<>();
+        for (final CreateTransaction transfer : transfers) {
+            cardNumbers.add(transfer.senderCardNumber());
+            cardNumbers.add(transfer.recipientCardNumber());
         }
 
-        if (senderCardNumber.compareTo(recipientCardNumber) < 0) {
-            return new LockedAccounts(
-                    this.getAccountByCardNumberForUpdate(senderCardNumber),
-                    this.getAccountByCardNumberForUpdate(recipientCardNumber)
-            );
+        final SortedMap<Integer, List<String>> cardNumbersByAccountId = new TreeMap<>();
+        for (final AccountLockRoute route : this.accountRepository.findLockRoutesByCardNumbers(cardNumbers)) {
+            cardNumbersByAccountId.computeIfAbsent(route.accountId(), id -> new ArrayList<>()).add(route.cardNumber());
         }
 
-        final Account recipientAccount = this.getAccountByCardNumberForUpdate(recipientCardNumber);
-        final Account senderAccount = this.getAccountByCardNumberForUpdate(senderCardNumber);
-        return new LockedAccounts(senderAccount, recipientAccount);
+        final Map<String, Account> lockedAccounts = new HashMap<>();
+        cardNumbersByAccountId.forEach((accountId, accountCardNumbers) -> this.lockAccountById(accountId)
+                .ifPresent(account -> accountCardNumbers.forEach(cardNumber -> lockedAccounts.put(cardNumber, account))));
+
+        return lockedAccounts;
     }
 
     private @NotNull Transaction createTransaction(final @NotNull Account senderAccount,
@@ -163,7 +385,4 @@ public class TransactionServiceImpl implements TransactionService {
 
         return this.transactionRepository.save(transaction);
     }
-
-    private record LockedAccounts(Account senderAccount, Account recipientAccount) {
-    }
 }
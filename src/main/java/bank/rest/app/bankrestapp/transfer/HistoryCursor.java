@@ -0,0 +1,52 @@
+package bank.rest.app.bankrestapp.transfer;
+
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INVALID_HISTORY_CURSOR;
+
+/**
+ * Position in the transaction history ordered by {@code (transactionDate DESC, transactionId DESC)}.
+ * The next page starts strictly after this position. Clients receive it as an opaque URL-safe token.
+ *
+ * @param transactionDate date of the last transaction on the previous page
+ * @param transactionId id of the last transaction on the previous page
+ */
+public record HistoryCursor(LocalDateTime transactionDate, Integer transactionId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static HistoryCursor after(final TransactionHistoryRow row) {
+        return new HistoryCursor(row.transactionDate(), row.transactionId());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token opaque continuation token
+     * @return decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static HistoryCursor decode(final String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.lastIndexOf(SEPARATOR);
+
+            return new HistoryCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Integer.valueOf(value.substring(separator + 1))
+            );
+        } catch (final IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(ERRORS_INVALID_HISTORY_CURSOR);
+        }
+    }
+
+    public String encode() {
+        final String value = this.transactionDate + SEPARATOR + this.transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
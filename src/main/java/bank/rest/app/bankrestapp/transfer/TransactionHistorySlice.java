@@ -0,0 +1,14 @@
+package bank.rest.app.bankrestapp.transfer;
+
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
+
+import java.util.List;
+
+/**
+ * One page of keyset-paginated transaction history.
+ *
+ * @param transactions transactions of the page, newest first
+ * @param nextCursor position to continue from, {@code null} on the last page
+ */
+public record TransactionHistorySlice(List<TransactionHistoryRow> transactions, HistoryCursor nextCursor) {
+}
@@ -0,0 +1,24 @@
+package bank.rest.app.bankrestapp.transfer;
+
+import bank.rest.app.bankrestapp.entity.Transaction;
+
+/**
+ * Result of a single transfer inside a batch: either the committed transaction or the reason it was rejected.
+ *
+ * @param transaction completed transaction, {@code null} if the transfer was rejected
+ * @param errorMessage rejection reason, {@code null} if the transfer was completed
+ */
+public record TransferOutcome(Transaction transaction, String errorMessage) {
+
+    public static TransferOutcome completed(final Transaction transaction) {
+        return new TransferOutcome(transaction, null);
+    }
+
+    public static TransferOutcome failed(final String errorMessage) {
+        return new TransferOutcome(null, errorMessage);
+    }
+
+    public boolean isCompleted() {
+        return this.transaction != null;
+    }
+}
@@ -0,0 +1,63 @@
+package bank.rest.app.bankrestapp.transfer;
+
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus.COMPLETED;
+import static bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus.FAILED;
+import static bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus.PENDING;
+import static java.time.LocalDateTime.now;
+
+/**
+ * Handle for a transfer submitted to the asynchronous queue. It is created in {@link TransferTicketStatus#PENDING}
+ * state and is completed exactly once by the worker that processed the transfer.
+ */
+@Getter
+public final class TransferTicket {
+
+    private final UUID ticketId;
+    private final String ownerEmail;
+    private final CreateTransaction transfer;
+    private final LocalDateTime createdAt;
+
+    private volatile TransferTicketStatus status;
+    private volatile Transaction transaction;
+    private volatile String errorMessage;
+    private volatile LocalDateTime completedAt;
+
+    public TransferTicket(final String ownerEmail, final CreateTransaction transfer) {
+        this.ticketId = UUID.randomUUID();
+        this.ownerEmail = ownerEmail;
+        this.transfer = transfer;
+        this.createdAt = now();
+        this.status = PENDING;
+    }
+
+    public void complete(final TransferOutcome outcome) {
+        if (outcome.isCompleted()) {
+            this.transaction = outcome.transaction();
+            this.finish(COMPLETED);
+        } else {
+            this.fail(outcome.errorMessage());
+        }
+    }
+
+    public void fail(final String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finish(FAILED);
+    }
+
+    public boolean isFinished() {
+        return this.status != PENDING;
+    }
+
+    private void finish(final TransferTicketStatus status) {
+        this.completedAt = now();
+        this.status = status;
+    }
+}
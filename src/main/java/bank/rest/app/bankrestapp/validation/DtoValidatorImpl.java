@@ -1,6 +1,5 @@
 package bank.rest.app.bankrestapp.validation;
 
-import bank.rest.app.bankrestapp.dto.CreateAccountDTO;
 import bank.rest.app.bankrestapp.entity.annotation.AccountStatus;
 import bank.rest.app.bankrestapp.entity.annotation.AccountType;
 import bank.rest.app.bankrestapp.entity.annotation.Currency;
@@ -11,14 +10,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.Validator;
 
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
 import java.util.stream.Collectors;
 
-import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_FIELD_ACCESS_FAILED;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_VALIDATION_FAILED_PREFIX;
-import static java.lang.String.format;
-import static java.util.Arrays.stream;
 
 /**
  * Implementation of the {@link DtoValidator} interface that provides validation functionality
@@ -125,52 +119,20 @@ public final class DtoValidatorImpl implements DtoValidator {
      * and {@link CurrencyAmount}. This method performs the following:
      * <ol>
      *   <li>Validates the DTO using the Spring validator</li>
-     *   <li>Checks fields annotated with {@link Currency} or {@link CurrencyAmount}</li>
+     *   <li>Checks fields annotated with {@link Currency}, {@link CurrencyAmount},
+     *       {@link AccountType} or {@link AccountStatus}</li>
      *   <li>Validates currency codes and amounts according to custom rules</li>
      * </ol>
      *
+     * <p>The annotated fields of each DTO class are resolved once into a cached {@link ValidationPlan},
+     * so repeated validations do not scan fields or annotations reflectively.</p>
+     *
      * @param dto    the object to validate, must not be null
      * @param result the binding result containing validation errors, if any
      */
     private void validateAndValidateCustomAnnotation(final Object dto, final BindingResult result) {
         validator.validate(dto, result);
-        final Field[] fields = dto.getClass().getDeclaredFields();
-        stream(fields)
-                .filter(field -> field.isAnnotationPresent(Currency.class)
-                        || field.isAnnotationPresent(CurrencyAmount.class)
-                        || field.isAnnotationPresent(AccountStatus.class)
-                        || field.isAnnotationPresent(AccountType.class))
-                .forEach(field -> {
-                    field.setAccessible(true);
-                    try {
-                        if (field.isAnnotationPresent(CurrencyAmount.class)) {
-                            final BigDecimal amount = (BigDecimal) field.get(dto);
-                            if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
-                                result.rejectValue(field.getName(), "amount.invalid", "неправильна сума");
-                            }
-                        } else if (field.isAnnotationPresent(Currency.class)) {
-                            final String value = (String) field.get(dto);
-                            if (isFopAccountRequest(dto)) {
-                                return;
-                            }
-                            if (value == null || !(value.equals("UAH") || value.equals("USD") || value.equals("EUR"))) {
-                                result.rejectValue(field.getName(), "currency.invalid", "неправильний код валют");
-                            }
-                        } else if (field.isAnnotationPresent(AccountType.class)) {
-                            final String value = (String) field.get(dto);
-                            if (value == null || !(value.equals("CURRENT") || value.equals("FOP"))) {
-                                result.rejectValue(field.getName(), "account.type.invalid", "неправильний тип рахунку");
-                            }
-                        } else if (field.isAnnotationPresent(AccountStatus.class)) {
-                            final String value = (String) field.get(dto);
-                            if (value == null || !(value.equals("ACTIVE") || value.equals("BLOCKED"))) {
-                                result.rejectValue(field.getName(), "account.status.invalid", "неправильний статус рахунку");
-                            }
-                        }
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(format(ERRORS_FIELD_ACCESS_FAILED, field.getName()), e);
-                    }
-                });
+        ValidationPlan.of(dto.getClass()).apply(dto, result);
 
         if (result.hasErrors()) {
             final String message = result.getAllErrors().stream()
@@ -180,9 +142,4 @@ public final class DtoValidatorImpl implements DtoValidator {
             throw new IllegalArgumentException(message);
         }
     }
-
-    private boolean isFopAccountRequest(final Object dto) {
-        return dto instanceof CreateAccountDTO createAccountDTO
-                && "FOP".equals(createAccountDTO.accountType());
-    }
 }
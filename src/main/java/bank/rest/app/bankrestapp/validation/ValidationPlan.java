@@ -0,0 +1,192 @@
+package bank.rest.app.bankrestapp.validation;
+
+import bank.rest.app.bankrestapp.dto.CreateAccountDTO;
+import bank.rest.app.bankrestapp.entity.annotation.AccountStatus;
+import bank.rest.app.bankrestapp.entity.annotation.AccountType;
+import bank.rest.app.bankrestapp.entity.annotation.Currency;
+import bank.rest.app.bankrestapp.entity.annotation.CurrencyAmount;
+import org.springframework.validation.BindingResult;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_FIELD_ACCESS_FAILED;
+import static java.lang.String.format;
+
+/**
+ * Precomputed custom-annotation checks for one DTO class.
+ *
+ * <p>The declared fields of a class are scanned once, on first use, for {@link CurrencyAmount},
+ * {@link Currency}, {@link AccountType} and {@link AccountStatus}. Each annotated field becomes a
+ * {@link FieldCheck} holding a {@link MethodHandle} to its record accessor (or to the field itself for
+ * plain classes), so validating an instance afterwards performs no reflection lookups at all. Plans are
+ * cached per class in a {@link ClassValue} and therefore live exactly as long as the class does.</p>
+ *
+ * <p>A field carrying several of the annotations is checked by the first of them in the order above,
+ * matching the behaviour of the original reflective loop.</p>
+ */
+final class ValidationPlan {
+
+    private static final ClassValue<ValidationPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ValidationPlan computeValue(final Class<?> type) {
+            return build(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Set<String> CURRENCY_CODES = Set.of("UAH", "USD", "EUR");
+    private static final Set<String> ACCOUNT_TYPES = Set.of("CURRENT", "FOP");
+    private static final Set<String> ACCOUNT_STATUSES = Set.of("ACTIVE", "BLOCKED");
+
+    private final List<FieldCheck> checks;
+
+    private ValidationPlan(final List<FieldCheck> checks) {
+        this.checks = checks;
+    }
+
+    /**
+     * Returns the cached plan for the given DTO class, building it on first access.
+     *
+     * @param type the DTO class
+     * @return the plan for {@code type}
+     */
+    static ValidationPlan of(final Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Runs every precomputed check against the given DTO, rejecting invalid fields in {@code result}.
+     *
+     * @param dto    the instance to check; must be of the class this plan was built for
+     * @param result the binding result receiving field errors
+     */
+    void apply(final Object dto, final BindingResult result) {
+        for (final FieldCheck check : this.checks) {
+            check.apply(dto, result);
+        }
+    }
+
+    /**
+     * @return the number of annotated fields this plan checks
+     */
+    int size() {
+        return this.checks.size();
+    }
+
+    private static ValidationPlan build(final Class<?> type) {
+        final List<FieldCheck> checks = new ArrayList<>();
+        for (final Field field : type.getDeclaredFields()) {
+            final Rule rule = Rule.of(field);
+            if (rule != null) {
+                checks.add(new FieldCheck(field.getName(), getter(type, field), rule));
+            }
+        }
+        return new ValidationPlan(List.copyOf(checks));
+    }
+
+    private static MethodHandle getter(final Class<?> type, final Field field) {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            if (type.isRecord()) {
+                for (final RecordComponent component : type.getRecordComponents()) {
+                    if (component.getName().equals(field.getName())) {
+                        final Method accessor = component.getAccessor();
+                        accessor.setAccessible(true);
+                        return lookup.unreflect(accessor).asType(GETTER_TYPE);
+                    }
+                }
+            }
+            field.setAccessible(true);
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new RuntimeException(format(ERRORS_FIELD_ACCESS_FAILED, field.getName()), e);
+        }
+    }
+
+    private static boolean isOneOf(final Object value, final Set<String> allowed) {
+        return value != null && allowed.contains((String) value);
+    }
+
+    private static boolean isFopAccountRequest(final Object dto) {
+        return dto instanceof CreateAccountDTO createAccountDTO
+                && "FOP".equals(createAccountDTO.accountType());
+    }
+
+    /**
+     * A single annotated field: its name, a getter handle typed {@code (Object)Object} and the rule to apply.
+     */
+    private record FieldCheck(String name, MethodHandle getter, Rule rule) {
+
+        void apply(final Object dto, final BindingResult result) {
+            final Object value;
+            try {
+                value = this.getter.invokeExact(dto);
+            } catch (Throwable e) {
+                throw new RuntimeException(format(ERRORS_FIELD_ACCESS_FAILED, this.name), e);
+            }
+            this.rule.check(this.name, value, dto, result);
+        }
+    }
+
+    /**
+     * The custom checks, declared in the precedence the annotations are resolved in.
+     */
+    private enum Rule {
+
+        CURRENCY_AMOUNT {
+            @Override
+            void check(final String field, final Object value, final Object dto, final BindingResult result) {
+                final BigDecimal amount = (BigDecimal) value;
+                if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                    result.rejectValue(field, "amount.invalid", "неправильна сума");
+                }
+            }
+        },
+        CURRENCY {
+            @Override
+            void check(final String field, final Object value, final Object dto, final BindingResult result) {
+                if (isFopAccountRequest(dto)) {
+                    return;
+                }
+                if (!isOneOf(value, CURRENCY_CODES)) {
+                    result.rejectValue(field, "currency.invalid", "неправильний код валют");
+                }
+            }
+        },
+        ACCOUNT_TYPE {
+            @Override
+            void check(final String field, final Object value, final Object dto, final BindingResult result) {
+                if (!isOneOf(value, ACCOUNT_TYPES)) {
+                    result.rejectValue(field, "account.type.invalid", "неправильний тип рахунку");
+                }
+            }
+        },
+        ACCOUNT_STATUS {
+            @Override
+            void check(final String field, final Object value, final Object dto, final BindingResult result) {
+                if (!isOneOf(value, ACCOUNT_STATUSES)) {
+                    result.rejectValue(field, "account.status.invalid", "неправильний статус рахунку");
+                }
+            }
+        };
+
+        abstract void check(String field, Object value, Object dto, BindingResult result);
+
+        static Rule of(final Field field) {
+            if (field.isAnnotationPresent(CurrencyAmount.class)) return CURRENCY_AMOUNT;
+            if (field.isAnnotationPresent(Currency.class)) return CURRENCY;
+            if (field.isAnnotationPresent(AccountType.class)) return ACCOUNT_TYPE;
+            if (field.isAnnotationPresent(AccountStatus.class)) return ACCOUNT_STATUS;
+            return null;
+        }
+    }
+}
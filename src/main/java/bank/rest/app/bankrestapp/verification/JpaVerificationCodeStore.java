@@ -0,0 +1,65 @@
+package bank.rest.app.bankrestapp.verification;
+
+import bank.rest.app.bankrestapp.entity.EmailVerificationCodes;
+import bank.rest.app.bankrestapp.resository.EmailVerificationCodeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+
+/**
+ * Keeps codes in the {@code email_verification_codes} table, shared by all instances. Used unless
+ * {@code verification.codes.store} selects another implementation.
+ */
+@Component
+@ConditionalOnProperty(name = "verification.codes.store", havingValue = "jpa", matchIfMissing = true)
+public final class JpaVerificationCodeStore implements VerificationCodeStore {
+
+    private final EmailVerificationCodeRepository codeRepo;
+    private final Clock clock;
+
+    @Autowired
+    public JpaVerificationCodeStore(final EmailVerificationCodeRepository codeRepo) {
+        this(codeRepo, Clock.systemDefaultZone());
+    }
+
+    JpaVerificationCodeStore(final EmailVerificationCodeRepository codeRepo, final Clock clock) {
+        this.codeRepo = codeRepo;
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(final String email, final String code, final LocalDateTime createdAt) {
+        this.codeRepo.deleteByEmail(email);
+
+        final EmailVerificationCodes entity = new EmailVerificationCodes();
+        entity.setEmail(email);
+        entity.setCode(code);
+        entity.setCreatedAt(createdAt);
+        entity.setVerified(false);
+
+        this.codeRepo.save(entity);
+    }
+
+    @Override
+    public Optional<VerificationCode> find(final String email) {
+        return this.codeRepo.findByEmail(email)
+                .map(entity -> new VerificationCode(
+                        entity.getEmail(), entity.getCode(), entity.getCreatedAt(), entity.isVerified()));
+    }
+
+    @Override
+    public void remove(final String email) {
+        this.codeRepo.deleteByEmail(email);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return this.codeRepo.deleteAllCreatedBefore(LocalDateTime.now(this.clock).minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES));
+    }
+}
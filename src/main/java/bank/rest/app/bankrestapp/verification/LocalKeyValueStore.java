@@ -0,0 +1,67 @@
+package bank.rest.app.bankrestapp.verification;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for the subset of Redis string commands used by
+ * {@link LocalRedisVerificationCodeStore}: {@code SET key value PX ttl}, {@code GET} and {@code DEL}.
+ * Like Redis, an expired key is dropped lazily when it is accessed; {@link #sweepExpired()} plays the
+ * part of Redis' active expiration.
+ */
+final class LocalKeyValueStore {
+
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    LocalKeyValueStore(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /** {@code SET key value PX ttlMillis} */
+    void set(final String key, final String value, final long ttlMillis) {
+        this.values.put(key, new Value(value, this.clock.millis() + ttlMillis));
+    }
+
+    /** {@code GET key} */
+    Optional<String> get(final String key) {
+        final Value value = this.values.get(key);
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (value.expiresAt() <= this.clock.millis()) {
+            this.values.remove(key, value);
+            return Optional.empty();
+        }
+        return Optional.of(value.value());
+    }
+
+    /** {@code DEL key} */
+    boolean del(final String key) {
+        return this.values.remove(key) != null;
+    }
+
+    /**
+     * Removes every expired key.
+     *
+     * @return number of removed keys
+     */
+    int sweepExpired() {
+        final long now = this.clock.millis();
+        int removed = 0;
+        final Iterator<Value> iterator = this.values.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt() <= now) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private record Value(String value, long expiresAt) {
+    }
+}
@@ -0,0 +1,90 @@
+package bank.rest.app.bankrestapp.verification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_KEY_PREFIX;
+
+/**
+ * Keeps codes the way a Redis deployment would: one string key per email address, written with a
+ * time-to-live so the store expires it, against the in-process {@link LocalKeyValueStore}. Moving to a
+ * real Redis server means issuing the same {@code SET PX}, {@code GET} and {@code DEL} commands through
+ * a client. Enabled with {@code verification.codes.store=local-redis}.
+ */
+@Component
+@ConditionalOnProperty(name = "verification.codes.store", havingValue = "local-redis")
+public final class LocalRedisVerificationCodeStore implements VerificationCodeStore {
+
+    private static final char FIELD_SEPARATOR = '|';
+
+    private final LocalKeyValueStore keyValueStore;
+    private final Clock clock;
+
+    @Autowired
+    public LocalRedisVerificationCodeStore() {
+        this(Clock.systemDefaultZone());
+    }
+
+    LocalRedisVerificationCodeStore(final Clock clock) {
+        this.keyValueStore = new LocalKeyValueStore(clock);
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(final String email, final String code, final LocalDateTime createdAt) {
+        final Instant issuedAt = createdAt.atZone(this.clock.getZone()).toInstant();
+        final long ttlMillis = Duration.between(this.clock.instant(), issuedAt)
+                .plusMinutes(EMAIL_CODE_EXPIRATION_MINUTES)
+                .toMillis();
+        if (ttlMillis <= 0) {
+            this.keyValueStore.del(key(email));
+            return;
+        }
+
+        final String value = code + FIELD_SEPARATOR + issuedAt.toEpochMilli() + FIELD_SEPARATOR + false;
+        this.keyValueStore.set(key(email), value, ttlMillis);
+    }
+
+    @Override
+    public Optional<VerificationCode> find(final String email) {
+        return this.keyValueStore.get(key(email)).map(value -> this.decode(email, value));
+    }
+
+    @Override
+    public void remove(final String email) {
+        this.keyValueStore.del(key(email));
+    }
+
+    @Override
+    public int purgeExpired() {
+        return this.keyValueStore.sweepExpired();
+    }
+
+    private VerificationCode decode(final String email, final String value) {
+        final int codeEnd = value.indexOf(FIELD_SEPARATOR);
+        final int createdAtEnd = value.indexOf(FIELD_SEPARATOR, codeEnd + 1);
+        final LocalDateTime createdAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(value, codeEnd + 1, createdAtEnd, 10)),
+                this.clock.getZone()
+        );
+
+        return new VerificationCode(
+                email,
+                value.substring(0, codeEnd),
+                createdAt,
+                Boolean.parseBoolean(value.substring(createdAtEnd + 1))
+        );
+    }
+
+    private static String key(final String email) {
+        return EMAIL_CODE_KEY_PREFIX + email;
+    }
+}
@@ -0,0 +1,148 @@
+package bank.rest.app.bankrestapp.verification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_WHEEL_SLOTS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_WHEEL_TICK_MILLIS;
+
+/**
+ * Keeps codes in process memory and expires them with a hashed timer wheel: every code is filed in
+ * the slot of the tick in which it expires, and each tick only visits that slot instead of scanning
+ * all codes. Reads also check the deadline, so a code is never served after it expired even if its
+ * tick has not been processed yet. Enabled with {@code verification.codes.store=memory}.
+ */
+@Component
+@ConditionalOnProperty(name = "verification.codes.store", havingValue = "memory")
+public final class TimerWheelVerificationCodeStore implements VerificationCodeStore {
+
+    private static final long EXPIRATION_MILLIS = EMAIL_CODE_EXPIRATION_MINUTES * 60_000L;
+
+    private final Map<String, Entry> codes = new ConcurrentHashMap<>();
+    private final Set<String>[] slots;
+    private final Clock clock;
+
+    /**
+     * Last tick whose slot has been processed. Written only under the wheel lock.
+     */
+    private volatile long processedTick;
+
+    @Autowired
+    public TimerWheelVerificationCodeStore() {
+        this(Clock.systemDefaultZone());
+    }
+
+    @SuppressWarnings("unchecked")
+    TimerWheelVerificationCodeStore(final Clock clock) {
+        this.clock = clock;
+        this.slots = new Set[EMAIL_CODE_WHEEL_SLOTS];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.processedTick = tickOf(clock.millis());
+    }
+
+    @Override
+    public void put(final String email, final String code, final LocalDateTime createdAt) {
+        final long deadline = createdAt.atZone(this.clock.getZone()).toInstant().toEpochMilli() + EXPIRATION_MILLIS;
+        this.codes.put(email, new Entry(new VerificationCode(email, code, createdAt, false), deadline));
+        // A deadline in an already processed tick goes to the next one.
+        this.slotOf(Math.max(tickOf(deadline), this.processedTick + 1)).add(email);
+    }
+
+    @Override
+    public Optional<VerificationCode> find(final String email) {
+        final Entry entry = this.codes.get(email);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.deadline() <= this.clock.millis()) {
+            this.codes.remove(email, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.code());
+    }
+
+    @Override
+    public void remove(final String email) {
+        // The slot keeps the key until its tick, which then finds no entry and drops it.
+        this.codes.remove(email);
+    }
+
+    @Override
+    public int purgeExpired() {
+        return this.advance();
+    }
+
+    /**
+     * Processes every tick elapsed since the previous call.
+     *
+     * @return number of codes expired by this call
+     */
+    @Scheduled(fixedRate = EMAIL_CODE_WHEEL_TICK_MILLIS)
+    public synchronized int advance() {
+        final long now = this.clock.millis();
+        final long targetTick = tickOf(now);
+        // After a full rotation every slot has been visited once; further ticks would repeat them.
+        final long firstTick = Math.max(this.processedTick + 1, targetTick - EMAIL_CODE_WHEEL_SLOTS + 1);
+
+        int expired = 0;
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            expired += this.expireSlot(this.slotOf(tick), now);
+        }
+        this.processedTick = Math.max(this.processedTick, targetTick);
+
+        return expired;
+    }
+
+    /**
+     * @return number of codes currently held, including expired ones whose tick has not been processed yet
+     */
+    public int size() {
+        return this.codes.size();
+    }
+
+    private int expireSlot(final Set<String> slot, final long now) {
+        int expired = 0;
+        final Iterator<String> keys = slot.iterator();
+        while (keys.hasNext()) {
+            final String email = keys.next();
+            final Entry entry = this.codes.get(email);
+            if (entry == null) {
+                keys.remove();
+            } else if (entry.deadline() <= now) {
+                keys.remove();
+                if (this.codes.remove(email, entry)) {
+                    expired++;
+                }
+            } else if (this.slotOf(tickOf(entry.deadline())) != slot) {
+                // The code was replaced and filed under another tick.
+                keys.remove();
+            }
+            // Otherwise the deadline lies in a later rotation of this slot.
+        }
+        return expired;
+    }
+
+    private Set<String> slotOf(final long tick) {
+        return this.slots[(int) Math.floorMod(tick, (long) this.slots.length)];
+    }
+
+    private static long tickOf(final long epochMillis) {
+        return Math.floorDiv(epochMillis, EMAIL_CODE_WHEEL_TICK_MILLIS);
+    }
+
+    private record Entry(VerificationCode code, long deadline) {
+    }
+}
@@ -0,0 +1,14 @@
+package bank.rest.app.bankrestapp.verification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Verification code issued to an email address.
+ *
+ * @param email address the code was sent to
+ * @param code code the user has to submit
+ * @param createdAt when the code was issued
+ * @param verified whether the code has already been confirmed
+ */
+public record VerificationCode(String email, String code, LocalDateTime createdAt, boolean verified) {
+}
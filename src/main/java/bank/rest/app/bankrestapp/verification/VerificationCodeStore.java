@@ -0,0 +1,43 @@
+package bank.rest.app.bankrestapp.verification;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Storage of the short-lived verification codes, at most one per email address. The active
+ * implementation is selected with the {@code verification.codes.store} property: {@code jpa}
+ * (default), {@code memory} or {@code local-redis}. The in-process stores keep codes per instance,
+ * so they fit single-instance deployments and tests.
+ */
+public interface VerificationCodeStore {
+
+    /**
+     * Stores a code for an email address, replacing any code issued to it before.
+     *
+     * @param email recipient address
+     * @param code generated code
+     * @param createdAt when the code was issued
+     */
+    void put(String email, String code, LocalDateTime createdAt);
+
+    /**
+     * @param email recipient address
+     * @return current code of the address, empty if there is none or it has expired from the store
+     */
+    Optional<VerificationCode> find(String email);
+
+    /**
+     * Removes the code of an email address, if any.
+     *
+     * @param email recipient address
+     */
+    void remove(String email);
+
+    /**
+     * Removes codes issued more than {@code EMAIL_CODE_EXPIRATION_MINUTES} ago. Stores that also expire
+     * codes on their own report only what this call removed.
+     *
+     * @return number of removed codes
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,11 @@
+-- Офіційні курси НБУ за датами для конвертації операцій за курсом на дату операції
+CREATE TABLE exchange_rate (
+                               exchange_rate_id INTEGER PRIMARY KEY,
+                               currency_code VARCHAR(3) NOT NULL,
+                               rate_date DATE NOT NULL,
+                               rate NUMERIC(19, 6) NOT NULL,
+                               CONSTRAINT uk_exchange_rate_currency_date UNIQUE (currency_code, rate_date)
+);
+
+CREATE SEQUENCE IF NOT EXISTS exchange_rate_seq START WITH 1;
+ALTER SEQUENCE exchange_rate_seq INCREMENT BY 50;
@@ -0,0 +1,22 @@
+-- Щомісячні підсумки операцій рахунку для аналітики (оновлюються інкрементально)
+CREATE TABLE monthly_account_summary (
+                                         monthly_account_summary_id INTEGER PRIMARY KEY,
+                                         account_id INTEGER NOT NULL,
+                                         period_start DATE NOT NULL,
+                                         total_incoming DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_outgoing DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         transaction_count BIGINT NOT NULL DEFAULT 0,
+                                         total_iban_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_mobile_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_internet_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_card_to_card_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_tax_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_electronics_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         total_utility_expenses DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                                         updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                         CONSTRAINT fk_monthly_account_summary_account FOREIGN KEY (account_id) REFERENCES account (account_id),
+                                         CONSTRAINT uk_monthly_account_summary_account_period UNIQUE (account_id, period_start)
+);
+
+CREATE SEQUENCE IF NOT EXISTS monthly_account_summary_seq START WITH 1;
+ALTER SEQUENCE monthly_account_summary_seq INCREMENT BY 50;
@@ -0,0 +1,6 @@
+-- Індекси для keyset-пагінації історії: пошук за рахунком і (transaction_date, transaction_id) у зворотному порядку
+CREATE INDEX IF NOT EXISTS idx_transaction_from_account_date
+    ON transaction (from_account_id, transaction_date DESC, transaction_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_to_account_date
+    ON transaction (to_account_id, transaction_date DESC, transaction_id DESC);
@@ -0,0 +1,14 @@
+-- Відкликані JWT (за jti) до закінчення їхнього терміну дії
+CREATE TABLE revoked_token (
+                               id INTEGER PRIMARY KEY,
+                               jti VARCHAR(64) NOT NULL,
+                               expires_at TIMESTAMP NOT NULL,
+                               revoked_at TIMESTAMP NOT NULL,
+                               CONSTRAINT uk_revoked_token_jti UNIQUE (jti)
+);
+
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_token (revoked_at);
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
+
+CREATE SEQUENCE IF NOT EXISTS revoked_token_seq START WITH 1;
+ALTER SEQUENCE revoked_token_seq INCREMENT BY 50;
@@ -0,0 +1,20 @@
+-- Черга вихідних листів, що записуються в транзакції запиту та надсилаються фоновим диспетчером
+CREATE TABLE email_outbox (
+                              id INTEGER PRIMARY KEY,
+                              recipient VARCHAR(255) NOT NULL,
+                              subject VARCHAR(255) NOT NULL,
+                              text_body TEXT,
+                              html_body TEXT,
+                              status VARCHAR(20) NOT NULL,
+                              attempts INTEGER NOT NULL DEFAULT 0,
+                              next_attempt_at TIMESTAMP NOT NULL,
+                              last_error VARCHAR(500),
+                              created_at TIMESTAMP NOT NULL,
+                              sent_at TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
+CREATE INDEX idx_email_outbox_sent_at ON email_outbox (sent_at);
+
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1;
+ALTER SEQUENCE email_outbox_seq INCREMENT BY 50;
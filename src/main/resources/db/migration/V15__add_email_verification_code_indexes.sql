@@ -0,0 +1,6 @@
+-- Індекси для пошуку кодів підтвердження за email і пакетного видалення прострочених кодів за created_at
+CREATE INDEX IF NOT EXISTS idx_email_verification_codes_email
+    ON email_verification_codes (email);
+
+CREATE INDEX IF NOT EXISTS idx_email_verification_codes_created_at
+    ON email_verification_codes (created_at);
@@ -0,0 +1,9 @@
+-- Послідовності для блокового виділення номерів рахунків, ЄДРПОУ та номерів карток
+CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 1;
+ALTER SEQUENCE account_number_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS edrpou_seq START WITH 1;
+ALTER SEQUENCE edrpou_seq INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS card_number_seq START WITH 1;
+ALTER SEQUENCE card_number_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Версія рядка рахунку для оптимістичного блокування
+ALTER TABLE account
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Момент останньої зміни пароля: токени, видані раніше, більше не приймаються
+ALTER TABLE auth_user
+    ADD COLUMN password_changed_at TIMESTAMP;
@@ -0,0 +1,7 @@
+-- Оренда резервації ключа: після неї незавершений запит вважається перерваним
+ALTER TABLE idempotency_key
+    ADD COLUMN reserved_until TIMESTAMP;
+
+UPDATE idempotency_key
+SET reserved_until = created_at
+WHERE response_status IS NULL;
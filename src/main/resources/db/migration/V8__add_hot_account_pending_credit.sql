@@ -0,0 +1,19 @@
+-- Рахунки з великим потоком зарахувань (мерчанти, зарплатні проєкти)
+ALTER TABLE account
+    ADD COLUMN hot_account BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Журнал відкладених зарахувань для hot-рахунків
+CREATE TABLE pending_credit (
+                                pending_credit_id INTEGER PRIMARY KEY,
+                                account_id INTEGER NOT NULL,
+                                transaction_id INTEGER,
+                                amount DECIMAL(19, 2) NOT NULL,
+                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                CONSTRAINT fk_pending_credit_account FOREIGN KEY (account_id) REFERENCES account (account_id),
+                                CONSTRAINT fk_pending_credit_transaction FOREIGN KEY (transaction_id) REFERENCES transaction (transaction_id)
+);
+
+CREATE INDEX idx_pending_credit_account ON pending_credit (account_id, pending_credit_id);
+
+CREATE SEQUENCE IF NOT EXISTS pending_credit_seq START WITH 1;
+ALTER SEQUENCE pending_credit_seq INCREMENT BY 50;
@@ -0,0 +1,18 @@
+-- Ключі ідемпотентності для повторних запитів переказів і платежів
+CREATE TABLE idempotency_key (
+                                 id INTEGER PRIMARY KEY,
+                                 idempotency_key VARCHAR(100) NOT NULL,
+                                 owner_email VARCHAR(255) NOT NULL,
+                                 operation VARCHAR(255) NOT NULL,
+                                 request_hash VARCHAR(64),
+                                 response_status INTEGER,
+                                 response_content_type VARCHAR(255),
+                                 response_body TEXT,
+                                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                 CONSTRAINT uk_idempotency_key_owner UNIQUE (owner_email, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key (created_at);
+
+CREATE SEQUENCE IF NOT EXISTS idempotency_key_seq START WITH 1;
+ALTER SEQUENCE idempotency_key_seq INCREMENT BY 50;
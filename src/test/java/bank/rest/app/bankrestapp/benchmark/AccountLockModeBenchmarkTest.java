@@ -0,0 +1,177 @@
+package bank.rest.app.bankrestapp.benchmark;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.AuthUSer;
+import bank.rest.app.bankrestapp.entity.Card;
+import bank.rest.app.bankrestapp.entity.Customer;
+import bank.rest.app.bankrestapp.entity.enums.AccountType;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.locking.AccountLockMode;
+import bank.rest.app.bankrestapp.locking.AccountLockingPolicy;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import bank.rest.app.bankrestapp.resository.CustomerRepository;
+import bank.rest.app.bankrestapp.service.EmailService;
+import bank.rest.app.bankrestapp.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static bank.rest.app.bankrestapp.entity.enums.AccountStatus.ACTIVE;
+import static java.time.LocalDateTime.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Load benchmark for card-to-card transfers with pessimistic, optimistic and adaptive locking of recipients
+ * that come before the sender in lock order, under a uniform workload and under a workload skewed towards
+ * a few recipients.
+ *
+ * <p>Every run uses accounts of its own, so the contention observed by one run does not steer the
+ * adaptive policy of the next. A transfer that exhausts its lock conflict retries is counted as failed.</p>
+ *
+ * <p>Runs only on demand: {@code mvn test -Dtest=AccountLockModeBenchmarkTest -Dbenchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lock-mode-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000",
+        "spring.jpa.show-sql=false"
+})
+class AccountLockModeBenchmarkTest {
+
+    private static final int ACCOUNTS = 64;
+    private static final int HOT_RECIPIENTS = 2;
+    private static final double SKEWED_SHARE = 0.9;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 200;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(1_000_000);
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockitoSpyBean
+    private AccountLockingPolicy accountLockingPolicy;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void transfersUnderEachLockMode() throws Exception {
+        for (final boolean skewed : new boolean[]{false, true}) {
+            for (final String mode : new String[]{"pessimistic", "optimistic", "adaptive"}) {
+                switch (mode) {
+                    case "pessimistic" -> doReturn(AccountLockMode.PESSIMISTIC).when(this.accountLockingPolicy).modeFor(any());
+                    case "optimistic" -> doReturn(AccountLockMode.OPTIMISTIC).when(this.accountLockingPolicy).modeFor(any());
+                    default -> doCallRealMethod().when(this.accountLockingPolicy).modeFor(any());
+                }
+                final Result result = this.runTransfers(skewed);
+                System.out.printf("%s workload, %s locking, %d threads: %.0f transfers/s, %d failed%n",
+                        skewed ? "Skewed" : "Uniform", mode, THREADS, result.throughput(), result.failed());
+            }
+        }
+    }
+
+    private Result runTransfers(final boolean skewed) throws Exception {
+        final int run = this.runs.incrementAndGet();
+        final List<String> cards = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            final String cardNumber = String.format("%d%015d", run, i);
+            this.createAccount("run" + run + "-" + i + "@bench.local", String.format("+38%d%08d", run, i), cardNumber);
+            cards.add(cardNumber);
+        }
+
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final long start = System.nanoTime();
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        final int recipient = skewed && random.nextDouble() < SKEWED_SHARE
+                                ? random.nextInt(HOT_RECIPIENTS)
+                                : random.nextInt(ACCOUNTS);
+                        final int sender = (recipient + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                        try {
+                            this.transactionService.withdraw(cards.get(sender), cards.get(recipient), BigDecimal.ONE, "benchmark");
+                            completed.incrementAndGet();
+                        } catch (ConcurrencyFailureException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (final String card : cards) {
+            total = total.add(this.accountRepository.findByCard_CardNumber(card).orElseThrow().getBalance());
+        }
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, completed.get() + failed.get());
+
+        return new Result(completed.get() / seconds, failed.get());
+    }
+
+    private void createAccount(final String email, final String phone, final String cardNumber) {
+        final AuthUSer authUser = AuthUSer.builder().email(email).passwordHash("benchmark").createdAt(now()).build();
+        final Card card = Card.builder().cardNumber(cardNumber).cvv("000").expiryDate(now().plusYears(1)).createdAt(now()).build();
+        final Account account = Account.builder()
+                .accountNumber("UA" + cardNumber)
+                .balance(INITIAL_BALANCE)
+                .accountType(AccountType.CURRENT)
+                .currencyCode(Currency.UAH)
+                .status(ACTIVE)
+                .createdAt(now())
+                .card(card)
+                .sentTransactions(new ArrayList<>())
+                .receivedTransactions(new ArrayList<>())
+                .build();
+        final Customer customer = Customer.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .phone(phone)
+                .authUser(authUser)
+                .createdAt(now())
+                .accounts(List.of(account))
+                .build();
+
+        card.setAccount(account);
+        account.setCustomer(customer);
+        authUser.setCustomer(customer);
+        this.customerRepository.save(customer);
+    }
+
+    private record Result(double throughput, int failed) {
+    }
+}
@@ -0,0 +1,138 @@
+package bank.rest.app.bankrestapp.benchmark;
+
+import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.currency.ExchangeRateHistory;
+import bank.rest.app.bankrestapp.currency.RateProvider;
+import bank.rest.app.bankrestapp.currency.RateSnapshot;
+import bank.rest.app.bankrestapp.currency.RateSnapshotStore;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Micro-benchmark of {@link CurrencyLoader#convert(BigDecimal, Currency, Currency)} against the previous
+ * list-scanning implementation, which is reproduced below as the baseline.
+ *
+ * <p>Runs only on demand: {@code mvn test -Dtest=CurrencyConversionBenchmarkTest -Dbenchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CurrencyConversionBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int CONVERSIONS_PER_ROUND = 1_000_000;
+    private static final Currency[] CURRENCIES = {Currency.USD, Currency.EUR, Currency.UAH};
+
+    @Test
+    void compareListScanWithCrossRateSnapshot() {
+        final CurrencyLoader.CurrencyRate[] rates = {
+                new CurrencyLoader.CurrencyRate("USD", 41.7354),
+                new CurrencyLoader.CurrencyRate("EUR", 48.3012),
+                new CurrencyLoader.CurrencyRate("UAH", 1.0)
+        };
+        final RateProvider rateProvider = mock(RateProvider.class);
+        when(rateProvider.fetchRates()).thenReturn(new RateSnapshot(LocalDate.now(), List.of(rates)));
+        final CurrencyLoader currencyLoader = new CurrencyLoader(
+                rateProvider,
+                mock(RateSnapshotStore.class),
+                mock(ExchangeRateHistory.class),
+                new MoneyMovementMetrics(new SimpleMeterRegistry(), new AccountLockContention())
+        );
+        currencyLoader.updateRates();
+        final ListScanConverter baseline = new ListScanConverter(currencyLoader.getAllFilteredRates());
+
+        final BigDecimal[] amounts = new BigDecimal[1024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(1_000 + i * 37L, 2);
+        }
+
+        final Converter listScan = (amount, from, to) -> baseline.convert(amount, from.name(), to.name());
+        final Converter snapshot = currencyLoader::convert;
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(listScan, amounts);
+            run(snapshot, amounts);
+        }
+
+        long listScanNanos = 0;
+        long snapshotNanos = 0;
+        BigDecimal listScanChecksum = BigDecimal.ZERO;
+        BigDecimal snapshotChecksum = BigDecimal.ZERO;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            listScanChecksum = run(listScan, amounts);
+            listScanNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            snapshotChecksum = run(snapshot, amounts);
+            snapshotNanos += System.nanoTime() - start;
+        }
+
+        final long conversions = (long) MEASURED_ROUNDS * CONVERSIONS_PER_ROUND;
+        System.out.printf("list scan:          %.1f ns/conversion%n", (double) listScanNanos / conversions);
+        System.out.printf("cross-rate snapshot: %.1f ns/conversion%n", (double) snapshotNanos / conversions);
+
+        assertEquals(listScanChecksum, snapshotChecksum);
+    }
+
+    private static BigDecimal run(final Converter converter, final BigDecimal[] amounts) {
+        BigDecimal checksum = BigDecimal.ZERO;
+        for (int i = 0; i < CONVERSIONS_PER_ROUND; i++) {
+            final Currency from = CURRENCIES[i % CURRENCIES.length];
+            final Currency to = CURRENCIES[(i / CURRENCIES.length) % CURRENCIES.length];
+            final BigDecimal converted = converter.convert(amounts[i & (amounts.length - 1)], from, to);
+            if ((i & 1023) == 0) {
+                checksum = checksum.add(converted);
+            }
+        }
+        return checksum;
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        BigDecimal convert(BigDecimal amount, Currency from, Currency to);
+    }
+
+    /**
+     * Conversion as implemented before the cross-rate snapshot: two linear scans and two
+     * {@code BigDecimal.valueOf(double)} allocations per call.
+     */
+    private record ListScanConverter(List<CurrencyLoader.CurrencyRate> rates) {
+
+        private ListScanConverter(final List<CurrencyLoader.CurrencyRate> rates) {
+            this.rates = new ArrayList<>(rates);
+        }
+
+        BigDecimal convert(final BigDecimal amount, final String from, final String to) {
+            if (from.equalsIgnoreCase(to)) return amount;
+
+            final CurrencyLoader.CurrencyRate fromRate = getRate(from).orElseThrow();
+            final CurrencyLoader.CurrencyRate toRate = getRate(to).orElseThrow();
+
+            final BigDecimal fromToUah = amount.multiply(BigDecimal.valueOf(fromRate.getRate()));
+            final BigDecimal result = fromToUah.divide(BigDecimal.valueOf(toRate.getRate()), 4, RoundingMode.HALF_UP);
+
+            return result.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private Optional<CurrencyLoader.CurrencyRate> getRate(final String currencyCode) {
+            return this.rates.stream()
+                    .filter(rate -> rate.getCc().equalsIgnoreCase(currencyCode))
+                    .findFirst();
+        }
+    }
+}
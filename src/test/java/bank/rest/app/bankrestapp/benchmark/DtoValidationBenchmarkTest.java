@@ -0,0 +1,149 @@
+package bank.rest.app.bankrestapp.benchmark;
+
+import bank.rest.app.bankrestapp.dto.AccountStatusDTO;
+import bank.rest.app.bankrestapp.dto.CreateAccountDTO;
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.entity.annotation.AccountStatus;
+import bank.rest.app.bankrestapp.entity.annotation.AccountType;
+import bank.rest.app.bankrestapp.entity.annotation.Currency;
+import bank.rest.app.bankrestapp.entity.annotation.CurrencyAmount;
+import bank.rest.app.bankrestapp.validation.DtoValidatorImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+
+import static java.util.Arrays.stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Micro-benchmark of the custom-annotation pass of {@link DtoValidatorImpl} against the previous per-call
+ * reflective field scan, which is reproduced below as the baseline. Bean validation itself is replaced by a
+ * no-op {@link Validator} so that only the custom checks are measured.
+ *
+ * <p>Runs only on demand: {@code mvn test -Dtest=DtoValidationBenchmarkTest -Dbenchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DtoValidationBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int VALIDATIONS_PER_ROUND = 300_000;
+    private static final Validator NO_OP_VALIDATOR = new Validator() {
+        @Override
+        public boolean supports(final Class<?> clazz) {
+            return true;
+        }
+
+        @Override
+        public void validate(final Object target, final Errors errors) {
+        }
+    };
+
+    @Test
+    void compareReflectiveScanWithCachedPlan() {
+        final Object[] dtos = {
+                new CreateAccountDTO("CURRENT", "USD", "alice@example.com"),
+                new CreateAccountDTO("FOP", "UAH", "bob@example.com"),
+                new CreateTransaction("4000000000000002", "4000000000000010", BigDecimal.TEN, "Transfer"),
+                new AccountStatusDTO(1, "BLOCKED")
+        };
+        final DtoValidatorImpl dtoValidator = new DtoValidatorImpl(NO_OP_VALIDATOR);
+
+        final Validation reflectiveScan = ReflectiveScanValidator::validate;
+        final Validation cachedPlan = dtoValidator::validate;
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(reflectiveScan, dtos);
+            run(cachedPlan, dtos);
+        }
+
+        long reflectiveScanNanos = 0;
+        long cachedPlanNanos = 0;
+        int reflectiveScanChecksum = 0;
+        int cachedPlanChecksum = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            reflectiveScanChecksum = run(reflectiveScan, dtos);
+            reflectiveScanNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            cachedPlanChecksum = run(cachedPlan, dtos);
+            cachedPlanNanos += System.nanoTime() - start;
+        }
+
+        final long validations = (long) MEASURED_ROUNDS * VALIDATIONS_PER_ROUND;
+        System.out.printf("reflective scan: %.1f ns/validation%n", (double) reflectiveScanNanos / validations);
+        System.out.printf("cached plan:     %.1f ns/validation%n", (double) cachedPlanNanos / validations);
+
+        assertEquals(reflectiveScanChecksum, cachedPlanChecksum);
+    }
+
+    private static int run(final Validation validation, final Object[] dtos) {
+        int checksum = 0;
+        for (int i = 0; i < VALIDATIONS_PER_ROUND; i++) {
+            final Object dto = dtos[i % dtos.length];
+            final BindingResult result = new BeanPropertyBindingResult(dto, "dto");
+            validation.validate(dto, result);
+            checksum += result.getErrorCount();
+        }
+        return checksum;
+    }
+
+    @FunctionalInterface
+    private interface Validation {
+        void validate(Object dto, BindingResult result);
+    }
+
+    /**
+     * The custom-annotation pass as implemented before the cached validation plan: every call lists the
+     * declared fields, probes up to eight annotations per field and reads values through {@link Field#get}.
+     */
+    private static final class ReflectiveScanValidator {
+
+        static void validate(final Object dto, final BindingResult result) {
+            stream(dto.getClass().getDeclaredFields())
+                    .filter(field -> field.isAnnotationPresent(Currency.class)
+                            || field.isAnnotationPresent(CurrencyAmount.class)
+                            || field.isAnnotationPresent(AccountStatus.class)
+                            || field.isAnnotationPresent(AccountType.class))
+                    .forEach(field -> {
+                        field.setAccessible(true);
+                        try {
+                            if (field.isAnnotationPresent(CurrencyAmount.class)) {
+                                final BigDecimal amount = (BigDecimal) field.get(dto);
+                                if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                                    result.rejectValue(field.getName(), "amount.invalid", "неправильна сума");
+                                }
+                            } else if (field.isAnnotationPresent(Currency.class)) {
+                                final String value = (String) field.get(dto);
+                                if (dto instanceof CreateAccountDTO createAccountDTO
+                                        && "FOP".equals(createAccountDTO.accountType())) {
+                                    return;
+                                }
+                                if (value == null || !(value.equals("UAH") || value.equals("USD") || value.equals("EUR"))) {
+                                    result.rejectValue(field.getName(), "currency.invalid", "неправильний код валют");
+                                }
+                            } else if (field.isAnnotationPresent(AccountType.class)) {
+                                final String value = (String) field.get(dto);
+                                if (value == null || !(value.equals("CURRENT") || value.equals("FOP"))) {
+                                    result.rejectValue(field.getName(), "account.type.invalid", "неправильний тип рахунку");
+                                }
+                            } else if (field.isAnnotationPresent(AccountStatus.class)) {
+                                final String value = (String) field.get(dto);
+                                if (value == null || !(value.equals("ACTIVE") || value.equals("BLOCKED"))) {
+                                    result.rejectValue(field.getName(), "account.status.invalid", "неправильний статус рахунку");
+                                }
+                            }
+                        } catch (IllegalAccessException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package bank.rest.app.bankrestapp.benchmark;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.AuthUSer;
+import bank.rest.app.bankrestapp.entity.Card;
+import bank.rest.app.bankrestapp.entity.Customer;
+import bank.rest.app.bankrestapp.entity.enums.AccountType;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import bank.rest.app.bankrestapp.resository.CustomerRepository;
+import bank.rest.app.bankrestapp.service.EmailService;
+import bank.rest.app.bankrestapp.service.PendingCreditService;
+import bank.rest.app.bankrestapp.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static bank.rest.app.bankrestapp.entity.enums.AccountStatus.ACTIVE;
+import static java.time.LocalDateTime.now;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load benchmark for card-to-card transfers into a single recipient, with and without hot-account mode.
+ *
+ * <p>Runs only on demand: {@code mvn test -Dtest=HotAccountTransferBenchmarkTest -Dbenchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hot-account-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000",
+        "spring.jpa.show-sql=false"
+})
+class HotAccountTransferBenchmarkTest {
+
+    private static final int SENDERS = 16;
+    private static final int TRANSFERS_PER_SENDER = 200;
+    private static final String RECIPIENT_CARD = "9000000000000000";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PendingCreditService pendingCreditService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void transfersIntoSingleRecipient() throws Exception {
+        final List<String> senderCards = new ArrayList<>();
+        for (int i = 0; i < SENDERS; i++) {
+            final String cardNumber = String.format("1%015d", i);
+            this.createAccount("sender" + i + "@bench.local", "+38050000" + String.format("%04d", i), cardNumber);
+            senderCards.add(cardNumber);
+        }
+        this.createAccount("merchant@bench.local", "+380509999999", RECIPIENT_CARD);
+
+        final double regular = this.runTransfers(senderCards, false);
+        final double hot = this.runTransfers(senderCards, true);
+        this.pendingCreditService.foldPendingCredits();
+
+        final Account recipient = this.accountRepository.findByCard_CardNumber(RECIPIENT_CARD).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(1_000_000L + 2L * SENDERS * TRANSFERS_PER_SENDER).compareTo(recipient.getBalance()));
+
+        System.out.printf("Transfers into one recipient, %d threads: regular %.0f/s, hot account %.0f/s%n",
+                SENDERS, regular, hot);
+    }
+
+    private double runTransfers(final List<String> senderCards, final boolean hotAccount) throws Exception {
+        final Account recipient = this.accountRepository.findByCard_CardNumber(RECIPIENT_CARD).orElseThrow();
+        recipient.setHotAccount(hotAccount);
+        this.accountRepository.save(recipient);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(SENDERS);
+        final long start = System.nanoTime();
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final String senderCard : senderCards) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < TRANSFERS_PER_SENDER; i++) {
+                        this.transactionService.withdraw(senderCard, RECIPIENT_CARD, BigDecimal.ONE, "benchmark");
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return SENDERS * TRANSFERS_PER_SENDER / seconds;
+    }
+
+    private void createAccount(final String email, final String phone, final String cardNumber) {
+        final AuthUSer authUser = AuthUSer.builder().email(email).passwordHash("benchmark").createdAt(now()).build();
+        final Card card = Card.builder().cardNumber(cardNumber).cvv("000").expiryDate(now().plusYears(1)).createdAt(now()).build();
+        final Account account = Account.builder()
+                .accountNumber("UA" + cardNumber)
+                .balance(BigDecimal.valueOf(1_000_000))
+                .accountType(AccountType.CURRENT)
+                .currencyCode(Currency.UAH)
+                .status(ACTIVE)
+                .createdAt(now())
+                .card(card)
+                .sentTransactions(new ArrayList<>())
+                .receivedTransactions(new ArrayList<>())
+                .build();
+        final Customer customer = Customer.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .phone(phone)
+                .authUser(authUser)
+                .createdAt(now())
+                .accounts(List.of(account))
+                .build();
+
+        card.setAccount(account);
+        account.setCustomer(customer);
+        authUser.setCustomer(customer);
+        this.customerRepository.save(customer);
+    }
+}
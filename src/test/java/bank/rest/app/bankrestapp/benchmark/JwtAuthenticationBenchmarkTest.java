@@ -0,0 +1,159 @@
+package bank.rest.app.bankrestapp.benchmark;
+
+import bank.rest.app.bankrestapp.entity.AuthUSer;
+import bank.rest.app.bankrestapp.entity.Customer;
+import bank.rest.app.bankrestapp.entity.CustomerRole;
+import bank.rest.app.bankrestapp.entity.enums.Role;
+import bank.rest.app.bankrestapp.mapper.impl.UserDetailsMapper;
+import bank.rest.app.bankrestapp.resository.CustomerRepository;
+import bank.rest.app.bankrestapp.resository.RevokedTokenRepository;
+import bank.rest.app.bankrestapp.security.JwtAuthenticationFilter;
+import bank.rest.app.bankrestapp.security.JwtUtil;
+import bank.rest.app.bankrestapp.security.PrincipalCache;
+import bank.rest.app.bankrestapp.service.impl.TokenRevocationServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Micro-benchmark of the per-request authentication cost of {@link JwtAuthenticationFilter}: a fresh
+ * {@code parserBuilder()} and two signature checks per request (the previous implementation, reproduced below
+ * as the baseline) against the prebuilt parser with the verified-token and principal caches and the
+ * in-memory revocation check.
+ *
+ * <p>Runs only on demand: {@code mvn test -Dtest=JwtAuthenticationBenchmarkTest -Dbenchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationBenchmarkTest {
+
+    private static final String SECRET = "benchmark_secret_key_1234567890_benchmark";
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int REQUESTS_PER_ROUND = 2_000;
+    private static final int DISTINCT_TOKENS = 64;
+
+    @Test
+    void compareDoubleParseWithCachedSingleParse() throws Exception {
+        final JwtUtil jwtUtil = new JwtUtil(SECRET);
+        final Customer[] customers = new Customer[DISTINCT_TOKENS];
+        final String[] tokens = new String[DISTINCT_TOKENS];
+        final CustomerRepository customerRepository = mock(CustomerRepository.class);
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            customers[i] = customer("user" + i + "@example.com");
+            tokens[i] = jwtUtil.generateToken(customers[i]);
+            when(customerRepository.findByAuthUserEmail(customers[i].getAuthUser().getEmail()))
+                    .thenReturn(Optional.of(customers[i]));
+        }
+
+        final JwtAuthenticationFilter filter =
+                new JwtAuthenticationFilter(jwtUtil, customerRepository, new UserDetailsMapper(), new PrincipalCache(),
+                        new TokenRevocationServiceImpl(mock(RevokedTokenRepository.class)), new SimpleMeterRegistry());
+        final DoubleParseAuthenticator baseline = new DoubleParseAuthenticator(SECRET, customerRepository);
+        final FilterChain chain = mock(FilterChain.class);
+
+        final Authenticator doubleParse = baseline::authenticate;
+        final Authenticator cached = token -> {
+            final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/me");
+            request.addHeader("Authorization", "Bearer " + token);
+            SecurityContextHolder.clearContext();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication().getName();
+        };
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(doubleParse, tokens);
+            run(cached, tokens);
+        }
+
+        long doubleParseNanos = 0;
+        long cachedNanos = 0;
+        int doubleParseChecksum = 0;
+        int cachedChecksum = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            doubleParseChecksum = run(doubleParse, tokens);
+            doubleParseNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            cachedChecksum = run(cached, tokens);
+            cachedNanos += System.nanoTime() - start;
+        }
+        SecurityContextHolder.clearContext();
+
+        final long requests = (long) MEASURED_ROUNDS * REQUESTS_PER_ROUND;
+        System.out.printf("double parse per request: %.1f us/request%n", doubleParseNanos / 1_000.0 / requests);
+        System.out.printf("cached single parse:      %.1f us/request%n", cachedNanos / 1_000.0 / requests);
+
+        assertEquals(doubleParseChecksum, cachedChecksum);
+    }
+
+    private static int run(final Authenticator authenticator, final String[] tokens) throws Exception {
+        int checksum = 0;
+        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+            checksum += authenticator.authenticate(tokens[i % tokens.length]).length();
+        }
+        return checksum;
+    }
+
+    private static Customer customer(final String email) {
+        final CustomerRole role = new CustomerRole();
+        role.setRoleName(Role.ROLE_USER);
+        return Customer.builder()
+                .authUser(AuthUSer.builder().email(email).passwordHash("hash").customerRole(List.of(role)).build())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Authenticator {
+        String authenticate(String token) throws Exception;
+    }
+
+    /**
+     * Authentication as implemented before the verified-token cache: {@code isTokenValid} and {@code getEmail}
+     * each build a parser and verify the signature, then the customer is looked up on every request.
+     */
+    private static final class DoubleParseAuthenticator {
+
+        private final Key key;
+        private final CustomerRepository customerRepository;
+        private final UserDetailsMapper mapper = new UserDetailsMapper();
+
+        private DoubleParseAuthenticator(final String secret, final CustomerRepository customerRepository) {
+            this.key = Keys.hmacShaKeyFor(secret.getBytes(UTF_8));
+            this.customerRepository = customerRepository;
+        }
+
+        String authenticate(final String token) {
+            if (extractClaims(token).getExpiration().before(new Date())) {
+                throw new IllegalStateException("expired");
+            }
+            final String email = extractClaims(token).getSubject();
+            return this.mapper.toDto(this.customerRepository.findByAuthUserEmail(email).orElseThrow()).getUsername();
+        }
+
+        private Claims extractClaims(final String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(this.key)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+}
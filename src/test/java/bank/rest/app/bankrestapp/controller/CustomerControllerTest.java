@@ -7,6 +7,7 @@ import bank.rest.app.bankrestapp.dto.UpdateCustomerDTO;
 import bank.rest.app.bankrestapp.dto.get.GetCustomerDTO;
 import bank.rest.app.bankrestapp.facade.CustomerFacade;
 import bank.rest.app.bankrestapp.service.CustomerService;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
 import bank.rest.app.bankrestapp.validation.DtoValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ class CustomerControllerTest {
     private CustomerFacade customerFacade;
     private CustomerService customerService;
     private DtoValidator dtoValidator;
+    private TokenRevocationService tokenRevocationService;
     private CustomerController controller;
     private BindingResult bindingResult;
 
@@ -31,8 +33,9 @@ class CustomerControllerTest {
         this.customerFacade = mock(CustomerFacade.class);
         this.customerService = mock(CustomerService.class);
         this.dtoValidator = mock(DtoValidator.class);
+        this.tokenRevocationService = mock(TokenRevocationService.class);
         this.bindingResult = mock(BindingResult.class);
-        this.controller = new CustomerController(customerFacade, customerService, dtoValidator);
+        this.controller = new CustomerController(customerFacade, customerService, dtoValidator, tokenRevocationService);
     }
 
     @Test
@@ -62,6 +65,14 @@ class CustomerControllerTest {
         );
     }
 
+    @Test
+    void logout_ShouldRevokeCurrentTokenAndReturnOk() {
+        final var response = controller.logout();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(tokenRevocationService).revokeCurrentToken();
+    }
+
     @Test
     void initPasswordChange_ShouldUseAuthenticatedUserAndReturnOk() {
         final UserDetails user = User.withUsername("user@example.com").password("pass").roles("USER").build();
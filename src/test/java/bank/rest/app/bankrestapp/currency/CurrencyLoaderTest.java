@@ -0,0 +1,283 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.exception.ExchangeRatesOutdatedException;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.OPERATION_RATES_MAX_AGE_DAYS;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_EXCHANGE_RATE_NOT_FOUND;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.CURRENCY_CONVERSION_METRIC;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CurrencyLoaderTest {
+
+    private static final double USD_RATE = 41.7354;
+    private static final double EUR_RATE = 48.3012;
+
+    @Mock
+    private RateProvider rateProvider;
+
+    @Mock
+    private RateSnapshotStore rateSnapshotStore;
+
+    @Mock
+    private ExchangeRateHistory exchangeRateHistory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CurrencyLoader currencyLoader;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.currencyLoader = new CurrencyLoader(rateProvider, rateSnapshotStore, exchangeRateHistory,
+                new MoneyMovementMetrics(this.meterRegistry, new AccountLockContention()));
+    }
+
+    @Test
+    void convert_ShouldMatchDirectRateFormulaForAllCurrencyPairs() {
+        loadRates();
+
+        for (final Currency from : Currency.values()) {
+            for (final Currency to : Currency.values()) {
+                for (int cents = 1; cents < 2_000_000; cents += 7_919) {
+                    final BigDecimal amount = BigDecimal.valueOf(cents, 2);
+                    final BigDecimal expected = from == to ? amount : directConversion(amount, from, to);
+
+                    assertEquals(expected, currencyLoader.convert(amount, from, to), from + "->" + to + " " + amount);
+                    assertEquals(expected, currencyLoader.convert(amount, from.name(), to.name().toLowerCase()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void convert_SameCurrency_ShouldReturnSameInstance() {
+        final BigDecimal amount = new BigDecimal("12.345");
+
+        assertSame(amount, currencyLoader.convert(amount, Currency.USD, Currency.USD));
+    }
+
+    @Test
+    void convert_BeforeRatesAreLoaded_ShouldThrowLocalizedMessage() {
+        final RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH)
+        );
+
+        assertEquals(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, "USD"), exception.getMessage());
+    }
+
+    @Test
+    void convert_UnknownCurrencyCode_ShouldThrowLocalizedMessage() {
+        loadRates();
+
+        final RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> currencyLoader.convert(BigDecimal.TEN, "USD", "GBP")
+        );
+
+        assertEquals(format(ERRORS_EXCHANGE_RATE_NOT_FOUND, "GBP"), exception.getMessage());
+    }
+
+    @Test
+    void convertOnDate_ShouldUseHistoricalRates() {
+        final LocalDate date = LocalDate.of(2022, 7, 21);
+        when(exchangeRateHistory.findRate(Currency.USD, date)).thenReturn(new BigDecimal("36.5686"));
+        when(exchangeRateHistory.findRate(Currency.UAH, date)).thenReturn(BigDecimal.ONE);
+
+        assertEquals(new BigDecimal("3656.86"), currencyLoader.convert(BigDecimal.valueOf(100), Currency.USD, Currency.UAH, date));
+        assertEquals(new BigDecimal("2.73"), currencyLoader.convert(BigDecimal.valueOf(100), Currency.UAH, Currency.USD, date));
+    }
+
+    @Test
+    void convertOnDate_WithoutHistoricalRate_ShouldFallBackToCurrentRates() {
+        loadRates();
+        final LocalDate date = LocalDate.of(2020, 1, 1);
+        when(exchangeRateHistory.findRate(Currency.USD, date)).thenReturn(null);
+        when(exchangeRateHistory.findRate(Currency.UAH, date)).thenReturn(BigDecimal.ONE);
+
+        assertEquals(
+                currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH),
+                currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH, date)
+        );
+    }
+
+    @Test
+    void convert_ShouldTimeConversionsPerCurrencyPairAndOutcome() {
+        assertThrows(RuntimeException.class, () -> currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.EUR));
+        loadRates();
+
+        currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.EUR);
+        currencyLoader.convert(BigDecimal.ONE, Currency.USD, Currency.EUR);
+        currencyLoader.convert(BigDecimal.TEN, Currency.UAH, Currency.UAH);
+
+        assertEquals(2, conversionCount(Currency.USD, Currency.EUR, "COMPLETED"));
+        assertEquals(1, conversionCount(Currency.USD, Currency.EUR, "FAILED"));
+        assertNull(meterRegistry.find(CURRENCY_CONVERSION_METRIC).tags("from", "UAH", "to", "UAH").timer());
+    }
+
+    @Test
+    void updateRates_ShouldRecordOfficialRatesInHistoryOnTheirOwnDay() {
+        final LocalDate publishedFor = LocalDate.now().plusDays(1);
+        when(rateProvider.isOfficial()).thenReturn(true);
+        when(rateProvider.fetchRates()).thenReturn(new RateSnapshot(publishedFor, currentRates()));
+
+        currencyLoader.updateRates();
+
+        verify(exchangeRateHistory).record(eq(publishedFor), anyList());
+    }
+
+    @Test
+    void updateRates_WithUndatedFixture_ShouldNotDateRatesOrRecordHistory() {
+        when(rateProvider.fetchRates()).thenReturn(new RateSnapshot(null, currentRates()));
+
+        currencyLoader.updateRates();
+
+        final ArgumentCaptor<RateSnapshot> snapshot = ArgumentCaptor.forClass(RateSnapshot.class);
+        verify(rateSnapshotStore).save(snapshot.capture());
+        assertNull(snapshot.getValue().date());
+        verifyNoInteractions(exchangeRateHistory);
+        assertThrows(ExchangeRatesOutdatedException.class,
+                () -> currencyLoader.convertForOperation(BigDecimal.TEN, Currency.USD, Currency.EUR));
+        assertEquals(directConversion(BigDecimal.TEN, Currency.USD, Currency.EUR),
+                currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.EUR));
+    }
+
+    @Test
+    void updateRates_WithDatedRatesOfUnofficialProvider_ShouldNotRecordHistory() {
+        loadRates();
+
+        verifyNoInteractions(exchangeRateHistory);
+        assertEquals(directConversion(BigDecimal.TEN, Currency.USD, Currency.EUR),
+                currencyLoader.convertForOperation(BigDecimal.TEN, Currency.USD, Currency.EUR));
+    }
+
+    @Test
+    void init_ShouldPublishStoredSnapshotWithoutCallingProvider() {
+        when(rateSnapshotStore.load()).thenReturn(Optional.of(new RateSnapshot(LocalDate.now(), List.of(
+                new CurrencyLoader.CurrencyRate("USD", USD_RATE),
+                new CurrencyLoader.CurrencyRate("UAH", 1.0)
+        ))));
+
+        currencyLoader.init();
+        currencyLoader.refreshIfStale();
+
+        assertEquals(directConversion(BigDecimal.TEN, Currency.USD, Currency.UAH),
+                currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH));
+        verifyNoInteractions(rateProvider);
+    }
+
+    @Test
+    void refreshIfStale_WithOldSnapshot_ShouldFetchAndSaveRates() {
+        when(rateSnapshotStore.load()).thenReturn(Optional.of(new RateSnapshot(null, List.of())));
+        currencyLoader.init();
+        when(rateProvider.fetchRates()).thenReturn(new RateSnapshot(LocalDate.now(), currentRates()));
+
+        currencyLoader.refreshIfStale();
+
+        final ArgumentCaptor<RateSnapshot> snapshot = ArgumentCaptor.forClass(RateSnapshot.class);
+        verify(rateSnapshotStore).save(snapshot.capture());
+        assertEquals(LocalDate.now(), snapshot.getValue().date());
+        assertEquals(directConversion(BigDecimal.TEN, Currency.EUR, Currency.USD),
+                currencyLoader.convert(BigDecimal.TEN, Currency.EUR, Currency.USD));
+    }
+
+    @Test
+    void convertForOperation_WithTodaysRates_ShouldConvert() {
+        loadRates();
+
+        assertEquals(directConversion(BigDecimal.TEN, Currency.USD, Currency.EUR),
+                currencyLoader.convertForOperation(BigDecimal.TEN, Currency.USD, Currency.EUR));
+    }
+
+    @Test
+    void convertForOperation_WithUndatedOrStaleRates_ShouldRefuse() {
+        when(rateSnapshotStore.load())
+                .thenReturn(Optional.of(new RateSnapshot(null, currentRates())))
+                .thenReturn(Optional.of(new RateSnapshot(LocalDate.now().minusDays(OPERATION_RATES_MAX_AGE_DAYS + 1L), currentRates())));
+
+        currencyLoader.init();
+        assertThrows(ExchangeRatesOutdatedException.class,
+                () -> currencyLoader.convertForOperation(BigDecimal.TEN, Currency.USD, Currency.EUR));
+
+        currencyLoader.init();
+        assertThrows(ExchangeRatesOutdatedException.class,
+                () -> currencyLoader.convertForOperation(BigDecimal.TEN, Currency.UAH, Currency.USD));
+        assertEquals(BigDecimal.TEN, currencyLoader.convertForOperation(BigDecimal.TEN, Currency.USD, Currency.USD));
+        assertEquals(directConversion(BigDecimal.TEN, Currency.USD, Currency.EUR),
+                currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.EUR));
+    }
+
+    @Test
+    void updateRates_WhenProviderFails_ShouldKeepPreviousRates() {
+        loadRates();
+        when(rateProvider.fetchRates()).thenThrow(new IllegalStateException("offline"));
+
+        currencyLoader.updateRates();
+
+        assertEquals(directConversion(BigDecimal.TEN, Currency.USD, Currency.EUR),
+                currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.EUR));
+        verify(rateSnapshotStore, times(1)).save(any());
+    }
+
+    private long conversionCount(final Currency from, final Currency to, final String outcome) {
+        return meterRegistry.get(CURRENCY_CONVERSION_METRIC)
+                .tags("from", from.name(), "to", to.name(), "outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private void loadRates() {
+        when(rateProvider.fetchRates()).thenReturn(new RateSnapshot(LocalDate.now(), currentRates()));
+        currencyLoader.updateRates();
+    }
+
+    private static List<CurrencyLoader.CurrencyRate> currentRates() {
+        return List.of(
+                new CurrencyLoader.CurrencyRate("USD", USD_RATE),
+                new CurrencyLoader.CurrencyRate("EUR", EUR_RATE),
+                new CurrencyLoader.CurrencyRate("GBP", 55.1),
+                new CurrencyLoader.CurrencyRate("UAH", 1.0)
+        );
+    }
+
+    private static BigDecimal directConversion(final BigDecimal amount, final Currency from, final Currency to) {
+        return amount.multiply(BigDecimal.valueOf(uahRate(from)))
+                .divide(BigDecimal.valueOf(uahRate(to)), 4, RoundingMode.HALF_UP)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double uahRate(final Currency currency) {
+        return switch (currency) {
+            case UAH -> 1.0;
+            case USD -> USD_RATE;
+            case EUR -> EUR_RATE;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.resository.PaymentRepository;
+import bank.rest.app.bankrestapp.resository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateHistoryBackfillTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 4);
+
+    @Mock
+    private RateProvider rateProvider;
+
+    @Mock
+    private ExchangeRateHistory exchangeRateHistory;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @InjectMocks
+    private ExchangeRateHistoryBackfill backfill;
+
+    @Test
+    void backfill_ShouldRequestUncoveredPeriodsFromTheOldestOperation() {
+        final LocalDate dataStart = TODAY.minusDays(EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS + 10L);
+        final LocalDate secondPeriod = dataStart.plusDays(EXCHANGE_RATE_HISTORY_BACKFILL_CHUNK_DAYS);
+        final Map<LocalDate, List<CurrencyLoader.CurrencyRate>> history =
+                Map.of(dataStart, List.of(new CurrencyLoader.CurrencyRate("USD", 29.25)));
+        when(transactionRepository.findEarliestTransactionDate()).thenReturn(Optional.of(TODAY.atStartOfDay()));
+        when(paymentRepository.findEarliestPaymentDate()).thenReturn(Optional.of(dataStart.atTime(12, 0)));
+        when(exchangeRateHistory.covers(Currency.USD, dataStart, secondPeriod.minusDays(1))).thenReturn(false);
+        when(exchangeRateHistory.covers(Currency.USD, secondPeriod, TODAY)).thenReturn(true);
+        when(exchangeRateHistory.covers(Currency.EUR, secondPeriod, TODAY)).thenReturn(true);
+        when(rateProvider.fetchHistory(dataStart, secondPeriod.minusDays(1))).thenReturn(history);
+
+        assertEquals(1, backfill.backfill(TODAY));
+
+        verify(exchangeRateHistory).recordHistory(history);
+        verify(rateProvider, never()).fetchHistory(secondPeriod, TODAY);
+    }
+
+    @Test
+    void backfill_WithoutOperations_ShouldRequestNothing() {
+        when(transactionRepository.findEarliestTransactionDate()).thenReturn(Optional.empty());
+        when(paymentRepository.findEarliestPaymentDate()).thenReturn(Optional.empty());
+
+        assertEquals(0, backfill.backfill(TODAY));
+
+        verifyNoInteractions(rateProvider);
+        verify(exchangeRateHistory, never()).recordHistory(any());
+    }
+}
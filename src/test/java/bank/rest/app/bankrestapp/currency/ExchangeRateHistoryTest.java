@@ -0,0 +1,121 @@
+package bank.rest.app.bankrestapp.currency;
+
+import bank.rest.app.bankrestapp.entity.ExchangeRate;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.resository.ExchangeRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateHistoryTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    private ExchangeRateHistory exchangeRateHistory;
+
+    @BeforeEach
+    void setUp() {
+        this.exchangeRateHistory = new ExchangeRateHistory(exchangeRateRepository);
+    }
+
+    @Test
+    void init_WithEmptyTable_ShouldSeedFromFixture() {
+        when(exchangeRateRepository.count()).thenReturn(0L);
+
+        exchangeRateHistory.init();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<ExchangeRate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(exchangeRateRepository).saveAll(captor.capture());
+        assertFalse(captor.getValue().isEmpty());
+    }
+
+    @Test
+    void findRate_ShouldCarryLastRateForwardWithinGapOnly() {
+        when(exchangeRateRepository.count()).thenReturn(2L);
+        when(exchangeRateRepository.findAll()).thenReturn(List.of(
+                rate(Currency.USD, MONDAY.plusDays(1), "41.20"),
+                rate(Currency.USD, MONDAY, "41.10")
+        ));
+
+        exchangeRateHistory.init();
+
+        verify(exchangeRateRepository, never()).saveAll(anyList());
+        assertEquals(new BigDecimal("41.10"), exchangeRateHistory.findRate(Currency.USD, MONDAY));
+        assertEquals(new BigDecimal("41.20"), exchangeRateHistory.findRate(Currency.USD, MONDAY.plusDays(5)));
+        assertNull(exchangeRateHistory.findRate(Currency.USD, MONDAY.minusDays(1)));
+        assertNull(exchangeRateHistory.findRate(Currency.USD, MONDAY.plusDays(30)));
+        assertNull(exchangeRateHistory.findRate(Currency.EUR, MONDAY));
+        assertEquals(BigDecimal.ONE, exchangeRateHistory.findRate(Currency.UAH, MONDAY));
+    }
+
+    @Test
+    void record_ShouldStoreOnlyCurrenciesMissingForTheDay() {
+        when(exchangeRateRepository.findAllByRateDate(MONDAY)).thenReturn(List.of(rate(Currency.USD, MONDAY, "41.10")));
+
+        exchangeRateHistory.record(MONDAY, List.of(
+                new CurrencyLoader.CurrencyRate("USD", 41.5),
+                new CurrencyLoader.CurrencyRate("EUR", 44.9),
+                new CurrencyLoader.CurrencyRate("UAH", 1.0)
+        ));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<ExchangeRate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(exchangeRateRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(Currency.EUR, captor.getValue().get(0).getCurrencyCode());
+        assertEquals(new BigDecimal("44.9"), captor.getValue().get(0).getRate());
+    }
+
+    @Test
+    void recordHistory_ShouldStoreMissingDaysAndCoverThePeriod() {
+        when(exchangeRateRepository.findAllByRateDateBetween(MONDAY, MONDAY.plusDays(1)))
+                .thenReturn(List.of(rate(Currency.USD, MONDAY, "41.10")));
+        when(exchangeRateRepository.findAll()).thenReturn(List.of(
+                rate(Currency.USD, MONDAY, "41.10"),
+                rate(Currency.EUR, MONDAY, "44.90"),
+                rate(Currency.USD, MONDAY.plusDays(1), "41.20")
+        ));
+
+        exchangeRateHistory.recordHistory(Map.of(
+                MONDAY, List.of(new CurrencyLoader.CurrencyRate("USD", 41.1), new CurrencyLoader.CurrencyRate("EUR", 44.9)),
+                MONDAY.plusDays(1), List.of(new CurrencyLoader.CurrencyRate("USD", 41.2))
+        ));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<ExchangeRate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(exchangeRateRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(exchangeRateHistory.covers(Currency.USD, MONDAY, MONDAY.plusDays(8)));
+        assertFalse(exchangeRateHistory.covers(Currency.USD, MONDAY.minusDays(1), MONDAY));
+    }
+
+    private static ExchangeRate rate(final Currency currency, final LocalDate date, final String rate) {
+        return ExchangeRate.builder()
+                .currencyCode(currency)
+                .rateDate(date)
+                .rate(new BigDecimal(rate))
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package bank.rest.app.bankrestapp.currency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.NBU_EXCHANGE_RATES_URL;
+import static bank.rest.app.bankrestapp.constants.CurrencyDefaults.NBU_EXCHANGE_RATE_HISTORY_URL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NbuRateProviderTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @InjectMocks
+    private NbuRateProvider nbuRateProvider;
+
+    @Test
+    void fetchRates_ShouldKeepSupportedCurrenciesAndAddHryvnia() {
+        when(restTemplate.getForObject(NBU_EXCHANGE_RATES_URL, NbuRateProvider.NbuRate[].class)).thenReturn(
+                new NbuRateProvider.NbuRate[]{
+                        new NbuRateProvider.NbuRate("17.10.2026", "USD", 41.7),
+                        new NbuRateProvider.NbuRate("17.10.2026", "GBP", 55.1),
+                        new NbuRateProvider.NbuRate("17.10.2026", "EUR", 48.3)
+                }
+        );
+
+        final RateSnapshot snapshot = nbuRateProvider.fetchRates();
+        final List<String> codes = snapshot.rates().stream()
+                .map(CurrencyLoader.CurrencyRate::getCc)
+                .toList();
+
+        assertEquals(List.of("USD", "EUR", "UAH"), codes);
+        assertEquals(LocalDate.of(2026, 10, 17), snapshot.date());
+    }
+
+    @Test
+    void fetchRates_WithoutPublicationDate_ShouldThrow() {
+        when(restTemplate.getForObject(NBU_EXCHANGE_RATES_URL, NbuRateProvider.NbuRate[].class)).thenReturn(
+                new NbuRateProvider.NbuRate[]{
+                        new NbuRateProvider.NbuRate(null, "USD", 41.7),
+                        new NbuRateProvider.NbuRate(null, "EUR", 48.3)
+                }
+        );
+
+        assertThrows(IllegalStateException.class, () -> nbuRateProvider.fetchRates());
+    }
+
+    @Test
+    void fetchHistory_ShouldGroupRatesOfSupportedCurrenciesByDay() {
+        final LocalDate from = LocalDate.of(2022, 2, 24);
+        final LocalDate to = LocalDate.of(2022, 2, 25);
+        when(restTemplate.getForObject(NBU_EXCHANGE_RATE_HISTORY_URL, NbuRateProvider.NbuRate[].class,
+                Map.of("start", "20220224", "end", "20220225", "currency", "usd"))).thenReturn(
+                new NbuRateProvider.NbuRate[]{
+                        new NbuRateProvider.NbuRate("24.02.2022", "USD", 29.2549),
+                        new NbuRateProvider.NbuRate("25.02.2022", "USD", 29.2549)
+                }
+        );
+        when(restTemplate.getForObject(NBU_EXCHANGE_RATE_HISTORY_URL, NbuRateProvider.NbuRate[].class,
+                Map.of("start", "20220224", "end", "20220225", "currency", "eur"))).thenReturn(
+                new NbuRateProvider.NbuRate[]{
+                        new NbuRateProvider.NbuRate("24.02.2022", "EUR", 32.9416)
+                }
+        );
+
+        final Map<LocalDate, List<CurrencyLoader.CurrencyRate>> history = nbuRateProvider.fetchHistory(from, to);
+
+        assertEquals(List.of(from, to), List.copyOf(history.keySet()));
+        assertEquals(List.of("USD", "EUR"), history.get(from).stream().map(CurrencyLoader.CurrencyRate::getCc).toList());
+        assertEquals(29.2549, history.get(to).get(0).getRate());
+    }
+
+    @Test
+    void fetchRates_WithEmptyResponse_ShouldThrow() {
+        when(restTemplate.getForObject(NBU_EXCHANGE_RATES_URL, NbuRateProvider.NbuRate[].class)).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> nbuRateProvider.fetchRates());
+    }
+}
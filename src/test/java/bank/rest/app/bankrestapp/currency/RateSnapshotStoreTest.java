@@ -0,0 +1,46 @@
+package bank.rest.app.bankrestapp.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateSnapshotStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void save_ThenLoad_ShouldReturnSavedSnapshot() {
+        final Path file = directory.resolve("nested/rates.json");
+        final RateSnapshotStore store = new RateSnapshotStore(objectMapper, file.toString());
+
+        store.save(new RateSnapshot(LocalDate.of(2025, 5, 1), List.of(new CurrencyLoader.CurrencyRate("USD", 41.5))));
+        final RateSnapshot loaded = store.load().orElseThrow();
+
+        assertTrue(Files.isRegularFile(file));
+        assertEquals(LocalDate.of(2025, 5, 1), loaded.date());
+        assertEquals("USD", loaded.rates().get(0).getCc());
+        assertEquals(41.5, loaded.rates().get(0).getRate());
+    }
+
+    @Test
+    void load_WithoutSavedSnapshot_ShouldFallBackToBundledFixture() {
+        final RateSnapshotStore store = new RateSnapshotStore(objectMapper, directory.resolve("missing.json").toString());
+
+        final RateSnapshot loaded = store.load().orElseThrow();
+
+        assertNull(loaded.date());
+        assertTrue(loaded.rates().stream().anyMatch(rate -> "UAH".equals(rate.getCc())));
+    }
+}
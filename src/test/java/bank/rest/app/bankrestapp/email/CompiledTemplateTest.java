@@ -0,0 +1,64 @@
+package bank.rest.app.bankrestapp.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_ShouldSubstituteEveryOccurrenceAndKeepLiterals() {
+        final CompiledTemplate template = CompiledTemplate.compile("Hi {{NAME}}, code {{ CODE }} ({{CODE}}).");
+
+        assertEquals(List.of("NAME", "CODE", "CODE"), template.placeholderNames());
+        assertEquals("Hi Ann, code 12345 (12345).", template.render(Map.of("NAME", "Ann", "CODE", "12345")));
+    }
+
+    @Test
+    void render_ShouldHandlePlaceholdersAtTheEdgesAndTemplatesWithoutPlaceholders() {
+        assertEquals("12345", CompiledTemplate.compile("{{CODE}}").render(Map.of("CODE", "12345")));
+        assertEquals("a-b", CompiledTemplate.compile("{{A}}-{{B}}").render(Map.of("A", "a", "B", "b")));
+        assertEquals("plain text", CompiledTemplate.compile("plain text").render(Map.of()));
+    }
+
+    @Test
+    void render_ShouldNotReinterpretPlaceholdersInsideValues() {
+        final CompiledTemplate template = CompiledTemplate.compile("{{A}}{{B}}");
+
+        assertEquals("{{B}}x", template.render(Map.of("A", "{{B}}", "B", "x")));
+    }
+
+    @Test
+    void render_ShouldRejectMissingValue() {
+        final CompiledTemplate template = CompiledTemplate.compile("code {{CODE}}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of("OTHER", "x")));
+    }
+
+    @Test
+    void compile_ShouldRejectMalformedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("code {{CODE"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("code {{ }}"));
+    }
+
+    @Test
+    void emailTemplates_ShouldRenderEveryTypeWithoutLeftoverPlaceholders() {
+        final EmailTemplates emailTemplates = new EmailTemplates();
+
+        for (final EmailTemplateType type : EmailTemplateType.values()) {
+            final EmailMessage message = emailTemplates.render(type, "user@example.com", Map.of("CODE", "48213"));
+
+            assertEquals("user@example.com", message.to());
+            assertEquals(type.subject(), message.subject());
+            assertTrue(message.text().endsWith("48213"), type.name());
+            assertTrue(message.html().contains("48213"), type.name());
+            assertFalse(message.html().contains("{{"), type.name());
+        }
+    }
+}
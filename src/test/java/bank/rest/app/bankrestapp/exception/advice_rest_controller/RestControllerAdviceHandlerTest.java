@@ -2,12 +2,16 @@ package bank.rest.app.bankrestapp.exception.advice_rest_controller;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.List;
 import java.util.Map;
 
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_OPERATION_TEMPORARILY_UNAVAILABLE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RestControllerAdviceHandlerTest {
 
@@ -26,4 +30,13 @@ class RestControllerAdviceHandlerTest {
         assertEquals("Конфлікт блокування", body.get("error"));
         assertEquals(ERRORS_OPERATION_TEMPORARILY_UNAVAILABLE, body.get("message"));
     }
+
+    @Test
+    void handlePessimisticLockingFailureException_ShouldAlsoCoverOptimisticConflicts() throws NoSuchMethodException {
+        final ExceptionHandler exceptionHandler = RestControllerAdviceHandler.class
+                .getMethod("handlePessimisticLockingFailureException", RuntimeException.class)
+                .getAnnotation(ExceptionHandler.class);
+
+        assertTrue(List.of(exceptionHandler.value()).contains(OptimisticLockingFailureException.class));
+    }
 }
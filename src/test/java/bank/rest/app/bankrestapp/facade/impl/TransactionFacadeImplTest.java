@@ -3,13 +3,21 @@ package bank.rest.app.bankrestapp.facade.impl;
 import bank.rest.app.bankrestapp.currency.CurrencyLoader;
 import bank.rest.app.bankrestapp.dto.CreateTransaction;
 import bank.rest.app.bankrestapp.dto.get.GetTransactionDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransactionHistoryDTO;
+import bank.rest.app.bankrestapp.dto.get.GetTransferTicketDTO;
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
 import bank.rest.app.bankrestapp.entity.Account;
 import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
 import bank.rest.app.bankrestapp.mapper.Mapper;
 import bank.rest.app.bankrestapp.service.AccountService;
+import bank.rest.app.bankrestapp.service.AsyncTransferService;
 import bank.rest.app.bankrestapp.service.TransactionService;
+import bank.rest.app.bankrestapp.transfer.HistoryCursor;
+import bank.rest.app.bankrestapp.transfer.TransactionHistorySlice;
+import bank.rest.app.bankrestapp.transfer.TransferTicket;
 import bank.rest.app.bankrestapp.validation.DtoValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,11 +30,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.validation.BindingResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INVALID_HISTORY_CURSOR;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_TRANSFER_TICKET_NOT_FOUND;
 import static bank.rest.app.bankrestapp.entity.enums.TransactionStatus.CANCELLED;
 import static bank.rest.app.bankrestapp.entity.enums.TransactionStatus.FAILED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +55,8 @@ class TransactionFacadeImplTest {
     private Mapper<Transaction, GetTransactionDTO> transactionMapper;
     private CurrencyLoader currencyLoader;
     private AccountService accountService;
+    private AsyncTransferService asyncTransferService;
+    private Mapper<TransactionHistoryRow, GetTransactionDTO> transactionHistoryRowMapper;
 
     private TransactionFacadeImpl sut;
 
@@ -53,13 +68,18 @@ class TransactionFacadeImplTest {
         this.transactionMapper = (Mapper<Transaction, GetTransactionDTO>) mock(Mapper.class);
         this.currencyLoader = mock(CurrencyLoader.class);
         this.accountService = mock(AccountService.class);
+        this.asyncTransferService = mock(AsyncTransferService.class);
+        //noinspection unchecked
+        this.transactionHistoryRowMapper = (Mapper<TransactionHistoryRow, GetTransactionDTO>) mock(Mapper.class);
 
         this.sut = new TransactionFacadeImpl(
                 transactionService,
                 dtoValidator,
                 transactionMapper,
                 currencyLoader,
-                accountService
+                accountService,
+                asyncTransferService,
+                transactionHistoryRowMapper
         );
     }
 
@@ -205,14 +225,14 @@ class TransactionFacadeImplTest {
         });
 
         // Use a local facade instance backed by the proxy so we don't depend on the mock's compile-time signature.
-        TransactionFacadeImpl localSut = new TransactionFacadeImpl(transactionServiceProxy, dtoValidator, transactionMapper, currencyLoader, accountService);
+        TransactionFacadeImpl localSut = new TransactionFacadeImpl(transactionServiceProxy, dtoValidator, transactionMapper, currencyLoader, accountService, asyncTransferService, transactionHistoryRowMapper);
 
         // currencyLoader should be called for each transaction (facade maps over full page)
-        when(currencyLoader.convert(eq(BigDecimal.valueOf(100)), eq("USD"), eq("EUR")))
+        when(currencyLoader.convert(eq(BigDecimal.valueOf(100)), eq(Currency.USD), eq(Currency.EUR), isNull()))
                 .thenReturn(BigDecimal.valueOf(90));
-        when(currencyLoader.convert(eq(BigDecimal.valueOf(50)), eq("USD"), eq("EUR")))
+        when(currencyLoader.convert(eq(BigDecimal.valueOf(50)), eq(Currency.USD), eq(Currency.EUR), isNull()))
                 .thenReturn(BigDecimal.valueOf(45));
-        when(currencyLoader.convert(eq(BigDecimal.valueOf(30)), eq("USD"), eq("EUR")))
+        when(currencyLoader.convert(eq(BigDecimal.valueOf(30)), eq(Currency.USD), eq(Currency.EUR), isNull()))
                 .thenReturn(BigDecimal.valueOf(27));
 
         GetTransactionDTO dto1 = mock(GetTransactionDTO.class);
@@ -236,9 +256,9 @@ class TransactionFacadeImplTest {
         // verify call order: account loaded first, then conversions and mapping for each transaction
         InOrder inOrder = inOrder(accountService, currencyLoader, transactionMapper);
         inOrder.verify(accountService).getAccountByNumber(accountNumber);
-        verify(currencyLoader).convert(BigDecimal.valueOf(100), "USD", "EUR");
-        verify(currencyLoader).convert(BigDecimal.valueOf(50), "USD", "EUR");
-        verify(currencyLoader).convert(BigDecimal.valueOf(30), "USD", "EUR");
+        verify(currencyLoader).convert(BigDecimal.valueOf(100), Currency.USD, Currency.EUR, null);
+        verify(currencyLoader).convert(BigDecimal.valueOf(50), Currency.USD, Currency.EUR, null);
+        verify(currencyLoader).convert(BigDecimal.valueOf(30), Currency.USD, Currency.EUR, null);
 
         verify(transactionMapper).toDto(txIncluded);
         verify(transactionMapper).toDto(txExcluded);
@@ -269,7 +289,7 @@ class TransactionFacadeImplTest {
         when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
         when(transactionService.getAllTransactions(accountNumber, account, pageable))
                 .thenReturn(new PageImpl<>(List.of(internetPaymentTransaction), pageable, 1));
-        when(currencyLoader.convert(BigDecimal.valueOf(200), "UAH", "UAH"))
+        when(currencyLoader.convert(BigDecimal.valueOf(200), Currency.UAH, Currency.UAH, null))
                 .thenReturn(BigDecimal.valueOf(200));
         when(transactionMapper.toDto(internetPaymentTransaction)).thenReturn(dto);
 
@@ -279,4 +299,76 @@ class TransactionFacadeImplTest {
         assertEquals(dto, result.getContent().get(0));
         verify(transactionMapper).toDto(internetPaymentTransaction);
     }
+
+    @Test
+    void submitWithdraw_shouldValidate_thenEnqueue_andReturnPendingTicket() {
+        CreateTransaction input = new CreateTransaction("1111222233334444", "9999888877776666", BigDecimal.TEN, "Async");
+        BindingResult bindingResult = mock(BindingResult.class);
+        TransferTicket ticket = new TransferTicket("user@example.com", input);
+
+        when(asyncTransferService.submit(input, "user@example.com")).thenReturn(ticket);
+
+        GetTransferTicketDTO result = sut.submitWithdraw(input, bindingResult, "user@example.com");
+
+        assertEquals(ticket.getTicketId().toString(), result.ticketId());
+        assertEquals("PENDING", result.status());
+        InOrder inOrder = inOrder(dtoValidator, asyncTransferService);
+        inOrder.verify(dtoValidator).validate(input, bindingResult);
+        inOrder.verify(asyncTransferService).submit(input, "user@example.com");
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void getTransferTicket_whenTicketIdIsMalformed_shouldThrowNotFound() {
+        NoSuchElementException exception = assertThrows(
+                NoSuchElementException.class,
+                () -> sut.getTransferTicket("not-a-uuid", "user@example.com")
+        );
+
+        assertEquals(ERRORS_TRANSFER_TICKET_NOT_FOUND, exception.getMessage());
+        verifyNoInteractions(asyncTransferService);
+    }
+
+    @Test
+    void getTransactionHistory_shouldDecodeCursor_clampSize_andEncodeNextCursor() {
+        final String accountNumber = "ACC-200";
+        final Account account = Account.builder()
+                .accountId(20)
+                .accountNumber(accountNumber)
+                .currencyCode(Currency.UAH)
+                .build();
+        final LocalDateTime cursorDate = LocalDateTime.of(2026, 6, 1, 12, 30, 15, 123_456_000);
+        final HistoryCursor cursor = new HistoryCursor(cursorDate, 77);
+        final TransactionHistoryRow row = new TransactionHistoryRow(
+                76, cursorDate.minusMinutes(1), BigDecimal.TEN, Currency.USD, "Transfer", TransactionType.TRANSFER,
+                TransactionStatus.COMPLETED, "John", "Doe", "1111", "Jane", "Smith", "2222", Boolean.TRUE
+        );
+        final TransactionHistoryRow converted = row.withAmount(BigDecimal.valueOf(410), Currency.UAH);
+        final HistoryCursor nextCursor = HistoryCursor.after(row);
+        final GetTransactionDTO dto = mock(GetTransactionDTO.class);
+
+        when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
+        when(transactionService.getTransactionHistory(account, cursor, 100))
+                .thenReturn(new TransactionHistorySlice(List.of(row), nextCursor));
+        when(currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH, row.transactionDate().toLocalDate()))
+                .thenReturn(BigDecimal.valueOf(410));
+        when(transactionHistoryRowMapper.toDto(converted)).thenReturn(dto);
+
+        final GetTransactionHistoryDTO result = sut.getTransactionHistory(accountNumber, cursor.encode(), 5000);
+
+        assertEquals(List.of(dto), result.transactions());
+        assertEquals(nextCursor, HistoryCursor.decode(result.nextCursor()));
+        verifyNoInteractions(transactionMapper);
+    }
+
+    @Test
+    void getTransactionHistory_whenCursorIsMalformed_shouldThrowBadRequest() {
+        final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> sut.getTransactionHistory("ACC-200", "not a cursor", null)
+        );
+
+        assertEquals(ERRORS_INVALID_HISTORY_CURSOR, exception.getMessage());
+        verifyNoInteractions(transactionService, accountService);
+    }
 }
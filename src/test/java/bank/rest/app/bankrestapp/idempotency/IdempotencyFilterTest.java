@@ -0,0 +1,221 @@
+package bank.rest.app.bankrestapp.idempotency;
+
+import bank.rest.app.bankrestapp.entity.IdempotencyKey;
+import bank.rest.app.bankrestapp.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_IDEMPOTENCY_KEY_ABANDONED;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_IDEMPOTENT_REQUEST_FAILED;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String BODY = "{\"amount\":10}";
+    private static final String BODY_HASH = "a0a5e1a3de9f52b1ff9a0e9be2b0b0ac2f5ad4d23b81bb4a2e0b9c2bd2cc17b2";
+
+    private IdempotencyService idempotencyService;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        this.idempotencyService = mock(IdempotencyService.class);
+        this.filter = new IdempotencyFilter(idempotencyService, new ObjectMapper().registerModule(new JavaTimeModule()));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(EMAIL, null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void firstRequest_ShouldReserveExecuteAndStoreResponse() throws Exception {
+        when(idempotencyService.findKey(EMAIL, "key-1")).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(EMAIL, "key-1", "POST /api/v1/payments/mobile")).thenReturn(true);
+        final FilterChain chain = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType("text/plain");
+            response.getWriter().write("done");
+        };
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/v1/payments/mobile", "key-1"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("done", response.getContentAsString());
+        verify(idempotencyService).complete(eq(EMAIL), eq("key-1"), anyString(), eq(200), anyString(), eq("done"));
+        verify(idempotencyService, never()).release(any(), any());
+    }
+
+    @Test
+    void failedRequest_ShouldReleaseKey() throws Exception {
+        when(idempotencyService.findKey(EMAIL, "key-2")).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(EMAIL, "key-2", "POST /api/v1/transactions/withdraw")).thenReturn(true);
+        final FilterChain chain = (request, response) -> ((MockHttpServletResponse) unwrap(response)).setStatus(400);
+
+        filter.doFilter(request("/api/v1/transactions/withdraw", "key-2"), new MockHttpServletResponse(), chain);
+
+        verify(idempotencyService).release(EMAIL, "key-2");
+        verify(idempotencyService, never()).complete(any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void serverError_ShouldStoreResponseInsteadOfReleasingKey() throws Exception {
+        when(idempotencyService.findKey(EMAIL, "key-6")).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(EMAIL, "key-6", "POST /api/v1/transactions/withdraw")).thenReturn(true);
+        final FilterChain chain = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            ((MockHttpServletResponse) unwrap(response)).setStatus(500);
+        };
+
+        filter.doFilter(request("/api/v1/transactions/withdraw", "key-6"), new MockHttpServletResponse(), chain);
+
+        verify(idempotencyService).complete(eq(EMAIL), eq("key-6"), eq(sha256(BODY)), eq(500), any(), any());
+        verify(idempotencyService, never()).release(any(), any());
+    }
+
+    @Test
+    void unhandledException_ShouldStoreFailureAndRethrow() throws Exception {
+        when(idempotencyService.findKey(EMAIL, "key-7")).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(EMAIL, "key-7", "POST /api/v1/transactions/withdraw")).thenReturn(true);
+        final FilterChain chain = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            throw new IllegalStateException("mapping failed after commit");
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(request("/api/v1/transactions/withdraw", "key-7"), new MockHttpServletResponse(), chain));
+
+        verify(idempotencyService).complete(eq(EMAIL), eq("key-7"), eq(sha256(BODY)), eq(500),
+                eq("application/json"), contains(ERRORS_IDEMPOTENT_REQUEST_FAILED));
+        verify(idempotencyService, never()).release(any(), any());
+    }
+
+    @Test
+    void abandonedReservation_ShouldBeReportedWithoutRunningChain() throws Exception {
+        final IdempotencyKey reservation = IdempotencyKey.builder()
+                .operation("POST /api/v1/transactions/withdraw")
+                .reservedUntil(LocalDateTime.now().minusSeconds(1))
+                .build();
+        when(idempotencyService.findKey(EMAIL, "key-8")).thenReturn(Optional.of(reservation));
+        final FilterChain chain = mock(FilterChain.class);
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/v1/transactions/withdraw", "key-8"), response, chain);
+
+        assertEquals(409, response.getStatus());
+        assertTrue(response.getContentAsString(UTF_8).contains(ERRORS_IDEMPOTENCY_KEY_ABANDONED));
+        verifyNoInteractions(chain);
+        verify(idempotencyService, never()).reserve(any(), any(), any());
+    }
+
+    @Test
+    void replay_ShouldReturnStoredResponseWithoutRunningChain() throws Exception {
+        final IdempotencyKey stored = IdempotencyKey.builder()
+                .ownerEmail(EMAIL)
+                .idempotencyKey("key-3")
+                .operation("POST /api/v1/payments/iban")
+                .requestHash(sha256(BODY))
+                .responseStatus(201)
+                .responseContentType("application/json")
+                .responseBody("{\"amount\":\"10\"}")
+                .build();
+        when(idempotencyService.findKey(EMAIL, "key-3")).thenReturn(Optional.of(stored));
+        final FilterChain chain = mock(FilterChain.class);
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/v1/payments/iban", "key-3"), response, chain);
+
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"amount\":\"10\"}", response.getContentAsString());
+        assertEquals("true", response.getHeader("Idempotent-Replayed"));
+        verifyNoInteractions(chain);
+        verify(idempotencyService, never()).reserve(any(), any(), any());
+    }
+
+    @Test
+    void replayWithDifferentBody_ShouldBeRejected() throws Exception {
+        final IdempotencyKey stored = IdempotencyKey.builder()
+                .operation("POST /api/v1/payments/iban")
+                .requestHash(BODY_HASH)
+                .responseStatus(201)
+                .build();
+        when(idempotencyService.findKey(EMAIL, "key-4")).thenReturn(Optional.of(stored));
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/v1/payments/iban", "key-4"), response, mock(FilterChain.class));
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    void concurrentRetry_ShouldReturnConflict() throws Exception {
+        when(idempotencyService.findKey(EMAIL, "key-5")).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(EMAIL, "key-5", "POST /api/v1/payments/iban")).thenReturn(false);
+        final FilterChain chain = mock(FilterChain.class);
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("/api/v1/payments/iban", "key-5"), response, chain);
+
+        assertEquals(409, response.getStatus());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void requestWithoutKey_ShouldPassThrough() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/payments/iban");
+        final FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(any(), any());
+        verifyNoInteractions(idempotencyService);
+    }
+
+    private MockHttpServletRequest request(final String path, final String key) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader("Idempotency-Key", key);
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(UTF_8));
+        return request;
+    }
+
+    private static jakarta.servlet.ServletResponse unwrap(final jakarta.servlet.ServletResponse response) {
+        return ((jakarta.servlet.ServletResponseWrapper) response).getResponse();
+    }
+
+    private static String sha256(final String value) throws Exception {
+        return java.util.HexFormat.of().formatHex(
+                java.security.MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8))
+        );
+    }
+}
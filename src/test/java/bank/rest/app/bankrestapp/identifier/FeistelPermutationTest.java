@@ -0,0 +1,72 @@
+package bank.rest.app.bankrestapp.identifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeistelPermutationTest {
+
+    @Test
+    void permute_ShouldBeBijectiveOnUnbalancedDomain() {
+        final FeistelPermutation permutation = new FeistelPermutation(90, 100, 42L);
+        final boolean[] seen = new boolean[(int) permutation.size()];
+
+        for (long value = 0; value < permutation.size(); value++) {
+            final long permuted = permutation.permute(value);
+            assertTrue(permuted >= 0 && permuted < permutation.size(), () -> "out of domain: " + permuted);
+            assertTrue(!seen[(int) permuted], () -> "collision at " + permuted);
+            seen[(int) permuted] = true;
+            assertEquals(value, permutation.inverse(permuted));
+        }
+    }
+
+    @Test
+    void permute_ShouldScatterConsecutiveValuesOfLargeDomain() {
+        final FeistelPermutation permutation = new FeistelPermutation(100_000_000L, 10_000_000L, 7L);
+        final Set<Long> permuted = new HashSet<>();
+        long nearNeighbours = 0;
+
+        long previous = permutation.permute(1);
+        for (long value = 1; value <= 10_000; value++) {
+            final long current = permutation.permute(value);
+            permuted.add(current);
+            assertEquals(value, permutation.inverse(current));
+            if (Math.abs(current - previous) < 1_000_000) {
+                nearNeighbours++;
+            }
+            previous = current;
+        }
+
+        assertEquals(10_000, permuted.size());
+        assertTrue(nearNeighbours < 100, "consecutive inputs stay close: " + nearNeighbours);
+    }
+
+    @Test
+    void permute_ShouldDependOnKey() {
+        final FeistelPermutation first = new FeistelPermutation(1_000, 1_000, 1L);
+        final FeistelPermutation second = new FeistelPermutation(1_000, 1_000, 2L);
+
+        int equal = 0;
+        for (long value = 0; value < 1_000; value++) {
+            if (first.permute(value) == second.permute(value)) {
+                equal++;
+            }
+        }
+
+        assertTrue(equal < 10);
+    }
+
+    @Test
+    void permute_ShouldRejectValuesOutsideDomain() {
+        final FeistelPermutation permutation = new FeistelPermutation(10, 10, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> permutation.permute(100));
+        assertThrows(IllegalArgumentException.class, () -> permutation.permute(-1));
+        assertThrows(IllegalArgumentException.class, () -> new FeistelPermutation(Long.MAX_VALUE, 10, 1L));
+    }
+}
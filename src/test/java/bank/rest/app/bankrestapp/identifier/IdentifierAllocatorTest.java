@@ -0,0 +1,108 @@
+package bank.rest.app.bankrestapp.identifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.IDENTIFIER_BLOCK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentifierAllocatorTest {
+
+    private final Map<IdentifierSequence, AtomicLong> sequences = new EnumMap<>(IdentifierSequence.class);
+    private final Map<IdentifierSequence, AtomicLong> calls = new EnumMap<>(IdentifierSequence.class);
+
+    private final SequenceBlockSource blockSource = sequence -> {
+        this.calls.get(sequence).incrementAndGet();
+        return this.sequences.get(sequence).getAndAdd(IDENTIFIER_BLOCK_SIZE);
+    };
+
+    IdentifierAllocatorTest() {
+        for (final IdentifierSequence sequence : IdentifierSequence.values()) {
+            this.sequences.put(sequence, new AtomicLong(1));
+            this.calls.put(sequence, new AtomicLong());
+        }
+    }
+
+    @Test
+    void nextAccountNumber_ShouldKeepFormatAndStayClearOfLegacyNumbers() {
+        final IdentifierAllocator allocator = new IdentifierAllocator(this.blockSource);
+
+        final String accountNumber = allocator.nextAccountNumber("UA");
+
+        assertEquals(34, accountNumber.length());
+        assertTrue(accountNumber.matches("UA0{15}1\\d{16}"), accountNumber);
+    }
+
+    @Test
+    void nextEdrpou_ShouldBeTenDigits() {
+        final IdentifierAllocator allocator = new IdentifierAllocator(this.blockSource);
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(allocator.nextEdrpou().matches("[1-9]\\d{9}"));
+        }
+    }
+
+    @Test
+    void nextCardNumber_ShouldCarryValidLuhnDigit() {
+        final IdentifierAllocator allocator = new IdentifierAllocator(this.blockSource);
+
+        for (int i = 0; i < 500; i++) {
+            final String cardNumber = allocator.nextCardNumber();
+            assertTrue(cardNumber.matches("\\d{16}"), cardNumber);
+            assertTrue(Luhn.isValid(cardNumber), cardNumber);
+        }
+    }
+
+    @Test
+    void allocator_ShouldReserveOneBlockPerBlockSizeIdentifiers() {
+        final IdentifierAllocator allocator = new IdentifierAllocator(this.blockSource);
+
+        for (int i = 0; i < 2 * IDENTIFIER_BLOCK_SIZE + 1; i++) {
+            allocator.nextEdrpou();
+        }
+
+        assertEquals(3, this.calls.get(IdentifierSequence.EDRPOU).get());
+        assertEquals(0, this.calls.get(IdentifierSequence.CARD_NUMBER).get());
+    }
+
+    @Test
+    void allocators_ShouldNotCollideAcrossNodesAndThreads() throws Exception {
+        final IdentifierAllocator firstNode = new IdentifierAllocator(this.blockSource);
+        final IdentifierAllocator secondNode = new IdentifierAllocator(this.blockSource);
+        final Set<String> cardNumbers = ConcurrentHashMap.newKeySet();
+        final Set<String> edrpous = ConcurrentHashMap.newKeySet();
+        final int perThread = 1_000;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Set<Future<?>> futures = new HashSet<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final IdentifierAllocator allocator = thread % 2 == 0 ? firstNode : secondNode;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        cardNumbers.add(allocator.nextCardNumber());
+                        edrpous.add(allocator.nextEdrpou());
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(4 * perThread, cardNumbers.size());
+        assertEquals(4 * perThread, edrpous.size());
+    }
+}
@@ -0,0 +1,48 @@
+package bank.rest.app.bankrestapp.identifier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.IDENTIFIER_BLOCK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the dialect-generated {@code nextval} statement against H2 with the sequences declared as in
+ * the V16 migration.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(JdbcSequenceBlockSource.class)
+class JdbcSequenceBlockSourceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JdbcSequenceBlockSource blockSource;
+
+    @BeforeEach
+    void setUp() {
+        for (final IdentifierSequence sequence : IdentifierSequence.values()) {
+            this.jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence.sequenceName()
+                    + " START WITH 1 INCREMENT BY " + IDENTIFIER_BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void nextBlockStart_ShouldReturnDisjointBlocksPerSequence() {
+        final long first = this.blockSource.nextBlockStart(IdentifierSequence.CARD_NUMBER);
+        final long second = this.blockSource.nextBlockStart(IdentifierSequence.CARD_NUMBER);
+        final long other = this.blockSource.nextBlockStart(IdentifierSequence.EDRPOU);
+
+        assertEquals(first + IDENTIFIER_BLOCK_SIZE, second);
+        assertEquals(1, other % IDENTIFIER_BLOCK_SIZE);
+    }
+}
@@ -0,0 +1,25 @@
+package bank.rest.app.bankrestapp.identifier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LuhnTest {
+
+    @Test
+    void checkDigit_ShouldMatchKnownNumbers() {
+        assertEquals(3, Luhn.checkDigit(7_992_739_871L));
+        assertEquals(1, Luhn.checkDigit(411_111_111_111_111L));
+        assertEquals(0, Luhn.checkDigit(0L));
+    }
+
+    @Test
+    void isValid_ShouldAcceptOnlyCorrectCheckDigit() {
+        assertTrue(Luhn.isValid("4111111111111111"));
+        assertTrue(Luhn.isValid("79927398713"));
+        assertFalse(Luhn.isValid("4111111111111112"));
+        assertFalse(Luhn.isValid("41111111111x1111"));
+    }
+}
@@ -0,0 +1,167 @@
+package bank.rest.app.bankrestapp.locking;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.CONTENDED_ACCOUNT_CONFLICTS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.ACCOUNT_LOCK_METRIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountBalanceStatementsTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountLockContention accountLockContention = new AccountLockContention();
+    private final AccountBalanceStatements statements = new AccountBalanceStatements(
+            this.accountRepository,
+            new MoneyMovementMetrics(this.meterRegistry, this.accountLockContention),
+            new AccountLockingPolicy(this.accountLockContention)
+    );
+
+    @Test
+    void debitAndCredit_ShouldBeTimedAsLockAcquisitions() {
+        when(this.accountRepository.debit(1, BigDecimal.TEN)).thenReturn(1);
+        when(this.accountRepository.debit(2, BigDecimal.TEN)).thenReturn(0);
+        when(this.accountRepository.credit(3, BigDecimal.TEN)).thenReturn(1);
+
+        assertTrue(this.statements.debit(1, BigDecimal.TEN));
+        assertFalse(this.statements.debit(2, BigDecimal.TEN));
+        this.statements.credit(3, BigDecimal.TEN);
+
+        assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                .tags("lookup", "debit", "outcome", "rejected")
+                .timer()
+                .count());
+        assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                .tags("lookup", "credit", "outcome", "acquired")
+                .timer()
+                .count());
+        this.accountLockContention.fold();
+        assertEquals(3, this.accountLockContention.top(10).size());
+    }
+
+    @Test
+    void credit_WhenAccountIsGone_ShouldFail() {
+        assertThrows(IllegalStateException.class, () -> this.statements.credit(4, BigDecimal.TEN));
+    }
+
+    @Test
+    void transfer_WhenRecipientComesAfterSender_ShouldDebitFirst() {
+        when(this.accountRepository.debit(1, BigDecimal.TEN)).thenReturn(1);
+        when(this.accountRepository.credit(2, BigDecimal.ONE)).thenReturn(1);
+
+        assertTrue(this.statements.transfer(1, BigDecimal.TEN, 2, BigDecimal.ONE));
+
+        final InOrder inOrder = inOrder(this.accountRepository);
+        inOrder.verify(this.accountRepository).debit(1, BigDecimal.TEN);
+        inOrder.verify(this.accountRepository).credit(2, BigDecimal.ONE);
+        verify(this.accountRepository, never()).lockById(any());
+    }
+
+    @Test
+    void transfer_WhenRecipientComesAfterSenderAndDebitIsRejected_ShouldNotCredit() {
+        assertFalse(this.statements.transfer(1, BigDecimal.TEN, 2, BigDecimal.ONE));
+
+        verify(this.accountRepository, never()).credit(any(), any());
+    }
+
+    @Test
+    void transfer_WhenUncontendedRecipientComesFirst_ShouldCreditItFirstWithoutLockingRead() {
+        when(this.accountRepository.credit(2, BigDecimal.ONE)).thenReturn(1);
+        when(this.accountRepository.debit(5, BigDecimal.TEN)).thenReturn(1);
+
+        assertTrue(this.statements.transfer(5, BigDecimal.TEN, 2, BigDecimal.ONE));
+
+        final InOrder inOrder = inOrder(this.accountRepository);
+        inOrder.verify(this.accountRepository).credit(2, BigDecimal.ONE);
+        inOrder.verify(this.accountRepository).debit(5, BigDecimal.TEN);
+        verify(this.accountRepository, never()).lockById(any());
+    }
+
+    @Test
+    void transfer_WhenDebitIsRejectedAfterOptimisticCredit_ShouldFailAsConflictOnRecipient() {
+        when(this.accountRepository.credit(2, BigDecimal.ONE)).thenReturn(1);
+
+        final ObjectOptimisticLockingFailureException conflict = assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> this.statements.transfer(5, BigDecimal.TEN, 2, BigDecimal.ONE));
+
+        assertEquals(Account.class.getName(), conflict.getPersistentClassName());
+        assertEquals(2, conflict.getIdentifier());
+    }
+
+    @Test
+    void transfer_WhenContendedRecipientComesFirst_ShouldLockItAheadOfTheDebit() {
+        this.makeContended(2);
+        when(this.accountRepository.lockById(2)).thenReturn(Optional.of(2));
+        when(this.accountRepository.debit(5, BigDecimal.TEN)).thenReturn(1);
+        when(this.accountRepository.credit(2, BigDecimal.ONE)).thenReturn(1);
+
+        assertTrue(this.statements.transfer(5, BigDecimal.TEN, 2, BigDecimal.ONE));
+
+        final InOrder inOrder = inOrder(this.accountRepository);
+        inOrder.verify(this.accountRepository).lockById(2);
+        inOrder.verify(this.accountRepository).debit(5, BigDecimal.TEN);
+        inOrder.verify(this.accountRepository).credit(2, BigDecimal.ONE);
+    }
+
+    @Test
+    void transfer_WhenDebitIsRejectedAfterRecipientLock_ShouldRejectWithoutCredit() {
+        this.makeContended(2);
+        when(this.accountRepository.lockById(2)).thenReturn(Optional.of(2));
+
+        assertFalse(this.statements.transfer(5, BigDecimal.TEN, 2, BigDecimal.ONE));
+
+        verify(this.accountRepository, never()).credit(any(), any());
+    }
+
+    @Test
+    void transfer_WhenLockedRecipientIsGone_ShouldFail() {
+        this.makeContended(2);
+        when(this.accountRepository.lockById(2)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> this.statements.transfer(5, BigDecimal.TEN, 2, BigDecimal.ONE));
+        verify(this.accountRepository, never()).debit(any(), any());
+    }
+
+    @Test
+    void statementTimeout_ShouldFailAsLockConflict() {
+        when(this.accountRepository.credit(1, BigDecimal.TEN)).thenThrow(new QueryTimeoutException("canceled"));
+
+        final CannotAcquireLockException conflict = assertThrows(CannotAcquireLockException.class,
+                () -> this.statements.credit(1, BigDecimal.TEN));
+
+        assertInstanceOf(QueryTimeoutException.class, conflict.getCause());
+        assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                .tags("lookup", "credit", "outcome", "failed", "exception", "QueryTimeoutException")
+                .timer()
+                .count());
+    }
+
+    private void makeContended(final Integer accountId) {
+        for (int i = 0; i < CONTENDED_ACCOUNT_CONFLICTS; i++) {
+            this.accountLockContention.recordConflict(accountId, 1_000_000L);
+        }
+        this.accountLockContention.fold();
+    }
+}
@@ -0,0 +1,48 @@
+package bank.rest.app.bankrestapp.locking;
+
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import org.junit.jupiter.api.Test;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.CONTENDED_ACCOUNT_CONFLICTS;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.CONTENDED_ACCOUNT_LOCK_WAIT_MILLIS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountLockingPolicyTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private final AccountLockContention contention = new AccountLockContention();
+    private final AccountLockingPolicy policy = new AccountLockingPolicy(this.contention);
+
+    @Test
+    void modeFor_UnseenAccount_ShouldBeOptimistic() {
+        assertEquals(AccountLockMode.OPTIMISTIC, this.policy.modeFor(1));
+    }
+
+    @Test
+    void modeFor_ShouldTurnPessimisticAfterRepeatedConflicts() {
+        for (int i = 1; i < CONTENDED_ACCOUNT_CONFLICTS; i++) {
+            this.contention.recordConflict(1, MILLI);
+        }
+        this.contention.fold();
+        assertEquals(AccountLockMode.OPTIMISTIC, this.policy.modeFor(1));
+
+        this.contention.recordConflict(1, MILLI);
+        this.contention.fold();
+
+        assertEquals(AccountLockMode.PESSIMISTIC, this.policy.modeFor(1));
+        assertEquals(AccountLockMode.OPTIMISTIC, this.policy.modeFor(2));
+    }
+
+    @Test
+    void modeFor_ShouldStayPessimisticWhileLockWaitsAreLong() {
+        this.contention.record(1, MILLI);
+        this.contention.fold();
+        assertEquals(AccountLockMode.OPTIMISTIC, this.policy.modeFor(1));
+
+        this.contention.record(1, (long) (CONTENDED_ACCOUNT_LOCK_WAIT_MILLIS * MILLI));
+        this.contention.fold();
+
+        assertEquals(AccountLockMode.PESSIMISTIC, this.policy.modeFor(1));
+    }
+}
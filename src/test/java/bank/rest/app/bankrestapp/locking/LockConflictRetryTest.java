@@ -0,0 +1,127 @@
+package bank.rest.app.bankrestapp.locking;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.AccountLockHotspot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.LOCK_CONFLICT_BASE_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.LOCK_CONFLICT_MAX_ATTEMPTS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_RETRY_METRIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class LockConflictRetryTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountLockContention accountLockContention = new AccountLockContention();
+    private final List<Long> pauses = new ArrayList<>();
+    private final LockConflictRetry retry = new LockConflictRetry(
+            new TransactionTemplate(this.transactionManager),
+            this.meterRegistry,
+            this.accountLockContention,
+            this.pauses::add
+    );
+
+    @Test
+    void inTransaction_ShouldRetryLockConflictsInFreshTransactions() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String result = this.retry.inTransaction("transfer", status -> {
+            if (attempts.incrementAndGet() < LOCK_CONFLICT_MAX_ATTEMPTS) {
+                throw new DeadlockLoserDataAccessException("deadlock", null);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(LOCK_CONFLICT_MAX_ATTEMPTS, attempts.get());
+        verify(this.transactionManager, times(LOCK_CONFLICT_MAX_ATTEMPTS)).getTransaction(any());
+        verify(this.transactionManager, times(LOCK_CONFLICT_MAX_ATTEMPTS - 1)).rollback(any());
+        assertEquals(LOCK_CONFLICT_MAX_ATTEMPTS - 1, this.count("retried"));
+        assertEquals(1, this.count("recovered"));
+    }
+
+    @Test
+    void inTransaction_ShouldRetryOptimisticConflictsAndChargeThemToTheAccount() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        this.retry.inTransaction("transfer", status -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException(Account.class, 7);
+            }
+            return null;
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, this.count("recovered"));
+        this.accountLockContention.fold();
+        assertEquals(1, this.accountLockContention.find(7).map(AccountLockHotspot::conflicts).orElse(0L));
+    }
+
+    @Test
+    void inTransaction_ShouldDrawBackoffBelowDoublingCeiling() {
+        assertThrows(CannotAcquireLockException.class, () -> this.retry.inTransaction("transfer", status -> {
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+
+        assertEquals(LOCK_CONFLICT_MAX_ATTEMPTS - 1, this.pauses.size());
+        for (int i = 0; i < this.pauses.size(); i++) {
+            final long pause = this.pauses.get(i);
+            final long ceiling = LOCK_CONFLICT_BASE_BACKOFF_MILLIS << i;
+            assertTrue(pause >= 0 && pause <= ceiling, "pause " + pause + " above " + ceiling);
+        }
+        assertEquals(1, this.count("exhausted"));
+    }
+
+    @Test
+    void inTransaction_ShouldCommitNoRollbackExceptionsAndNotRetryThem() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(InsufficientFundsException.class, () -> this.retry.inTransaction(
+                "transfer",
+                List.of(InsufficientFundsException.class),
+                status -> {
+                    attempts.incrementAndGet();
+                    throw new InsufficientFundsException("no funds");
+                }
+        ));
+
+        assertEquals(1, attempts.get());
+        verify(this.transactionManager).commit(any());
+        verify(this.transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void inTransaction_ShouldRollBackOtherExceptionsWithoutRetry() {
+        assertThrows(IllegalArgumentException.class, () -> this.retry.inTransaction("iban", status -> {
+            throw new IllegalArgumentException("bad request");
+        }));
+
+        verify(this.transactionManager).rollback(any());
+        assertTrue(this.pauses.isEmpty());
+        assertTrue(this.meterRegistry.find(LOCK_RETRY_METRIC).counters().isEmpty());
+    }
+
+    private double count(final String outcome) {
+        return this.meterRegistry.get(LOCK_RETRY_METRIC).tags("operation", "transfer", "outcome", outcome).counter().count();
+    }
+}
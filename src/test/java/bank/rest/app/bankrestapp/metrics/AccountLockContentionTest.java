@@ -0,0 +1,158 @@
+package bank.rest.app.bankrestapp.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_BUCKETS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_BUCKET_MILLIS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_CONTENTION_COUNTERS_PER_BUCKET;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountLockContentionTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private final MutableClock clock = new MutableClock();
+    private final AccountLockContention contention = new AccountLockContention(this.clock);
+
+    @Test
+    void top_ShouldRankAccountsByAccumulatedWait() {
+        this.contention.record(1, 5 * MILLI);
+        this.contention.record(2, 20 * MILLI);
+        this.contention.record(1, 30 * MILLI);
+        this.contention.record(3, MILLI);
+
+        this.contention.fold();
+
+        final List<AccountLockHotspot> top = this.contention.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals(new AccountLockHotspot(1, 2, 0, 35.0, 0.0, 30.0), top.get(0));
+        assertEquals(new AccountLockHotspot(2, 1, 0, 20.0, 0.0, 20.0), top.get(1));
+    }
+
+    @Test
+    void top_ShouldMergeBucketsAndForgetWaitsOutsideTheWindow() {
+        this.contention.record(1, 50 * MILLI);
+        this.clock.advance(LOCK_CONTENTION_BUCKET_MILLIS);
+        this.contention.record(1, 10 * MILLI);
+        this.contention.record(2, 40 * MILLI);
+
+        this.contention.fold();
+        assertEquals(60.0, this.contention.top(1).get(0).totalWaitMillis());
+
+        this.clock.advance((LOCK_CONTENTION_BUCKETS - 1) * LOCK_CONTENTION_BUCKET_MILLIS);
+
+        this.contention.fold();
+
+        final List<AccountLockHotspot> top = this.contention.top(10);
+        assertEquals(2, top.size());
+        assertEquals(2, top.get(0).accountId());
+        assertEquals(10.0, top.get(1).totalWaitMillis());
+
+        this.clock.advance(LOCK_CONTENTION_BUCKET_MILLIS);
+        this.contention.fold();
+
+        assertTrue(this.contention.top(10).isEmpty());
+    }
+
+    @Test
+    void record_ShouldKeepHeavyHitterWhenBucketOverflows() {
+        this.contention.record(0, 1_000 * MILLI);
+        for (int accountId = 1; accountId <= LOCK_CONTENTION_COUNTERS_PER_BUCKET * 10; accountId++) {
+            this.contention.record(accountId, MILLI);
+        }
+
+        this.contention.fold();
+
+        final List<AccountLockHotspot> top = this.contention.top(LOCK_CONTENTION_COUNTERS_PER_BUCKET * 10);
+
+        assertEquals(LOCK_CONTENTION_COUNTERS_PER_BUCKET, top.size());
+        assertEquals(new AccountLockHotspot(0, 1, 0, 1_000.0, 0.0, 1_000.0), top.get(0));
+        assertTrue(top.stream().skip(1).allMatch(hotspot -> hotspot.totalWaitMillis() >= hotspot.overestimateMillis()));
+    }
+
+    @Test
+    void find_ShouldMergeAccountAcrossBucketsWithConflicts() {
+        this.contention.record(1, 40 * MILLI);
+        this.clock.advance(LOCK_CONTENTION_BUCKET_MILLIS);
+        this.contention.recordConflict(1, 5 * MILLI);
+        this.contention.recordConflict(1, 5 * MILLI);
+        this.contention.fold();
+
+        assertEquals(Optional.of(new AccountLockHotspot(1, 1, 2, 50.0, 0.0, 40.0)), this.contention.find(1));
+        assertEquals(Optional.empty(), this.contention.find(2));
+
+        this.clock.advance(LOCK_CONTENTION_BUCKETS * LOCK_CONTENTION_BUCKET_MILLIS);
+        this.contention.fold();
+
+        assertEquals(Optional.empty(), this.contention.find(1));
+    }
+
+    @Test
+    void record_ShouldOnlyBeVisibleAfterFoldAndKeepItsOwnBucket() {
+        this.contention.record(1, 50 * MILLI);
+
+        assertEquals(Optional.empty(), this.contention.find(1));
+
+        this.clock.advance((LOCK_CONTENTION_BUCKETS - 1) * LOCK_CONTENTION_BUCKET_MILLIS);
+        this.contention.fold();
+
+        assertEquals(50.0, this.contention.find(1).orElseThrow().totalWaitMillis());
+
+        this.clock.advance(LOCK_CONTENTION_BUCKET_MILLIS);
+        this.contention.fold();
+
+        assertEquals(Optional.empty(), this.contention.find(1));
+    }
+
+    @Test
+    void record_ShouldNotBlockWhileFoldIsRunning() throws Exception {
+        final Thread recorder;
+        synchronized (this.contention) {
+            recorder = Thread.ofPlatform().start(() -> this.contention.record(1, MILLI));
+            recorder.join(5_000);
+            assertFalse(recorder.isAlive());
+        }
+
+        this.contention.fold();
+        assertEquals(1, this.contention.find(1).orElseThrow().acquisitions());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(final long delta) {
+            this.millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
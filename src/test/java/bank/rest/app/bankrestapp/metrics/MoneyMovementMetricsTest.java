@@ -0,0 +1,135 @@
+package bank.rest.app.bankrestapp.metrics;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
+import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.ACCOUNT_LOCK_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.CURRENCY_CONVERSION_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.PAYMENT_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.PAYMENT_TYPE_MOBILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyMovementMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountLockContention accountLockContention = new AccountLockContention();
+    private final MoneyMovementMetrics metrics = new MoneyMovementMetrics(this.meterRegistry, this.accountLockContention);
+
+    @Test
+    void recordPayment_ShouldTagOutcomeCurrencyAndException() {
+        assertEquals("ok", this.metrics.recordPayment(PAYMENT_TYPE_MOBILE, sample -> {
+            sample.currency(Currency.UAH);
+            return "ok";
+        }));
+        assertThrows(InsufficientFundsException.class, () -> this.metrics.recordPayment(PAYMENT_TYPE_MOBILE, sample -> {
+            sample.currency(Currency.UAH);
+            throw new InsufficientFundsException("no funds");
+        }));
+
+        assertEquals(1, this.paymentCount("COMPLETED", "UAH", "none"));
+        assertEquals(1, this.paymentCount("FAILED", "UAH", "InsufficientFundsException"));
+    }
+
+    @Test
+    void outcomeOf_ShouldTreatInactiveAccountAsCancelled() {
+        assertEquals(TransactionStatus.CANCELLED, MoneyMovementMetrics.outcomeOf(new AccountNotActiveException("blocked")));
+        assertEquals(TransactionStatus.FAILED, MoneyMovementMetrics.outcomeOf(new IllegalArgumentException("bad")));
+    }
+
+    @Test
+    void recordLock_ShouldTagAcquiredMissingAndFailedLocks() {
+        this.metrics.recordLock("account_id", () -> Optional.of(account(1)));
+        this.metrics.recordLock("account_id", Optional::empty);
+        assertThrows(CannotAcquireLockException.class, () -> this.metrics.recordLock("account_id", () -> {
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+
+        for (final String outcome : new String[]{"acquired", "not_found", "failed"}) {
+            assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                    .tags("lookup", "account_id", "outcome", outcome)
+                    .timer()
+                    .count(), outcome);
+        }
+        assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                .tags("outcome", "failed", "exception", "CannotAcquireLockException")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void recordLock_ShouldChargeWaitToLockedAccount() {
+        this.metrics.recordLock("account_id", () -> Optional.of(account(7)));
+        this.metrics.recordLock("account_number", () -> Optional.of(account(7)));
+        this.metrics.recordLockOfId("account_id", () -> Optional.of(7));
+        this.metrics.recordLock("account_id", Optional::empty);
+
+        this.accountLockContention.fold();
+        final List<AccountLockHotspot> top = this.accountLockContention.top(10);
+        assertEquals(1, top.size());
+        assertEquals(7, top.get(0).accountId());
+        assertEquals(3, top.get(0).acquisitions());
+    }
+
+    @Test
+    void recordStatement_ShouldTagUpdatedAndRejectedStatementsAndChargeTheAccount() {
+        assertEquals(1, this.metrics.recordStatement("debit", 7, () -> 1));
+        assertEquals(0, this.metrics.recordStatement("debit", 7, () -> 0));
+        assertThrows(CannotAcquireLockException.class, () -> this.metrics.recordStatement("credit", 8, () -> {
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+
+        for (final String outcome : new String[]{"acquired", "rejected"}) {
+            assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                    .tags("lookup", "debit", "outcome", outcome)
+                    .timer()
+                    .count(), outcome);
+        }
+        assertEquals(1, this.meterRegistry.get(ACCOUNT_LOCK_METRIC)
+                .tags("lookup", "credit", "outcome", "failed", "exception", "CannotAcquireLockException")
+                .timer()
+                .count());
+
+        this.accountLockContention.fold();
+        final List<AccountLockHotspot> top = this.accountLockContention.top(10);
+        assertEquals(1, top.size());
+        assertEquals(7, top.get(0).accountId());
+        assertEquals(2, top.get(0).acquisitions());
+    }
+
+    @Test
+    void recordConversion_ShouldUsePreRegisteredTimers() {
+        final int meters = this.meterRegistry.getMeters().size();
+
+        this.metrics.recordConversion(Currency.USD, Currency.EUR, 1_000, true);
+        this.metrics.recordConversion(Currency.USD, Currency.EUR, 1_000, false);
+
+        assertEquals(meters, this.meterRegistry.getMeters().size());
+        assertEquals(1, this.meterRegistry.get(CURRENCY_CONVERSION_METRIC)
+                .tags("from", "USD", "to", "EUR", "outcome", "FAILED")
+                .timer()
+                .count());
+    }
+
+    private static Account account(final Integer accountId) {
+        final Account account = new Account();
+        account.setAccountId(accountId);
+        return account;
+    }
+
+    private long paymentCount(final String outcome, final String currency, final String exception) {
+        return this.meterRegistry.get(PAYMENT_METRIC)
+                .tags("type", PAYMENT_TYPE_MOBILE, "outcome", outcome, "currency", currency, "exception", exception)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,137 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.entity.enums.AccountStatus;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the balance statements debit and credit in place, reject what the entity checks used to reject
+ * and keep the row version moving.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class AccountRepositoryBalanceUpdateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Integer accountId;
+
+    @BeforeEach
+    void setUp() {
+        this.accountId = this.persistAccount("acc-active", AccountStatus.ACTIVE);
+    }
+
+    @Test
+    void debit_ShouldSubtractAndBumpVersion() {
+        assertEquals(1, this.accountRepository.debit(this.accountId, BigDecimal.valueOf(400)));
+
+        final Account account = this.reload(this.accountId);
+        assertEquals(0, BigDecimal.valueOf(600).compareTo(account.getBalance()));
+        assertEquals(1L, account.getVersion());
+    }
+
+    @Test
+    void debit_ShouldAllowSpendingTheWholeBalance() {
+        assertEquals(1, this.accountRepository.debit(this.accountId, BigDecimal.valueOf(1000)));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(this.reload(this.accountId).getBalance()));
+    }
+
+    @Test
+    void debit_ShouldRejectInsufficientFundsWithoutChangingTheRow() {
+        assertEquals(0, this.accountRepository.debit(this.accountId, BigDecimal.valueOf(1000.01)));
+
+        final Account account = this.reload(this.accountId);
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(account.getBalance()));
+        assertEquals(0L, account.getVersion());
+    }
+
+    @Test
+    void debit_ShouldRejectInactiveAccount() {
+        final Integer blockedId = this.persistAccount("acc-blocked", AccountStatus.BLOCKED);
+
+        assertEquals(0, this.accountRepository.debit(blockedId, BigDecimal.ONE));
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(this.reload(blockedId).getBalance()));
+    }
+
+    @Test
+    void credit_ShouldAddAndBumpVersion() {
+        assertEquals(1, this.accountRepository.credit(this.accountId, BigDecimal.valueOf(250)));
+        assertEquals(0, this.accountRepository.credit(-1, BigDecimal.ONE));
+
+        final Account account = this.reload(this.accountId);
+        assertEquals(0, BigDecimal.valueOf(1250).compareTo(account.getBalance()));
+        assertEquals(1L, account.getVersion());
+    }
+
+    @Test
+    void debit_ShouldNotConflictWithJournalingThroughTheStaleManagedAccount() {
+        final Account account = this.accountRepository.findById(this.accountId).orElseThrow();
+
+        this.accountRepository.debit(this.accountId, BigDecimal.TEN);
+        final Transaction transaction = Transaction.builder()
+                .account(account)
+                .amount(BigDecimal.TEN)
+                .currencyCode(Currency.UAH)
+                .description("Transfer")
+                .transactionType(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .transactionDate(LocalDateTime.now())
+                .build();
+        account.getSentTransactions().add(transaction);
+        this.entityManager.persist(transaction);
+        this.entityManager.flush();
+
+        assertEquals(0, BigDecimal.valueOf(990).compareTo(this.reload(this.accountId).getBalance()));
+    }
+
+    @Test
+    void lockById_ShouldLockWithoutVersionCheckingTheStaleManagedAccount() {
+        final Account account = this.accountRepository.findById(this.accountId).orElseThrow();
+        this.accountRepository.credit(this.accountId, BigDecimal.ONE);
+
+        assertEquals(this.accountId, this.accountRepository.lockById(this.accountId).orElseThrow());
+        assertEquals(0L, account.getVersion());
+        assertTrue(this.accountRepository.lockById(-1).isEmpty());
+    }
+
+    private Account reload(final Integer id) {
+        this.entityManager.clear();
+        return this.accountRepository.findById(id).orElseThrow();
+    }
+
+    private Integer persistAccount(final String accountNumber, final AccountStatus status) {
+        final Account account = Account.builder()
+                .accountNumber(accountNumber)
+                .balance(BigDecimal.valueOf(1000))
+                .currencyCode(Currency.UAH)
+                .status(status)
+                .build();
+        this.entityManager.persist(account);
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        return account.getAccountId();
+    }
+}
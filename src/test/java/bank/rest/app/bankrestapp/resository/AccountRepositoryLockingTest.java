@@ -3,9 +3,13 @@ package bank.rest.app.bankrestapp.resository;
 import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 
+import static bank.rest.app.bankrestapp.constants.AccountDefaults.ACCOUNT_LOCK_TIMEOUT_MILLIS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -16,11 +20,32 @@ class AccountRepositoryLockingTest {
         assertPessimisticWrite(AccountRepository.class.getMethod("findWithLockByAccountNumber", String.class));
         assertPessimisticWrite(AccountRepository.class.getMethod("findByCard_CardNumberForUpdate", String.class));
         assertPessimisticWrite(AccountRepository.class.getMethod("findByIdForUpdate", Integer.class));
+        assertPessimisticWrite(AccountRepository.class.getMethod("lockById", Integer.class));
+    }
+
+    @Test
+    void balanceStatements_ShouldRunUnderTheLockTimeout() throws NoSuchMethodException {
+        for (final String statement : new String[]{"debit", "credit"}) {
+            final Method method = AccountRepository.class.getMethod(statement, Integer.class, BigDecimal.class);
+            final QueryHints hints = method.getAnnotation(QueryHints.class);
+            assertNotNull(hints, () -> statement + " should declare a statement timeout");
+            assertArrayEquals(
+                    new String[]{"jakarta.persistence.query.timeout", ACCOUNT_LOCK_TIMEOUT_MILLIS},
+                    new String[]{hints.value()[0].name(), hints.value()[0].value()}
+            );
+        }
     }
 
     private void assertPessimisticWrite(final Method method) {
         final Lock lock = method.getAnnotation(Lock.class);
         assertNotNull(lock, () -> method.getName() + " should declare @Lock");
         assertEquals(LockModeType.PESSIMISTIC_WRITE, lock.value());
+
+        final QueryHints hints = method.getAnnotation(QueryHints.class);
+        assertNotNull(hints, () -> method.getName() + " should declare a lock timeout");
+        assertArrayEquals(
+                new String[]{"jakarta.persistence.lock.timeout", ACCOUNT_LOCK_TIMEOUT_MILLIS},
+                new String[]{hints.value()[0].name(), hints.value()[0].value()}
+        );
     }
 }
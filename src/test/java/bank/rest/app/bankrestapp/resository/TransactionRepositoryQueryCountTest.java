@@ -0,0 +1,182 @@
+package bank.rest.app.bankrestapp.resository;
+
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.AuthUSer;
+import bank.rest.app.bankrestapp.entity.Card;
+import bank.rest.app.bankrestapp.entity.Customer;
+import bank.rest.app.bankrestapp.entity.CustomerRole;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.entity.enums.AccountStatus;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.Role;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the transaction history queries against N+1 regressions: a history page must cost the same
+ * number of statements whatever its size and however many distinct counterparties it contains.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TransactionRepositoryQueryCountTest {
+
+    private static final int COUNTERPARTIES = 6;
+    private static final int TRANSFERS_PER_COUNTERPARTY = 4;
+    private static final List<TransactionStatus> HIDDEN_INCOMING_STATUSES =
+            List.of(TransactionStatus.CANCELLED, TransactionStatus.FAILED);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+    private Account owner;
+
+    @BeforeEach
+    void setUp() {
+        final CustomerRole role = new CustomerRole();
+        role.setRoleName(Role.ROLE_USER);
+        this.entityManager.persist(role);
+
+        this.owner = this.persistAccount("owner", role);
+        final LocalDateTime base = LocalDateTime.of(2026, 6, 1, 12, 0);
+        int minute = 0;
+        for (int i = 0; i < COUNTERPARTIES; i++) {
+            final Account counterparty = this.persistAccount("counterparty" + i, role);
+            for (int j = 0; j < TRANSFERS_PER_COUNTERPARTY; j++) {
+                this.persistTransfer(this.owner, counterparty, base.plusMinutes(minute++));
+                this.persistTransfer(counterparty, this.owner, base.plusMinutes(minute++));
+            }
+        }
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    void historyPage_ShouldCostTwoStatementsWhateverItsSize() {
+        for (final int size : new int[]{2, 10, 40}) {
+            this.entityManager.clear();
+            this.statistics.clear();
+
+            final List<TransactionHistoryRow> outgoing = this.transactionRepository.findOutgoingHistory(
+                    this.owner.getAccountId(), PageRequest.of(0, size + 1));
+            final List<TransactionHistoryRow> incoming = this.transactionRepository.findIncomingHistory(
+                    this.owner.getAccountId(), HIDDEN_INCOMING_STATUSES, PageRequest.of(0, size + 1));
+
+            assertFalse(outgoing.isEmpty());
+            assertFalse(incoming.isEmpty());
+            assertEquals(2, this.statistics.getPrepareStatementCount(), () -> "page size " + size);
+            assertEquals(0, this.statistics.getEntityLoadCount(), () -> "page size " + size);
+        }
+    }
+
+    @Test
+    void historyPageAfterCursor_ShouldCostTwoStatements() {
+        final List<TransactionHistoryRow> firstPage = this.transactionRepository.findOutgoingHistory(
+                this.owner.getAccountId(), PageRequest.of(0, 5));
+        final TransactionHistoryRow last = firstPage.getLast();
+        this.statistics.clear();
+
+        final List<TransactionHistoryRow> outgoing = this.transactionRepository.findOutgoingHistoryBefore(
+                this.owner.getAccountId(), last.transactionDate(), last.transactionId(), PageRequest.of(0, 5));
+        final List<TransactionHistoryRow> incoming = this.transactionRepository.findIncomingHistoryBefore(
+                this.owner.getAccountId(), HIDDEN_INCOMING_STATUSES,
+                last.transactionDate(), last.transactionId(), PageRequest.of(0, 5));
+
+        assertEquals(5, outgoing.size());
+        assertEquals(5, incoming.size());
+        assertTrue(outgoing.stream().allMatch(row -> row.transactionDate().isBefore(last.transactionDate())));
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void historyRows_ShouldCarryBothPartiesAndRecipientFlag() {
+        final TransactionHistoryRow outgoing = this.transactionRepository.findOutgoingHistory(
+                this.owner.getAccountId(), PageRequest.of(0, 1)).getFirst();
+        final TransactionHistoryRow incoming = this.transactionRepository.findIncomingHistory(
+                this.owner.getAccountId(), HIDDEN_INCOMING_STATUSES, PageRequest.of(0, 1)).getFirst();
+
+        assertEquals("owner", outgoing.senderFirstName());
+        assertEquals("card-owner", outgoing.senderCardNumber());
+        assertEquals("counterparty5", outgoing.receiverFirstName());
+        assertEquals("card-counterparty5", outgoing.receiverCardNumber());
+        assertFalse(outgoing.isRecipient());
+        assertEquals("counterparty5", incoming.senderFirstName());
+        assertEquals("owner", incoming.receiverFirstName());
+        assertTrue(incoming.isRecipient());
+    }
+
+    private Account persistAccount(final String name, final CustomerRole role) {
+        final AuthUSer authUser = new AuthUSer();
+        authUser.setEmail(name + "@example.com");
+        authUser.setCustomerRole(List.of(role));
+        this.entityManager.persist(authUser);
+
+        final Customer customer = Customer.builder()
+                .firstName(name)
+                .lastName("Tester")
+                .authUser(authUser)
+                .build();
+        this.entityManager.persist(customer);
+
+        final Account account = Account.builder()
+                .customer(customer)
+                .accountNumber("acc-" + name)
+                .balance(BigDecimal.valueOf(1000))
+                .currencyCode(Currency.UAH)
+                .status(AccountStatus.ACTIVE)
+                .build();
+        this.entityManager.persist(account);
+
+        final Card card = Card.builder()
+                .account(account)
+                .cardNumber("card-" + name)
+                .build();
+        this.entityManager.persist(card);
+
+        return account;
+    }
+
+    private void persistTransfer(final Account sender, final Account recipient, final LocalDateTime date) {
+        this.entityManager.persist(Transaction.builder()
+                .account(sender)
+                .toAccount(recipient)
+                .amount(BigDecimal.TEN)
+                .currencyCode(Currency.UAH)
+                .description("Transfer")
+                .transactionType(TransactionType.TRANSFER)
+                .status(TransactionStatus.COMPLETED)
+                .transactionDate(date)
+                .build());
+    }
+}
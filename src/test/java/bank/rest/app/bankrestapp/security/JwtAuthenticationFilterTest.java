@@ -0,0 +1,192 @@
+package bank.rest.app.bankrestapp.security;
+
+import bank.rest.app.bankrestapp.entity.AuthUSer;
+import bank.rest.app.bankrestapp.entity.Customer;
+import bank.rest.app.bankrestapp.entity.CustomerRole;
+import bank.rest.app.bankrestapp.entity.enums.Role;
+import bank.rest.app.bankrestapp.mapper.impl.UserDetailsMapper;
+import bank.rest.app.bankrestapp.resository.CustomerRepository;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.JWT_AUTHENTICATION_METRIC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final JwtUtil jwtUtil = new JwtUtil("test_secret_key_1234567890_test_secret_key");
+    private CustomerRepository customerRepository;
+    private PrincipalCache principalCache;
+    private TokenRevocationService tokenRevocationService;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        this.customerRepository = mock(CustomerRepository.class);
+        this.principalCache = new PrincipalCache();
+        this.tokenRevocationService = mock(TokenRevocationService.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new JwtAuthenticationFilter(this.jwtUtil, this.customerRepository, new UserDetailsMapper(),
+                this.principalCache, this.tokenRevocationService, this.meterRegistry);
+
+        final CustomerRole role = new CustomerRole();
+        role.setRoleName(Role.ROLE_USER);
+        this.customer = Customer.builder()
+                .authUser(AuthUSer.builder().email(EMAIL).passwordHash("hash").customerRole(List.of(role)).build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedRequests_ShouldLoadCustomerOnce() throws Exception {
+        when(this.customerRepository.findByAuthUserEmail(EMAIL)).thenReturn(Optional.of(this.customer));
+        final String token = this.jwtUtil.generateToken(this.customer);
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            this.filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), mock(FilterChain.class));
+
+            final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertEquals(EMAIL, authentication.getName());
+            assertTrue(authentication.getAuthorities().contains(Role.ROLE_USER));
+        }
+        verify(this.customerRepository, times(1)).findByAuthUserEmail(EMAIL);
+    }
+
+    @Test
+    void requestAfterEviction_ShouldReloadCustomer() throws Exception {
+        when(this.customerRepository.findByAuthUserEmail(EMAIL))
+                .thenReturn(Optional.of(this.customer))
+                .thenReturn(Optional.empty());
+        final String token = this.jwtUtil.generateToken(this.customer);
+
+        this.filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), mock(FilterChain.class));
+        this.principalCache.evict(EMAIL);
+        SecurityContextHolder.clearContext();
+        this.filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(this.customerRepository, times(2)).findByAuthUserEmail(EMAIL);
+    }
+
+    @Test
+    void revokedToken_ShouldNotAuthenticate() throws Exception {
+        final String token = this.jwtUtil.generateToken(this.customer);
+        final String jti = this.jwtUtil.parseValidClaims(token).map(Claims::getId).orElseThrow();
+        when(this.tokenRevocationService.isRevoked(jti)).thenReturn(true);
+
+        this.filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(this.customerRepository);
+        assertEquals(1, authenticationCount("rejected"));
+    }
+
+    @Test
+    void tokenIssuedBeforePasswordChange_ShouldNotAuthenticate() throws Exception {
+        final MutableClock clock = new MutableClock();
+        final JwtUtil jwtUtil = new JwtUtil("test_secret_key_1234567890_test_secret_key", clock);
+        final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, this.customerRepository,
+                new UserDetailsMapper(), this.principalCache, this.tokenRevocationService, this.meterRegistry);
+        final String oldToken = jwtUtil.generateToken(this.customer);
+        clock.advance(60_000);
+        this.customer.getAuthUser().setPasswordChangedAt(LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault()));
+        final String newToken = jwtUtil.generateToken(this.customer);
+        when(this.customerRepository.findByAuthUserEmail(EMAIL)).thenReturn(Optional.of(this.customer));
+
+        filter.doFilter(bearerRequest(oldToken), new MockHttpServletResponse(), mock(FilterChain.class));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        filter.doFilter(bearerRequest(newToken), new MockHttpServletResponse(), mock(FilterChain.class));
+        assertEquals(EMAIL, SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals(1, authenticationCount("rejected"));
+    }
+
+    @Test
+    void requests_ShouldBeTimedByAuthenticationOutcome() throws Exception {
+        when(this.customerRepository.findByAuthUserEmail(EMAIL)).thenReturn(Optional.of(this.customer));
+        final String token = this.jwtUtil.generateToken(this.customer);
+        final FilterChain filterChain = mock(FilterChain.class);
+
+        this.filter.doFilter(bearerRequest(token), new MockHttpServletResponse(), filterChain);
+        this.filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/log-in"), new MockHttpServletResponse(), filterChain);
+        this.filter.doFilter(bearerRequest("not-a-token"), new MockHttpServletResponse(), filterChain);
+
+        assertEquals(1, authenticationCount("authenticated"));
+        assertEquals(1, authenticationCount("anonymous"));
+        assertEquals(1, authenticationCount("rejected"));
+        verify(filterChain, times(3)).doFilter(any(), any());
+    }
+
+    private long authenticationCount(final String outcome) {
+        return this.meterRegistry.get(JWT_AUTHENTICATION_METRIC).tag("outcome", outcome).timer().count();
+    }
+
+    private static MockHttpServletRequest bearerRequest(final String token) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_700_000_000_000L;
+
+        void advance(final long delta) {
+            this.millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package bank.rest.app.bankrestapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static io.jsonwebtoken.SignatureAlgorithm.HS256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test_secret_key_1234567890_test_secret_key";
+    private static final String EMAIL = "user@example.com";
+
+    private final MutableClock clock = new MutableClock();
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, this.clock);
+
+    @Test
+    void parseValidClaims_ShouldReuseVerifiedClaimsOfTheSameToken() {
+        final String token = this.token(SECRET, 60_000);
+
+        final Claims first = this.jwtUtil.parseValidClaims(token).orElseThrow();
+        final Claims second = this.jwtUtil.parseValidClaims(token).orElseThrow();
+
+        assertEquals(EMAIL, first.getSubject());
+        assertSame(first, second);
+        assertNotSame(first, this.jwtUtil.parseValidClaims(this.token(SECRET, 120_000)).orElseThrow());
+    }
+
+    @Test
+    void parseValidClaims_ShouldRejectCachedTokenOnceItExpires() {
+        final String token = this.token(SECRET, 60_000);
+        assertTrue(this.jwtUtil.parseValidClaims(token).isPresent());
+
+        this.clock.advance(61_000);
+
+        assertTrue(this.jwtUtil.parseValidClaims(token).isEmpty());
+        assertFalse(this.jwtUtil.isTokenValid(token));
+        assertEquals(0, this.jwtUtil.evictExpiredClaims());
+    }
+
+    @Test
+    void parseValidClaims_ShouldRejectForeignSignatureAndMissingExpiration() {
+        final String foreign = this.token("another_secret_key_1234567890_another_key", 60_000);
+        final String withoutExpiration = Jwts.builder()
+                .setSubject(EMAIL)
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(UTF_8)), HS256)
+                .compact();
+
+        assertTrue(this.jwtUtil.parseValidClaims(foreign).isEmpty());
+        assertTrue(this.jwtUtil.parseValidClaims(withoutExpiration).isEmpty());
+        assertTrue(this.jwtUtil.parseValidClaims("not a token").isEmpty());
+    }
+
+    private String token(final String secret, final long lifetimeMillis) {
+        return Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date(this.clock.millis()))
+                .setExpiration(new Date(this.clock.millis() + lifetimeMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(UTF_8)), HS256)
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = System.currentTimeMillis();
+
+        void advance(final long delta) {
+            this.millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package bank.rest.app.bankrestapp.security;
+
+import bank.rest.app.bankrestapp.entity.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static bank.rest.app.bankrestapp.constants.SecurityDefaults.PRINCIPAL_CACHE_TTL_MILLIS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final MutableClock clock = new MutableClock();
+    private final PrincipalCache cache = new PrincipalCache(this.clock);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldReturnSnapshotUntilTtlExpires() {
+        this.cache.put(EMAIL, principal());
+
+        this.clock.advance(PRINCIPAL_CACHE_TTL_MILLIS - 1);
+        final UserDetails cached = this.cache.get(EMAIL).orElseThrow();
+        assertEquals(EMAIL, cached.getUsername());
+        assertTrue(cached.getAuthorities().contains(Role.ROLE_USER));
+
+        this.clock.advance(1);
+        assertTrue(this.cache.get(EMAIL).isEmpty());
+    }
+
+    @Test
+    void evict_InsideTransaction_ShouldDropEntryAgainAfterCommit() {
+        this.cache.put(EMAIL, principal());
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.cache.evict(EMAIL);
+        assertTrue(this.cache.get(EMAIL).isEmpty());
+
+        // a concurrent request reloads the principal before the change is committed
+        this.cache.put(EMAIL, principal());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(this.cache.get(EMAIL).isEmpty());
+    }
+
+    @Test
+    void evictExpired_ShouldRemoveOnlyExpiredEntries() {
+        this.cache.put("old@example.com", principal());
+        this.clock.advance(PRINCIPAL_CACHE_TTL_MILLIS / 2);
+        this.cache.put(EMAIL, principal());
+        this.clock.advance(PRINCIPAL_CACHE_TTL_MILLIS / 2);
+
+        assertEquals(1, this.cache.evictExpired());
+        assertTrue(this.cache.get(EMAIL).isPresent());
+    }
+
+    private static UserDetails principal() {
+        return User.withUsername(EMAIL).password("hash").authorities(Role.ROLE_USER).build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(final long delta) {
+            this.millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
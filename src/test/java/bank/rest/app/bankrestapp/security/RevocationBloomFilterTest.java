@@ -0,0 +1,40 @@
+package bank.rest.app.bankrestapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationBloomFilterTest {
+
+    @Test
+    void mightContain_ShouldAcceptEveryAddedIdAndRejectMostOthers() {
+        final RevocationBloomFilter filter = new RevocationBloomFilter(1 << 16, 7);
+        final String[] revoked = new String[2_000];
+        for (int i = 0; i < revoked.length; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            filter.add(revoked[i]);
+        }
+
+        for (final String id : revoked) {
+            assertTrue(filter.mightContain(id));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // about 0.1% expected at this load
+        assertTrue(falsePositives < 1_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void newFilter_ShouldContainNothingAndRequirePowerOfTwoSize() {
+        assertFalse(new RevocationBloomFilter(1 << 10, 3).mightContain("jti"));
+        assertThrows(IllegalArgumentException.class, () -> new RevocationBloomFilter(1000, 3));
+    }
+}
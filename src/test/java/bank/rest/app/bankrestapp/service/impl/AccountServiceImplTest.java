@@ -5,6 +5,7 @@ import bank.rest.app.bankrestapp.entity.Card;
 import bank.rest.app.bankrestapp.entity.Customer;
 import bank.rest.app.bankrestapp.entity.enums.AccountType;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.identifier.IdentifierAllocator;
 import bank.rest.app.bankrestapp.resository.AccountRepository;
 import bank.rest.app.bankrestapp.resository.CustomerRepository;
 import bank.rest.app.bankrestapp.service.CardService;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -19,16 +21,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 
 import static bank.rest.app.bankrestapp.constants.AccountDefaults.MAXIMUM_NUMBER_OF_ACCOUNTS;
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.IDENTIFIER_BLOCK_SIZE;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_FOUND_BY_NUMBER;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_WITH_CURRENCY_ALREADY_EXISTS;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_MAXIMUM_NUMBER_OF_ACCOUNTS_REACHED;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -44,6 +47,12 @@ class AccountServiceImplTest {
     @Mock
     private CardService cardService;
 
+    private final AtomicLong sequence = new AtomicLong(1);
+
+    @Spy
+    private IdentifierAllocator identifierAllocator =
+            new IdentifierAllocator(identifierSequence -> sequence.getAndAdd(IDENTIFIER_BLOCK_SIZE));
+
     @InjectMocks
     private AccountServiceImpl accountService;
 //
@@ -78,8 +87,6 @@ class AccountServiceImplTest {
 
         when(customerRepository.findByAuthUserEmail(email)).thenReturn(Optional.of(customer));
         when(cardService.generateCard()).thenReturn(card);
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
-        when(accountRepository.existsByEdrpou(anyString())).thenReturn(false);
         when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArgument(0));
 
         // Act
@@ -93,6 +100,7 @@ class AccountServiceImplTest {
         assertTrue(created.getEdrpou().matches("\\d{10}"));
         assertEquals(customer, created.getCustomer());
         assertNotNull(created.getCard());
+        assertTrue(created.getAccountNumber().matches("UA\\d{32}"));
         verify(accountRepository).save(any(Account.class));
     }
 
@@ -108,8 +116,6 @@ class AccountServiceImplTest {
 
         when(customerRepository.findByAuthUserEmail(email)).thenReturn(Optional.of(customer));
         when(cardService.generateCard()).thenReturn(card);
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
-        when(accountRepository.existsByEdrpou(anyString())).thenReturn(false);
         when(accountRepository.save(any(Account.class))).thenAnswer(i -> i.getArgument(0));
 
         final Account created = accountService.createAccount("FOP", "EUR", email);
@@ -120,7 +126,6 @@ class AccountServiceImplTest {
         assertNotNull(created.getEdrpou());
         assertTrue(created.getEdrpou().matches("\\d{10}"));
         assertEquals(customer, created.getCustomer());
-        verify(accountRepository).existsByEdrpou(anyString());
         verify(accountRepository).save(any(Account.class));
     }
 
@@ -0,0 +1,168 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.MonthlyAccountSummary;
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import bank.rest.app.bankrestapp.entity.TaxPayment;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.entity.TrainPayment;
+import bank.rest.app.bankrestapp.entity.enums.Currency;
+import bank.rest.app.bankrestapp.entity.enums.PaymentStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.resository.MonthlyAccountSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRollupServiceImplTest {
+
+    @Mock
+    private MonthlyAccountSummaryRepository monthlyAccountSummaryRepository;
+
+    @Mock
+    private CurrencyLoader currencyLoader;
+
+    @InjectMocks
+    private AnalyticsRollupServiceImpl analyticsRollupService;
+
+    private final Map<String, MonthlyAccountSummary> summaries = new HashMap<>();
+
+    @Test
+    void recordTransaction_ShouldUpdateSenderAndRecipientInTheirCurrencies() {
+        this.stubSummaryStore();
+        final Account sender = createAccount(1, Currency.USD);
+        final Account recipient = createAccount(2, Currency.UAH);
+        final LocalDateTime date = LocalDateTime.of(2026, 3, 14, 10, 0);
+        final Transaction transaction = createTransaction(sender, recipient, BigDecimal.TEN, date, TransactionStatus.COMPLETED);
+        when(currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH, date.toLocalDate()))
+                .thenReturn(BigDecimal.valueOf(415));
+
+        analyticsRollupService.recordTransaction(transaction);
+
+        final MonthlyAccountSummary senderSummary = this.summaries.get("1:2026-03-01");
+        assertEquals(BigDecimal.TEN, senderSummary.getTotalOutgoing());
+        assertEquals(BigDecimal.TEN, senderSummary.getTotalCardToCardExpenses());
+        assertEquals(1L, senderSummary.getTransactionCount());
+
+        final MonthlyAccountSummary recipientSummary = this.summaries.get("2:2026-03-01");
+        assertEquals(BigDecimal.valueOf(415), recipientSummary.getTotalIncoming());
+        assertEquals(1L, recipientSummary.getTransactionCount());
+    }
+
+    @Test
+    void recordTransaction_WhenNotCompleted_ShouldIgnore() {
+        final Transaction transaction = createTransaction(
+                createAccount(1, Currency.UAH),
+                createAccount(2, Currency.UAH),
+                BigDecimal.TEN,
+                LocalDateTime.of(2026, 3, 14, 10, 0),
+                TransactionStatus.FAILED
+        );
+
+        analyticsRollupService.recordTransaction(transaction);
+
+        verifyNoInteractions(monthlyAccountSummaryRepository, currencyLoader);
+    }
+
+    @Test
+    void recordPayment_ShouldAddToCategoryAndSkipUncategorizedTypes() {
+        this.stubSummaryStore();
+        final Account account = createAccount(5, Currency.UAH);
+
+        final TaxPayment taxPayment = new TaxPayment();
+        taxPayment.setAccount(account);
+        taxPayment.setAmount(BigDecimal.valueOf(150));
+        taxPayment.setCurrencyCode("UAH");
+        taxPayment.setPaymentDate(LocalDateTime.of(2026, 4, 2, 9, 0));
+        taxPayment.setStatus(PaymentStatus.COMPLETED);
+
+        final TrainPayment trainPayment = new TrainPayment();
+        trainPayment.setAccount(account);
+        trainPayment.setAmount(BigDecimal.valueOf(600));
+        trainPayment.setCurrencyCode("UAH");
+        trainPayment.setPaymentDate(LocalDateTime.of(2026, 4, 3, 9, 0));
+        trainPayment.setStatus(PaymentStatus.COMPLETED);
+
+        analyticsRollupService.recordPayment(taxPayment);
+        analyticsRollupService.recordPayment(trainPayment);
+
+        final MonthlyAccountSummary summary = this.summaries.get("5:2026-04-01");
+        assertEquals(BigDecimal.valueOf(150), summary.getTotalTaxExpenses());
+        assertEquals(BigDecimal.ZERO, summary.getTotalOutgoing());
+        assertEquals(1, this.summaries.size());
+    }
+
+    @Test
+    void recordIncomingCredits_ShouldGroupCreditsByMonth() {
+        this.stubSummaryStore();
+        final Account account = createAccount(9, Currency.UAH);
+        final List<PendingCredit> credits = List.of(
+                PendingCredit.builder().account(account).amount(BigDecimal.valueOf(5)).createdAt(LocalDateTime.of(2026, 5, 31, 23, 59)).build(),
+                PendingCredit.builder().account(account).amount(BigDecimal.valueOf(7)).createdAt(LocalDateTime.of(2026, 5, 31, 23, 59)).build(),
+                PendingCredit.builder().account(account).amount(BigDecimal.valueOf(11)).createdAt(LocalDateTime.of(2026, 6, 1, 0, 0)).build()
+        );
+
+        analyticsRollupService.recordIncomingCredits(account, credits);
+
+        assertEquals(BigDecimal.valueOf(12), this.summaries.get("9:2026-05-01").getTotalIncoming());
+        assertEquals(2L, this.summaries.get("9:2026-05-01").getTransactionCount());
+        assertEquals(BigDecimal.valueOf(11), this.summaries.get("9:2026-06-01").getTotalIncoming());
+        assertEquals(1L, this.summaries.get("9:2026-06-01").getTransactionCount());
+    }
+
+    private void stubSummaryStore() {
+        lenient().when(monthlyAccountSummaryRepository.findByAccount_AccountIdAndPeriodStart(anyInt(), any(LocalDate.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(
+                        this.summaries.get(invocation.getArgument(0) + ":" + invocation.getArgument(1))
+                ));
+        lenient().when(monthlyAccountSummaryRepository.save(any(MonthlyAccountSummary.class)))
+                .thenAnswer(invocation -> {
+                    final MonthlyAccountSummary summary = invocation.getArgument(0);
+                    this.summaries.put(summary.getAccount().getAccountId() + ":" + summary.getPeriodStart(), summary);
+                    return summary;
+                });
+    }
+
+    private Account createAccount(final Integer accountId, final Currency currency) {
+        final Account account = new Account();
+        account.setAccountId(accountId);
+        account.setCurrencyCode(currency);
+        return account;
+    }
+
+    private Transaction createTransaction(final Account sender,
+                                          final Account recipient,
+                                          final BigDecimal amount,
+                                          final LocalDateTime date,
+                                          final TransactionStatus status) {
+        return Transaction.builder()
+                .account(sender)
+                .toAccount(recipient)
+                .amount(amount)
+                .currencyCode(sender.getCurrencyCode())
+                .transactionDate(date)
+                .transactionType(TransactionType.TRANSFER)
+                .status(status)
+                .build();
+    }
+}
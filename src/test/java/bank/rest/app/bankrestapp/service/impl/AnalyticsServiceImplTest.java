@@ -1,7 +1,11 @@
 package bank.rest.app.bankrestapp.service.impl;
 
 import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.dto.get.AnalyticsBucketDTO;
 import bank.rest.app.bankrestapp.dto.get.AnalyticsSummaryDTO;
+import bank.rest.app.bankrestapp.dto.projection.DailyCountRow;
+import bank.rest.app.bankrestapp.dto.projection.PaymentSummaryRow;
+import bank.rest.app.bankrestapp.dto.projection.TransactionSummaryRow;
 import bank.rest.app.bankrestapp.entity.Account;
 import bank.rest.app.bankrestapp.entity.AuthUSer;
 import bank.rest.app.bankrestapp.entity.Customer;
@@ -9,13 +13,17 @@ import bank.rest.app.bankrestapp.entity.ElectronicsPayment;
 import bank.rest.app.bankrestapp.entity.IbanPayment;
 import bank.rest.app.bankrestapp.entity.InternetPayment;
 import bank.rest.app.bankrestapp.entity.MobilePayment;
+import bank.rest.app.bankrestapp.entity.MonthlyAccountSummary;
 import bank.rest.app.bankrestapp.entity.TaxPayment;
 import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.entity.UtilityPayment;
+import bank.rest.app.bankrestapp.entity.enums.AnalyticsGranularity;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.PaymentStatus;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
 import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import bank.rest.app.bankrestapp.resository.MonthlyAccountSummaryRepository;
 import bank.rest.app.bankrestapp.resository.PaymentRepository;
 import bank.rest.app.bankrestapp.resository.TransactionRepository;
 import bank.rest.app.bankrestapp.service.AccountService;
@@ -24,14 +32,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INVALID_ANALYTICS_RANGE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +69,15 @@ class AnalyticsServiceImplTest {
     @Mock
     private CurrencyLoader currencyLoader;
 
+    @Mock
+    private MonthlyAccountSummaryRepository monthlyAccountSummaryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AnalyticsServiceImpl analyticsService;
 
@@ -258,25 +287,25 @@ class AnalyticsServiceImplTest {
         customer.setAuthUser(authUser);
         account.setCustomer(customer);
 
-        final TaxPayment taxPayment = new TaxPayment();
-        taxPayment.setAccount(account);
-        taxPayment.setAmount(BigDecimal.valueOf(150));
-        taxPayment.setCurrencyCode("UAH");
-        taxPayment.setStatus(PaymentStatus.COMPLETED);
-
         when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
-        when(transactionRepository.findMonthlyTransactions(
+        when(transactionRepository.summarizeOutgoingTransactions(
+                eq(accountNumber),
+                eq(startDate),
+                eq(endDate),
+                eq(TransactionStatus.COMPLETED)
+        )).thenReturn(List.of());
+        when(transactionRepository.summarizeIncomingTransactions(
                 eq(accountNumber),
                 eq(startDate),
                 eq(endDate),
                 eq(TransactionStatus.COMPLETED)
         )).thenReturn(List.of());
-        when(paymentRepository.findMonthlyPayments(
+        when(paymentRepository.summarizePayments(
                 eq(accountNumber),
                 eq(startDate),
                 eq(endDate),
                 eq(PaymentStatus.COMPLETED)
-        )).thenReturn(List.of(taxPayment));
+        )).thenReturn(List.of(new PaymentSummaryRow(TaxPayment.class, "UAH", startDate.toLocalDate(), BigDecimal.valueOf(150))));
 
         final AnalyticsSummaryDTO summary = analyticsService.getMonthlySummary(accountNumber, year, month, userEmail);
 
@@ -286,8 +315,9 @@ class AnalyticsServiceImplTest {
         assertEquals(BigDecimal.valueOf(150), summary.totalTaxExpenses());
         assertEquals(BigDecimal.ZERO, summary.totalElectronicsExpenses());
         assertEquals(BigDecimal.ZERO, summary.totalUtilityExpenses());
-        verify(transactionRepository).findMonthlyTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
-        verify(paymentRepository).findMonthlyPayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED);
+        verify(transactionRepository).summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+        verify(transactionRepository).summarizeIncomingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+        verify(paymentRepository).summarizePayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED);
     }
 
     @Test
@@ -310,25 +340,25 @@ class AnalyticsServiceImplTest {
         customer.setAuthUser(authUser);
         account.setCustomer(customer);
 
-        final ElectronicsPayment electronicsPayment = new ElectronicsPayment();
-        electronicsPayment.setAccount(account);
-        electronicsPayment.setAmount(BigDecimal.valueOf(9999));
-        electronicsPayment.setCurrencyCode("UAH");
-        electronicsPayment.setStatus(PaymentStatus.COMPLETED);
-
         when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
-        when(transactionRepository.findMonthlyTransactions(
+        when(transactionRepository.summarizeOutgoingTransactions(
+                eq(accountNumber),
+                eq(startDate),
+                eq(endDate),
+                eq(TransactionStatus.COMPLETED)
+        )).thenReturn(List.of());
+        when(transactionRepository.summarizeIncomingTransactions(
                 eq(accountNumber),
                 eq(startDate),
                 eq(endDate),
                 eq(TransactionStatus.COMPLETED)
         )).thenReturn(List.of());
-        when(paymentRepository.findMonthlyPayments(
+        when(paymentRepository.summarizePayments(
                 eq(accountNumber),
                 eq(startDate),
                 eq(endDate),
                 eq(PaymentStatus.COMPLETED)
-        )).thenReturn(List.of(electronicsPayment));
+        )).thenReturn(List.of(new PaymentSummaryRow(ElectronicsPayment.class, "UAH", startDate.toLocalDate(), BigDecimal.valueOf(9999))));
 
         final AnalyticsSummaryDTO summary = analyticsService.getMonthlySummary(accountNumber, year, month, userEmail);
 
@@ -338,8 +368,9 @@ class AnalyticsServiceImplTest {
         assertEquals(BigDecimal.ZERO, summary.totalTaxExpenses());
         assertEquals(BigDecimal.valueOf(9999), summary.totalElectronicsExpenses());
         assertEquals(BigDecimal.ZERO, summary.totalUtilityExpenses());
-        verify(transactionRepository).findMonthlyTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
-        verify(paymentRepository).findMonthlyPayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED);
+        verify(transactionRepository).summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+        verify(transactionRepository).summarizeIncomingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+        verify(paymentRepository).summarizePayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED);
     }
 
     @Test
@@ -362,25 +393,25 @@ class AnalyticsServiceImplTest {
         customer.setAuthUser(authUser);
         account.setCustomer(customer);
 
-        final UtilityPayment utilityPayment = new UtilityPayment();
-        utilityPayment.setAccount(account);
-        utilityPayment.setAmount(BigDecimal.valueOf(780));
-        utilityPayment.setCurrencyCode("UAH");
-        utilityPayment.setStatus(PaymentStatus.COMPLETED);
-
         when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
-        when(transactionRepository.findMonthlyTransactions(
+        when(transactionRepository.summarizeOutgoingTransactions(
+                eq(accountNumber),
+                eq(startDate),
+                eq(endDate),
+                eq(TransactionStatus.COMPLETED)
+        )).thenReturn(List.of());
+        when(transactionRepository.summarizeIncomingTransactions(
                 eq(accountNumber),
                 eq(startDate),
                 eq(endDate),
                 eq(TransactionStatus.COMPLETED)
         )).thenReturn(List.of());
-        when(paymentRepository.findMonthlyPayments(
+        when(paymentRepository.summarizePayments(
                 eq(accountNumber),
                 eq(startDate),
                 eq(endDate),
                 eq(PaymentStatus.COMPLETED)
-        )).thenReturn(List.of(utilityPayment));
+        )).thenReturn(List.of(new PaymentSummaryRow(UtilityPayment.class, "UAH", startDate.toLocalDate(), BigDecimal.valueOf(780))));
 
         final AnalyticsSummaryDTO summary = analyticsService.getMonthlySummary(accountNumber, year, month, userEmail);
 
@@ -390,7 +421,232 @@ class AnalyticsServiceImplTest {
         assertEquals(BigDecimal.ZERO, summary.totalTaxExpenses());
         assertEquals(BigDecimal.ZERO, summary.totalElectronicsExpenses());
         assertEquals(BigDecimal.valueOf(780), summary.totalUtilityExpenses());
-        verify(transactionRepository).findMonthlyTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
-        verify(paymentRepository).findMonthlyPayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED);
+        verify(transactionRepository).summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+        verify(transactionRepository).summarizeIncomingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+        verify(paymentRepository).summarizePayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED);
+    }
+
+    @Test
+    void getMonthlySummary_ShouldConvertEachBucketOnce() {
+        final String accountNumber = "ACC-BUCKET-123";
+        final String userEmail = "user@example.com";
+        final int year = 2026;
+        final int month = 4;
+        final LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
+        final LocalDateTime endDate = startDate.plusMonths(1);
+        final LocalDate day = startDate.toLocalDate().plusDays(4);
+
+        final Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setCurrencyCode(Currency.UAH);
+
+        final AuthUSer authUser = new AuthUSer();
+        authUser.setEmail(userEmail);
+
+        final Customer customer = new Customer();
+        customer.setAuthUser(authUser);
+        account.setCustomer(customer);
+
+        when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
+        when(transactionRepository.summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(List.of(
+                        new TransactionSummaryRow(TransactionType.TRANSFER, Currency.USD, day, BigDecimal.valueOf(30)),
+                        new TransactionSummaryRow(TransactionType.PAYMENT, Currency.UAH, day, BigDecimal.valueOf(70))
+                ));
+        when(transactionRepository.summarizeIncomingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(List.of(new TransactionSummaryRow(TransactionType.TRANSFER, Currency.UAH, day, BigDecimal.valueOf(500))));
+        when(transactionRepository.countTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(12L);
+        when(paymentRepository.summarizePayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED))
+                .thenReturn(List.of(new PaymentSummaryRow(MobilePayment.class, "usd", day, BigDecimal.TEN)));
+        when(currencyLoader.convert(BigDecimal.valueOf(30), Currency.USD, Currency.UAH, day)).thenReturn(BigDecimal.valueOf(1245));
+        when(currencyLoader.convert(BigDecimal.TEN, Currency.USD, Currency.UAH, day)).thenReturn(BigDecimal.valueOf(415));
+
+        final AnalyticsSummaryDTO summary = analyticsService.getMonthlySummary(accountNumber, year, month, userEmail);
+
+        assertEquals(BigDecimal.valueOf(500), summary.totalIncoming());
+        assertEquals(BigDecimal.valueOf(1315), summary.totalOutgoing());
+        assertEquals(12L, summary.totalTransactions());
+        assertEquals(BigDecimal.valueOf(1245), summary.totalCardToCardExpenses());
+        assertEquals(BigDecimal.valueOf(415), summary.totalMobileExpenses());
+        verify(currencyLoader, times(2)).convert(any(BigDecimal.class), eq(Currency.USD), eq(Currency.UAH), eq(day));
+    }
+
+    @Test
+    void getMonthlySummary_ClosedMonth_ShouldReadRollup() {
+        final String accountNumber = "ACC-ROLLUP-123";
+        final String userEmail = "user@example.com";
+        final YearMonth period = YearMonth.now().minusMonths(2);
+        final Account account = createOwnedAccount(41, accountNumber, userEmail);
+
+        final MonthlyAccountSummary rollup = MonthlyAccountSummary.builder()
+                .account(account)
+                .periodStart(period.atDay(1))
+                .totalIncoming(BigDecimal.valueOf(300))
+                .totalOutgoing(BigDecimal.valueOf(120))
+                .transactionCount(7)
+                .totalCardToCardExpenses(BigDecimal.valueOf(80))
+                .totalUtilityExpenses(BigDecimal.valueOf(40))
+                .build();
+
+        when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
+        when(monthlyAccountSummaryRepository.findByAccount_AccountIdAndPeriodStart(41, period.atDay(1)))
+                .thenReturn(Optional.of(rollup));
+
+        final AnalyticsSummaryDTO summary = analyticsService.getMonthlySummary(
+                accountNumber, period.getYear(), period.getMonthValue(), userEmail);
+
+        assertEquals(BigDecimal.valueOf(300), summary.totalIncoming());
+        assertEquals(BigDecimal.valueOf(120), summary.totalOutgoing());
+        assertEquals(7L, summary.totalTransactions());
+        assertEquals(BigDecimal.valueOf(80), summary.totalCardToCardExpenses());
+        assertEquals(BigDecimal.valueOf(40), summary.totalUtilityExpenses());
+        verifyNoInteractions(transactionRepository, paymentRepository);
+    }
+
+    @Test
+    void getMonthlySummary_CurrentMonth_ShouldAggregateLive() {
+        final String accountNumber = "ACC-LIVE-123";
+        final String userEmail = "user@example.com";
+        final YearMonth period = YearMonth.now();
+        final LocalDateTime startDate = period.atDay(1).atStartOfDay();
+        final LocalDateTime endDate = startDate.plusMonths(1);
+        final Account account = createOwnedAccount(42, accountNumber, userEmail);
+
+        when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
+        when(transactionRepository.countTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(2L);
+
+        final AnalyticsSummaryDTO summary = analyticsService.getMonthlySummary(
+                accountNumber, period.getYear(), period.getMonthValue(), userEmail);
+
+        assertEquals(2L, summary.totalTransactions());
+        verify(monthlyAccountSummaryRepository, never()).findByAccount_AccountIdAndPeriodStart(any(), any());
+    }
+
+    @Test
+    void rebuildMonthlySummaries_ShouldRecomputeEachActiveAccountOnce() {
+        final YearMonth period = YearMonth.of(2026, 5);
+        final LocalDateTime startDate = period.atDay(1).atStartOfDay();
+        final LocalDateTime endDate = startDate.plusMonths(1);
+        final Account account = createOwnedAccount(43, "ACC-REBUILD-123", "user@example.com");
+        final MonthlyAccountSummary stale = MonthlyAccountSummary.builder()
+                .account(account)
+                .periodStart(period.atDay(1))
+                .totalOutgoing(BigDecimal.ONE)
+                .transactionCount(1)
+                .build();
+
+        doAnswer(invocation -> {
+            invocation.<Consumer<org.springframework.transaction.TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionRepository.findSenderAccountIds(startDate, endDate, TransactionStatus.COMPLETED)).thenReturn(List.of(43));
+        when(transactionRepository.findRecipientAccountIds(startDate, endDate, TransactionStatus.COMPLETED)).thenReturn(List.of(43));
+        when(accountRepository.findByIdForUpdate(43)).thenReturn(Optional.of(account));
+        when(monthlyAccountSummaryRepository.findByAccount_AccountIdAndPeriodStart(43, period.atDay(1)))
+                .thenReturn(Optional.of(stale));
+        when(transactionRepository.summarizeOutgoingTransactions("ACC-REBUILD-123", startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(List.of(new TransactionSummaryRow(TransactionType.TRANSFER, Currency.UAH, period.atDay(3), BigDecimal.valueOf(60))));
+        when(transactionRepository.countTransactions("ACC-REBUILD-123", startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(3L);
+
+        final int rebuilt = analyticsService.rebuildMonthlySummaries(period);
+
+        assertEquals(1, rebuilt);
+        assertEquals(BigDecimal.valueOf(60), stale.getTotalOutgoing());
+        assertEquals(BigDecimal.valueOf(60), stale.getTotalCardToCardExpenses());
+        assertEquals(3L, stale.getTransactionCount());
+        verify(accountRepository, times(1)).findByIdForUpdate(43);
+        verify(monthlyAccountSummaryRepository).save(stale);
+    }
+
+    @Test
+    void getRangeSummary_ShouldSplitOneRangeQueryIntoWeeklyBuckets() {
+        final String accountNumber = "ACC-RANGE-123";
+        final String userEmail = "user@example.com";
+        final LocalDate from = LocalDate.of(2026, 6, 3);
+        final LocalDate to = LocalDate.of(2026, 6, 16);
+        final LocalDateTime startDate = LocalDate.of(2026, 6, 1).atStartOfDay();
+        final LocalDateTime endDate = LocalDate.of(2026, 6, 22).atStartOfDay();
+        final Account account = createOwnedAccount(44, accountNumber, userEmail);
+
+        when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
+        when(transactionRepository.summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(List.of(
+                        new TransactionSummaryRow(TransactionType.TRANSFER, Currency.UAH, LocalDate.of(2026, 6, 2), BigDecimal.valueOf(10)),
+                        new TransactionSummaryRow(TransactionType.TRANSFER, Currency.UAH, LocalDate.of(2026, 6, 7), BigDecimal.valueOf(5)),
+                        new TransactionSummaryRow(TransactionType.PAYMENT, Currency.UAH, LocalDate.of(2026, 6, 15), BigDecimal.valueOf(20))
+                ));
+        when(transactionRepository.countTransactionsByDay(accountNumber, startDate, endDate, TransactionStatus.COMPLETED))
+                .thenReturn(List.of(
+                        new DailyCountRow(LocalDate.of(2026, 6, 2), 1L),
+                        new DailyCountRow(LocalDate.of(2026, 6, 7), 1L),
+                        new DailyCountRow(LocalDate.of(2026, 6, 15), 1L)
+                ));
+        when(paymentRepository.summarizePayments(accountNumber, startDate, endDate, PaymentStatus.COMPLETED))
+                .thenReturn(List.of(new PaymentSummaryRow(UtilityPayment.class, "UAH", LocalDate.of(2026, 6, 16), BigDecimal.valueOf(20))));
+
+        final List<AnalyticsBucketDTO> buckets = analyticsService.getRangeSummary(
+                accountNumber, from, to, AnalyticsGranularity.WEEK, userEmail);
+
+        assertEquals(3, buckets.size());
+        assertEquals(LocalDate.of(2026, 6, 1), buckets.get(0).periodStart());
+        assertEquals(LocalDate.of(2026, 6, 7), buckets.get(0).periodEnd());
+        assertEquals(BigDecimal.valueOf(15), buckets.get(0).summary().totalCardToCardExpenses());
+        assertEquals(2L, buckets.get(0).summary().totalTransactions());
+        assertEquals(BigDecimal.ZERO, buckets.get(1).summary().totalOutgoing());
+        assertEquals(0L, buckets.get(1).summary().totalTransactions());
+        assertEquals(BigDecimal.valueOf(20), buckets.get(2).summary().totalOutgoing());
+        assertEquals(BigDecimal.valueOf(20), buckets.get(2).summary().totalUtilityExpenses());
+        verify(transactionRepository).summarizeOutgoingTransactions(accountNumber, startDate, endDate, TransactionStatus.COMPLETED);
+    }
+
+    @Test
+    void getRangeSummary_LargeRange_ShouldKeepMonthlyBucketsInOrder() {
+        final String accountNumber = "ACC-RANGE-456";
+        final String userEmail = "user@example.com";
+        final Account account = createOwnedAccount(45, accountNumber, userEmail);
+        final LocalDate from = LocalDate.of(2024, 1, 1);
+        final LocalDate to = LocalDate.of(2026, 12, 31);
+
+        when(accountService.getAccountByNumber(accountNumber)).thenReturn(account);
+        when(transactionRepository.summarizeIncomingTransactions(
+                accountNumber, from.atStartOfDay(), LocalDate.of(2027, 1, 1).atStartOfDay(), TransactionStatus.COMPLETED))
+                .thenReturn(List.of(new TransactionSummaryRow(TransactionType.TRANSFER, Currency.UAH, LocalDate.of(2025, 7, 9), BigDecimal.TEN)));
+
+        final List<AnalyticsBucketDTO> buckets = analyticsService.getRangeSummary(
+                accountNumber, from, to, AnalyticsGranularity.MONTH, userEmail);
+
+        assertEquals(36, buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            assertEquals(from.plusMonths(i), buckets.get(i).periodStart());
+        }
+        assertEquals(BigDecimal.TEN, buckets.get(18).summary().totalIncoming());
+    }
+
+    @Test
+    void getRangeSummary_ReversedRange_ShouldThrow() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> analyticsService.getRangeSummary(
+                        "ACC", LocalDate.of(2026, 5, 1), LocalDate.of(2026, 4, 1), AnalyticsGranularity.MONTH, "user@example.com"));
+
+        assertEquals(ERRORS_INVALID_ANALYTICS_RANGE, exception.getMessage());
+        verifyNoInteractions(accountService, transactionRepository, paymentRepository);
+    }
+
+    private Account createOwnedAccount(final Integer accountId, final String accountNumber, final String userEmail) {
+        final Account account = new Account();
+        account.setAccountId(accountId);
+        account.setAccountNumber(accountNumber);
+        account.setCurrencyCode(Currency.UAH);
+
+        final AuthUSer authUser = new AuthUSer();
+        authUser.setEmail(userEmail);
+
+        final Customer customer = new Customer();
+        customer.setAuthUser(authUser);
+        account.setCustomer(customer);
+        return account;
     }
 }
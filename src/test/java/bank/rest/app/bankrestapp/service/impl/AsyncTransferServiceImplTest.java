@@ -0,0 +1,108 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
+import bank.rest.app.bankrestapp.service.TransactionService;
+import bank.rest.app.bankrestapp.transfer.TransferOutcome;
+import bank.rest.app.bankrestapp.transfer.TransferTicket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INSUFFICIENT_FUNDS_SENDER;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_TRANSFER_TICKET_NOT_FOUND;
+import static bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus.COMPLETED;
+import static bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus.FAILED;
+import static bank.rest.app.bankrestapp.entity.enums.TransferTicketStatus.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncTransferServiceImplTest {
+
+    private static final String OWNER = "owner@example.com";
+
+    @Mock
+    private TransactionService transactionService;
+
+    private AsyncTransferServiceImpl asyncTransferService;
+
+    @BeforeEach
+    void setUp() {
+        this.asyncTransferService = new AsyncTransferServiceImpl(transactionService);
+    }
+
+    @Test
+    void drainBatch_ShouldCommitQueuedTransfersInOneBatch() {
+        final CreateTransaction first = new CreateTransaction("1111", "2222", BigDecimal.TEN, "First");
+        final CreateTransaction second = new CreateTransaction("3333", "4444", BigDecimal.TEN, "Second");
+        final Transaction transaction = new Transaction();
+
+        final TransferTicket firstTicket = asyncTransferService.submit(first, OWNER);
+        final TransferTicket secondTicket = asyncTransferService.submit(second, OWNER);
+        assertEquals(PENDING, firstTicket.getStatus());
+
+        when(transactionService.withdrawBatch(List.of(first, second))).thenReturn(List.of(
+                TransferOutcome.completed(transaction),
+                TransferOutcome.failed(ERRORS_INSUFFICIENT_FUNDS_SENDER)
+        ));
+
+        assertEquals(2, asyncTransferService.drainBatch());
+
+        assertEquals(COMPLETED, firstTicket.getStatus());
+        assertSame(transaction, firstTicket.getTransaction());
+        assertEquals(FAILED, secondTicket.getStatus());
+        assertEquals(ERRORS_INSUFFICIENT_FUNDS_SENDER, secondTicket.getErrorMessage());
+        verify(transactionService, never()).withdraw(anyString(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void drainBatch_WhenBatchTransactionFails_ShouldReplayTransfersIndividually() {
+        final CreateTransaction good = new CreateTransaction("1111", "2222", BigDecimal.ONE, "Good");
+        final CreateTransaction bad = new CreateTransaction("3333", "4444", BigDecimal.ONE, "Bad");
+        final Transaction transaction = new Transaction();
+
+        final TransferTicket goodTicket = asyncTransferService.submit(good, OWNER);
+        final TransferTicket badTicket = asyncTransferService.submit(bad, OWNER);
+
+        when(transactionService.withdrawBatch(anyList())).thenThrow(new CannotAcquireLockException("timeout"));
+        when(transactionService.withdraw("1111", "2222", BigDecimal.ONE, "Good")).thenReturn(transaction);
+        when(transactionService.withdraw("3333", "4444", BigDecimal.ONE, "Bad"))
+                .thenThrow(new InsufficientFundsException(ERRORS_INSUFFICIENT_FUNDS_SENDER));
+
+        asyncTransferService.drainBatch();
+
+        assertEquals(COMPLETED, goodTicket.getStatus());
+        assertEquals(FAILED, badTicket.getStatus());
+        assertEquals(ERRORS_INSUFFICIENT_FUNDS_SENDER, badTicket.getErrorMessage());
+    }
+
+    @Test
+    void getTicket_ShouldHideTicketsOfOtherUsers() {
+        final TransferTicket ticket = asyncTransferService.submit(
+                new CreateTransaction("1111", "2222", BigDecimal.ONE, "Mine"), OWNER
+        );
+
+        assertSame(ticket, asyncTransferService.getTicket(ticket.getTicketId(), OWNER));
+        final NoSuchElementException exception = assertThrows(
+                NoSuchElementException.class,
+                () -> asyncTransferService.getTicket(ticket.getTicketId(), "other@example.com")
+        );
+        assertEquals(ERRORS_TRANSFER_TICKET_NOT_FOUND, exception.getMessage());
+    }
+}
@@ -1,22 +1,31 @@
 package bank.rest.app.bankrestapp.service.impl;
 
 import bank.rest.app.bankrestapp.entity.Card;
-import bank.rest.app.bankrestapp.resository.CardRepository;
+import bank.rest.app.bankrestapp.identifier.IdentifierAllocator;
+import bank.rest.app.bankrestapp.identifier.Luhn;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static bank.rest.app.bankrestapp.constants.IdentifierDefaults.IDENTIFIER_BLOCK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 class CardServiceImplTest {
 
-    @Mock
-    private CardRepository cardRepository;
+    private final AtomicLong sequence = new AtomicLong(1);
+
+    @Spy
+    private IdentifierAllocator identifierAllocator =
+            new IdentifierAllocator(identifierSequence -> sequence.getAndAdd(IDENTIFIER_BLOCK_SIZE));
 
     @InjectMocks
     private CardServiceImpl cardService;
@@ -24,8 +33,6 @@ class CardServiceImplTest {
     @Test
     void generateCard_Success() {
         // 1. Arrange
-        when(cardRepository.existsByCardNumber(anyString())).thenReturn(false);
-
         // 2. Act
         Card card = cardService.generateCard();
 
@@ -34,21 +41,22 @@ class CardServiceImplTest {
         assertNotNull(card.getCardNumber());
         assertNotNull(card.getCvv());
         assertNotNull(card.getExpiryDate());
-
-        verify(cardRepository, times(1)).existsByCardNumber(anyString());
+        assertTrue(card.getCardNumber().matches("\\d{16}"));
+        assertTrue(Luhn.isValid(card.getCardNumber()));
     }
 
     @Test
-    void generateCard_CollisionRetry() {
-        // Arrange: First call returns true (exists), second call returns false (doesn't exist)
-        when(cardRepository.existsByCardNumber(anyString())).thenReturn(true).thenReturn(false);
+    void generateCard_ShouldAllocateDistinctNumbersWithoutRetries() {
+        // Arrange
+        Set<String> cardNumbers = new HashSet<>();
 
         // Act
-        Card card = cardService.generateCard();
+        for (int i = 0; i < 3 * IDENTIFIER_BLOCK_SIZE; i++) {
+            cardNumbers.add(cardService.generateCard().getCardNumber());
+        }
 
-        // Assert
-        assertNotNull(card);
-        // Should have called existsByCardNumber twice
-        verify(cardRepository, times(2)).existsByCardNumber(anyString());
+        // Assert: one sequence call per block, no collisions
+        assertEquals(3 * IDENTIFIER_BLOCK_SIZE, cardNumbers.size());
+        assertEquals(1 + 3 * IDENTIFIER_BLOCK_SIZE, sequence.get());
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,15 @@
 package bank.rest.app.bankrestapp.service.impl;
 
+import bank.rest.app.bankrestapp.email.EmailTemplateType;
 import bank.rest.app.bankrestapp.entity.*;
 import bank.rest.app.bankrestapp.entity.enums.Role;
 import bank.rest.app.bankrestapp.resository.CustomerRepository;
 import bank.rest.app.bankrestapp.resository.CustomerRoleRepository;
+import bank.rest.app.bankrestapp.security.PrincipalCache;
 import bank.rest.app.bankrestapp.service.AccountService;
 import bank.rest.app.bankrestapp.service.CardService;
 import bank.rest.app.bankrestapp.service.EmailService;
+import bank.rest.app.bankrestapp.service.TokenRevocationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -34,6 +37,8 @@ class CustomerServiceImplTest {
     @Mock private AccountService accountService;
     @Mock private CardService cardService;
     @Mock private EmailService emailService;
+    @Mock private PrincipalCache principalCache;
+    @Mock private TokenRevocationService tokenRevocationService;
 
     @InjectMocks
     private CustomerServiceImpl customerService;
@@ -112,7 +117,10 @@ class CustomerServiceImplTest {
 
         verify(emailService).checkIfCodeIsVerified(email);
         verify(customerRepository).save(customer);
+        verify(principalCache).evict(email);
+        verify(tokenRevocationService).revokeCurrentToken();
         assertEquals("newHash", customer.getAuthUser().getPasswordHash());
+        assertNotNull(customer.getAuthUser().getPasswordChangedAt());
     }
 
     @Test
@@ -151,10 +159,7 @@ class CustomerServiceImplTest {
 
         customerService.initPasswordChange(email);
 
-        verify(emailService).sendVerificationCodeWithMessage(
-                email,
-                "Your code to change your password is: {code}"
-        );
+        verify(emailService).sendVerificationCode(email, EmailTemplateType.PASSWORD_CHANGE);
     }
 
     @Test
@@ -175,8 +180,10 @@ class CustomerServiceImplTest {
 
         verify(emailService).verifyCode(email, code);
         verify(customerRepository).save(customer);
+        verify(principalCache).evict(email);
         verify(emailService).checkIfCodeIsVerified(email);
         assertEquals("encodedPassword", customer.getAuthUser().getPasswordHash());
+        assertNotNull(customer.getAuthUser().getPasswordChangedAt());
     }
 
     @Test
@@ -186,10 +193,7 @@ class CustomerServiceImplTest {
 
         customerService.initEmailChange(email);
 
-        verify(emailService).sendVerificationCodeWithMessage(
-                email,
-                "Your code to change your email is: {code}"
-        );
+        verify(emailService).sendVerificationCode(email, EmailTemplateType.EMAIL_CHANGE);
     }
 
     @Test
@@ -210,6 +214,9 @@ class CustomerServiceImplTest {
 
         verify(emailService).verifyCode(email, code);
         verify(customerRepository).save(customer);
+        verify(principalCache).evict(email);
+        verify(principalCache).evict(newEmail);
+        verify(tokenRevocationService).revokeCurrentToken();
         verify(emailService).checkIfCodeIsVerified(email);
         assertEquals(newEmail, customer.getAuthUser().getEmail());
     }
@@ -230,5 +237,6 @@ class CustomerServiceImplTest {
 
         assertThrows(IllegalArgumentException.class, () -> customerService.changeEmail(email, code, newEmail));
         verify(customerRepository, never()).save(any(Customer.class));
+        verifyNoInteractions(principalCache, tokenRevocationService);
     }
 }
@@ -0,0 +1,260 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.email.EmailMessage;
+import bank.rest.app.bankrestapp.email.EmailProvider;
+import bank.rest.app.bankrestapp.email.LocalEmailProvider;
+import bank.rest.app.bankrestapp.entity.EmailOutbox;
+import bank.rest.app.bankrestapp.resository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_CLAIM_LEASE_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_MAX_ATTEMPTS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_MAX_BACKOFF_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_SEND_DEADLINE_MILLIS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_OUTBOX_SENT_RETENTION_HOURS;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.EMAIL_DISPATCH_METRIC;
+import static bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus.FAILED;
+import static bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus.PENDING;
+import static bank.rest.app.bankrestapp.entity.enums.EmailOutboxStatus.SENT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalEmailProvider emailProvider = new LocalEmailProvider();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailOutboxServiceImpl emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        this.emailOutboxService = this.createService(this.emailProvider);
+    }
+
+    @Test
+    void enqueue_ShouldPersistPendingMessageWithoutSendingIt() {
+        when(emailOutboxRepository.save(any(EmailOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final EmailOutbox email = emailOutboxService.enqueue("user@example.com", "Subject", "text", "<p>html</p>");
+
+        assertEquals(PENDING, email.getStatus());
+        assertEquals(0, email.getAttempts());
+        assertEquals(NOW, email.getNextAttemptAt());
+        assertEquals("user@example.com", email.getRecipient());
+        assertTrue(emailProvider.sentMessages().isEmpty());
+    }
+
+    @Test
+    void dispatchPendingEmails_ShouldClaimBatchAndMarkDeliveredMessagesAsSent() {
+        final EmailOutbox first = pendingEmail(1, "first@example.com");
+        final EmailOutbox second = pendingEmail(2, "second@example.com");
+        final List<LocalDateTime> claimedUntil = new ArrayList<>();
+        when(emailOutboxRepository.findDueForUpdate(eq(PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(emailOutboxRepository.saveAll(any())).thenAnswer(invocation -> {
+            final Iterable<EmailOutbox> claimed = invocation.getArgument(0);
+            claimed.forEach(email -> claimedUntil.add(email.getNextAttemptAt()));
+            return claimed;
+        });
+
+        final int sent = emailOutboxService.dispatchPendingEmails();
+
+        assertEquals(2, sent);
+        assertEquals(List.of(NOW.plus(Duration.ofMillis(EMAIL_OUTBOX_CLAIM_LEASE_MILLIS)),
+                NOW.plus(Duration.ofMillis(EMAIL_OUTBOX_CLAIM_LEASE_MILLIS))), claimedUntil);
+        assertEquals(List.of("first@example.com", "second@example.com"),
+                emailProvider.sentMessages().stream().map(EmailMessage::to).toList());
+        assertEquals(SENT, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        assertEquals(NOW, first.getSentAt());
+        assertEquals(SENT, second.getStatus());
+        verify(emailOutboxRepository).save(first);
+        verify(emailOutboxRepository).save(second);
+    }
+
+    @Test
+    void dispatchPendingEmails_ShouldNotCallProviderWhenNothingIsDue() {
+        final EmailProvider provider = mock(EmailProvider.class);
+        when(emailOutboxRepository.findDueForUpdate(eq(PENDING), eq(NOW), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, this.createService(provider).dispatchPendingEmails());
+
+        verify(provider, never()).send(any());
+        verify(emailOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void dispatchPendingEmails_ShouldRescheduleFailedMessageWithBackoff() {
+        final EmailProvider provider = mock(EmailProvider.class);
+        final EmailOutbox failing = pendingEmail(1, "down@example.com");
+        failing.setAttempts(2);
+        final EmailOutbox healthy = pendingEmail(2, "up@example.com");
+        doThrow(new IllegalStateException("provider unavailable"))
+                .when(provider).send(new EmailMessage("down@example.com", "Subject", "text", "<p>html</p>"));
+        when(emailOutboxRepository.findDueForUpdate(eq(PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(failing, healthy));
+
+        final int sent = this.createService(provider).dispatchPendingEmails();
+
+        assertEquals(1, sent);
+        assertEquals(PENDING, failing.getStatus());
+        assertEquals(3, failing.getAttempts());
+        assertEquals("provider unavailable", failing.getLastError());
+        assertEquals(NOW.plus(Duration.ofMillis(EmailOutboxServiceImpl.backoffMillis(3))), failing.getNextAttemptAt());
+        assertNull(failing.getSentAt());
+        assertEquals(SENT, healthy.getStatus());
+        assertEquals(1, meterRegistry.get(EMAIL_DISPATCH_METRIC).tag("outcome", "SENT").timer().count());
+        assertEquals(1, meterRegistry.get(EMAIL_DISPATCH_METRIC).tag("outcome", "PENDING").timer().count());
+    }
+
+    @Test
+    void dispatchPendingEmails_ShouldGiveUpAfterLastAttempt() {
+        final EmailProvider provider = mock(EmailProvider.class);
+        final EmailOutbox email = pendingEmail(1, "down@example.com");
+        email.setAttempts(EMAIL_OUTBOX_MAX_ATTEMPTS - 1);
+        doThrow(new IllegalStateException("rejected")).when(provider).send(any());
+        when(emailOutboxRepository.findDueForUpdate(eq(PENDING), eq(NOW), any(Pageable.class))).thenReturn(List.of(email));
+
+        this.createService(provider).dispatchPendingEmails();
+
+        final ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        assertEquals(FAILED, captor.getValue().getStatus());
+        assertEquals(EMAIL_OUTBOX_MAX_ATTEMPTS, captor.getValue().getAttempts());
+        assertNotNull(captor.getValue().getLastError());
+        assertEquals(1, meterRegistry.get(EMAIL_DISPATCH_METRIC).tag("outcome", "FAILED").timer().count());
+    }
+
+    @Test
+    void dispatchPendingEmails_ShouldReleaseMessagesTheLeaseLeavesNoTimeToSend() {
+        final long sendMillis = 10_000;
+        final MutableClock clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        final EmailProvider provider = mock(EmailProvider.class);
+        doAnswer(invocation -> clock.advance(sendMillis)).when(provider).send(any());
+        final List<EmailOutbox> batch = List.of(pendingEmail(1, "a@example.com"), pendingEmail(2, "b@example.com"),
+                pendingEmail(3, "c@example.com"), pendingEmail(4, "d@example.com"), pendingEmail(5, "e@example.com"),
+                pendingEmail(6, "f@example.com"));
+        when(emailOutboxRepository.findDueForUpdate(eq(PENDING), eq(NOW), any(Pageable.class))).thenReturn(batch);
+        final EmailOutboxServiceImpl service = new EmailOutboxServiceImpl(emailOutboxRepository, provider,
+                new TransactionTemplate(transactionManager), meterRegistry, clock);
+
+        final int sent = service.dispatchPendingEmails();
+
+        final int expectedSent = (int) ((EMAIL_OUTBOX_SEND_DEADLINE_MILLIS + sendMillis - 1) / sendMillis);
+        assertEquals(expectedSent, sent);
+        verify(provider, times(expectedSent)).send(any());
+        final EmailOutbox released = batch.get(expectedSent);
+        assertEquals(PENDING, released.getStatus());
+        assertEquals(0, released.getAttempts());
+        assertEquals(NOW.plus(Duration.ofMillis(sendMillis * expectedSent)), released.getNextAttemptAt());
+        assertTrue(NOW.plus(Duration.ofMillis(EMAIL_OUTBOX_CLAIM_LEASE_MILLIS)).isAfter(released.getNextAttemptAt()));
+    }
+
+    @Test
+    void backoffMillis_ShouldDoubleUpToTheCap() {
+        assertEquals(EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS, EmailOutboxServiceImpl.backoffMillis(1));
+        assertEquals(EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS * 2, EmailOutboxServiceImpl.backoffMillis(2));
+        assertEquals(EMAIL_OUTBOX_INITIAL_BACKOFF_MILLIS * 4, EmailOutboxServiceImpl.backoffMillis(3));
+        assertEquals(EMAIL_OUTBOX_MAX_BACKOFF_MILLIS, EmailOutboxServiceImpl.backoffMillis(20));
+        assertEquals(EMAIL_OUTBOX_MAX_BACKOFF_MILLIS, EmailOutboxServiceImpl.backoffMillis(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void purgeSentEmails_ShouldDeleteSentMessagesOlderThanRetention() {
+        when(emailOutboxRepository.deleteAllSentBefore(SENT, NOW.minusHours(EMAIL_OUTBOX_SENT_RETENTION_HOURS))).thenReturn(3);
+
+        assertEquals(3, emailOutboxService.purgeSentEmails());
+    }
+
+    private EmailOutboxServiceImpl createService(final EmailProvider provider) {
+        return new EmailOutboxServiceImpl(
+                emailOutboxRepository,
+                provider,
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC)
+        );
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        Object advance(final long millis) {
+            this.instant = this.instant.plusMillis(millis);
+            return null;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+
+    private static EmailOutbox pendingEmail(final int id, final String recipient) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Subject")
+                .textBody("text")
+                .htmlBody("<p>html</p>")
+                .status(PENDING)
+                .nextAttemptAt(NOW)
+                .createdAt(NOW)
+                .build();
+    }
+}
@@ -1,23 +1,34 @@
 package bank.rest.app.bankrestapp.service.impl;
 
-import bank.rest.app.bankrestapp.entity.EmailVerificationCodes;
-import bank.rest.app.bankrestapp.resository.EmailVerificationCodeRepository;
+import bank.rest.app.bankrestapp.email.EmailTemplateType;
+import bank.rest.app.bankrestapp.email.EmailTemplates;
+import bank.rest.app.bankrestapp.service.EmailOutboxService;
+import bank.rest.app.bankrestapp.verification.VerificationCode;
+import bank.rest.app.bankrestapp.verification.VerificationCodeStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_PURGED_METRIC;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,7 +36,16 @@ import static org.mockito.Mockito.when;
 class EmailServiceImplTest {
 
     @Mock
-    private EmailVerificationCodeRepository codeRepo;
+    private VerificationCodeStore verificationCodeStore;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Spy
+    private EmailTemplates emailTemplates = new EmailTemplates();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private EmailServiceImpl emailService;
@@ -33,20 +53,20 @@ class EmailServiceImplTest {
     @Test
     void deleteExpiredCodes() {
         // Arrange
-        EmailVerificationCodes oldCode = new EmailVerificationCodes();
-        oldCode.setCreatedAt(LocalDateTime.now().minusMinutes(61)); // Assuming 60 min expiration
-        EmailVerificationCodes newCode = new EmailVerificationCodes();
-        newCode.setCreatedAt(LocalDateTime.now().minusMinutes(10));
-
-        when(codeRepo.findAll()).thenReturn(List.of(oldCode, newCode));
+        when(verificationCodeStore.purgeExpired()).thenReturn(4, 0);
 
         // Act
-        emailService.deleteExpiredCodes();
+        int firstRun = emailService.deleteExpiredCodes();
+        int secondRun = emailService.deleteExpiredCodes();
+
+        // Assert
+        verify(verificationCodeStore, times(2)).purgeExpired();
+        assertEquals(4, firstRun);
+        assertEquals(0, secondRun);
 
-        // Assert - relax matcher: ensure the expired code is present in the deleted list
-        verify(codeRepo).deleteAll(argThat(list ->
-            list != null && ((java.util.List<?>) list).stream().anyMatch(c -> c.equals(oldCode))
-        ));
+        DistributionSummary purged = meterRegistry.get(EMAIL_CODE_PURGED_METRIC).summary();
+        assertEquals(2, purged.count());
+        assertEquals(4, purged.totalAmount());
     }
 
     @Test
@@ -54,12 +74,9 @@ class EmailServiceImplTest {
         // Arrange
         String email = "test@example.com";
         String code = "12345";
-        EmailVerificationCodes entity = new EmailVerificationCodes();
-        entity.setEmail(email);
-        entity.setCode(code);
-        entity.setCreatedAt(LocalDateTime.now());
+        VerificationCode entity = new VerificationCode(email, code, LocalDateTime.now(), false);
 
-        when(codeRepo.findByEmail(email)).thenReturn(Optional.of(entity));
+        when(verificationCodeStore.find(email)).thenReturn(Optional.of(entity));
 
         // Act & Assert
         assertDoesNotThrow(() -> emailService.verifyCode(email, code));
@@ -69,12 +86,9 @@ class EmailServiceImplTest {
     void verifyCode_InvalidCode() {
         // Arrange
         String email = "test@example.com";
-        EmailVerificationCodes entity = new EmailVerificationCodes();
-        entity.setEmail(email);
-        entity.setCode("54321");
-        entity.setCreatedAt(LocalDateTime.now());
+        VerificationCode entity = new VerificationCode(email, "54321", LocalDateTime.now(), false);
 
-        when(codeRepo.findByEmail(email)).thenReturn(Optional.of(entity));
+        when(verificationCodeStore.find(email)).thenReturn(Optional.of(entity));
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> emailService.verifyCode(email, "12345"));
@@ -84,12 +98,9 @@ class EmailServiceImplTest {
     void verifyCode_Expired() {
          // Arrange
         String email = "test@example.com";
-        EmailVerificationCodes entity = new EmailVerificationCodes();
-        entity.setEmail(email);
-        entity.setCode("12345");
-        entity.setCreatedAt(LocalDateTime.now().minusMinutes(31)); // Assuming 30 min validity
+        VerificationCode entity = new VerificationCode(email, "12345", LocalDateTime.now().minusMinutes(31), false); // Assuming 30 min validity
 
-        when(codeRepo.findByEmail(email)).thenReturn(Optional.of(entity));
+        when(verificationCodeStore.find(email)).thenReturn(Optional.of(entity));
 
         // Act & Assert
         assertThrows(NoSuchElementException.class, () -> emailService.verifyCode(email, "12345"));
@@ -99,33 +110,49 @@ class EmailServiceImplTest {
     void checkIfCodeIsVerified_Success() {
         // Arrange
         String email = "test@example.com";
-        EmailVerificationCodes entity = new EmailVerificationCodes();
-        entity.setVerified(false);
-        entity.setCreatedAt(LocalDateTime.now());
+        VerificationCode entity = new VerificationCode(email, "12345", LocalDateTime.now(), false);
 
-        when(codeRepo.findByEmail(email)).thenReturn(Optional.of(entity));
+        when(verificationCodeStore.find(email)).thenReturn(Optional.of(entity));
 
         // Act
         emailService.checkIfCodeIsVerified(email);
 
         // Assert
-        verify(codeRepo).delete(entity);
+        verify(verificationCodeStore).remove(email);
     }
 
     @Test
     void checkIfCodeIsVerified_AlreadyVerified() {
          // Arrange
         String email = "test@example.com";
-        EmailVerificationCodes entity = new EmailVerificationCodes();
-        entity.setVerified(true); // Already verified
-        entity.setCreatedAt(LocalDateTime.now());
+        VerificationCode entity = new VerificationCode(email, "12345", LocalDateTime.now(), true); // Already verified
 
-        when(codeRepo.findByEmail(email)).thenReturn(Optional.of(entity));
+        when(verificationCodeStore.find(email)).thenReturn(Optional.of(entity));
 
         // Act & Assert
          assertThrows(IllegalArgumentException.class, () -> emailService.checkIfCodeIsVerified(email));
     }
 
+    @Test
+    void sendVerificationCode_ShouldQueueRenderedEmailInsteadOfSendingIt() {
+        // Arrange
+        String email = "test@example.com";
+        ArgumentCaptor<String> codeCaptor = ArgumentCaptor.forClass(String.class);
+
+        // Act
+        emailService.sendVerificationCode(email, EmailTemplateType.PASSWORD_CHANGE);
+
+        // Assert
+        verify(verificationCodeStore).put(eq(email), codeCaptor.capture(), any(LocalDateTime.class));
+        String code = codeCaptor.getValue();
+        verify(emailOutboxService).enqueue(
+                eq(email),
+                eq("Password change code"),
+                eq("Your code to change your password is: " + code),
+                argThat(html -> html.contains(code) && !html.contains("{{"))
+        );
+    }
+
 //    @Test
 //    void sendVerificationCode_Success() {
 //        // Implementation uses Resend API (not JavaMailSender). Without a valid API key or in unit test
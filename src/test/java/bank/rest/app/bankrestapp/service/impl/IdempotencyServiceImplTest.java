@@ -0,0 +1,85 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.entity.IdempotencyKey;
+import bank.rest.app.bankrestapp.resository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.IdempotencyDefaults.IDEMPOTENCY_RESERVATION_LEASE_SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @InjectMocks
+    private IdempotencyServiceImpl idempotencyService;
+
+    @Test
+    void reserve_WhenKeyAlreadyExists_ShouldReturnFalse() {
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertFalse(idempotencyService.reserve("user@example.com", "key", "POST /api/v1/payments/iban"));
+    }
+
+    @Test
+    void reserve_ShouldLeaseReservation() {
+        final LocalDateTime before = LocalDateTime.now();
+
+        assertTrue(idempotencyService.reserve("user@example.com", "key", "POST /api/v1/payments/iban"));
+
+        final ArgumentCaptor<IdempotencyKey> reservation = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(reservation.capture());
+        assertEquals(reservation.getValue().getCreatedAt().plusSeconds(IDEMPOTENCY_RESERVATION_LEASE_SECONDS),
+                reservation.getValue().getReservedUntil());
+        assertFalse(reservation.getValue().isAbandoned(before.plusSeconds(IDEMPOTENCY_RESERVATION_LEASE_SECONDS)));
+        assertTrue(reservation.getValue().isAbandoned(LocalDateTime.now().plusSeconds(IDEMPOTENCY_RESERVATION_LEASE_SECONDS + 1L)));
+    }
+
+    @Test
+    void findKey_ShouldServeCompletedKeysFromMemoryAfterFirstLookup() {
+        final IdempotencyKey completed = IdempotencyKey.builder()
+                .ownerEmail("user@example.com")
+                .idempotencyKey("key")
+                .responseStatus(200)
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(idempotencyKeyRepository.findByOwnerEmailAndIdempotencyKey("user@example.com", "key"))
+                .thenReturn(Optional.of(completed));
+
+        assertSame(completed, idempotencyService.findKey("user@example.com", "key").orElseThrow());
+        assertSame(completed, idempotencyService.findKey("user@example.com", "key").orElseThrow());
+
+        verify(idempotencyKeyRepository, times(1)).findByOwnerEmailAndIdempotencyKey("user@example.com", "key");
+    }
+
+    @Test
+    void findKey_ShouldNotCacheReservationsInProgress() {
+        final IdempotencyKey reservation = IdempotencyKey.builder().ownerEmail("user@example.com").idempotencyKey("key").build();
+        when(idempotencyKeyRepository.findByOwnerEmailAndIdempotencyKey("user@example.com", "key"))
+                .thenReturn(Optional.of(reservation));
+
+        assertTrue(idempotencyService.findKey("user@example.com", "key").isPresent());
+        idempotencyService.findKey("user@example.com", "key");
+
+        verify(idempotencyKeyRepository, times(2)).findByOwnerEmailAndIdempotencyKey("user@example.com", "key");
+    }
+}
@@ -21,26 +21,38 @@ import bank.rest.app.bankrestapp.entity.TaxPayment;
 import bank.rest.app.bankrestapp.entity.TrainPayment;
 import bank.rest.app.bankrestapp.entity.Transaction;
 import bank.rest.app.bankrestapp.entity.UtilityPayment;
+import bank.rest.app.bankrestapp.entity.enums.AccountStatus;
 import bank.rest.app.bankrestapp.entity.enums.AccountType;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.exception.AccountNotActiveException;
 import bank.rest.app.bankrestapp.exception.InvalidAccountCurrencyException;
 import bank.rest.app.bankrestapp.exception.InsufficientFundsException;
 import bank.rest.app.bankrestapp.exception.UnsupportedCurrencyException;
+import bank.rest.app.bankrestapp.locking.AccountBalanceStatements;
+import bank.rest.app.bankrestapp.locking.LockConflictRetry;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
 import bank.rest.app.bankrestapp.resository.AccountRepository;
 import bank.rest.app.bankrestapp.resository.PaymentRepository;
 import bank.rest.app.bankrestapp.resository.TransactionRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_ACTIVE;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_OWNERSHIP_MISMATCH;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_FOP_ACCOUNT_EDRPOU_REQUIRED;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INSUFFICIENT_FUNDS;
@@ -58,6 +70,9 @@ class PaymentServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountBalanceStatements accountBalanceStatements;
+
     @Mock
     private PaymentRepository paymentRepository;
 
@@ -67,6 +82,19 @@ class PaymentServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Spy
+    private MoneyMovementMetrics moneyMovementMetrics = new MoneyMovementMetrics(new SimpleMeterRegistry(), new AccountLockContention());
+
+    @Spy
+    private LockConflictRetry lockConflictRetry = new LockConflictRetry(
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new SimpleMeterRegistry(),
+            new AccountLockContention()
+    );
+
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -216,7 +244,7 @@ class PaymentServiceImplTest {
     @Test
     void processInternetPayment_InsufficientFunds_ShouldThrow() {
         final Account account = createAccount(13, Currency.UAH, BigDecimal.valueOf(20), "user@example.com", "UA_INTERNET_2");
-        when(accountRepository.findByIdForUpdate(13)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(13)).thenReturn(Optional.of(account));
 
         final InternetPaymentRequestDTO request = new InternetPaymentRequestDTO(
                 13L,
@@ -229,7 +257,7 @@ class PaymentServiceImplTest {
                 () -> paymentService.processInternetPayment(request, "user@example.com"));
         assertEquals(ERRORS_INSUFFICIENT_FUNDS, exception.getMessage());
 
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountBalanceStatements, never()).debit(any(), any());
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(paymentRepository, never()).save(any(Payment.class));
     }
@@ -237,8 +265,8 @@ class PaymentServiceImplTest {
     @Test
     void processMobilePayment_Successful() {
         final Account account = createAccount(31, Currency.UAH, BigDecimal.valueOf(300), "user@example.com", "UA_MOBILE_1");
-        when(accountRepository.findByIdForUpdate(31)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.findById(31)).thenReturn(Optional.of(account));
+        when(accountBalanceStatements.debit(31, BigDecimal.valueOf(50))).thenReturn(true);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -252,7 +280,6 @@ class PaymentServiceImplTest {
 
         assertInstanceOf(MobilePayment.class, result);
         final MobilePayment mobilePayment = (MobilePayment) result;
-        assertEquals(BigDecimal.valueOf(250), account.getBalance());
         assertEquals(COMPLETED, mobilePayment.getStatus());
         assertEquals("+380991112233", mobilePayment.getBeneficiaryAcc());
         assertEquals("Mobile top-up: +380991112233", mobilePayment.getPurpose());
@@ -260,16 +287,57 @@ class PaymentServiceImplTest {
         assertEquals(TransactionType.PAYMENT, mobilePayment.getTransaction().getTransactionType());
         assertEquals("Поповнення мобільного: +380991112233", mobilePayment.getTransaction().getDescription());
 
-        verify(accountRepository).save(account);
-        verify(accountRepository).findByIdForUpdate(31);
+        verify(accountBalanceStatements).debit(31, BigDecimal.valueOf(50));
+        verify(accountRepository).findById(31);
         verify(transactionRepository).save(any(Transaction.class));
         verify(paymentRepository).save(any(MobilePayment.class));
+        verify(analyticsRollupService).recordTransaction(mobilePayment.getTransaction());
+        verify(analyticsRollupService).recordPayment(mobilePayment);
+    }
+
+    @Test
+    void processMobilePayment_WhenDebitStatementRejectsTheAccount_ShouldThrowInsufficientFunds() {
+        final Account account = createAccount(33, Currency.UAH, BigDecimal.valueOf(300), "user@example.com", "UA_MOBILE_3");
+        when(accountRepository.findById(33)).thenReturn(Optional.of(account));
+        when(accountBalanceStatements.debit(33, BigDecimal.valueOf(50))).thenReturn(false);
+
+        final MobilePaymentRequestDTO request = new MobilePaymentRequestDTO(
+                33L,
+                BigDecimal.valueOf(50),
+                "+380991112233"
+        );
+
+        final InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+                () -> paymentService.processMobilePayment(request, "user@example.com"));
+        assertEquals(ERRORS_INSUFFICIENT_FUNDS, exception.getMessage());
+
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @Test
+    void processMobilePayment_FromInactiveAccount_ShouldThrowAccountNotActive() {
+        final Account account = createAccount(34, Currency.UAH, BigDecimal.valueOf(300), "user@example.com", "UA_MOBILE_4");
+        account.setStatus(AccountStatus.BLOCKED);
+        when(accountRepository.findById(34)).thenReturn(Optional.of(account));
+
+        final MobilePaymentRequestDTO request = new MobilePaymentRequestDTO(
+                34L,
+                BigDecimal.valueOf(50),
+                "+380991112233"
+        );
+
+        final AccountNotActiveException exception = assertThrows(AccountNotActiveException.class,
+                () -> paymentService.processMobilePayment(request, "user@example.com"));
+        assertEquals(ERRORS_ACCOUNT_NOT_ACTIVE, exception.getMessage());
+
+        verify(paymentRepository, never()).save(any(Payment.class));
     }
 
     @Test
     void processMobilePayment_NonUahAccount_ShouldThrow() {
         final Account account = createAccount(32, Currency.USD, BigDecimal.valueOf(300), "user@example.com", "UA_MOBILE_2");
-        when(accountRepository.findByIdForUpdate(32)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(32)).thenReturn(Optional.of(account));
 
         final MobilePaymentRequestDTO request = new MobilePaymentRequestDTO(
                 32L,
@@ -281,7 +349,7 @@ class PaymentServiceImplTest {
                 () -> paymentService.processMobilePayment(request, "user@example.com"));
         assertEquals("Пополнение мобильного возможно только с гривневого счета", exception.getMessage());
 
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountBalanceStatements, never()).debit(any(), any());
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(paymentRepository, never()).save(any(Payment.class));
     }
@@ -289,7 +357,7 @@ class PaymentServiceImplTest {
     @Test
     void processIbanPayment_AccountOwnershipMismatch_ShouldThrow() {
         final Account account = createAccount(14, Currency.UAH, BigDecimal.valueOf(200), "owner@example.com", "UA_SENDER");
-        when(accountRepository.findByIdForUpdate(14)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(14)).thenReturn(Optional.of(account));
 
         final IbanPaymentRequestDTO request = new IbanPaymentRequestDTO(
                 14L,
@@ -304,7 +372,7 @@ class PaymentServiceImplTest {
                 () -> paymentService.processIbanPayment(request, "other@example.com"));
         assertEquals(ERRORS_ACCOUNT_OWNERSHIP_MISMATCH, exception.getMessage());
 
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountBalanceStatements, never()).debit(any(), any());
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(paymentRepository, never()).save(any(Payment.class));
     }
@@ -477,8 +545,8 @@ class PaymentServiceImplTest {
     @Test
     void processTrainPayment_Successful() {
         final Account account = createAccount(61, Currency.UAH, BigDecimal.valueOf(2000), "user@example.com", "UA_TRAIN_1");
-        when(accountRepository.findByIdForUpdate(61)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.findById(61)).thenReturn(Optional.of(account));
+        when(accountBalanceStatements.debit(61, BigDecimal.valueOf(750))).thenReturn(true);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -494,7 +562,6 @@ class PaymentServiceImplTest {
 
         assertInstanceOf(TrainPayment.class, result);
         final TrainPayment trainPayment = (TrainPayment) result;
-        assertEquals(BigDecimal.valueOf(1250), account.getBalance());
         assertEquals(COMPLETED, trainPayment.getStatus());
         assertEquals("UAH", trainPayment.getCurrencyCode());
         assertEquals("Укрзалізниця", trainPayment.getBeneficiaryName());
@@ -505,8 +572,8 @@ class PaymentServiceImplTest {
                 trainPayment.getTransaction().getDescription());
         assertNull(trainPayment.getTransaction().getToAccount());
 
-        verify(accountRepository).save(account);
-        verify(accountRepository).findByIdForUpdate(61);
+        verify(accountBalanceStatements).debit(61, BigDecimal.valueOf(750));
+        verify(accountRepository).findById(61);
         verify(transactionRepository).save(any(Transaction.class));
         verify(paymentRepository).save(any(TrainPayment.class));
     }
@@ -514,7 +581,7 @@ class PaymentServiceImplTest {
     @Test
     void processTrainPayment_NonUahAccount_ShouldThrow() {
         final Account account = createAccount(62, Currency.USD, BigDecimal.valueOf(2000), "user@example.com", "UA_TRAIN_2");
-        when(accountRepository.findByIdForUpdate(62)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(62)).thenReturn(Optional.of(account));
 
         final TrainPaymentRequestDTO request = new TrainPaymentRequestDTO();
         request.setAccountId(62L);
@@ -530,7 +597,7 @@ class PaymentServiceImplTest {
         );
         assertEquals("Платежі дозволені лише з рахунків у гривні", exception.getMessage());
 
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountBalanceStatements, never()).debit(any(), any());
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(paymentRepository, never()).save(any(Payment.class));
     }
@@ -538,7 +605,7 @@ class PaymentServiceImplTest {
     @Test
     void processTrainPayment_InsufficientFunds_ShouldThrow() {
         final Account account = createAccount(63, Currency.UAH, BigDecimal.valueOf(100), "user@example.com", "UA_TRAIN_3");
-        when(accountRepository.findByIdForUpdate(63)).thenReturn(Optional.of(account));
+        when(accountRepository.findById(63)).thenReturn(Optional.of(account));
 
         final TrainPaymentRequestDTO request = new TrainPaymentRequestDTO();
         request.setAccountId(63L);
@@ -554,7 +621,7 @@ class PaymentServiceImplTest {
         );
         assertEquals(ERRORS_INSUFFICIENT_FUNDS, exception.getMessage());
 
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountBalanceStatements, never()).debit(any(), any());
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(paymentRepository, never()).save(any(Payment.class));
     }
@@ -581,8 +648,8 @@ class PaymentServiceImplTest {
     @Test
     void processCommunalPayment_Successful() {
         final Account account = createAccount(71, Currency.UAH, BigDecimal.valueOf(3000), "user@example.com", "UA_COMMUNAL_1");
-        when(accountRepository.findByIdForUpdate(71)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.findById(71)).thenReturn(Optional.of(account));
+        when(accountBalanceStatements.debit(71, BigDecimal.valueOf(980))).thenReturn(true);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -596,7 +663,6 @@ class PaymentServiceImplTest {
 
         assertInstanceOf(UtilityPayment.class, result);
         final UtilityPayment utilityPayment = (UtilityPayment) result;
-        assertEquals(BigDecimal.valueOf(2020), account.getBalance());
         assertEquals(COMPLETED, utilityPayment.getStatus());
         assertEquals("UAH", utilityPayment.getCurrencyCode());
         assertEquals("KyivEnergo", utilityPayment.getProviderName());
@@ -609,8 +675,8 @@ class PaymentServiceImplTest {
         assertEquals(BigDecimal.valueOf(980), utilityPayment.getTransaction().getAmount());
         assertNull(utilityPayment.getTransaction().getToAccount());
 
-        verify(accountRepository).save(account);
-        verify(accountRepository).findByIdForUpdate(71);
+        verify(accountBalanceStatements).debit(71, BigDecimal.valueOf(980));
+        verify(accountRepository).findById(71);
         verify(transactionRepository).save(any(Transaction.class));
         verify(paymentRepository).save(any(UtilityPayment.class));
         verifyNoInteractions(currencyLoader);
@@ -619,11 +685,11 @@ class PaymentServiceImplTest {
     @Test
     void processCommunalPayment_NonUahAccount_ShouldConvertDeduction() {
         final Account account = createAccount(72, Currency.USD, BigDecimal.valueOf(100), "user@example.com", "UA_COMMUNAL_2");
-        when(accountRepository.findByIdForUpdate(72)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.findById(72)).thenReturn(Optional.of(account));
+        when(accountBalanceStatements.debit(72, BigDecimal.valueOf(20))).thenReturn(true);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(currencyLoader.convert(BigDecimal.valueOf(800), "UAH", "USD")).thenReturn(BigDecimal.valueOf(20));
+        when(currencyLoader.convertForOperation(BigDecimal.valueOf(800), Currency.UAH, Currency.USD)).thenReturn(BigDecimal.valueOf(20));
 
         final CommunalPaymentRequestDTO request = new CommunalPaymentRequestDTO();
         request.setAccountId(72L);
@@ -634,15 +700,14 @@ class PaymentServiceImplTest {
         final Payment result = paymentService.processCommunalPayment("user@example.com", request);
 
         assertInstanceOf(UtilityPayment.class, result);
-        assertEquals(BigDecimal.valueOf(80), account.getBalance());
         assertEquals(BigDecimal.valueOf(800), result.getAmount());
         assertEquals("UAH", result.getCurrencyCode());
         assertNotNull(result.getTransaction());
         assertEquals(BigDecimal.valueOf(20), result.getTransaction().getAmount());
         assertEquals(Currency.USD, result.getTransaction().getCurrencyCode());
 
-        verify(currencyLoader).convert(BigDecimal.valueOf(800), "UAH", "USD");
-        verify(accountRepository).save(account);
+        verify(currencyLoader).convertForOperation(BigDecimal.valueOf(800), Currency.UAH, Currency.USD);
+        verify(accountBalanceStatements).debit(72, BigDecimal.valueOf(20));
         verify(transactionRepository).save(any(Transaction.class));
         verify(paymentRepository).save(any(UtilityPayment.class));
     }
@@ -650,8 +715,8 @@ class PaymentServiceImplTest {
     @Test
     void processCommunalPayment_InsufficientFunds_ShouldThrow() {
         final Account account = createAccount(73, Currency.EUR, BigDecimal.valueOf(5), "user@example.com", "UA_COMMUNAL_3");
-        when(accountRepository.findByIdForUpdate(73)).thenReturn(Optional.of(account));
-        when(currencyLoader.convert(BigDecimal.valueOf(1000), "UAH", "EUR")).thenReturn(BigDecimal.valueOf(25));
+        when(accountRepository.findById(73)).thenReturn(Optional.of(account));
+        when(currencyLoader.convertForOperation(BigDecimal.valueOf(1000), Currency.UAH, Currency.EUR)).thenReturn(BigDecimal.valueOf(25));
 
         final CommunalPaymentRequestDTO request = new CommunalPaymentRequestDTO();
         request.setAccountId(73L);
@@ -665,8 +730,8 @@ class PaymentServiceImplTest {
         );
         assertEquals(ERRORS_INSUFFICIENT_FUNDS, exception.getMessage());
 
-        verify(currencyLoader).convert(BigDecimal.valueOf(1000), "UAH", "EUR");
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(currencyLoader).convertForOperation(BigDecimal.valueOf(1000), Currency.UAH, Currency.EUR);
+        verify(accountBalanceStatements, never()).debit(any(), any());
         verify(transactionRepository, never()).save(any(Transaction.class));
         verify(paymentRepository, never()).save(any(Payment.class));
     }
@@ -822,6 +887,7 @@ class PaymentServiceImplTest {
         account.setAccountType(AccountType.CURRENT);
         account.setCurrencyCode(currency);
         account.setBalance(balance);
+        account.setStatus(AccountStatus.ACTIVE);
         account.setCustomer(customer);
 
         return account;
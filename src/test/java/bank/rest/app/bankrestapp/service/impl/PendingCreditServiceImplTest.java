@@ -0,0 +1,106 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.entity.Account;
+import bank.rest.app.bankrestapp.entity.PendingCredit;
+import bank.rest.app.bankrestapp.entity.Transaction;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
+import bank.rest.app.bankrestapp.resository.AccountRepository;
+import bank.rest.app.bankrestapp.resository.PendingCreditRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PendingCreditServiceImplTest {
+
+    @Mock
+    private PendingCreditRepository pendingCreditRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    private PendingCreditServiceImpl pendingCreditService;
+
+    @BeforeEach
+    void setUp() {
+        this.pendingCreditService = new PendingCreditServiceImpl(
+                pendingCreditRepository,
+                accountRepository,
+                new TransactionTemplate(transactionManager),
+                analyticsRollupService,
+                new MoneyMovementMetrics(new SimpleMeterRegistry(), new AccountLockContention())
+        );
+    }
+
+    @Test
+    void appendCredit_ShouldPersistJournalEntry() {
+        final Account account = createAccount(7, BigDecimal.ZERO);
+        final Transaction transaction = new Transaction();
+        when(pendingCreditRepository.save(any(PendingCredit.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        pendingCreditService.appendCredit(account, BigDecimal.TEN, transaction);
+
+        final ArgumentCaptor<PendingCredit> captor = ArgumentCaptor.forClass(PendingCredit.class);
+        verify(pendingCreditRepository).save(captor.capture());
+        assertSame(account, captor.getValue().getAccount());
+        assertSame(transaction, captor.getValue().getTransaction());
+        assertEquals(BigDecimal.TEN, captor.getValue().getAmount());
+        verify(accountRepository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void foldPendingCredits_ShouldApplySumOnceAndDeleteFoldedEntries() {
+        final Account account = createAccount(7, BigDecimal.valueOf(100));
+        final List<PendingCredit> credits = List.of(
+                PendingCredit.builder().pendingCreditId(1).account(account).amount(BigDecimal.valueOf(5)).build(),
+                PendingCredit.builder().pendingCreditId(2).account(account).amount(BigDecimal.valueOf(15)).build()
+        );
+
+        when(pendingCreditRepository.findAccountIdsWithPendingCredits(any(Pageable.class))).thenReturn(List.of(7));
+        when(accountRepository.findByIdForUpdate(7)).thenReturn(Optional.of(account));
+        when(pendingCreditRepository.findAllByAccountId(eq(7), any(Pageable.class))).thenReturn(credits);
+
+        final int folded = pendingCreditService.foldPendingCredits();
+
+        assertEquals(2, folded);
+        assertEquals(BigDecimal.valueOf(120), account.getBalance());
+        verify(pendingCreditRepository).deleteAllInBatch(credits);
+        verify(analyticsRollupService).recordIncomingCredits(account, credits);
+    }
+
+    private Account createAccount(final Integer id, final BigDecimal balance) {
+        final Account account = new Account();
+        account.setAccountId(id);
+        account.setAccountNumber("UA" + id);
+        account.setBalance(balance);
+        account.setHotAccount(true);
+        return account;
+    }
+}
@@ -0,0 +1,131 @@
+package bank.rest.app.bankrestapp.service.impl;
+
+import bank.rest.app.bankrestapp.entity.RevokedToken;
+import bank.rest.app.bankrestapp.resository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceImplTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        this.tokenRevocationService = new TokenRevocationServiceImpl(this.revokedTokenRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void init_ShouldLoadUnexpiredRevocations() {
+        when(this.revokedTokenRepository.findAllByExpiresAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(revokedToken("jti-1", LocalDateTime.now().plusHours(1))));
+
+        this.tokenRevocationService.init();
+
+        assertTrue(this.tokenRevocationService.isRevoked("jti-1"));
+        assertFalse(this.tokenRevocationService.isRevoked("jti-2"));
+        assertFalse(this.tokenRevocationService.isRevoked(null));
+    }
+
+    @Test
+    void isRevoked_ShouldAnswerFromMemoryWithoutDatabase() {
+        this.tokenRevocationService.revoke("jti-1", LocalDateTime.now().plusHours(1));
+        verify(this.revokedTokenRepository).existsByJti("jti-1");
+        verify(this.revokedTokenRepository).save(any(RevokedToken.class));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(this.tokenRevocationService.isRevoked("other-" + i));
+        }
+        assertTrue(this.tokenRevocationService.isRevoked("jti-1"));
+        verifyNoMoreInteractions(this.revokedTokenRepository);
+    }
+
+    @Test
+    void revokeCurrentToken_ShouldPersistJtiAndExpirationOfAuthenticatingToken() {
+        final Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        final Claims claims = Jwts.claims().setSubject("user@example.com");
+        claims.setId("jti-current");
+        claims.setExpiration(expiration);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", claims, List.of())
+        );
+
+        this.tokenRevocationService.revokeCurrentToken();
+
+        final ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(this.revokedTokenRepository).save(captor.capture());
+        assertEquals("jti-current", captor.getValue().getJti());
+        assertTrue(this.tokenRevocationService.isRevoked("jti-current"));
+    }
+
+    @Test
+    void revokeCurrentToken_WithoutTokenCredentials_ShouldDoNothing() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of())
+        );
+
+        this.tokenRevocationService.revokeCurrentToken();
+
+        verify(this.revokedTokenRepository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void syncRevocations_ShouldPickUpRevocationsOfOtherInstances() {
+        when(this.revokedTokenRepository.findAllByRevokedAtAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(revokedToken("jti-remote", LocalDateTime.now().plusHours(1))));
+
+        this.tokenRevocationService.syncRevocations();
+
+        assertTrue(this.tokenRevocationService.isRevoked("jti-remote"));
+    }
+
+    @Test
+    void purgeExpiredRevocations_ShouldForgetExpiredIds() {
+        this.tokenRevocationService.revoke("jti-expired", LocalDateTime.now().minusMinutes(1));
+        this.tokenRevocationService.revoke("jti-live", LocalDateTime.now().plusHours(1));
+
+        assertEquals(1, this.tokenRevocationService.purgeExpiredRevocations());
+
+        verify(this.revokedTokenRepository).deleteAllExpiredBefore(any(LocalDateTime.class));
+        assertFalse(this.tokenRevocationService.isRevoked("jti-expired"));
+        assertTrue(this.tokenRevocationService.isRevoked("jti-live"));
+    }
+
+    private static RevokedToken revokedToken(final String jti, final LocalDateTime expiresAt) {
+        return RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(expiresAt)
+                .revokedAt(LocalDateTime.now())
+                .build();
+    }
+}
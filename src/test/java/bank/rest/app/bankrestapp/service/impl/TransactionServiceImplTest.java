@@ -1,34 +1,63 @@
 package bank.rest.app.bankrestapp.service.impl;
 
 import bank.rest.app.bankrestapp.currency.CurrencyLoader;
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
+import bank.rest.app.bankrestapp.dto.projection.AccountLockRoute;
+import bank.rest.app.bankrestapp.dto.projection.TransactionHistoryRow;
 import bank.rest.app.bankrestapp.entity.*;
 import bank.rest.app.bankrestapp.entity.enums.AccountStatus;
 import bank.rest.app.bankrestapp.entity.enums.Currency;
 import bank.rest.app.bankrestapp.entity.enums.TransactionStatus;
+import bank.rest.app.bankrestapp.entity.enums.TransactionType;
+import bank.rest.app.bankrestapp.locking.AccountBalanceStatements;
+import bank.rest.app.bankrestapp.locking.LockConflictRetry;
+import bank.rest.app.bankrestapp.metrics.AccountLockContention;
+import bank.rest.app.bankrestapp.metrics.MoneyMovementMetrics;
 import bank.rest.app.bankrestapp.resository.AccountRepository;
 import bank.rest.app.bankrestapp.resository.TransactionRepository;
+import bank.rest.app.bankrestapp.service.AnalyticsRollupService;
 import bank.rest.app.bankrestapp.service.EmailService;
+import bank.rest.app.bankrestapp.service.PendingCreditService;
+import bank.rest.app.bankrestapp.transfer.HistoryCursor;
+import bank.rest.app.bankrestapp.transfer.TransactionHistorySlice;
+import bank.rest.app.bankrestapp.transfer.TransferOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_ACTIVE;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_ACCOUNT_NOT_FOUND_BY_CARD;
 import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_INSUFFICIENT_FUNDS_SENDER;
+import static bank.rest.app.bankrestapp.constants.MessageError.ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.LOCK_RETRY_METRIC;
+import static bank.rest.app.bankrestapp.constants.MetricsDefaults.TRANSFER_METRIC;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -38,6 +67,9 @@ class TransactionServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountBalanceStatements accountBalanceStatements;
+
     @Mock
     private TransactionRepository transactionRepository;
 
@@ -47,9 +79,29 @@ class TransactionServiceImplTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private PendingCreditService pendingCreditService;
+
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private MoneyMovementMetrics moneyMovementMetrics = new MoneyMovementMetrics(meterRegistry, new AccountLockContention());
+
+    @Spy
+    private LockConflictRetry lockConflictRetry = new LockConflictRetry(
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            meterRegistry,
+            new AccountLockContention()
+    );
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
+    private int nextAccountId;
+
     @Test
     void withdraw_Successful_SameCurrency() {
         // Arrange
@@ -61,8 +113,10 @@ class TransactionServiceImplTest {
         Account senderAccount = createAccount(senderCard, Currency.USD, BigDecimal.valueOf(500));
         Account recipientAccount = createAccount(recipientCard, Currency.USD, BigDecimal.valueOf(100));
 
-        when(accountRepository.findByCard_CardNumberForUpdate(senderCard)).thenReturn(Optional.of(senderAccount));
-        when(accountRepository.findByCard_CardNumberForUpdate(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(accountRepository.findByCard_CardNumber(senderCard)).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(accountBalanceStatements.transfer(senderAccount.getAccountId(), amount, recipientAccount.getAccountId(), amount))
+                .thenReturn(true);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -71,11 +125,12 @@ class TransactionServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(TransactionStatus.COMPLETED, result.getStatus());
-        assertEquals(BigDecimal.valueOf(400), senderAccount.getBalance());
-        assertEquals(BigDecimal.valueOf(200), recipientAccount.getBalance());
+        verify(accountBalanceStatements).transfer(senderAccount.getAccountId(), amount, recipientAccount.getAccountId(), amount);
         verify(emailService).checkIfCodeIsVerified(anyString());
         verify(transactionRepository).save(any(Transaction.class));
-        verify(accountRepository, never()).findByCard_CardNumber(anyString());
+        verify(accountRepository, never()).findByCard_CardNumberForUpdate(anyString());
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(analyticsRollupService).recordTransaction(result);
     }
 
     @Test
@@ -89,9 +144,11 @@ class TransactionServiceImplTest {
         Account senderAccount = createAccount(senderCard, Currency.USD, BigDecimal.valueOf(500));
         Account recipientAccount = createAccount(recipientCard, Currency.EUR, BigDecimal.valueOf(100));
 
-        when(accountRepository.findByCard_CardNumberForUpdate(senderCard)).thenReturn(Optional.of(senderAccount));
-        when(accountRepository.findByCard_CardNumberForUpdate(recipientCard)).thenReturn(Optional.of(recipientAccount));
-        when(currencyLoader.convert(amount, "USD", "EUR")).thenReturn(convertedAmount);
+        when(accountRepository.findByCard_CardNumber(senderCard)).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(currencyLoader.convertForOperation(amount, Currency.USD, Currency.EUR)).thenReturn(convertedAmount);
+        when(accountBalanceStatements.transfer(senderAccount.getAccountId(), amount, recipientAccount.getAccountId(), convertedAmount))
+                .thenReturn(true);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -99,27 +156,88 @@ class TransactionServiceImplTest {
 
         // Assert
         assertEquals(TransactionStatus.COMPLETED, result.getStatus());
-        assertEquals(BigDecimal.valueOf(400), senderAccount.getBalance()); // 500 - 100
-        assertEquals(BigDecimal.valueOf(190), recipientAccount.getBalance()); // 100 + 90
-        verify(currencyLoader).convert(amount, "USD", "EUR");
+        verify(accountBalanceStatements).transfer(senderAccount.getAccountId(), amount, recipientAccount.getAccountId(), convertedAmount); // 100 USD -> 90 EUR
+        verify(currencyLoader).convertForOperation(amount, Currency.USD, Currency.EUR);
     }
 
     @Test
-    void withdraw_ShouldLockAccountsInCardOrder() {
-        final String senderCard = "9999";
-        final String recipientCard = "1111";
-        final Account senderAccount = createAccount(senderCard, Currency.UAH, BigDecimal.valueOf(200));
-        final Account recipientAccount = createAccount(recipientCard, Currency.UAH, BigDecimal.valueOf(100));
+    void withdraw_WhenDebitStatementRejectsTheSender_ShouldRecordFailedTransfer() {
+        final Account senderAccount = createAccount("1111", Currency.UAH, BigDecimal.valueOf(500));
+        final Account recipientAccount = createAccount("2222", Currency.UAH, BigDecimal.ZERO);
+
+        when(accountRepository.findByCard_CardNumber("1111")).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber("2222")).thenReturn(Optional.of(recipientAccount));
+        when(accountBalanceStatements.transfer(senderAccount.getAccountId(), BigDecimal.TEN, recipientAccount.getAccountId(), BigDecimal.TEN))
+                .thenReturn(false);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final bank.rest.app.bankrestapp.exception.InsufficientFundsException exception =
+                assertThrows(bank.rest.app.bankrestapp.exception.InsufficientFundsException.class,
+                        () -> transactionService.withdraw("1111", "2222", BigDecimal.TEN, "Spent concurrently"));
+
+        assertEquals(ERRORS_INSUFFICIENT_FUNDS_SENDER, exception.getMessage());
+        assertEquals(1, transferCount("FAILED", "UAH", "InsufficientFundsException"));
+        verify(transactionRepository).save(argThat(transaction -> transaction.getStatus() == TransactionStatus.FAILED));
+    }
+
+    @Test
+    void withdraw_WhenCreditStatementFindsNoRecipient_ShouldFailWithoutCommittingTheDebit() {
+        final Account senderAccount = createAccount("1111", Currency.UAH, BigDecimal.valueOf(500));
+        final Account recipientAccount = createAccount("2222", Currency.UAH, BigDecimal.ZERO);
+
+        when(accountRepository.findByCard_CardNumber("1111")).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber("2222")).thenReturn(Optional.of(recipientAccount));
+        when(accountBalanceStatements.transfer(senderAccount.getAccountId(), BigDecimal.TEN, recipientAccount.getAccountId(), BigDecimal.TEN))
+                .thenThrow(new IllegalStateException(ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED));
+
+        final IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> transactionService.withdraw("1111", "2222", BigDecimal.TEN, "Recipient closed"));
 
-        when(accountRepository.findByCard_CardNumberForUpdate(recipientCard)).thenReturn(Optional.of(recipientAccount));
-        when(accountRepository.findByCard_CardNumberForUpdate(senderCard)).thenReturn(Optional.of(senderAccount));
+        assertEquals(ERRORS_RECIPIENT_ACCOUNT_NOT_CREDITED, exception.getMessage());
+        assertEquals(1, transferCount("FAILED", "UAH", "IllegalStateException"));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void withdraw_ToHotAccount_ShouldDebitOnlySenderAndJournalCredit() {
+        final String senderCard = "1111";
+        final String recipientCard = "2222";
+        final Account senderAccount = createAccount(senderCard, Currency.USD, BigDecimal.valueOf(500));
+        final Account recipientAccount = createAccount(recipientCard, Currency.EUR, BigDecimal.valueOf(100));
+        recipientAccount.setHotAccount(true);
+
+        when(accountRepository.findHotAccountByCardNumber(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(accountRepository.findByCard_CardNumber(senderCard)).thenReturn(Optional.of(senderAccount));
+        when(accountBalanceStatements.debit(senderAccount.getAccountId(), BigDecimal.TEN)).thenReturn(true);
+        when(currencyLoader.convertForOperation(BigDecimal.TEN, Currency.USD, Currency.EUR)).thenReturn(BigDecimal.valueOf(9));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        transactionService.withdraw(senderCard, recipientCard, BigDecimal.TEN, "Ordered lock");
+        final Transaction result = transactionService.withdraw(senderCard, recipientCard, BigDecimal.TEN, "Merchant");
 
-        final InOrder inOrder = inOrder(accountRepository);
-        inOrder.verify(accountRepository).findByCard_CardNumberForUpdate(recipientCard);
-        inOrder.verify(accountRepository).findByCard_CardNumberForUpdate(senderCard);
+        assertEquals(TransactionStatus.COMPLETED, result.getStatus());
+        verify(pendingCreditService).appendCredit(recipientAccount, BigDecimal.valueOf(9), result);
+        verify(accountRepository, never()).findByCard_CardNumber(recipientCard);
+        verify(accountBalanceStatements, never()).credit(any(), any());
+        verify(analyticsRollupService).recordOutgoingTransaction(result);
+        verify(analyticsRollupService, never()).recordTransaction(any(Transaction.class));
+    }
+
+    @Test
+    void withdraw_ToHotAccountWithInsufficientFunds_ShouldNotJournalCredit() {
+        final String senderCard = "1111";
+        final String recipientCard = "2222";
+        final Account senderAccount = createAccount(senderCard, Currency.UAH, BigDecimal.ONE);
+        final Account recipientAccount = createAccount(recipientCard, Currency.UAH, BigDecimal.ZERO);
+        recipientAccount.setHotAccount(true);
+
+        when(accountRepository.findHotAccountByCardNumber(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(accountRepository.findByCard_CardNumber(senderCard)).thenReturn(Optional.of(senderAccount));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(bank.rest.app.bankrestapp.exception.InsufficientFundsException.class,
+                () -> transactionService.withdraw(senderCard, recipientCard, BigDecimal.TEN, "Merchant"));
+
+        verify(pendingCreditService, never()).appendCredit(any(), any(), any());
     }
 
     @Test
@@ -130,8 +248,8 @@ class TransactionServiceImplTest {
         senderAccount.setStatus(bank.rest.app.bankrestapp.entity.enums.AccountStatus.BLOCKED);
         final Account recipientAccount = createAccount(recipientCard, Currency.EUR, BigDecimal.valueOf(100));
 
-        when(accountRepository.findByCard_CardNumberForUpdate(senderCard)).thenReturn(Optional.of(senderAccount));
-        when(accountRepository.findByCard_CardNumberForUpdate(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(accountRepository.findByCard_CardNumber(senderCard)).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber(recipientCard)).thenReturn(Optional.of(recipientAccount));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         final bank.rest.app.bankrestapp.exception.AccountNotActiveException exception =
@@ -139,6 +257,7 @@ class TransactionServiceImplTest {
                         () -> transactionService.withdraw(senderCard, recipientCard, BigDecimal.TEN, "Blocked"));
 
         assertEquals(ERRORS_ACCOUNT_NOT_ACTIVE, exception.getMessage());
+        assertEquals(1, transferCount("CANCELLED", "USD", "AccountNotActiveException"));
     }
 
     @Test
@@ -148,8 +267,8 @@ class TransactionServiceImplTest {
         final Account senderAccount = createAccount(senderCard, Currency.USD, BigDecimal.ONE);
         final Account recipientAccount = createAccount(recipientCard, Currency.EUR, BigDecimal.valueOf(100));
 
-        when(accountRepository.findByCard_CardNumberForUpdate(senderCard)).thenReturn(Optional.of(senderAccount));
-        when(accountRepository.findByCard_CardNumberForUpdate(recipientCard)).thenReturn(Optional.of(recipientAccount));
+        when(accountRepository.findByCard_CardNumber(senderCard)).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber(recipientCard)).thenReturn(Optional.of(recipientAccount));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         final bank.rest.app.bankrestapp.exception.InsufficientFundsException exception =
@@ -157,6 +276,118 @@ class TransactionServiceImplTest {
                         () -> transactionService.withdraw(senderCard, recipientCard, BigDecimal.TEN, "Insufficient"));
 
         assertEquals(ERRORS_INSUFFICIENT_FUNDS_SENDER, exception.getMessage());
+        assertEquals(1, transferCount("FAILED", "USD", "InsufficientFundsException"));
+        verify(accountBalanceStatements, never()).debit(any(), any());
+    }
+
+    @Test
+    void withdraw_ShouldBeTimedAsCompletedInSenderCurrency() {
+        final Account senderAccount = createAccount("1111", Currency.UAH, BigDecimal.valueOf(500));
+        final Account recipientAccount = createAccount("2222", Currency.USD, BigDecimal.ZERO);
+
+        when(accountRepository.findByCard_CardNumber("1111")).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber("2222")).thenReturn(Optional.of(recipientAccount));
+        when(currencyLoader.convertForOperation(BigDecimal.TEN, Currency.UAH, Currency.USD)).thenReturn(BigDecimal.ONE);
+        when(accountBalanceStatements.transfer(senderAccount.getAccountId(), BigDecimal.TEN, recipientAccount.getAccountId(), BigDecimal.ONE))
+                .thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.withdraw("1111", "2222", BigDecimal.TEN, "Timed");
+
+        assertEquals(1, transferCount("COMPLETED", "UAH", "none"));
+    }
+
+    @Test
+    void withdraw_WhenSenderIsMissing_ShouldBeTimedAsFailedWithoutCurrency() {
+        when(accountRepository.findByCard_CardNumber("1111")).thenReturn(Optional.empty());
+
+        assertThrows(java.util.NoSuchElementException.class,
+                () -> transactionService.withdraw("1111", "2222", BigDecimal.TEN, "Missing"));
+
+        assertEquals(1, transferCount("FAILED", "none", "NoSuchElementException"));
+    }
+
+    @Test
+    void withdraw_WhenLockTimesOut_ShouldRetryWholeTransfer() {
+        final Account senderAccount = createAccount("1111", Currency.UAH, BigDecimal.valueOf(500));
+        final Account recipientAccount = createAccount("2222", Currency.UAH, BigDecimal.ZERO);
+
+        when(accountRepository.findByCard_CardNumber("1111")).thenReturn(Optional.of(senderAccount));
+        when(accountRepository.findByCard_CardNumber("2222")).thenReturn(Optional.of(recipientAccount));
+        when(accountBalanceStatements.transfer(senderAccount.getAccountId(), BigDecimal.TEN, recipientAccount.getAccountId(), BigDecimal.TEN))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final Transaction result = transactionService.withdraw("1111", "2222", BigDecimal.TEN, "Retried");
+
+        assertEquals(TransactionStatus.COMPLETED, result.getStatus());
+        verify(accountBalanceStatements, times(2))
+                .transfer(senderAccount.getAccountId(), BigDecimal.TEN, recipientAccount.getAccountId(), BigDecimal.TEN);
+        verify(accountRepository, times(2)).findByCard_CardNumber("1111");
+        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        assertEquals(1, transferCount("COMPLETED", "UAH", "none"));
+        assertEquals(1, meterRegistry.get(LOCK_RETRY_METRIC).tags("operation", "transfer", "outcome", "recovered")
+                .counter().count());
+    }
+
+    @Test
+    void withdrawBatch_ShouldLockEachAccountOnceInAccountIdOrder() {
+        final Account first = createAccount("1111", Currency.UAH, BigDecimal.valueOf(100));
+        final Account second = createAccount("2222", Currency.UAH, BigDecimal.valueOf(100));
+        final Account third = createAccount("3333", Currency.UAH, BigDecimal.valueOf(100));
+
+        when(accountRepository.findLockRoutesByCardNumbers(anyCollection())).thenReturn(List.of(
+                route(third), route(first), route(second)
+        ));
+        when(accountRepository.findByIdForUpdate(first.getAccountId())).thenReturn(Optional.of(first));
+        when(accountRepository.findByIdForUpdate(second.getAccountId())).thenReturn(Optional.of(second));
+        when(accountRepository.findByIdForUpdate(third.getAccountId())).thenReturn(Optional.of(third));
+        when(accountBalanceStatements.debit(any(), eq(BigDecimal.TEN))).thenReturn(true);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final List<TransferOutcome> outcomes = transactionService.withdrawBatch(List.of(
+                new CreateTransaction("3333", "1111", BigDecimal.TEN, "First"),
+                new CreateTransaction("2222", "3333", BigDecimal.TEN, "Second"),
+                new CreateTransaction("1111", "2222", BigDecimal.TEN, "Third")
+        ));
+
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.stream().allMatch(TransferOutcome::isCompleted));
+        verify(accountBalanceStatements).debit(third.getAccountId(), BigDecimal.TEN);
+        verify(accountBalanceStatements).credit(first.getAccountId(), BigDecimal.TEN);
+
+        final InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).findByIdForUpdate(first.getAccountId());
+        inOrder.verify(accountRepository).findByIdForUpdate(second.getAccountId());
+        inOrder.verify(accountRepository).findByIdForUpdate(third.getAccountId());
+        verify(accountRepository, times(3)).findByIdForUpdate(any());
+        verify(accountRepository, never()).findByCard_CardNumber(anyString());
+        verify(accountBalanceStatements, never()).transfer(any(), any(), any(), any());
+    }
+
+    @Test
+    void withdrawBatch_ShouldRejectSingleTransferWithoutFailingBatch() {
+        final Account sender = createAccount("1111", Currency.UAH, BigDecimal.valueOf(15));
+        final Account recipient = createAccount("2222", Currency.UAH, BigDecimal.ZERO);
+
+        when(accountRepository.findLockRoutesByCardNumbers(anyCollection())).thenReturn(List.of(route(sender), route(recipient)));
+        when(accountRepository.findByIdForUpdate(sender.getAccountId())).thenReturn(Optional.of(sender));
+        when(accountRepository.findByIdForUpdate(recipient.getAccountId())).thenReturn(Optional.of(recipient));
+        when(accountBalanceStatements.debit(sender.getAccountId(), BigDecimal.TEN)).thenReturn(true, false);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final List<TransferOutcome> outcomes = transactionService.withdrawBatch(List.of(
+                new CreateTransaction("1111", "2222", BigDecimal.TEN, "Fits"),
+                new CreateTransaction("1111", "2222", BigDecimal.TEN, "Exceeds remaining balance"),
+                new CreateTransaction("1111", "9999", BigDecimal.ONE, "Unknown recipient")
+        ));
+
+        assertTrue(outcomes.get(0).isCompleted());
+        assertEquals(ERRORS_INSUFFICIENT_FUNDS_SENDER, outcomes.get(1).errorMessage());
+        assertEquals(ERRORS_ACCOUNT_NOT_FOUND_BY_CARD, outcomes.get(2).errorMessage());
+        verify(accountBalanceStatements, times(2)).debit(sender.getAccountId(), BigDecimal.TEN);
+        verify(accountBalanceStatements).credit(recipient.getAccountId(), BigDecimal.TEN);
     }
 
     @Test
@@ -176,7 +407,67 @@ class TransactionServiceImplTest {
 //        assertEquals(2, result.getTotalElements());
     }
 
+    @Test
+    void getTransactionHistory_ShouldMergeDirectionsAndReturnCursorAfterLastRow() {
+        final Account account = createAccount("1111", Currency.UAH, BigDecimal.ZERO);
+        account.setAccountId(5);
+        final LocalDateTime base = LocalDateTime.of(2026, 6, 1, 12, 0);
+        final TransactionHistoryRow newestOutgoing = historyRow(40, base.plusMinutes(3));
+        final TransactionHistoryRow selfTransfer = historyRow(30, base.plusMinutes(2));
+        final TransactionHistoryRow incoming = historyRow(20, base.plusMinutes(1));
+        final TransactionHistoryRow oldestOutgoing = historyRow(10, base);
+
+        when(transactionRepository.findOutgoingHistory(eq(5), any(Pageable.class)))
+                .thenReturn(List.of(newestOutgoing, selfTransfer, oldestOutgoing));
+        when(transactionRepository.findIncomingHistory(eq(5), anyCollection(), any(Pageable.class)))
+                .thenReturn(List.of(selfTransfer, incoming));
+
+        final TransactionHistorySlice slice = transactionService.getTransactionHistory(account, null, 3);
+
+        assertEquals(List.of(newestOutgoing, selfTransfer, incoming), slice.transactions());
+        assertEquals(new HistoryCursor(incoming.transactionDate(), 20), slice.nextCursor());
+        verify(transactionRepository).findOutgoingHistory(5, PageRequest.of(0, 4));
+    }
+
+    @Test
+    void getTransactionHistory_WithCursor_ShouldSeekAndEndOnLastPage() {
+        final Account account = createAccount("1111", Currency.UAH, BigDecimal.ZERO);
+        account.setAccountId(5);
+        final HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2026, 6, 1, 12, 0), 10);
+        final TransactionHistoryRow older = historyRow(7, LocalDateTime.of(2026, 5, 30, 9, 0));
+
+        when(transactionRepository.findOutgoingHistoryBefore(eq(5), eq(cursor.transactionDate()), eq(10), any(Pageable.class)))
+                .thenReturn(List.of(older));
+        when(transactionRepository.findIncomingHistoryBefore(eq(5), anyCollection(), eq(cursor.transactionDate()), eq(10), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        final TransactionHistorySlice slice = transactionService.getTransactionHistory(account, cursor, 3);
+
+        assertEquals(List.of(older), slice.transactions());
+        assertNull(slice.nextCursor());
+        verify(transactionRepository, never()).findOutgoingHistory(anyInt(), any(Pageable.class));
+    }
+
+    private TransactionHistoryRow historyRow(final Integer id, final LocalDateTime date) {
+        return new TransactionHistoryRow(
+                id, date, BigDecimal.ONE, Currency.UAH, null, TransactionType.TRANSFER, TransactionStatus.COMPLETED,
+                null, null, null, null, null, null, Boolean.FALSE
+        );
+    }
+
+    private long transferCount(final String outcome, final String currency, final String exception) {
+        return meterRegistry.get(TRANSFER_METRIC)
+                .tags("outcome", outcome, "currency", currency, "exception", exception)
+                .timer()
+                .count();
+    }
+
+    private static AccountLockRoute route(final Account account) {
+        return new AccountLockRoute(account.getCard().getCardNumber(), account.getAccountId(), account.isHotAccount());
+    }
+
     private Account createAccount(String cardNum, Currency currency, BigDecimal balance) {
+        nextAccountId++;
         AuthUSer authUser = new AuthUSer();
         authUser.setEmail("test@example.com");
         Customer customer = new Customer();
@@ -186,6 +477,7 @@ class TransactionServiceImplTest {
         card.setCardNumber(cardNum);
 
         Account account = new Account();
+        account.setAccountId(nextAccountId);
         account.setCard(card);
         account.setCurrencyCode(currency);
         account.setBalance(balance);
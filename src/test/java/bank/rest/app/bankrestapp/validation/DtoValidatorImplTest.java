@@ -1,13 +1,19 @@
 package bank.rest.app.bankrestapp.validation;
 
+import bank.rest.app.bankrestapp.dto.AccountStatusDTO;
 import bank.rest.app.bankrestapp.dto.CreateAccountDTO;
+import bank.rest.app.bankrestapp.dto.CreateTransaction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
+import java.math.BigDecimal;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DtoValidatorImplTest {
@@ -36,4 +42,46 @@ class DtoValidatorImplTest {
 
         assertThrows(IllegalArgumentException.class, () -> this.dtoValidator.validate(dto, bindingResult));
     }
+
+    @Test
+    void validate_CreateTransactionWithNonPositiveAmount_ShouldRejectAmount() {
+        final CreateTransaction dto = new CreateTransaction(
+                "4000000000000002", "4000000000000010", BigDecimal.ZERO, "Transfer");
+        final BindingResult bindingResult = new BeanPropertyBindingResult(dto, "createTransaction");
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> this.dtoValidator.validate(dto, bindingResult));
+
+        assertEquals("неправильна сума", exception.getMessage());
+        assertEquals("amount.invalid", bindingResult.getFieldError("amount").getCode());
+    }
+
+    @Test
+    void validate_AccountStatusDtoWithUnknownStatus_ShouldRejectStatus() {
+        final AccountStatusDTO dto = new AccountStatusDTO(1, "FROZEN");
+        final BindingResult bindingResult = new BeanPropertyBindingResult(dto, "accountStatusDTO");
+
+        assertThrows(IllegalArgumentException.class, () -> this.dtoValidator.validate(dto, bindingResult));
+        assertEquals("account.status.invalid", bindingResult.getFieldError("status").getCode());
+    }
+
+    @Test
+    void validate_CreateAccountDtoWithUnknownType_ShouldRejectTypeAndCurrency() {
+        final CreateAccountDTO dto = new CreateAccountDTO("SAVING", "XYZ", "alice@example.com");
+        final BindingResult bindingResult = new BeanPropertyBindingResult(dto, "createAccountDTO");
+
+        assertThrows(IllegalArgumentException.class, () -> this.dtoValidator.validate(dto, bindingResult));
+        assertEquals("account.type.invalid", bindingResult.getFieldError("accountType").getCode());
+        assertEquals("currency.invalid", bindingResult.getFieldError("currency").getCode());
+    }
+
+    @Test
+    void validationPlan_ShouldBeBuiltOncePerClass() {
+        final ValidationPlan plan = ValidationPlan.of(CreateAccountDTO.class);
+
+        assertSame(plan, ValidationPlan.of(CreateAccountDTO.class));
+        assertEquals(2, plan.size());
+        assertEquals(1, ValidationPlan.of(CreateTransaction.class).size());
+        assertEquals(0, ValidationPlan.of(String.class).size());
+    }
 }
@@ -0,0 +1,64 @@
+package bank.rest.app.bankrestapp.verification;
+
+import bank.rest.app.bankrestapp.entity.EmailVerificationCodes;
+import bank.rest.app.bankrestapp.resository.EmailVerificationCodeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaVerificationCodeStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    @Mock
+    private EmailVerificationCodeRepository codeRepo;
+
+    private JpaVerificationCodeStore store() {
+        return new JpaVerificationCodeStore(this.codeRepo, Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void put_ShouldReplaceExistingRow() {
+        this.store().put("user@example.com", "48213", NOW);
+
+        final InOrder order = inOrder(this.codeRepo);
+        final ArgumentCaptor<EmailVerificationCodes> captor = ArgumentCaptor.forClass(EmailVerificationCodes.class);
+        order.verify(this.codeRepo).deleteByEmail("user@example.com");
+        order.verify(this.codeRepo).save(captor.capture());
+        assertEquals("48213", captor.getValue().getCode());
+        assertEquals(NOW, captor.getValue().getCreatedAt());
+    }
+
+    @Test
+    void find_ShouldMapEntity() {
+        final EmailVerificationCodes entity = new EmailVerificationCodes(7, "user@example.com", "48213", false, NOW);
+        when(this.codeRepo.findByEmail("user@example.com")).thenReturn(Optional.of(entity));
+
+        assertEquals(Optional.of(new VerificationCode("user@example.com", "48213", NOW, false)),
+                this.store().find("user@example.com"));
+    }
+
+    @Test
+    void purgeExpired_ShouldBulkDeleteByCreationCutoff() {
+        when(this.codeRepo.deleteAllCreatedBefore(NOW.minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES))).thenReturn(4);
+
+        assertEquals(4, this.store().purgeExpired());
+        verify(this.codeRepo, never()).findAll();
+    }
+}
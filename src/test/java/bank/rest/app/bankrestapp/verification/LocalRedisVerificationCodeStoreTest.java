@@ -0,0 +1,113 @@
+package bank.rest.app.bankrestapp.verification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalRedisVerificationCodeStoreTest {
+
+    private static final long EXPIRATION_MILLIS = EMAIL_CODE_EXPIRATION_MINUTES * 60_000L;
+
+    private final MutableClock clock = new MutableClock();
+    private final LocalRedisVerificationCodeStore store = new LocalRedisVerificationCodeStore(this.clock);
+
+    @Test
+    void find_ShouldRoundTripTheStoredCode() {
+        final LocalDateTime createdAt = this.clock.now();
+        this.store.put("user@example.com", "48213", createdAt);
+
+        final VerificationCode code = this.store.find("user@example.com").orElseThrow();
+
+        assertEquals(new VerificationCode("user@example.com", "48213", createdAt, false), code);
+        assertTrue(this.store.find("other@example.com").isEmpty());
+    }
+
+    @Test
+    void put_ShouldReplaceAndRemoveShouldDelete() {
+        this.store.put("user@example.com", "11111", this.clock.now());
+        this.store.put("user@example.com", "22222", this.clock.now());
+        assertEquals("22222", this.store.find("user@example.com").orElseThrow().code());
+
+        this.store.remove("user@example.com");
+
+        assertTrue(this.store.find("user@example.com").isEmpty());
+    }
+
+    @Test
+    void find_ShouldExpireCodeWhenItsTimeToLiveRunsOut() {
+        this.store.put("user@example.com", "11111", this.clock.now());
+
+        this.clock.advance(EXPIRATION_MILLIS - 1);
+        assertTrue(this.store.find("user@example.com").isPresent());
+
+        this.clock.advance(1);
+        assertTrue(this.store.find("user@example.com").isEmpty());
+    }
+
+    @Test
+    void put_ShouldCountTimeToLiveFromIssueTimeAndSkipStaleCodes() {
+        this.store.put("old@example.com", "11111", this.clock.now().minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES - 1));
+        this.store.put("stale@example.com", "22222", this.clock.now().minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES));
+
+        assertTrue(this.store.find("stale@example.com").isEmpty());
+
+        this.clock.advance(60_000);
+        assertTrue(this.store.find("old@example.com").isEmpty());
+    }
+
+    @Test
+    void purgeExpired_ShouldSweepOnlyExpiredKeys() {
+        this.store.put("first@example.com", "11111", this.clock.now());
+        this.store.put("second@example.com", "22222", this.clock.now());
+        this.clock.advance(EXPIRATION_MILLIS / 2);
+        this.store.put("third@example.com", "33333", this.clock.now());
+
+        this.clock.advance(EXPIRATION_MILLIS / 2);
+
+        assertEquals(2, this.store.purgeExpired());
+        assertEquals(0, this.store.purgeExpired());
+        assertFalse(this.store.find("third@example.com").isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(final long delta) {
+            this.millis += delta;
+        }
+
+        LocalDateTime now() {
+            return LocalDateTime.ofInstant(this.instant(), ZoneOffset.UTC);
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}
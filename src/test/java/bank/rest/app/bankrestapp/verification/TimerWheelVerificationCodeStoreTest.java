@@ -0,0 +1,132 @@
+package bank.rest.app.bankrestapp.verification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_EXPIRATION_MINUTES;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_WHEEL_SLOTS;
+import static bank.rest.app.bankrestapp.constants.EmailDefaults.EMAIL_CODE_WHEEL_TICK_MILLIS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelVerificationCodeStoreTest {
+
+    private static final long EXPIRATION_MILLIS = EMAIL_CODE_EXPIRATION_MINUTES * 60_000L;
+
+    private final MutableClock clock = new MutableClock();
+    private final TimerWheelVerificationCodeStore store = new TimerWheelVerificationCodeStore(this.clock);
+
+    @Test
+    void put_ShouldReplacePreviousCodeOfTheAddress() {
+        this.store.put("user@example.com", "11111", this.clock.now());
+        this.store.put("user@example.com", "22222", this.clock.now());
+
+        final VerificationCode code = this.store.find("user@example.com").orElseThrow();
+        assertEquals("22222", code.code());
+        assertEquals(this.clock.now(), code.createdAt());
+        assertFalse(code.verified());
+        assertEquals(1, this.store.size());
+    }
+
+    @Test
+    void find_ShouldNotServeExpiredCodeBeforeItsTickIsProcessed() {
+        this.store.put("user@example.com", "11111", this.clock.now());
+
+        this.clock.advance(EXPIRATION_MILLIS);
+
+        assertTrue(this.store.find("user@example.com").isEmpty());
+        assertEquals(0, this.store.size());
+    }
+
+    @Test
+    void advance_ShouldExpireOnlyCodesWhoseTickHasPassed() {
+        this.store.put("early@example.com", "11111", this.clock.now());
+        this.clock.advance(5 * EMAIL_CODE_WHEEL_TICK_MILLIS);
+        this.store.put("late@example.com", "22222", this.clock.now());
+
+        this.clock.advance(EXPIRATION_MILLIS - 5 * EMAIL_CODE_WHEEL_TICK_MILLIS);
+        assertEquals(1, this.store.advance());
+        assertEquals(1, this.store.size());
+        assertTrue(this.store.find("late@example.com").isPresent());
+
+        this.clock.advance(5 * EMAIL_CODE_WHEEL_TICK_MILLIS);
+        assertEquals(1, this.store.purgeExpired());
+        assertEquals(0, this.store.size());
+    }
+
+    @Test
+    void advance_ShouldNotCountRemovedOrReplacedCodes() {
+        this.store.put("removed@example.com", "11111", this.clock.now());
+        this.store.put("replaced@example.com", "22222", this.clock.now());
+        this.store.remove("removed@example.com");
+        this.clock.advance(3 * EMAIL_CODE_WHEEL_TICK_MILLIS);
+        this.store.put("replaced@example.com", "33333", this.clock.now());
+
+        this.clock.advance(EXPIRATION_MILLIS - 3 * EMAIL_CODE_WHEEL_TICK_MILLIS);
+        assertEquals(0, this.store.advance());
+        assertEquals("33333", this.store.find("replaced@example.com").orElseThrow().code());
+
+        this.clock.advance(3 * EMAIL_CODE_WHEEL_TICK_MILLIS);
+        assertEquals(1, this.store.advance());
+    }
+
+    @Test
+    void advance_ShouldCatchUpAfterMoreThanOneRotation() {
+        this.store.put("user@example.com", "11111", this.clock.now());
+
+        this.clock.advance(3L * EMAIL_CODE_WHEEL_SLOTS * EMAIL_CODE_WHEEL_TICK_MILLIS);
+
+        assertEquals(1, this.store.advance());
+        assertEquals(0, this.store.size());
+    }
+
+    @Test
+    void put_ShouldExpireAlreadyStaleCodeOnTheNextTick() {
+        this.clock.advance(EXPIRATION_MILLIS);
+        this.store.advance();
+        this.store.put("user@example.com", "11111", this.clock.now().minusMinutes(EMAIL_CODE_EXPIRATION_MINUTES + 1));
+
+        this.clock.advance(EMAIL_CODE_WHEEL_TICK_MILLIS);
+
+        assertEquals(1, this.store.advance());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis = 1_000_000;
+
+        void advance(final long delta) {
+            this.millis += delta;
+        }
+
+        LocalDateTime now() {
+            return LocalDateTime.ofInstant(this.instant(), ZoneOffset.UTC);
+        }
+
+        @Override
+        public long millis() {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+    }
+}